@@ -13,6 +13,7 @@
  */
 
 import * as fs from "fs-extra";
+import * as path from "path";
 import * as vscode from "vscode";
 import { LanguageClient } from "vscode-languageclient";
 import { CopybookDownloadService } from "../../services/copybook/CopybookDownloadService";
@@ -88,6 +89,7 @@ describe("LanguageClientService positive scenario", () => {
             options: { stdio: "pipe", detached: false },
         }, {
             documentSelector: [SERVER_ID],
+            initializationOptions: {},
             middleware: {
                 workspace: {
                     configuration: expect.any(Function),
@@ -104,6 +106,7 @@ describe("LanguageClientService positive scenario", () => {
         expect(LanguageClient).toHaveBeenLastCalledWith(SERVER_ID, SERVER_DESC,
             expect.any(Function), {
             documentSelector: [SERVER_ID],
+            initializationOptions: {},
             middleware: {
                 workspace: {
                     configuration: expect.any(Function),
@@ -112,6 +115,17 @@ describe("LanguageClientService positive scenario", () => {
         });
     });
 
+    test("LanguageClientService passes the copybook cache location when the cache is enabled", () => {
+        vscode.workspace.getConfiguration(expect.any(String)).get = jest.fn()
+            .mockImplementation((key: string) => key === "persistent-cache" ? true : 0);
+        LanguageClient.prototype.start = jest.fn().mockReturnValue(SERVER_STARTED_MSG);
+        new LanguageClientService(middleware, "/storage").start();
+        expect(LanguageClient).toHaveBeenLastCalledWith(SERVER_ID, SERVER_DESC, expect.any(Object),
+            expect.objectContaining({
+                initializationOptions: {copybookCacheLocation: path.join("/storage", "copybook-cache")},
+            }));
+    });
+
     test("Test LanguageClientService fire a stop() command on LanguageClient", async () => {
         LanguageClient.prototype.stop = jest.fn().mockReturnValue(SERVER_STOPPED_MSG);
         // start the server, before shutdown.
@@ -49,6 +49,18 @@ describe("Copybook downloader", () => {
         expect(await middleware.handleConfigurationRequest(params, null, null)).toEqual(["copybookUri"]);
         expect(resolveCopybookURIMock).toHaveBeenCalledWith("bookName", "USER.CLIST.COB", "COBOL");
     });
+    it("Handle batched copybook request", async () => {
+        const params = {
+            items: [
+                "cobol-lsp.copybook-resolve.cobFile.bookName.COBOL",
+                "cobol-lsp.copybook-resolve.cobFile.bookName2.COBOL",
+            ].map(sectionName => ({section: sectionName}))
+        };
+        expect(await middleware.handleConfigurationRequest(params, null, null))
+            .toEqual(["copybookUri", "copybookUri"]);
+        expect(resolveCopybookURIMock).toHaveBeenCalledWith("bookName", "cobFile", "COBOL");
+        expect(resolveCopybookURIMock).toHaveBeenCalledWith("bookName2", "cobFile", "COBOL");
+    });
     it("Handle copybook download request", async () => {
         const params = {
             items: [
@@ -32,15 +32,15 @@ let copyBooksDownloader: CopybookDownloadService;
 let middleware: Middleware;
 let languageClientService: LanguageClientService;
 
-function initialize() {
+function initialize(storagePath?: string) {
     // We need lazy initialization to be able to mock this for unit testing
     copyBooksDownloader = new CopybookDownloadService();
     middleware = new Middleware(copyBooksDownloader);
-    languageClientService = new LanguageClientService(middleware);
+    languageClientService = new LanguageClientService(middleware, storagePath);
 }
 
 export async function activate(context: vscode.ExtensionContext) {
-    initialize();
+    initialize(context.storageUri?.fsPath);
     initSmartTab(context);
 
     TelemetryService.registerEvent("log", ["bootstrap", "experiment-tag"], "Extension activation event was triggered");
@@ -14,6 +14,7 @@
 
 import * as fs from "fs";
 import * as net from "net";
+import * as path from "path";
 import * as vscode from "vscode";
 import {
     ConfigurationParams,
@@ -34,7 +35,7 @@ export class LanguageClientService {
     private languageClient: LanguageClient;
     private handlers: {(languageClient: LanguageClient): void}[] = [];
 
-    constructor(private middleware: Middleware) {
+    constructor(private middleware: Middleware, private storagePath?: string) {
         const ext = vscode.extensions.getExtension("BroadcomMFD.cobol-language-support");
         this.jarPath = `${ext.extensionPath}/server/server.jar`;
     }
@@ -101,10 +102,18 @@ export class LanguageClientService {
 
         return {
             documentSelector: [LANGUAGE_ID],
+            initializationOptions: this.createInitializationOptions(),
             middleware: {workspace: configurationMiddleware},
         };
     }
 
+    private createInitializationOptions() {
+        if (this.storagePath && SettingsService.isPersistentCopybookCacheEnabled()) {
+            return {copybookCacheLocation: path.join(this.storagePath, "copybook-cache")};
+        }
+        return {};
+    }
+
     private createServerOptions(jarPath: string) {
         const port = SettingsService.getLspPort();
         if (port) {
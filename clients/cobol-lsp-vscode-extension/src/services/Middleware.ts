@@ -34,9 +34,11 @@ export class Middleware {
         if (requestLines.length > 0 && requestLines[0] !== undefined && requestLines[0].prefix == "cobol-lsp") {
             switch (requestLines[0].command) {
                 case "copybook-resolve":
-                    InfoStorage.set(requestLines[0].cobolFileName, requestLines[0].copybookName, requestLines[0].dialectName);
-                    return [await CopybookURI.resolveCopybookURI(requestLines[0].copybookName,
-                        requestLines[0].cobolFileName, requestLines[0].dialectName)]
+                    return Promise.all(requestLines.map(requestLine => {
+                        InfoStorage.set(requestLine.cobolFileName, requestLine.copybookName, requestLine.dialectName);
+                        return CopybookURI.resolveCopybookURI(requestLine.copybookName,
+                            requestLine.cobolFileName, requestLine.dialectName);
+                    }));
                 case "copybook-download":
                     const copybookNames = requestLines.map(requestLine => requestLine.copybookName);
                     this.copybookDownloader.downloadCopybooks(requestLines[0].cobolFileName, copybookNames,
@@ -118,6 +118,14 @@ export class SettingsService {
         return result;
     }
 
+    /**
+     * Check if the preprocessed copybooks should be kept between the language server sessions
+     * @returns true if the persistent copybook cache is enabled
+     */
+    public static isPersistentCopybookCacheEnabled(): boolean {
+        return vscode.workspace.getConfiguration(SETTINGS_CPY_SECTION).get("persistent-cache") === true;
+    }
+
     /**
      * Return the code page for the copybook file encoding supplied by user
      * @returns string
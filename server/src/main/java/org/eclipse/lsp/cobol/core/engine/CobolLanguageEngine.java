@@ -31,16 +31,18 @@ import org.eclipse.lsp.cobol.core.messages.MessageService;
 import org.eclipse.lsp.cobol.core.model.*;
 import org.eclipse.lsp.cobol.core.model.tree.EmbeddedCodeNode;
 import org.eclipse.lsp.cobol.core.model.tree.Node;
+import org.eclipse.lsp.cobol.core.model.tree.NodeProcessor;
 import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.util.LocalityMappingUtils;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.util.LocalityUtils;
-import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
+import org.eclipse.lsp.cobol.core.strategy.TwoStageParsing;
 import org.eclipse.lsp.cobol.core.visitor.CobolVisitor;
 import org.eclipse.lsp.cobol.core.visitor.EmbeddedLanguagesListener;
 import org.eclipse.lsp.cobol.core.visitor.ParserListener;
 import org.eclipse.lsp.cobol.service.AnalysisConfig;
 import org.eclipse.lsp.cobol.service.SubroutineService;
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -51,7 +53,6 @@ import java.util.stream.Stream;
 
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.core.model.tree.Node.hasType;
 import static org.eclipse.lsp.cobol.core.model.tree.NodeType.EMBEDDED_CODE;
 
 /**
@@ -67,6 +68,7 @@ public class CobolLanguageEngine {
   private final MessageService messageService;
   private final ParseTreeListener treeListener;
   private final SubroutineService subroutineService;
+  private final CustomThreadPoolExecutor executors;
   private static final int PROCESS_CALLS_THRESHOLD = 10;
 
   @Inject
@@ -74,11 +76,13 @@ public class CobolLanguageEngine {
       TextPreprocessor preprocessor,
       MessageService messageService,
       ParseTreeListener treeListener,
-      SubroutineService subroutineService) {
+      SubroutineService subroutineService,
+      CustomThreadPoolExecutor executors) {
     this.preprocessor = preprocessor;
     this.messageService = messageService;
     this.treeListener = treeListener;
     this.subroutineService = subroutineService;
+    this.executors = executors;
   }
 
   /**
@@ -107,14 +111,20 @@ public class CobolLanguageEngine {
     timingBuilder.getDialectsTimer().stop();
 
     timingBuilder.getPreprocessorTimer().start();
-    ExtendedDocument extendedDocument =
-        preprocessor
-            .processCleanCode(
-                documentUri,
-                dialectOutcome.getText(),
-                analysisConfig.getCopybookConfig(),
-                new CopybookHierarchy())
-            .unwrap(accumulatedErrors::addAll);
+    CopybookHierarchy hierarchy = new CopybookHierarchy();
+    ExtendedDocument extendedDocument;
+    try {
+      extendedDocument =
+          preprocessor
+              .processCleanCode(
+                  documentUri,
+                  dialectOutcome.getText(),
+                  analysisConfig.getCopybookConfig(),
+                  hierarchy)
+              .unwrap(accumulatedErrors::addAll);
+    } finally {
+      hierarchy.getTasks().cancelAll();
+    }
     timingBuilder.getPreprocessorTimer().stop();
 
     timingBuilder.getParserTimer().start();
@@ -128,10 +138,10 @@ public class CobolLanguageEngine {
     CobolParser parser = getCobolParser(tokens);
     parser.removeErrorListeners();
     parser.addErrorListener(listener);
-    parser.setErrorHandler(new CobolErrorStrategy(messageService));
     parser.addParseListener(treeListener);
 
-    CobolParser.StartRuleContext tree = parser.startRule();
+    CobolParser.StartRuleContext tree =
+        TwoStageParsing.parse(parser, messageService, CobolParser::startRule);
     timingBuilder.getParserTimer().stop();
 
     timingBuilder.getSplittingLanguageTimer().start();
@@ -139,7 +149,7 @@ public class CobolLanguageEngine {
     timingBuilder.getSplittingLanguageTimer().stop();
 
     timingBuilder.getMappingTimer().start();
-    Map<Token, Locality> positionMapping =
+    LocalityTable positionMapping =
         getPositionMapping(documentUri, extendedDocument, tokens, embeddedCodeParts);
     timingBuilder.getMappingTimer().stop();
 
@@ -192,15 +202,10 @@ public class CobolLanguageEngine {
   }
 
   private List<SyntaxError> processSyntaxTree(Node rootNode) {
-    List<SyntaxError> errors = new ArrayList<>();
-    int processCalls = 0;
-    do {
-      errors.addAll(rootNode.process());
-      processCalls++;
-      if (processCalls > PROCESS_CALLS_THRESHOLD)
-        throw new IllegalStateException("Infinity loop in tree processing");
-    } while (!rootNode.isProcessed());
-    return errors;
+    return executors
+        .getSemanticAnalysisPool()
+        .map(pool -> NodeProcessor.processTree(rootNode, PROCESS_CALLS_THRESHOLD, pool))
+        .orElseGet(() -> NodeProcessor.processTree(rootNode, PROCESS_CALLS_THRESHOLD));
   }
 
   private Map<Token, EmbeddedCode> extractEmbeddedCode(
@@ -217,7 +222,7 @@ public class CobolLanguageEngine {
     return new CobolParser(tokens);
   }
 
-  Map<Token, Locality> getPositionMapping(
+  LocalityTable getPositionMapping(
       String documentUri,
       ExtendedDocument extendedDocument,
       CommonTokenStream tokens,
@@ -227,10 +232,9 @@ public class CobolLanguageEngine {
         tokens.getTokens(), extendedDocument.getDocumentMapping(), documentUri, embeddedCodeParts);
   }
 
-  private void analyzeEmbeddedCode(List<Node> syntaxTree, Map<Token, Locality> mapping) {
+  private void analyzeEmbeddedCode(List<Node> syntaxTree, LocalityTable mapping) {
     syntaxTree.stream()
-        .flatMap(Node::getDepthFirstStream)
-        .filter(hasType(EMBEDDED_CODE))
+        .flatMap(it -> it.getDepthFirstStream(EMBEDDED_CODE))
         .map(EmbeddedCodeNode.class::cast)
         .collect(toList())
         .forEach(it -> it.analyzeTree(mapping));
@@ -238,7 +242,7 @@ public class CobolLanguageEngine {
 
   @NonNull
   private List<SyntaxError> finalizeErrors(
-      @NonNull List<SyntaxError> errors, @NonNull Map<Token, Locality> mapping) {
+      @NonNull List<SyntaxError> errors, @NonNull LocalityTable mapping) {
     return errors.stream()
         .map(convertError(mapping))
         .filter(it -> it.getLocality() != null)
@@ -246,7 +250,7 @@ public class CobolLanguageEngine {
   }
 
   @NonNull
-  private Function<SyntaxError, SyntaxError> convertError(@NonNull Map<Token, Locality> mapping) {
+  private Function<SyntaxError, SyntaxError> convertError(@NonNull LocalityTable mapping) {
     return err ->
         err.toBuilder()
             .locality(LocalityUtils.findPreviousVisibleLocality(err.getOffendedToken(), mapping))
@@ -25,7 +25,7 @@ import org.eclipse.lsp.cobol.core.messages.MessageService;
 import org.eclipse.lsp.cobol.core.model.ResultWithErrors;
 import org.eclipse.lsp.cobol.core.model.SyntaxError;
 import org.eclipse.lsp.cobol.core.model.tree.Node;
-import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
+import org.eclipse.lsp.cobol.core.strategy.TwoStageParsing;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -51,9 +51,9 @@ public final class IdmsDialect implements CobolDialect {
     lexer.addErrorListener(listener);
     parser.removeErrorListeners();
     parser.addErrorListener(listener);
-    parser.setErrorHandler(new CobolErrorStrategy(messageService));
     IdmsVisitor visitor = new IdmsVisitor(uri, text);
-    List<Node> nodes = visitor.visitStartRule(parser.startRule());
+    List<Node> nodes =
+        visitor.visitStartRule(TwoStageParsing.parse(parser, messageService, IdmsParser::startRule));
     List<SyntaxError> errors = new ArrayList<>(listener.getErrors());
     return new ResultWithErrors<>(new DialectOutcome(visitor.getResultedText(), nodes), errors);
   }
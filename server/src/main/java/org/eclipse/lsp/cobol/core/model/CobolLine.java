@@ -14,8 +14,7 @@
  */
 package org.eclipse.lsp.cobol.core.model;
 
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -30,27 +29,124 @@ import java.util.Objects;
  * 8-12: area A<br>
  * 13-72: area B<br>
  * 73-80: comments<br>
+ * <br>
+ * The areas may be bound to a region of the source text by {@link #sliceAreas(String, int, int)}.
+ * In this case, they are stored as offsets and extracted only when requested, unless they are
+ * explicitly set.
  */
 @Data
 @NoArgsConstructor
 public class CobolLine implements Iterable<CobolLine> {
-  private String commentArea = "";
-  private String contentAreaA = "";
-  private String contentAreaB = "";
-  private String indicatorArea = "";
+  private static final int SEQUENCE_AREA_END = 6;
+  private static final int INDICATOR_AREA_END = 7;
+  private static final int AREA_A_END = 11;
+  private static final int AREA_B_END = 72;
+  private static final int COMMENT_AREA_END = 80;
+
+  private String commentArea;
+  private String contentAreaA;
+  private String contentAreaB;
+  private String indicatorArea;
   private int number;
   private CobolLine predecessor;
-  private String sequenceArea = "";
+  private String sequenceArea;
   private CobolLine successor;
   private CobolLineTypeEnum type = CobolLineTypeEnum.NORMAL;
 
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  private String source;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  private int start;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  private int end;
+
+  /**
+   * Bind the areas of this line to the fixed columns of the given region of the source text without
+   * copying them. The part of the line after the comment area is ignored.
+   *
+   * @param text the source text
+   * @param lineStart the offset of the line start in the text
+   * @param lineEnd the offset of the line end in the text, excluding the line separator
+   */
+  public void sliceAreas(String text, int lineStart, int lineEnd) {
+    source = text;
+    start = lineStart;
+    end = lineEnd;
+  }
+
+  /**
+   * Get the sequence area of the line
+   *
+   * @return the explicitly set value or the one extracted from the source text
+   */
+  public String getSequenceArea() {
+    if (sequenceArea == null) sequenceArea = slice(0, SEQUENCE_AREA_END);
+    return sequenceArea;
+  }
+
+  /**
+   * Get the indicator area of the line
+   *
+   * @return the explicitly set value or the one extracted from the source text
+   */
+  public String getIndicatorArea() {
+    if (indicatorArea == null) indicatorArea = slice(SEQUENCE_AREA_END, INDICATOR_AREA_END);
+    return indicatorArea;
+  }
+
+  /**
+   * Get the area A of the line
+   *
+   * @return the explicitly set value or the one extracted from the source text
+   */
+  public String getContentAreaA() {
+    if (contentAreaA == null) contentAreaA = slice(INDICATOR_AREA_END, AREA_A_END);
+    return contentAreaA;
+  }
+
+  /**
+   * Get the area B of the line
+   *
+   * @return the explicitly set value or the one extracted from the source text
+   */
+  public String getContentAreaB() {
+    if (contentAreaB == null) contentAreaB = slice(AREA_A_END, AREA_B_END);
+    return contentAreaB;
+  }
+
+  /**
+   * Get the comment area of the line
+   *
+   * @return the explicitly set value or the one extracted from the source text
+   */
+  public String getCommentArea() {
+    if (commentArea == null) commentArea = slice(AREA_B_END, COMMENT_AREA_END);
+    return commentArea;
+  }
+
   /**
    * Build and return a significant for syntax parsing content line
    *
    * @return a String with combined content areas
    */
   public String getContentArea() {
-    return contentAreaA + contentAreaB;
+    if (contentAreaA == null && contentAreaB == null) return slice(INDICATOR_AREA_END, AREA_B_END);
+    return getContentAreaA() + getContentAreaB();
+  }
+
+  private String slice(int fromColumn, int toColumn) {
+    if (source == null) return "";
+    int from = Math.min(start + fromColumn, end);
+    int to = Math.min(start + toColumn, end);
+    return source.substring(from, to);
   }
 
   /**
@@ -86,7 +182,11 @@ public class CobolLine implements Iterable<CobolLine> {
    */
   @Override
   public String toString() {
-    return sequenceArea + indicatorArea + contentAreaA + contentAreaB + commentArea;
+    return getSequenceArea()
+        + getIndicatorArea()
+        + getContentAreaA()
+        + getContentAreaB()
+        + getCommentArea();
   }
 
   @Override
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model;
+
+import lombok.Value;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.CopybookName;
+
+/**
+ * This value class describes a copybook that the preprocessor tried to resolve. Here, name is the
+ * copybook name, document URI is the document that contains the COPY statement, and content is the
+ * resolved text of the copybook, or null if it was not resolved.
+ */
+@Value
+public class CopybookDependency {
+  CopybookName name;
+  String documentUri;
+  String content;
+}
@@ -12,22 +12,77 @@
  *    Broadcom, Inc. - initial API and implementation
  *
  */
-
 package org.eclipse.lsp.cobol.core.model;
 
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.Value;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
- * This value class represents an original position mapping for the document. It stores the list of
- * {@link Locality} pointing to the positions of the original tokens of the document, and shifts
- * produced by extracting some statements from the document. Those shifts mean the number of
- * positions that should be skipped while building a full mapping of the extended document.
+ * This value class represents an original position mapping for the document. It splits the text
+ * that the document contributes to the extended one into segments, each produced by one original
+ * token, and stores the {@link Locality} of that token for every segment.
+ *
+ * <p>Offsets are the starts of the segments in the own text of the document, i.e. without the
+ * content of the nested copybooks, counted in code points as ANTLR does. They are sorted, so the
+ * segment of any offset is found by a binary search. The last segment ends at the length of the
+ * text.
  */
 @Value
+@AllArgsConstructor
 public class DocumentMapping {
   List<Locality> localities;
-  Map<Integer, Integer> shifts;
+
+  @Getter(AccessLevel.NONE)
+  int[] offsets;
+
+  int length;
+
+  /**
+   * Find the segment that contains the given offset
+   *
+   * @param offset the offset in the own text of the document
+   * @return the index of the segment or -1 if the offset is before the first one
+   */
+  public int findSegment(int offset) {
+    int index = Arrays.binarySearch(offsets, offset);
+    if (index < 0) return -index - 2;
+    // several segments may start at the same offset if some of them are empty
+    while (index + 1 < offsets.length && offsets[index + 1] == offset) index++;
+    return index;
+  }
+
+  /**
+   * Get the offset of the first character of the given segment
+   *
+   * @param segment the index of the segment
+   * @return the start offset in the own text of the document
+   */
+  public int getSegmentStart(int segment) {
+    return offsets[segment];
+  }
+
+  /**
+   * Get the offset after the last character of the given segment
+   *
+   * @param segment the index of the segment
+   * @return the end offset in the own text of the document
+   */
+  public int getSegmentEnd(int segment) {
+    return segment + 1 < offsets.length ? offsets[segment + 1] : length;
+  }
+
+  /**
+   * Create a mapping with the same segments for the given localities
+   *
+   * @param newLocalities the localities of the new mapping
+   * @return a new document mapping
+   */
+  public DocumentMapping withLocalities(List<Locality> newLocalities) {
+    return new DocumentMapping(newLocalities, offsets, length);
+  }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model;
+
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenSource;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * This class maps the tokens of the extended document to their original localities. The localities
+ * are stored column-wise in primitive arrays indexed by the token index, separately for each token
+ * source, since the embedded languages have their own token streams. The URIs, copybook ids, and
+ * recognizers are stored as indexes in the tables of distinct values.
+ *
+ * <p>The {@link Locality} instances are built only when requested, so the table doesn't keep an
+ * object per token. The instances are equal to the stored ones, but are not the same objects.
+ *
+ * <p>The indexes of the tokens on the visible channels are kept in a bit set, so the closest
+ * preceding visible token is found by a word-wise backward scan instead of checking the entries
+ * one by one.
+ */
+public class LocalityTable {
+  private static final int NONE = -1;
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final Map<TokenSource, Columns> columnsBySource = new IdentityHashMap<>();
+  private final List<String> strings = new ArrayList<>();
+  private final Map<String, Integer> stringIndexes = new HashMap<>();
+  private final List<Class> recognizers = new ArrayList<>();
+  private final Map<Class, Integer> recognizerIndexes = new HashMap<>();
+  private int size;
+
+  /**
+   * Store the locality of the given token. Tokens without an index are ignored.
+   *
+   * @param token the token of the extended document
+   * @param locality the original locality of the token
+   */
+  public void put(Token token, Locality locality) {
+    int index = token.getTokenIndex();
+    if (index < 0) return;
+    Columns columns =
+        columnsBySource.computeIfAbsent(token.getTokenSource(), it -> new Columns());
+    columns.ensureCapacity(index);
+    if (!columns.present.get(index)) size++;
+    columns.present.set(index);
+    columns.visible.set(index, token.getChannel() != Token.HIDDEN_CHANNEL);
+    columns.uris[index] = indexOf(locality.getUri());
+    columns.copybookIds[index] = indexOf(locality.getCopybookId());
+    columns.recognizers[index] =
+        recognizerIndexes.computeIfAbsent(
+            locality.getRecognizer(),
+            it -> {
+              recognizers.add(it);
+              return recognizers.size() - 1;
+            });
+    columns.tokens[index] = locality.getToken();
+    Range range = locality.getRange();
+    columns.ranges[index * 4] = range == null ? NONE : range.getStart().getLine();
+    if (range == null) return;
+    columns.ranges[index * 4 + 1] = range.getStart().getCharacter();
+    columns.ranges[index * 4 + 2] = range.getEnd().getLine();
+    columns.ranges[index * 4 + 3] = range.getEnd().getCharacter();
+  }
+
+  /**
+   * Get the locality of the given token
+   *
+   * @param token the token of the extended document
+   * @return the original locality or null if the token is not mapped
+   */
+  @Nullable
+  public Locality get(Token token) {
+    Columns columns = findColumns(token);
+    return columns == null ? null : columns.build(token.getTokenIndex());
+  }
+
+  /**
+   * Find the locality of the given token or the closest preceding token on the visible channel of
+   * the same source, looking back at most the given number of tokens.
+   *
+   * @param token the token of the extended document
+   * @param lookBack the max distance to the found token
+   * @return the original locality or null if not found
+   */
+  @Nullable
+  public Locality findPreviousVisible(Token token, int lookBack) {
+    Columns columns = findColumns(token);
+    if (columns == null) return null;
+    int index = token.getTokenIndex();
+    if (columns.isPresent(index)) return columns.build(index);
+    int previous = columns.visible.previousSetBit(index);
+    return previous < 0 || previous < index - lookBack ? null : columns.build(previous);
+  }
+
+  /**
+   * Get the number of mapped tokens
+   *
+   * @return the number of tokens that have localities
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Check if there are no mapped tokens
+   *
+   * @return true if the table is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Nullable
+  private Columns findColumns(Token token) {
+    if (token == null || token.getTokenIndex() < 0) return null;
+    return columnsBySource.get(token.getTokenSource());
+  }
+
+  private int indexOf(@Nullable String value) {
+    if (value == null) return NONE;
+    return stringIndexes.computeIfAbsent(
+        value,
+        it -> {
+          strings.add(it);
+          return strings.size() - 1;
+        });
+  }
+
+  private String valueOf(int index) {
+    return index == NONE ? null : strings.get(index);
+  }
+
+  /** The columns of the localities of one token source */
+  private class Columns {
+    private final BitSet present = new BitSet();
+    private final BitSet visible = new BitSet();
+    private int[] uris = new int[0];
+    private int[] copybookIds = new int[0];
+    private int[] recognizers = new int[0];
+    private int[] ranges = new int[0];
+    private String[] tokens = new String[0];
+
+    int capacity() {
+      return uris.length;
+    }
+
+    boolean isPresent(int index) {
+      return index >= 0 && present.get(index);
+    }
+
+    void ensureCapacity(int index) {
+      if (index < capacity()) return;
+      int capacity = Math.max(INITIAL_CAPACITY, Math.max(index + 1, capacity() * 2));
+      uris = Arrays.copyOf(uris, capacity);
+      copybookIds = Arrays.copyOf(copybookIds, capacity);
+      recognizers = Arrays.copyOf(recognizers, capacity);
+      ranges = Arrays.copyOf(ranges, capacity * 4);
+      tokens = Arrays.copyOf(tokens, capacity);
+    }
+
+    Locality build(int index) {
+      if (!isPresent(index)) return null;
+      int offset = index * 4;
+      return Locality.builder()
+          .uri(valueOf(uris[index]))
+          .copybookId(valueOf(copybookIds[index]))
+          .token(tokens[index])
+          .recognizer(LocalityTable.this.recognizers.get(recognizers[index]))
+          .range(
+              ranges[offset] == NONE
+                  ? null
+                  : new Range(
+                      new Position(ranges[offset], ranges[offset + 1]),
+                      new Position(ranges[offset + 2], ranges[offset + 3])))
+          .build();
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model;
+
+import org.eclipse.lsp.cobol.core.model.tree.NodeType;
+import org.eclipse.lsp.cobol.core.model.tree.variables.VariableNode;
+import org.eclipse.lsp.cobol.core.model.tree.variables.VariableUsageNode;
+
+import java.util.*;
+
+/**
+ * The immutable index of the defined variables that resolves qualified variable usages, e.g. "A OF
+ * B OF C". Each variable keeps the names of its parent variables, from the nearest one to the top
+ * level, as an array of interned strings, so the qualifiers are checked without walking the tree.
+ */
+public final class QualifiedNameIndex {
+  private static final String[] NO_PARENTS = new String[0];
+
+  private final Map<String, List<IndexedVariable>> variablesByName;
+
+  private QualifiedNameIndex(Map<String, List<IndexedVariable>> variablesByName) {
+    this.variablesByName = variablesByName;
+  }
+
+  /**
+   * Build an index for the given variables. The order of the variables with the same name is kept
+   * in the search results.
+   *
+   * @param variables the defined variables
+   * @return the index of the variables
+   */
+  public static QualifiedNameIndex of(Collection<VariableNode> variables) {
+    Map<String, String> names = new HashMap<>();
+    Map<String, List<IndexedVariable>> variablesByName = new HashMap<>();
+    for (VariableNode variable : variables) {
+      String name = intern(names, variable.getName());
+      variablesByName
+          .computeIfAbsent(name, it -> new ArrayList<>(1))
+          .add(new IndexedVariable(variable, collectParentNames(names, variable)));
+    }
+    return new QualifiedNameIndex(variablesByName);
+  }
+
+  /**
+   * Return the list of variables matches the list of qualifiers
+   *
+   * @param usageNodes usage nodes consists of variable name and parents
+   * @return the list of all matched variables
+   */
+  public List<VariableNode> findVariablesForUsage(List<VariableUsageNode> usageNodes) {
+    List<IndexedVariable> candidates = variablesByName.get(usageNodes.get(0).getName());
+    if (candidates == null) return Collections.emptyList();
+    List<VariableNode> result = new ArrayList<>(1);
+    for (IndexedVariable candidate : candidates) {
+      if (checkParents(candidate.parentNames, usageNodes)) result.add(candidate.variable);
+    }
+    return result;
+  }
+
+  /**
+   * Check that the qualifiers follow in the parent names in the given order, skipping the parents
+   * that are not mentioned, e.g. "A OF C" matches A with the parents B and C.
+   */
+  private static boolean checkParents(String[] parentNames, List<VariableUsageNode> usageNodes) {
+    int parent = 0;
+    for (int qualifier = 1; qualifier < usageNodes.size(); qualifier++) {
+      String qualifierName = usageNodes.get(qualifier).getName();
+      while (parent < parentNames.length && !parentNames[parent].equals(qualifierName)) parent++;
+      if (parent == parentNames.length) return false;
+      parent++;
+    }
+    return true;
+  }
+
+  private static String[] collectParentNames(Map<String, String> names, VariableNode variable) {
+    List<String> parentNames = new ArrayList<>();
+    Optional<VariableNode> parent = getParentVariable(variable);
+    while (parent.isPresent()) {
+      parentNames.add(intern(names, parent.get().getName()));
+      parent = getParentVariable(parent.get());
+    }
+    return parentNames.isEmpty() ? NO_PARENTS : parentNames.toArray(NO_PARENTS);
+  }
+
+  private static Optional<VariableNode> getParentVariable(VariableNode variable) {
+    return variable.getNearestParentByType(NodeType.VARIABLE).map(VariableNode.class::cast);
+  }
+
+  private static String intern(Map<String, String> names, String name) {
+    return names.computeIfAbsent(name, it -> it);
+  }
+
+  /** A variable with the names of its parent variables */
+  private static final class IndexedVariable {
+    private final VariableNode variable;
+    private final String[] parentNames;
+
+    IndexedVariable(VariableNode variable, String[] parentNames) {
+      this.variable = variable;
+      this.parentNames = parentNames;
+    }
+  }
+}
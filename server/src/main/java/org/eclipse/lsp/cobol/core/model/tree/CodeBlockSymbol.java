@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model.tree;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The entry of the program code block symbol table. It keeps the paragraph and section definition
+ * nodes with the given name and the references to them.
+ */
+@Getter
+class CodeBlockSymbol {
+  private final List<CodeBlockDefinitionNode> definitionNodes = new ArrayList<>();
+  private CodeBlockReference paragraph;
+  private CodeBlockReference section;
+
+  /**
+   * Find the first registered definition of the code block with this name
+   *
+   * @return the definition node if registered
+   */
+  Optional<CodeBlockDefinitionNode> getFirstDefinitionNode() {
+    return definitionNodes.isEmpty() ? Optional.empty() : Optional.of(definitionNodes.get(0));
+  }
+
+  CodeBlockReference getOrCreateParagraph() {
+    if (paragraph == null) paragraph = new CodeBlockReference();
+    return paragraph;
+  }
+
+  CodeBlockReference getOrCreateSection() {
+    if (section == null) section = new CodeBlockReference();
+    return section;
+  }
+}
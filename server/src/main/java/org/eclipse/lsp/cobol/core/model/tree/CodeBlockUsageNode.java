@@ -69,8 +69,7 @@ public class CodeBlockUsageNode extends Node implements Context {
       Function<CodeBlockReference, List<Location>> retriveLocations) {
     return getNearestParentByType(NodeType.PROGRAM)
         .map(ProgramNode.class::cast)
-        .map(ProgramNode::getParagraphMap)
-        .map(it -> it.get(getName()))
+        .flatMap(it -> it.getParagraphReference(getName()))
         .map(retriveLocations)
         .orElse(ImmutableList.of());
   }
@@ -20,15 +20,14 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 import org.antlr.v4.runtime.ParserRuleContext;
-import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.TokenStream;
 import org.antlr.v4.runtime.tree.ParseTreeVisitor;
 import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp.cobol.core.model.LocalityTable;
 import org.eclipse.lsp.cobol.core.visitor.CICSVisitor;
 import org.eclipse.lsp.cobol.core.visitor.Db2SqlVisitor;
 
 import java.util.List;
-import java.util.Map;
 import java.util.function.Function;
 
 import static org.eclipse.lsp.cobol.core.model.tree.NodeType.EMBEDDED_CODE;
@@ -54,9 +53,9 @@ public class EmbeddedCodeNode extends Node {
    * Apply language-specific visitor to the node content and replace it with the actual semantic
    * content of the code part.
    *
-   * @param mapping a map with actual token localities
+   * @param mapping a table with actual token localities
    */
-  public void analyzeTree(Map<Token, Locality> mapping) {
+  public void analyzeTree(LocalityTable mapping) {
     getParent().removeChild(this);
     lang.visitor.apply(mapping).visit(tree).forEach(getParent()::addChild);
   }
@@ -66,6 +65,6 @@ public class EmbeddedCodeNode extends Node {
   public enum Language {
     SQL(Db2SqlVisitor::new),
     CICS(CICSVisitor::new);
-    private Function<Map<Token, Locality>, ParseTreeVisitor<List<Node>>> visitor;
+    private Function<LocalityTable, ParseTreeVisitor<List<Node>>> visitor;
   }
 }
@@ -14,6 +14,7 @@
  */
 package org.eclipse.lsp.cobol.core.model.tree;
 
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -24,9 +25,12 @@ import org.eclipse.lsp.cobol.core.model.SyntaxError;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /** The class represents a Node in source structure tree. */
 @ToString
@@ -40,7 +44,9 @@ public abstract class Node {
   @EqualsAndHashCode.Exclude @ToString.Exclude @Setter private Node parent;
 
   @EqualsAndHashCode.Exclude
-  private Optional<Supplier<List<SyntaxError>>> nextProcessingStep = Optional.empty();
+  @ToString.Exclude
+  @Getter(AccessLevel.NONE)
+  private final List<Supplier<List<SyntaxError>>> processSteps = new ArrayList<>();
 
   protected Node(Locality location, NodeType nodeType) {
     this.locality = location;
@@ -65,6 +71,7 @@ public abstract class Node {
   public void addChild(Node node) {
     node.setParent(this);
     children.add(node);
+    notifyTopNode();
   }
 
   /**
@@ -74,7 +81,9 @@ public abstract class Node {
    * @return true if this node contained the specified child
    */
   public boolean removeChild(Node node) {
-    return children.remove(node);
+    boolean removed = children.remove(node);
+    if (removed) notifyTopNode();
+    return removed;
   }
 
   /**
@@ -83,7 +92,35 @@ public abstract class Node {
    * @return the stream with all underline children.
    */
   public Stream<Node> getDepthFirstStream() {
-    return Stream.concat(Stream.of(this), children.stream().flatMap(Node::getDepthFirstStream));
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(
+            new PreOrderIterator(this), Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  /**
+   * Get a stream with all nested children of the given type starting with this instance, in the
+   * same order as {@link #getDepthFirstStream()}.
+   *
+   * @param type required node type
+   * @return the stream with all underline children of the given type
+   */
+  public Stream<Node> getDepthFirstStream(NodeType type) {
+    return getDepthFirstStream().filter(hasType(type));
+  }
+
+  /**
+   * Called on the top node of a tree when a child was added or removed anywhere in it. The nodes
+   * that keep the derived data about the whole tree should override it to reset that data.
+   */
+  protected void onSubtreeChanged() {
+    // nothing to reset by default
+  }
+
+  private void notifyTopNode() {
+    Node top = this;
+    while (top.parent != null) top = top.parent;
+    top.onSubtreeChanged();
   }
 
   /**
@@ -98,17 +135,14 @@ public abstract class Node {
   }
 
   /**
-   * Process tree node and its children after tree construction.
+   * Process tree node and its children after tree construction. Only the steps that were added
+   * before the node was reached run, the steps added by them wait for the next call. Use {@link
+   * NodeProcessor#processTree(Node, int)} to run all the steps of a tree.
    *
    * @return the list of errors
    */
   public final List<SyntaxError> process() {
-    Optional<Supplier<List<SyntaxError>>> processTmp = nextProcessingStep;
-    nextProcessingStep = Optional.empty();
-    List<SyntaxError> errors = new ArrayList<>();
-    processTmp.map(Supplier::get).ifPresent(errors::addAll);
-    children.stream().map(Node::process).forEach(errors::addAll);
-    return errors;
+    return NodeProcessor.processOnce(this, new ArrayList<>());
   }
 
   /**
@@ -118,7 +152,7 @@ public abstract class Node {
    * @return true if no more `process` calls is needed
    */
   public final boolean isProcessed() {
-    return !nextProcessingStep.isPresent() && children.stream().allMatch(Node::isProcessed);
+    return getDepthFirstStream().noneMatch(Node::hasProcessSteps);
   }
 
   /**
@@ -127,17 +161,23 @@ public abstract class Node {
    * @param processCall the method for processing
    */
   protected final void addProcessStep(Supplier<List<SyntaxError>> processCall) {
-    if (nextProcessingStep.isPresent()) {
-      Supplier<List<SyntaxError>> previousProcessIt = nextProcessingStep.get();
-      nextProcessingStep =
-          Optional.of(
-              () -> {
-                List<SyntaxError> errors = new ArrayList<>(previousProcessIt.get());
-                errors.addAll(processCall.get());
-                return errors;
-              });
-    } else {
-      nextProcessingStep = Optional.of(processCall);
-    }
+    processSteps.add(processCall);
+  }
+
+  boolean hasProcessSteps() {
+    return !processSteps.isEmpty();
+  }
+
+  /**
+   * Run the steps of this node that are registered at the moment of the call in the order they
+   * were added. The steps added while running stay for the next call.
+   *
+   * @param errors the list to collect the errors into
+   */
+  void runProcessSteps(List<SyntaxError> errors) {
+    int count = processSteps.size();
+    if (count == 0) return;
+    for (int i = 0; i < count; i++) errors.addAll(processSteps.get(i).get());
+    processSteps.subList(0, count).clear();
   }
 }
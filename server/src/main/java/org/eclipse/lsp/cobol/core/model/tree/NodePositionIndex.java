@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model.tree;
+
+import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.*;
+
+/**
+ * An immutable index of the syntax tree node ranges. The ranges of each URI are kept in an array
+ * sorted by start position and augmented with the maximum end position of every implicit subtree,
+ * so a position query finds all the containing nodes in O(log n + k) without walking the tree.
+ *
+ * <p>The query result is the same as of {@link
+ * org.eclipse.lsp.cobol.core.preprocessor.delegates.util.RangeUtils#findNodeByPosition}: starting
+ * from the root, it descends into the first child containing the position until a leaf is reached
+ * or no child contains it. The index reflects the tree at the moment of creation, so it should be
+ * built once the analysis is finished.
+ */
+public final class NodePositionIndex {
+  private final Node[] nodes;
+  private final int[] parents;
+  private final int[] subtreeEnds;
+  private final Map<String, UriRanges> rangesByUri;
+
+  private NodePositionIndex(
+      Node[] nodes, int[] parents, int[] subtreeEnds, Map<String, UriRanges> rangesByUri) {
+    this.nodes = nodes;
+    this.parents = parents;
+    this.subtreeEnds = subtreeEnds;
+    this.rangesByUri = rangesByUri;
+  }
+
+  /**
+   * Build an index for the tree with the given root.
+   *
+   * @param root the root of the syntax tree
+   * @return the index of the node ranges
+   */
+  public static NodePositionIndex of(Node root) {
+    List<Node> order = new ArrayList<>();
+    List<Integer> parentList = new ArrayList<>();
+    Deque<Node> stack = new ArrayDeque<>();
+    Deque<Integer> parentStack = new ArrayDeque<>();
+    stack.push(root);
+    parentStack.push(-1);
+    while (!stack.isEmpty()) {
+      Node node = stack.pop();
+      int index = order.size();
+      order.add(node);
+      parentList.add(parentStack.pop());
+      List<Node> children = node.getChildren();
+      for (int i = children.size() - 1; i >= 0; i--) {
+        stack.push(children.get(i));
+        parentStack.push(index);
+      }
+    }
+
+    int size = order.size();
+    Node[] nodes = order.toArray(new Node[0]);
+    int[] parents = new int[size];
+    int[] subtreeEnds = new int[size];
+    for (int i = 0; i < size; i++) {
+      parents[i] = parentList.get(i);
+      subtreeEnds[i] = i + 1;
+    }
+    for (int i = size - 1; i > 0; i--) {
+      subtreeEnds[parents[i]] = Math.max(subtreeEnds[parents[i]], subtreeEnds[i]);
+    }
+
+    Map<String, List<Integer>> idsByUri = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      Locality locality = nodes[i].getLocality();
+      if (locality == null || locality.getUri() == null || locality.getRange() == null) continue;
+      idsByUri.computeIfAbsent(locality.getUri(), it -> new ArrayList<>()).add(i);
+    }
+    Map<String, UriRanges> rangesByUri = new HashMap<>();
+    idsByUri.forEach((uri, ids) -> rangesByUri.put(uri, new UriRanges(nodes, ids)));
+    return new NodePositionIndex(nodes, parents, subtreeEnds, rangesByUri);
+  }
+
+  /**
+   * Find the syntax tree node that contains the position.
+   *
+   * @param uri the uri of the node locality
+   * @param position a cursor position
+   * @return the found node
+   */
+  public Optional<Node> findNodeByPosition(String uri, Position position) {
+    UriRanges ranges = rangesByUri.get(uri);
+    if (ranges == null || nodes.length == 0) return Optional.empty();
+    int[] containing = ranges.findContaining(encode(position));
+    Arrays.sort(containing);
+    if (containing.length == 0 || containing[0] != 0) return Optional.empty();
+
+    int found = 0;
+    for (int i = 1; i < containing.length && containing[i] < subtreeEnds[found]; i++) {
+      if (parents[containing[i]] == found) found = containing[i];
+    }
+    return Optional.of(nodes[found]);
+  }
+
+  private static long encode(Position position) {
+    return ((long) position.getLine() << 32) | (position.getCharacter() & 0xFFFFFFFFL);
+  }
+
+  /**
+   * The ranges of one URI sorted by start. The array is treated as an implicit balanced search tree
+   * where the middle element of every slice is its root, and maxEnds keeps the maximum end of that
+   * slice to prune the subtrees that end before the position.
+   */
+  private static final class UriRanges {
+    private final int[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    UriRanges(Node[] nodes, List<Integer> unsorted) {
+      int size = unsorted.size();
+      long[] unsortedStarts = new long[size];
+      Integer[] order = new Integer[size];
+      for (int i = 0; i < size; i++) {
+        unsortedStarts[i] = encode(nodes[unsorted.get(i)].getLocality().getRange().getStart());
+        order[i] = i;
+      }
+      Arrays.sort(order, Comparator.comparingLong(i -> unsortedStarts[i]));
+      ids = new int[size];
+      starts = new long[size];
+      ends = new long[size];
+      maxEnds = new long[size];
+      for (int i = 0; i < size; i++) {
+        int id = unsorted.get(order[i]);
+        Range range = nodes[id].getLocality().getRange();
+        ids[i] = id;
+        starts[i] = unsortedStarts[order[i]];
+        ends[i] = encode(range.getEnd());
+      }
+      computeMaxEnds(0, size);
+    }
+
+    private long computeMaxEnds(int from, int to) {
+      if (from >= to) return Long.MIN_VALUE;
+      int mid = (from + to) >>> 1;
+      long childrenMaxEnd = Math.max(computeMaxEnds(from, mid), computeMaxEnds(mid + 1, to));
+      maxEnds[mid] = Math.max(ends[mid], childrenMaxEnd);
+      return maxEnds[mid];
+    }
+
+    int[] findContaining(long position) {
+      int[] result = new int[8];
+      int count = 0;
+      Deque<int[]> slices = new ArrayDeque<>();
+      slices.push(new int[] {0, ids.length});
+      while (!slices.isEmpty()) {
+        int[] slice = slices.pop();
+        int from = slice[0];
+        int to = slice[1];
+        if (from >= to) continue;
+        int mid = (from + to) >>> 1;
+        if (maxEnds[mid] < position) continue;
+        slices.push(new int[] {from, mid});
+        if (starts[mid] > position) continue;
+        if (ends[mid] >= position) {
+          if (count == result.length) result = Arrays.copyOf(result, count * 2);
+          result[count++] = ids[mid];
+        }
+        slices.push(new int[] {mid + 1, to});
+      }
+      return Arrays.copyOf(result, count);
+    }
+  }
+}
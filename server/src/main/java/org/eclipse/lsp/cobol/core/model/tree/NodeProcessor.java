@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model.tree;
+
+import com.google.common.collect.ImmutableList;
+import lombok.experimental.UtilityClass;
+import org.eclipse.lsp.cobol.core.model.SyntaxError;
+import org.eclipse.lsp.cobol.core.model.tree.variables.VariableDefinitionNode;
+import org.eclipse.lsp.cobol.core.model.tree.variables.VariableNode;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.lsp.cobol.core.model.tree.Node.hasType;
+
+/**
+ * This utility class runs the processing steps of a syntax tree. The first pass walks the whole
+ * tree in the depth-first order, running the steps of each node before its children, so the nodes
+ * that a step attaches below its node are processed in the same pass. Every node that still has
+ * steps after its turn goes to the worklist of the next pass, and the next passes run only the
+ * nodes from the worklist, keeping the tree order. See NodeProcessingTest for examples.
+ *
+ * <p>The sibling programs at the top of the tree may be processed concurrently, since the global
+ * items of a program are visible only to the programs nested in it. The nodes outside these
+ * programs are processed on the calling thread before the programs at each pass.
+ */
+@UtilityClass
+public class NodeProcessor {
+  /**
+   * Run all the processing steps of the given tree.
+   *
+   * @param rootNode the root of the tree to process
+   * @param passLimit the maximum number of passes to finish processing
+   * @return the list of errors in the order they were produced
+   * @throws IllegalStateException if the steps are still added after the allowed number of passes
+   */
+  public List<SyntaxError> processTree(Node rootNode, int passLimit) {
+    List<Node> worklist = new ArrayList<>();
+    List<SyntaxError> errors = new ArrayList<>();
+    walk(rootNode, worklist, errors, null);
+    int passes = 1;
+    while (!worklist.isEmpty()) {
+      if (++passes > passLimit) throw new IllegalStateException("Infinity loop in tree processing");
+      worklist = runWorklist(worklist, errors);
+    }
+    return errors;
+  }
+
+  /**
+   * Run all the processing steps of the given tree, processing the sibling top-level programs
+   * concurrently on the given pool. The errors of each pass are merged in the tree order, so the
+   * result is the same as of the sequential processing. Falls back to {@link #processTree(Node,
+   * int)} if there are less than two top-level programs, or if the nodes outside them have global
+   * items or processing steps of their own, since these may be shared by the programs.
+   *
+   * @param rootNode the root of the tree to process
+   * @param passLimit the maximum number of passes to finish processing
+   * @param pool the pool to process the top-level programs on
+   * @return the list of errors in the order they were produced
+   * @throws IllegalStateException if the steps are still added after the allowed number of passes
+   */
+  public List<SyntaxError> processTree(Node rootNode, int passLimit, ForkJoinPool pool) {
+    List<Node> units =
+        rootNode.getChildren().stream().filter(hasType(NodeType.PROGRAM)).collect(toList());
+    Set<Node> programs = Collections.newSetFromMap(new IdentityHashMap<>());
+    programs.addAll(units);
+    if (units.size() < 2 || !isIndependent(rootNode, programs))
+      return processTree(rootNode, passLimit);
+
+    List<Node> worklist = new ArrayList<>();
+    List<SyntaxError> errors = new ArrayList<>();
+    walk(rootNode, worklist, errors, programs);
+    List<List<Node>> unitWorklists =
+        runUnits(units, units.stream().map(ImmutableList::of).collect(toList()), errors, pool, true);
+    int passes = 1;
+    while (!worklist.isEmpty() || unitWorklists.stream().anyMatch(it -> !it.isEmpty())) {
+      if (++passes > passLimit) throw new IllegalStateException("Infinity loop in tree processing");
+      worklist = runWorklist(worklist, errors);
+      unitWorklists = runUnits(units, unitWorklists, errors, pool, false);
+    }
+    return errors;
+  }
+
+  /**
+   * Run one pass over the whole tree, collecting the nodes that need more passes.
+   *
+   * @param rootNode the root of the tree to process
+   * @param worklist the list to collect the nodes with remaining steps into
+   * @return the list of errors
+   */
+  List<SyntaxError> processOnce(Node rootNode, List<Node> worklist) {
+    List<SyntaxError> errors = new ArrayList<>();
+    walk(rootNode, worklist, errors, null);
+    return errors;
+  }
+
+  private List<List<Node>> runUnits(
+      List<Node> units,
+      List<List<Node>> worklists,
+      List<SyntaxError> errors,
+      ForkJoinPool pool,
+      boolean firstPass) {
+    List<ForkJoinTask<List<SyntaxError>>> tasks = new ArrayList<>(units.size());
+    List<List<Node>> nextWorklists = new ArrayList<>(units.size());
+    for (int i = 0; i < units.size(); i++) {
+      Node unit = units.get(i);
+      List<Node> worklist = worklists.get(i);
+      List<Node> next = new ArrayList<>();
+      nextWorklists.add(next);
+      if (worklist.isEmpty()) {
+        tasks.add(null);
+        continue;
+      }
+      tasks.add(
+          pool.submit(
+              () -> {
+                List<SyntaxError> unitErrors = new ArrayList<>();
+                if (firstPass) walk(unit, next, unitErrors, null);
+                else next.addAll(runWorklist(worklist, unitErrors));
+                return unitErrors;
+              }));
+    }
+    for (ForkJoinTask<List<SyntaxError>> task : tasks) if (task != null) errors.addAll(task.join());
+    return nextWorklists;
+  }
+
+  private List<Node> runWorklist(List<Node> worklist, List<SyntaxError> errors) {
+    List<Node> next = new ArrayList<>();
+    for (Node node : worklist) {
+      node.runProcessSteps(errors);
+      if (node.hasProcessSteps()) next.add(node);
+    }
+    return next;
+  }
+
+  private void walk(Node start, List<Node> worklist, List<SyntaxError> errors, Set<Node> skipped) {
+    Deque<Node> stack = new ArrayDeque<>();
+    stack.push(start);
+    while (!stack.isEmpty()) {
+      Node node = stack.pop();
+      node.runProcessSteps(errors);
+      if (node.hasProcessSteps()) worklist.add(node);
+      List<Node> children = node.getChildren();
+      for (int i = children.size() - 1; i >= 0; i--) {
+        Node child = children.get(i);
+        if (skipped == null || !skipped.contains(child)) stack.push(child);
+      }
+    }
+  }
+
+  private boolean isIndependent(Node rootNode, Set<Node> programs) {
+    Deque<Node> stack = new ArrayDeque<>(rootNode.getChildren());
+    while (!stack.isEmpty()) {
+      Node node = stack.pop();
+      if (programs.contains(node)) continue;
+      if (node.hasProcessSteps() || isGlobal(node)) return false;
+      node.getChildren().forEach(stack::push);
+    }
+    return true;
+  }
+
+  private boolean isGlobal(Node node) {
+    return (node instanceof VariableNode && ((VariableNode) node).isGlobal())
+        || (node instanceof VariableDefinitionNode && ((VariableDefinitionNode) node).isGlobal());
+  }
+}
@@ -56,8 +56,7 @@ public class ParagraphNameNode extends Node implements Context {
       Function<CodeBlockReference, List<Location>> retrieveLocations) {
     return getNearestParentByType(NodeType.PROGRAM)
         .map(ProgramNode.class::cast)
-        .map(ProgramNode::getParagraphMap)
-        .map(it -> it.get(getName()))
+        .flatMap(it -> it.getParagraphReference(getName()))
         .map(retrieveLocations)
         .orElse(ImmutableList.of());
   }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model.tree;
+
+import java.util.*;
+
+/**
+ * An iterator over a node and all its nested children in the depth-first pre-order. It keeps an
+ * explicit stack of the child iterators, so the depth of the tree is not limited by the call stack.
+ */
+class PreOrderIterator implements Iterator<Node> {
+  private final Deque<Iterator<Node>> stack = new ArrayDeque<>();
+  private Node next;
+
+  PreOrderIterator(Node start) {
+    next = start;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return next != null;
+  }
+
+  @Override
+  public Node next() {
+    if (next == null) throw new NoSuchElementException();
+    Node current = next;
+    if (!current.getChildren().isEmpty()) stack.push(current.getChildren().iterator());
+    next = null;
+    while (!stack.isEmpty() && next == null) {
+      Iterator<Node> children = stack.peek();
+      if (children.hasNext()) next = children.next();
+      else stack.pop();
+    }
+    return current;
+  }
+}
@@ -16,6 +16,7 @@ package org.eclipse.lsp.cobol.core.model.tree;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -23,16 +24,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.core.messages.MessageTemplate;
 import org.eclipse.lsp.cobol.core.model.ErrorSeverity;
 import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp.cobol.core.model.QualifiedNameIndex;
 import org.eclipse.lsp.cobol.core.model.SyntaxError;
-import org.eclipse.lsp.cobol.core.model.VariableUsageUtils;
 import org.eclipse.lsp.cobol.core.model.tree.variables.MnemonicNameNode;
 import org.eclipse.lsp.cobol.core.model.tree.variables.VariableNode;
 import org.eclipse.lsp.cobol.core.model.tree.variables.VariableUsageNode;
 import org.eclipse.lsp.cobol.core.semantics.PredefinedVariables;
-import org.eclipse.lsp4j.Location;
 
 import java.util.*;
 
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.lsp.cobol.core.model.tree.NodeType.PROCEDURE_SECTION;
 import static org.eclipse.lsp.cobol.core.model.tree.NodeType.PROGRAM;
 import static org.eclipse.lsp.cobol.core.semantics.PredefinedVariables.PREDEFINED;
 import static org.eclipse.lsp.cobol.service.PredefinedCopybooks.PREF_IMPLICIT;
@@ -44,9 +46,30 @@ import static org.eclipse.lsp.cobol.service.PredefinedCopybooks.PREF_IMPLICIT;
 @Slf4j
 public class ProgramNode extends Node {
   private final Multimap<String, VariableNode> variables = ArrayListMultimap.create();
-  private final List<CodeBlockDefinitionNode> codeBlocks = new ArrayList<>();
-  private final Map<String, CodeBlockReference> paragraphMap = new HashMap<>();
-  private final Map<String, CodeBlockReference> sectionMap = new HashMap<>();
+
+  // The indexes are built on the first search after the variable definitions are registered
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private QualifiedNameIndex variableIndex;
+
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private Map<String, VariableNode> globalVariables;
+
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private Map<String, VariableNode> parentGlobalVariables;
+
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private QualifiedNameIndex globalVariableIndex;
+
+  @Getter(AccessLevel.NONE)
+  private final Map<String, CodeBlockSymbol> codeBlocks = new HashMap<>();
 
   private String programName;
 
@@ -70,6 +93,8 @@ public class ProgramNode extends Node {
    */
   public void addVariableDefinition(VariableNode node) {
     variables.put(node.getName(), node);
+    variableIndex = null;
+    globalVariables = null;
   }
 
   /**
@@ -79,28 +104,38 @@ public class ProgramNode extends Node {
    * @return the list of founded variable definitions
    */
   public List<VariableNode> getVariableDefinition(List<VariableUsageNode> usageNodes) {
-    List<VariableNode> foundDefinitions =
-        VariableUsageUtils.findVariablesForUsage(variables, usageNodes);
+    if (variableIndex == null) variableIndex = QualifiedNameIndex.of(variables.values());
+    List<VariableNode> foundDefinitions = variableIndex.findVariablesForUsage(usageNodes);
     if (foundDefinitions.isEmpty()) {
-      Multimap<String, VariableNode> globals = ArrayListMultimap.create();
-      getMapOfGlobalVariables()
-          .values()
-          .forEach(variableNode -> globals.put(variableNode.getName(), variableNode));
-      foundDefinitions = VariableUsageUtils.findVariablesForUsage(globals, usageNodes);
+      Map<String, VariableNode> globals = getMapOfGlobalVariables();
+      if (globalVariableIndex == null)
+        globalVariableIndex = QualifiedNameIndex.of(globals.values());
+      foundDefinitions = globalVariableIndex.findVariablesForUsage(usageNodes);
     }
     return foundDefinitions;
   }
 
   /**
-   * Add a paragraph defined in the program context.
+   * Add a paragraph or section defined in the program context. Returns an optional syntax error if
+   * a code block of the same kind with the same name is already defined in the same scope, i.e. the
+   * same section for paragraphs or the program for sections.
    *
-   * @param node - the paragraph node
+   * @param node - the paragraph or section node
    * @return syntax error if the code block duplicates
    */
   public Optional<SyntaxError> registerCodeBlock(CodeBlockDefinitionNode node) {
-    codeBlocks.add(node);
-    // TODO: add uniqueness check for paragraphs
-    return Optional.empty();
+    List<CodeBlockDefinitionNode> definitions =
+        getCodeBlockSymbol(node.getName()).getDefinitionNodes();
+    boolean duplicated = definitions.stream().anyMatch(it -> it != node && hasSameScope(it, node));
+    definitions.add(node);
+    return duplicated
+        ? Optional.of(
+            SyntaxError.syntaxError()
+                .messageTemplate(MessageTemplate.of("semantics.duplicated", node.getName()))
+                .severity(ErrorSeverity.ERROR)
+                .locality(node.getDefinition())
+                .build())
+        : Optional.empty();
   }
 
   /**
@@ -111,13 +146,17 @@ public class ProgramNode extends Node {
    * @return Optional error if the paragraph or section with the given name is not defined
    */
   public Optional<SyntaxError> registerCodeBlockUsage(CodeBlockUsageNode node) {
-    final Optional<CodeBlockDefinitionNode> definition =
-        codeBlocks.stream().filter(it -> it.getName().equals(node.getName())).findAny();
+    Optional<CodeBlockSymbol> symbol =
+        Optional.ofNullable(codeBlocks.get(normalize(node.getName())));
+    Optional<CodeBlockDefinitionNode> definition =
+        symbol.flatMap(CodeBlockSymbol::getFirstDefinitionNode);
     definition.ifPresent(it -> it.addUsage(node.getLocality()));
 
-    Optional.ofNullable(paragraphMap.get(node.getName()))
+    symbol
+        .map(CodeBlockSymbol::getParagraph)
         .ifPresent(it -> it.addUsage(node.getLocality().toLocation()));
-    Optional.ofNullable(sectionMap.get(node.getName()))
+    symbol
+        .map(CodeBlockSymbol::getSection)
         .ifPresent(it -> it.addUsage(node.getLocality().toLocation()));
 
     return definition.isPresent()
@@ -131,16 +170,71 @@ public class ProgramNode extends Node {
                 .build());
   }
 
+  /**
+   * Find the definitions and usages of the paragraph with the given name
+   *
+   * @param name - the paragraph name, case-insensitive
+   * @return the paragraph references if the paragraph name is registered
+   */
+  public Optional<CodeBlockReference> getParagraphReference(String name) {
+    return Optional.ofNullable(codeBlocks.get(normalize(name))).map(CodeBlockSymbol::getParagraph);
+  }
+
+  /**
+   * Find the definitions and usages of the section with the given name
+   *
+   * @param name - the section name, case-insensitive
+   * @return the section references if the section name is registered
+   */
+  public Optional<CodeBlockReference> getSectionReference(String name) {
+    return Optional.ofNullable(codeBlocks.get(normalize(name))).map(CodeBlockSymbol::getSection);
+  }
+
+  /**
+   * Collect the names of the paragraphs registered in this program
+   *
+   * @return the list of paragraph names
+   */
+  public List<String> getParagraphNames() {
+    return codeBlocks.entrySet().stream()
+        .filter(it -> it.getValue().getParagraph() != null)
+        .map(Map.Entry::getKey)
+        .collect(toList());
+  }
+
+  /**
+   * Collect the names of the sections registered in this program
+   *
+   * @return the list of section names
+   */
+  public List<String> getSectionNames() {
+    return codeBlocks.entrySet().stream()
+        .filter(it -> it.getValue().getSection() != null)
+        .map(Map.Entry::getKey)
+        .collect(toList());
+  }
+
+  /**
+   * Collect the global variables visible in this program. The view is cached and rebuilt only if
+   * this program got new variables or the view of the parent program was rebuilt.
+   */
   private Map<String, VariableNode> getMapOfGlobalVariables() {
-    Map<String, VariableNode> result =
+    Map<String, VariableNode> parentGlobals =
         getNearestParentByType(PROGRAM)
             .map(ProgramNode.class::cast)
             .map(ProgramNode::getMapOfGlobalVariables)
-            .orElseGet(HashMap::new);
-    variables.values().stream()
-        .filter(VariableNode::isGlobal)
-        .forEach(variableNode -> result.put(variableNode.getName(), variableNode));
-    return result;
+            .orElse(null);
+    if (globalVariables == null || parentGlobals != parentGlobalVariables) {
+      Map<String, VariableNode> result =
+          parentGlobals == null ? new HashMap<>() : new HashMap<>(parentGlobals);
+      variables.values().stream()
+          .filter(VariableNode::isGlobal)
+          .forEach(variableNode -> result.put(variableNode.getName(), variableNode));
+      parentGlobalVariables = parentGlobals;
+      globalVariables = Collections.unmodifiableMap(result);
+      globalVariableIndex = null;
+    }
+    return globalVariables;
   }
 
   private void addPredefinedVariables() {
@@ -155,7 +249,9 @@ public class ProgramNode extends Node {
    * @return syntax error if the code block duplicates
    */
   public Optional<SyntaxError> registerParagraphNameNode(ParagraphNameNode node) {
-    updateMap(paragraphMap, node.getName(), node.locality.toLocation());
+    getCodeBlockSymbol(node.getName())
+        .getOrCreateParagraph()
+        .addDefinition(node.locality.toLocation());
     return Optional.empty();
   }
   /**
@@ -165,14 +261,24 @@ public class ProgramNode extends Node {
    * @return syntax error if the code block duplicates
    */
   public Optional<SyntaxError> registerSectionNameNode(SectionNameNode node) {
-    updateMap(sectionMap, node.getName(), node.locality.toLocation());
+    getCodeBlockSymbol(node.getName())
+        .getOrCreateSection()
+        .addDefinition(node.locality.toLocation());
     return Optional.empty();
   }
 
-  private void updateMap(Map<String, CodeBlockReference> map, String name, Location location) {
-    map.putIfAbsent(name, new CodeBlockReference());
-    CodeBlockReference references = map.get(name);
-    // TODO: add uniqueness check for section definition
-    references.addDefinition(location);
+  private CodeBlockSymbol getCodeBlockSymbol(String name) {
+    return codeBlocks.computeIfAbsent(normalize(name), it -> new CodeBlockSymbol());
+  }
+
+  private static String normalize(String name) {
+    return name.toUpperCase();
+  }
+
+  private static boolean hasSameScope(
+      CodeBlockDefinitionNode first, CodeBlockDefinitionNode second) {
+    return first.getNodeType() == second.getNodeType()
+        && first.getNearestParentByType(PROCEDURE_SECTION).orElse(null)
+            == second.getNearestParentByType(PROCEDURE_SECTION).orElse(null);
   }
 }
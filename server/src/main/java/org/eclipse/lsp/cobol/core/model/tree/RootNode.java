@@ -16,6 +16,7 @@ package org.eclipse.lsp.cobol.core.model.tree;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import org.eclipse.lsp.cobol.core.model.Locality;
@@ -25,9 +26,12 @@ import org.eclipse.lsp.cobol.core.semantics.NamedSubContext;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Range;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp.cobol.core.model.tree.NodeType.ROOT;
@@ -43,12 +47,47 @@ import static org.eclipse.lsp.cobol.service.PredefinedCopybooks.PREF_IMPLICIT;
 public class RootNode extends Node {
   private final Map<String, CopyDefinition> copyDefinitionMap = new HashMap<>();
 
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  private volatile Map<NodeType, List<Node>> nodesByType;
+
   public RootNode(Locality locality, NamedSubContext copybook) {
     super(locality, ROOT);
     addProcessStep(this::waitForVariableStructure);
     createCopyBookDefinitionNode(copybook.getDefinitions());
   }
 
+  /**
+   * Get all the nodes of the given type in this tree in the depth-first order. The nodes are taken
+   * from an index that is built once and reset only when the tree structure changes.
+   *
+   * @param type required node type
+   * @return the stream with all nodes of the given type
+   */
+  @Override
+  public Stream<Node> getDepthFirstStream(NodeType type) {
+    return getNodesByType().getOrDefault(type, ImmutableList.of()).stream();
+  }
+
+  @Override
+  protected void onSubtreeChanged() {
+    nodesByType = null;
+  }
+
+  private Map<NodeType, List<Node>> getNodesByType() {
+    Map<NodeType, List<Node>> result = nodesByType;
+    if (result != null) return result;
+    synchronized (this) {
+      if (nodesByType == null) {
+        Map<NodeType, List<Node>> index = new EnumMap<>(NodeType.class);
+        getDepthFirstStream()
+            .forEach(it -> index.computeIfAbsent(it.getNodeType(), t -> new ArrayList<>()).add(it));
+        nodesByType = index;
+      }
+      return nodesByType;
+    }
+  }
+
   private void createCopyBookDefinitionNode(Multimap<String, Location> definition) {
     for (Map.Entry<String, Location> copybook : definition.entries()) {
       copyDefinitionMap.put(
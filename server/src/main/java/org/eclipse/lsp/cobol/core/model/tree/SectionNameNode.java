@@ -56,8 +56,7 @@ public class SectionNameNode extends Node implements Context {
       Function<CodeBlockReference, List<Location>> retrieveLocations) {
     return getNearestParentByType(NodeType.PROGRAM)
         .map(ProgramNode.class::cast)
-        .map(ProgramNode::getSectionMap)
-        .map(it -> it.get(getName()))
+        .flatMap(it -> it.getSectionReference(getName()))
         .map(retrieveLocations)
         .orElse(ImmutableList.of());
   }
@@ -143,8 +143,7 @@ public class VariableDefinitionUtil {
     // collect them
     List<VariableNode> variables =
         node.getChildren().stream()
-            .flatMap(Node::getDepthFirstStream)
-            .filter(hasType(NodeType.VARIABLE))
+            .flatMap(it -> it.getDepthFirstStream(NodeType.VARIABLE))
             .map(VariableNode.class::cast)
             .collect(Collectors.toList());
     node.getNearestParentByType(NodeType.PROGRAM)
@@ -466,8 +465,7 @@ public class VariableDefinitionUtil {
       return ImmutableList.of(variable.getError(MessageTemplate.of(NO_STRUCTURE_BEFORE_RENAME)));
     List<VariableNode> nodesForRenaming =
         group.getChildren().stream()
-            .flatMap(Node::getDepthFirstStream)
-            .filter(hasType(NodeType.VARIABLE))
+            .flatMap(it -> it.getDepthFirstStream(NodeType.VARIABLE))
             .map(VariableNode.class::cast)
             .collect(Collectors.toList());
     List<SyntaxError> errors = new ArrayList<>();
@@ -15,10 +15,12 @@
 
 package org.eclipse.lsp.cobol.core.preprocessor;
 
+import com.google.common.collect.ImmutableList;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.commons.lang3.tuple.Pair;
 import org.eclipse.lsp.cobol.core.model.CopyStatementModifier;
+import org.eclipse.lsp.cobol.core.model.CopybookDependency;
 import org.eclipse.lsp.cobol.core.model.CopybookUsage;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.CopybookName;
 
@@ -37,9 +39,20 @@ public class CopybookHierarchy {
   private final List<Pair<String, String>> textReplacingClauses = new ArrayList<>();
   private final Deque<CopybookUsage> copybookStack = new ArrayDeque<>();
   private final Deque<List<Pair<String, String>>> recursiveReplaceStmtStack = new ArrayDeque<>();
+  private final List<CopybookDependency> dependencies = new ArrayList<>();
+  private final Map<String, Integer> copyOrdinals = new HashMap<>();
+  @Getter private final PreprocessingTasks tasks;
 
   @Setter @Getter private CopyStatementModifier modifier = null;
 
+  public CopybookHierarchy() {
+    this(new PreprocessingTasks());
+  }
+
+  private CopybookHierarchy(PreprocessingTasks tasks) {
+    this.tasks = tasks;
+  }
+
   /**
    * Check if the replacing is required
    *
@@ -49,6 +62,31 @@ public class CopybookHierarchy {
     return !textReplacingClauses.isEmpty();
   }
 
+  /**
+   * Check if there are any replacing clauses or a modifier that affect the copybook processing
+   *
+   * @return true if the processing of a copybook depends on the replacing state
+   */
+  public boolean hasReplacingState() {
+    return !(copyReplacingClauses.isEmpty()
+        && textReplacingClauses.isEmpty()
+        && recursiveReplaceStmtStack.isEmpty()
+        && modifier == null);
+  }
+
+  /**
+   * Create a new hierarchy with the same copybook stack, but without the replacing state, the
+   * dependencies, and the copy ordinals. The new hierarchy may be used in another thread, and it
+   * shares the background tasks with the current one.
+   *
+   * @return a new hierarchy for processing copybooks nested in the current one
+   */
+  public CopybookHierarchy forkStack() {
+    CopybookHierarchy result = new CopybookHierarchy(tasks);
+    result.copybookStack.addAll(copybookStack);
+    return result;
+  }
+
   /**
    * Get the id of the copybook from the top of the stack or null if absent
    *
@@ -58,6 +96,16 @@ public class CopybookHierarchy {
     return Optional.ofNullable(copybookStack.peek()).map(CopybookUsage::getCopybookId).orElse(null);
   }
 
+  /**
+   * Get the ordinal of the next COPY statement in the copybook from the top of the stack, or in the
+   * document if the stack is empty. The ordinals start with zero.
+   *
+   * @return the ordinal of the COPY statement
+   */
+  public int nextCopyOrdinal() {
+    return copyOrdinals.merge(Objects.toString(getCurrentCopybookId(), ""), 1, Integer::sum) - 1;
+  }
+
   /**
    * Add a new copybook to the top of the stack
    *
@@ -155,4 +203,49 @@ public class CopybookHierarchy {
     textReplacingClauses.clear();
     return result;
   }
+
+  /**
+   * Register a copybook that was requested while processing the document, including the nested
+   * ones. The list of dependencies is never cleared, so the dependencies of a specific copybook may
+   * be retrieved using the count before its processing.
+   *
+   * @param dependency the requested copybook and its resolved content
+   */
+  public void registerDependency(CopybookDependency dependency) {
+    dependencies.add(dependency);
+  }
+
+  /**
+   * Get the number of the copybooks registered as dependencies so far
+   *
+   * @return the number of dependencies
+   */
+  public int getDependencyCount() {
+    return dependencies.size();
+  }
+
+  /**
+   * Get the dependencies registered after the given count
+   *
+   * @param fromCount the number of dependencies to skip
+   * @return an immutable list of the dependencies registered after the given count
+   */
+  public List<CopybookDependency> getDependenciesFrom(int fromCount) {
+    return ImmutableList.copyOf(dependencies.subList(fromCount, dependencies.size()));
+  }
+
+  /**
+   * Build a snapshot of the replacing clauses and the modifier that affect the processing of the
+   * copybook content. Two equal snapshots produce the same result for the same copybook text.
+   *
+   * @return an immutable list representing the current replacing state
+   */
+  public List<Object> getReplacingState() {
+    List<Object> state = new ArrayList<>();
+    state.add(ImmutableList.copyOf(copyReplacingClauses));
+    state.add(ImmutableList.copyOf(textReplacingClauses));
+    recursiveReplaceStmtStack.forEach(it -> state.add(ImmutableList.copyOf(it)));
+    state.add(Optional.ofNullable(modifier));
+    return Collections.unmodifiableList(state);
+  }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * This class tracks the background tasks started for one document analysis, e.g. the copybooks
+ * preprocessed in advance. It is shared by all the forks of the analysis {@link CopybookHierarchy},
+ * so the tasks may be cancelled together when the analysis is interrupted or doesn't need them
+ * anymore. Is thread-safe.
+ */
+public class PreprocessingTasks {
+  private final List<Future<?>> futures = new ArrayList<>();
+  private boolean cancelled;
+
+  /**
+   * Register a started task. The task is cancelled at once if the tasks are already cancelled.
+   *
+   * @param future the future of the task
+   */
+  public synchronized void add(Future<?> future) {
+    if (cancelled) future.cancel(true);
+    else futures.add(future);
+  }
+
+  /**
+   * Check if the tasks are cancelled, so the new ones should not start
+   *
+   * @return true if the tasks are cancelled
+   */
+  public synchronized boolean isCancelled() {
+    return cancelled;
+  }
+
+  /** Cancel all the registered tasks, interrupting the running ones */
+  public synchronized void cancelAll() {
+    cancelled = true;
+    futures.forEach(it -> it.cancel(true));
+    futures.clear();
+  }
+}
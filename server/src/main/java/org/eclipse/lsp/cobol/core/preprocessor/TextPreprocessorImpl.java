@@ -18,20 +18,12 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.lsp.cobol.core.model.CobolLine;
 import org.eclipse.lsp.cobol.core.model.ExtendedDocument;
 import org.eclipse.lsp.cobol.core.model.ResultWithErrors;
-import org.eclipse.lsp.cobol.core.model.SyntaxError;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.GrammarPreprocessor;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.reader.CobolLineReader;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.rewriter.CobolLineReWriter;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.transformer.CobolLinesTransformation;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.writer.CobolLineWriter;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.cleaner.CobolLineCleaner;
 import org.eclipse.lsp.cobol.service.CopybookConfig;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * This class re-writes the content of the analyzing file to simplify the processing by the grammar,
  * e.g. removes comments or cleans-up the comment and sequence areas. See the delegates for more
@@ -42,34 +34,17 @@ import java.util.List;
 @Singleton
 public class TextPreprocessorImpl implements TextPreprocessor {
   private final GrammarPreprocessor grammarPreprocessor;
-  private final CobolLineReader reader;
-  private final CobolLineWriter writer;
-  private final CobolLinesTransformation transformation;
-  private final CobolLineReWriter indicatorProcessor;
+  private final CobolLineCleaner cleaner;
 
   @Inject
-  public TextPreprocessorImpl(
-      GrammarPreprocessor grammarPreprocessor,
-      CobolLineReader reader,
-      CobolLineWriter writer,
-      CobolLinesTransformation transformation,
-      CobolLineReWriter indicatorProcessor) {
+  public TextPreprocessorImpl(GrammarPreprocessor grammarPreprocessor, CobolLineCleaner cleaner) {
     this.grammarPreprocessor = grammarPreprocessor;
-    this.reader = reader;
-    this.writer = writer;
-    this.transformation = transformation;
-    this.indicatorProcessor = indicatorProcessor;
+    this.cleaner = cleaner;
   }
 
   @Override
   public ResultWithErrors<String> cleanUpCode(String documentUri, String cobolCode) {
-    List<SyntaxError> errors = new ArrayList<>();
-    List<CobolLine> lines = readLines(cobolCode, documentUri).unwrap(errors::addAll);
-    List<CobolLine> transformedLines = transformLines(documentUri, lines).unwrap(errors::addAll);
-    List<CobolLine> rewrittenLines = rewriteLines(transformedLines);
-
-    String code = writer.serialize(rewrittenLines);
-    return new ResultWithErrors<>(code, errors);
+    return cleaner.cleanUp(documentUri, cobolCode);
   }
 
   @NonNull
@@ -82,21 +57,4 @@ public class TextPreprocessorImpl implements TextPreprocessor {
     return grammarPreprocessor.buildExtendedDocument(
         documentUri, cobolCode, copybookConfig, hierarchy);
   }
-
-  private ResultWithErrors<List<CobolLine>> readLines(String cobolCode, String documentURI) {
-    return reader.processLines(documentURI, cobolCode);
-  }
-
-  private ResultWithErrors<List<CobolLine>> transformLines(
-      String documentURI, List<CobolLine> lines) {
-    return transformation.transformLines(documentURI, lines);
-  }
-
-  /**
-   * Normalize lines of given COBOL source code, so that comment entries can be parsed and lines
-   * have a unified line format.
-   */
-  private List<CobolLine> rewriteLines(List<CobolLine> lines) {
-    return indicatorProcessor.processLines(lines);
-  }
 }
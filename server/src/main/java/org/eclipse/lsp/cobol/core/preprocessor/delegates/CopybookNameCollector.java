@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates;
+
+import lombok.Getter;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.eclipse.lsp.cobol.core.CobolPreprocessorBaseListener;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.DialectType;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.CopybookName;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.util.PreprocessorStringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.eclipse.lsp.cobol.core.CobolPreprocessor.CopyStatementContext;
+import static org.eclipse.lsp.cobol.core.CobolPreprocessor.IncludeStatementContext;
+
+/**
+ * This listener collects the names of the copybooks used in the COBOL COPY and SQL INCLUDE
+ * statements of the preprocessed text. The names are built the same way as the COBOL copybook
+ * analysis does, so they can be resolved before the actual analysis. The copybook name contexts of
+ * the statements without REPLACING are collected in the source order, so their copybooks may be
+ * preprocessed before the actual analysis as well.
+ */
+@Getter
+class CopybookNameCollector extends CobolPreprocessorBaseListener {
+  private final Set<CopybookName> names = new LinkedHashSet<>();
+  private final List<ParserRuleContext> copySourcesWithoutReplacing = new ArrayList<>();
+
+  @Override
+  public void enterCopyStatement(CopyStatementContext ctx) {
+    collect(ctx.copySource(), ctx.replacingPhrase() == null);
+  }
+
+  @Override
+  public void enterIncludeStatement(IncludeStatementContext ctx) {
+    collect(ctx.copySource(), true);
+  }
+
+  private void collect(ParserRuleContext copySource, boolean withoutReplacing) {
+    if (copySource == null) return;
+    String name = PreprocessorStringUtils.trimQuotes(copySource.getText().toUpperCase());
+    if (name.isEmpty()) return;
+    names.add(new CopybookName(name, DialectType.COBOL.name()));
+    if (withoutReplacing) copySourcesWithoutReplacing.add(copySource);
+  }
+}
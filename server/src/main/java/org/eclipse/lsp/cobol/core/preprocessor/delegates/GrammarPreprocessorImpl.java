@@ -28,27 +28,41 @@ import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.GrammarPreprocessorListener;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.GrammarPreprocessorListenerFactory;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.ReplacePreprocessorFactory;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.ParallelCopybookPreprocessor;
 import org.eclipse.lsp.cobol.service.CopybookConfig;
+import org.eclipse.lsp.cobol.service.CopybookService;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  * This class runs pre-processing for COBOL using CobolPreprocessor.g4 grammar file. As a result, it
  * returns an extended document with all the available copybooks included, with their definitions
  * and usages specified, as well as related errors.
+ *
+ * <p>Before the copybook analysis, the copybooks used in the text are resolved in a batch, so the
+ * analysis doesn't wait for the client for every copybook. Then the sibling copybooks are
+ * preprocessed concurrently, and the analysis takes their results in the source order.
  */
 public class GrammarPreprocessorImpl implements GrammarPreprocessor {
+  private static final String REPLACE_KEYWORD = "REPLACE";
   private final GrammarPreprocessorListenerFactory listenerFactory;
   private final ReplacePreprocessorFactory replacingFactory;
+  private final CopybookService copybookService;
+  private final ParallelCopybookPreprocessor copybookPreprocessor;
 
   @Inject
   public GrammarPreprocessorImpl(
       GrammarPreprocessorListenerFactory listenerFactory,
-      ReplacePreprocessorFactory replacingFactory) {
+      ReplacePreprocessorFactory replacingFactory,
+      CopybookService copybookService,
+      ParallelCopybookPreprocessor copybookPreprocessor) {
     this.listenerFactory = listenerFactory;
     this.replacingFactory = replacingFactory;
+    this.copybookService = copybookService;
+    this.copybookPreprocessor = copybookPreprocessor;
   }
 
   @NonNull
@@ -61,16 +75,50 @@ public class GrammarPreprocessorImpl implements GrammarPreprocessor {
     List<SyntaxError> errors = new ArrayList<>();
 
     String replacedCode =
-        runPreprocessorGrammar(code, tokens -> replacingFactory.create(uri, tokens, hierarchy))
-            .unwrap(errors::addAll);
+        requiresReplacing(code, hierarchy)
+            ? runPreprocessorGrammar(
+                    code, tokens -> replacingFactory.create(uri, tokens, hierarchy), tree -> {})
+                .unwrap(errors::addAll)
+            : code;
 
     return runPreprocessorGrammar(
-            replacedCode, tokens -> listenerFactory.create(uri, tokens, copybookConfig, hierarchy))
+            replacedCode,
+            tokens -> listenerFactory.create(uri, tokens, copybookConfig, hierarchy),
+            tree -> prefetchCopybooks(uri, copybookConfig, hierarchy, tree))
         .accumulateErrors(errors);
   }
 
+  /**
+   * Apart from dropping the comment lines, that the copybook pass ignores as well, the REPLACE pass
+   * only changes the text if there are replacing clauses inherited from the hierarchy or the text
+   * has REPLACE statements. The keyword is searched ignoring case, as the lexer does, and a false
+   * positive only costs the pass that would run anyway.
+   */
+  private static boolean requiresReplacing(String code, CopybookHierarchy hierarchy) {
+    return hierarchy.requiresReplacing() || containsIgnoringCase(code, REPLACE_KEYWORD);
+  }
+
+  private static boolean containsIgnoringCase(String text, String word) {
+    for (int i = text.length() - word.length(); i >= 0; i--) {
+      if (text.regionMatches(true, i, word, 0, word.length())) return true;
+    }
+    return false;
+  }
+
+  private void prefetchCopybooks(
+      String uri, CopybookConfig copybookConfig, CopybookHierarchy hierarchy, RuleContext tree) {
+    if (!copybookConfig.getCopybookProcessingMode().analyze) return;
+    CopybookNameCollector collector = new CopybookNameCollector();
+    new ParseTreeWalker().walk(collector, tree);
+    copybookService.prefetch(collector.getNames(), uri, copybookConfig);
+    copybookPreprocessor.preprocess(
+        collector.getCopySourcesWithoutReplacing(), uri, copybookConfig, hierarchy);
+  }
+
   private <T> ResultWithErrors<T> runPreprocessorGrammar(
-      String code, Function<BufferedTokenStream, GrammarPreprocessorListener<T>> listenerBuilder) {
+      String code,
+      Function<BufferedTokenStream, GrammarPreprocessorListener<T>> listenerBuilder,
+      Consumer<RuleContext> beforeWalking) {
     ThreadInterruptionUtil.checkThreadInterrupted();
 
     Lexer lexer = new CobolPreprocessorLexer(CharStreams.fromString(code));
@@ -82,6 +130,7 @@ public class GrammarPreprocessorImpl implements GrammarPreprocessor {
     parser.removeErrorListeners();
 
     RuleContext startRule = parser.startRule();
+    beforeWalking.accept(startRule);
 
     ParseTreeWalker walker = new ParseTreeWalker();
     GrammarPreprocessorListener<T> listener = listenerBuilder.apply(tokens);
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.cleaner;
+
+import org.eclipse.lsp.cobol.core.model.ResultWithErrors;
+
+/**
+ * This interface describes a class that converts the raw text of a COBOL document into a string for
+ * the further processing, e.g. applies the continuation lines and normalizes the line indicators
+ */
+public interface CobolLineCleaner {
+
+  /**
+   * Clean up the given COBOL text and check the line format
+   *
+   * @param documentURI - URI of the processing document
+   * @param text - the raw text of the document
+   * @return the cleaned-up text with the format errors
+   */
+  ResultWithErrors<String> cleanUp(String documentURI, String text);
+}
@@ -0,0 +1,488 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.cleaner;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.lsp.cobol.core.messages.MessageService;
+import org.eclipse.lsp.cobol.core.model.*;
+import org.eclipse.lsp.cobol.core.preprocessor.ProcessingConstants;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.reader.CobolLineReader;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.reader.CompilerDirectives;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Optional.ofNullable;
+import static org.eclipse.lsp.cobol.core.model.CobolLineTypeEnum.*;
+import static org.eclipse.lsp.cobol.core.model.ErrorSeverity.ERROR;
+import static org.eclipse.lsp.cobol.core.preprocessor.ProcessingConstants.*;
+
+/**
+ * This class cleans up the COBOL text in one pass over its lines: it checks and joins the
+ * continuation lines, interprets the line indicators, and writes the result into a single buffer.
+ *
+ * <p>Any sentence, entry, clause, or phrase that requires more than one line can be continued in
+ * Area B of the next line that is neither a comment line nor a blank line. The line being continued
+ * is a continued line; the succeeding lines are continuation lines. Area A of a continuation line
+ * must be blank. The blank and comment lines between them are written after the continuation lines
+ * to keep the number of lines.
+ *
+ * <p>The way a line ends depends on whether the next significant line continues it, so only the
+ * last significant line and the blank or comment lines that follow it are held back until the next
+ * significant line is read.
+ */
+@Slf4j
+@Singleton
+public class CobolLineCleanerImpl implements CobolLineCleaner {
+  private static final String PSEUDO_TEXT_DELIMITER = "=";
+  private final CobolLineReader reader;
+  private final MessageService messageService;
+
+  @Inject
+  public CobolLineCleanerImpl(CobolLineReader reader, MessageService messageService) {
+    this.reader = reader;
+    this.messageService = messageService;
+  }
+
+  @Override
+  public ResultWithErrors<String> cleanUp(String documentURI, String text) {
+    List<SyntaxError> errors = new ArrayList<>();
+    List<CobolLine> lines = reader.processLines(documentURI, text).unwrap(errors::addAll);
+    LineWindow window = new LineWindow(text.length());
+    CobolLine previousLine = null;
+    for (int i = 0; i < lines.size(); i++) {
+      CobolLine cobolLine = lines.get(i);
+      boolean significant = !isBlankLine(cobolLine) && cobolLine.getType() != COMMENT;
+
+      if (cobolLine.getType() == CONTINUATION)
+        ofNullable(checkContinuationLine(documentURI, i, window.getContinued(), cobolLine))
+            .ifPresent(errors::add);
+      if (significant)
+        ofNullable(checkIfStringClosedCorrectly(previousLine, documentURI, i, cobolLine))
+            .ifPresent(errors::add);
+
+      window.accept(cobolLine, significant);
+      previousLine = cobolLine;
+    }
+    return new ResultWithErrors<>(window.finish(), errors);
+  }
+
+  /**
+   * Check if the continuation line follows the format rules
+   *
+   * @return a SyntaxError if there is a continuation line error or null if not
+   */
+  private SyntaxError checkContinuationLine(
+      String uri, int lineNumber, CobolLine continuedLine, CobolLine cobolLine) {
+    if (isCompilerDirectiveStatement(continuedLine, cobolLine)) {
+      return registerCompilerDirectiveContinuedError(uri, lineNumber, cobolLine);
+    }
+    if (!StringUtils.isBlank(cobolLine.getContentAreaA())) {
+      return registerContinuationLineError(
+          uri, lineNumber, countLeadingSpaces(cobolLine.getContentAreaA()));
+    }
+    return null;
+  }
+
+  private boolean isCompilerDirectiveStatement(CobolLine continuedLine, CobolLine line) {
+    if (continuedLine == null) return false;
+    String predecessorContentArea = continuedLine.getContentArea();
+    return Stream.of(CompilerDirectives.values())
+            .map(CompilerDirectives::getDirective)
+            .anyMatch(predecessorContentArea.split("\\s+")[0].toUpperCase()::equals)
+        || isPseudoDelimiterContinued(line, predecessorContentArea);
+  }
+
+  // REF - https://www.ibm.com/support/knowledgecenter/SS6SG3_6.1.0/lr/ref/rlfmtcon.html
+  // topic - Continuation of alphanumeric and national literals
+  private boolean isPseudoDelimiterContinued(CobolLine line, String predecessorContentArea) {
+    return StringUtils.stripEnd(StringUtils.normalizeSpace(predecessorContentArea), ",;")
+            .endsWith(PSEUDO_TEXT_DELIMITER)
+        && StringUtils.normalizeSpace(line.getContentArea()).startsWith(PSEUDO_TEXT_DELIMITER);
+  }
+
+  /** Count number of spaces between INDICATOR_AREA and CONTENT_AREA_A */
+  private int countLeadingSpaces(String line) {
+    int spaces = 0;
+    while (spaces < line.length() && line.charAt(spaces) == ' ') spaces++;
+    return spaces;
+  }
+
+  /**
+   * Check and raise an error if the current line is not a continuation one while the previous line
+   * doesn't close a string literal.
+   */
+  private SyntaxError checkIfStringClosedCorrectly(
+      CobolLine previousCobolLine, String uri, int lineNumber, CobolLine currentCobolLine) {
+    if (hasUnclosedString(previousCobolLine) && currentCobolLine.getType() != CONTINUATION) {
+      return registerStringClosingError(
+          uri, lineNumber, getCobolLineTrimmedLength(previousCobolLine));
+    }
+    return null;
+  }
+
+  /** Check if the quote that opens the first literal of the line appears an odd number of times */
+  private boolean hasUnclosedString(CobolLine cobolLine) {
+    if (cobolLine == null || cobolLine.getType() == COMMENT) return false;
+
+    String content = cobolLine.getContentArea();
+    int indexOfSingle = content.indexOf('\'');
+    int indexOfDouble = content.indexOf('"');
+    if (indexOfSingle == indexOfDouble) return false;
+
+    char quote =
+        indexOfDouble == -1 || (indexOfSingle != -1 && indexOfSingle < indexOfDouble) ? '\'' : '"';
+    int count = 0;
+    for (int i = (quote == '"' ? indexOfDouble : indexOfSingle) + 1; i < content.length(); i++) {
+      if (content.charAt(i) == quote) count++;
+    }
+    return count % 2 == 0;
+  }
+
+  /**
+   * The syntax error should be thrown in the content area B, so it is necessary to remove the
+   * comment area from the Cobol line
+   *
+   * @param lastCobolLine - CobolLine that was processed before the current one
+   * @return content length without spaces
+   */
+  private int getCobolLineTrimmedLength(CobolLine lastCobolLine) {
+    return (lastCobolLine.getSequenceArea()
+                + lastCobolLine.getIndicatorArea()
+                + lastCobolLine.getContentAreaA()
+                + lastCobolLine.getContentAreaB())
+            .trim()
+            .length()
+        - 1;
+  }
+
+  private static boolean isBlankLine(CobolLine cobolLine) {
+    return isWhitespace(cobolLine.getSequenceArea())
+        && isWhitespace(cobolLine.getIndicatorArea())
+        && isWhitespace(cobolLine.getContentAreaA())
+        && isWhitespace(cobolLine.getContentAreaB())
+        && isWhitespace(cobolLine.getCommentArea());
+  }
+
+  /** Check the text consists only of the characters matched by the \s regular expression class */
+  private static boolean isWhitespace(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char character = text.charAt(i);
+      if (character != ' ' && (character < '\t' || character > '\r')) return false;
+    }
+    return true;
+  }
+
+  private static boolean isEndingWithOpenLiteral(CobolLine line) {
+    return isEndingWithOpenLiteral(line.getContentArea());
+  }
+
+  private static boolean isEndingWithOpenLiteral(String contentArea) {
+    String contentAreaWithoutStringLiterals =
+        removeStringLiterals(removeStringLiterals(contentArea, '"'), '\'');
+    return contentAreaWithoutStringLiterals.indexOf('"') != -1
+        || contentAreaWithoutStringLiterals.indexOf('\'') != -1;
+  }
+
+  /**
+   * Remove the literals delimited by the given quote. A doubled quote inside a literal stands for
+   * the quote itself, so it doesn't close the literal.
+   *
+   * @param text - the text to process
+   * @param quote - the delimiter of the literals
+   * @return the text without the closed literals
+   */
+  private static String removeStringLiterals(String text, char quote) {
+    StringBuilder result = null;
+    int copied = 0;
+    int start = text.indexOf(quote);
+    while (start != -1) {
+      int end = findLiteralEnd(text, start, quote);
+      if (end == -1) {
+        start = text.indexOf(quote, start + 1);
+        continue;
+      }
+      if (result == null) result = new StringBuilder(text.length());
+      result.append(text, copied, start);
+      copied = end + 1;
+      start = text.indexOf(quote, copied);
+    }
+    return result == null ? text : result.append(text, copied, text.length()).toString();
+  }
+
+  private static int findLiteralEnd(String text, int start, char quote) {
+    int index = start + 1;
+    while (index < text.length()) {
+      if (text.charAt(index) != quote) index++;
+      else if (index + 1 < text.length() && text.charAt(index + 1) == quote) index += 2;
+      else return index;
+    }
+    return -1;
+  }
+
+  private static boolean startsWithQuoteMark(String text) {
+    return text.startsWith("\"") || text.startsWith("'");
+  }
+
+  private static boolean endsWithQuoteMark(String text) {
+    return text.endsWith("\"") || text.endsWith("'");
+  }
+
+  private SyntaxError registerCompilerDirectiveContinuedError(
+      String uri, int lineNumber, CobolLine cobolLine) {
+    return SyntaxError.syntaxError()
+        .severity(ERROR)
+        .locality(
+            Locality.builder()
+                .uri(uri)
+                .range(
+                    new Range(
+                        new Position(lineNumber, ProcessingConstants.INDICATOR_AREA),
+                        new Position(lineNumber, cobolLine.toString().length())))
+                .recognizer(getClass())
+                .build())
+        .suggestion(
+            messageService.getMessage("ContinuationLineTransformation.compilerDirectiveContinued"))
+        .build();
+  }
+
+  private SyntaxError registerStringClosingError(
+      String uri, int lineNumber, int cobolLineTrimmedLength) {
+    SyntaxError error =
+        SyntaxError.syntaxError()
+            .locality(
+                Locality.builder()
+                    .uri(uri)
+                    .range(
+                        new Range(
+                            new Position(lineNumber - 1, cobolLineTrimmedLength),
+                            new Position(lineNumber - 1, cobolLineTrimmedLength + 1)))
+                    .recognizer(getClass())
+                    .build())
+            .suggestion(messageService.getMessage("ContinuationLineTransformation.periodRequired"))
+            .severity(ERROR)
+            .build();
+
+    LOG.debug("Syntax error by CobolLineCleanerImpl#registerStringClosingError: {}", error);
+    return error;
+  }
+
+  private SyntaxError registerContinuationLineError(String uri, int lineNumber, int countingSpace) {
+    int startPosition = ProcessingConstants.INDICATOR_AREA + countingSpace;
+    SyntaxError error =
+        SyntaxError.syntaxError()
+            .locality(
+                Locality.builder()
+                    .uri(uri)
+                    .range(
+                        new Range(
+                            new Position(lineNumber, startPosition),
+                            new Position(lineNumber, ProcessingConstants.START_INDEX_AREA_B)))
+                    .recognizer(getClass())
+                    .build())
+            .suggestion(
+                messageService.getMessage(
+                    "ContinuationLineTransformation.continuationLineContentAreaA"))
+            .severity(ERROR)
+            .build();
+    LOG.debug("Syntax error by CobolLineCleanerImpl#registerContinuationLineError: {}", error);
+    return error;
+  }
+
+  /**
+   * The look-behind window of the cleanup. It holds the last significant line, that may be
+   * continued by the next one, and the blank or comment lines read after it, and writes them into
+   * the output buffer as soon as their final form is known.
+   */
+  private static final class LineWindow {
+    private final StringBuilder output;
+    private final List<CobolLine> deferredLines = new ArrayList<>();
+    private CobolLine continued;
+    private String predecessorContentArea;
+    private int pendingLineBreaks;
+
+    LineWindow(int capacity) {
+      output = new StringBuilder(capacity);
+    }
+
+    CobolLine getContinued() {
+      return continued;
+    }
+
+    void accept(CobolLine line, boolean significant) {
+      if (!significant) {
+        if (continued == null) write(line, false, null);
+        else deferredLines.add(line);
+      } else if (line.getType() == CONTINUATION) {
+        predecessorContentArea =
+            continued == null ? null : write(continued, true, predecessorContentArea);
+        continued = line;
+      } else {
+        releaseContinued();
+        continued = line;
+      }
+    }
+
+    String finish() {
+      releaseContinued();
+      appendPendingLineBreaks();
+      return output.toString();
+    }
+
+    private void releaseContinued() {
+      if (continued != null) write(continued, false, predecessorContentArea);
+      deferredLines.forEach(it -> write(it, false, null));
+      deferredLines.clear();
+      continued = null;
+      predecessorContentArea = null;
+    }
+
+    /**
+     * Write the given line to the output
+     *
+     * @param line - the line to write
+     * @param continuedNext - true if the next significant line is a continuation one
+     * @param predecessorContentArea - the rewritten content area of the line continued by the given
+     *     one or null
+     * @return the rewritten content area of the line if it is continued next, or null
+     */
+    private String write(CobolLine line, boolean continuedNext, String predecessorContentArea) {
+      String contentArea = continuedNext ? conditionalRightTrim(line) : null;
+      switch (line.getType()) {
+        case PREPROCESSED:
+          startLine(line);
+          contentArea = line.getContentArea();
+          output.append(line.getIndicatorArea()).append(contentArea);
+          break;
+        case CONTINUATION:
+          if (contentArea == null) contentArea = rightTrim(line.getContentArea());
+          contentArea = rewriteContinuation(contentArea, predecessorContentArea);
+          if (predecessorContentArea == null) {
+            // there is no line to continue, so the continuation line starts a new one
+            startLine(line);
+            output.append(WS).append(StringUtils.stripStart(contentArea, null));
+          } else {
+            appendContinuation(contentArea);
+          }
+          break;
+        case COMMENT:
+          startLine(line);
+          output.append(COMMENT_TAG).append(WS);
+          appendContentArea(line, contentArea);
+          break;
+        case COMPILER_DIRECTIVE:
+          startLine(line);
+          contentArea = "";
+          output.append(WS);
+          break;
+        case NORMAL:
+        case DEBUG:
+        default:
+          startLine(line);
+          output.append(WS);
+          appendContentArea(line, contentArea);
+          break;
+      }
+      return continuedNext ? contentArea : null;
+    }
+
+    private void startLine(CobolLine line) {
+      appendPendingLineBreaks();
+      if (line.getNumber() > 0) output.append(NEWLINE);
+      if (line.getType() != PREPROCESSED) output.append(BLANK_SEQUENCE_AREA);
+    }
+
+    /**
+     * Continuation lines are joined with the continued one, and the line breaks are moved after the
+     * last of them to keep the line numbers of the further text.
+     */
+    private void appendContinuation(String contentArea) {
+      String continuation = StringUtils.stripStart(contentArea, null);
+      output.append(continuation, startsWithQuoteMark(continuation) ? 1 : 0, continuation.length());
+      pendingLineBreaks++;
+    }
+
+    private void appendPendingLineBreaks() {
+      for (; pendingLineBreaks > 0; pendingLineBreaks--) output.append(NEWLINE);
+    }
+
+    /** Append the given rewritten content area, or the right-trimmed one of the line if not set */
+    private void appendContentArea(CobolLine line, String rewrittenContentArea) {
+      if (rewrittenContentArea != null) {
+        output.append(rewrittenContentArea);
+        return;
+      }
+      String contentArea = line.getContentArea();
+      int end = trimmedEnd(contentArea);
+      output.append(contentArea, 0, end);
+      if (isSeparator(contentArea, end)) output.append(WS);
+    }
+
+    /** The content area of a line ending with an open literal is kept as is if it is continued */
+    private static String conditionalRightTrim(CobolLine line) {
+      return isEndingWithOpenLiteral(line)
+          ? line.getContentArea()
+          : rightTrim(line.getContentArea());
+    }
+
+    private static String rightTrim(String contentArea) {
+      int end = trimmedEnd(contentArea);
+      String trimmed = contentArea.substring(0, end);
+      return isSeparator(contentArea, end) ? trimmed + WS : trimmed;
+    }
+
+    private static int trimmedEnd(String contentArea) {
+      int end = contentArea.length();
+      while (end > 0 && contentArea.charAt(end - 1) == ' ') end--;
+      return end;
+    }
+
+    /** Repair the trimmed whitespace after a comma or semicolon separator */
+    private static boolean isSeparator(String contentArea, int end) {
+      return end > 0 && (contentArea.charAt(end - 1) == ',' || contentArea.charAt(end - 1) == ';');
+    }
+
+    private static String rewriteContinuation(String contentArea, String predecessorContentArea) {
+      if (StringUtils.isBlank(contentArea)) return "";
+      String trimmedContentArea = StringUtils.stripStart(contentArea, " ");
+      /*
+       If a line, which is continued on the next line, ends in column 72 with a quotation mark as
+       the last character, the continuation line by specification has to start with two
+       consecutive quotation marks. The first of them is removed, so the quotation mark of the
+       continued line and the one left on the continuation line become 2 successive quotation
+       marks. Non-compliant sources without the two quotation marks are only left-trimmed.
+      */
+      if (predecessorContentArea != null && endsWithQuoteMark(predecessorContentArea))
+        return startsWithQuoteMark(trimmedContentArea)
+            ? trimmedContentArea.substring(1)
+            : trimmedContentArea;
+      /*
+       If the continued line ends with an open literal, the continuation line might start with a
+       single quotation mark, which is removed to keep the literal open.
+      */
+      if (predecessorContentArea != null && isEndingWithOpenLiteral(predecessorContentArea))
+        return startsWithQuoteMark(trimmedContentArea)
+            ? trimmedContentArea.substring(1)
+            : contentArea;
+      return trimmedContentArea;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * The clauses of one REPLACING or REPLACE statement compiled into a single pattern. The text is
+ * scanned once, and at each position the first clause in the statement order that matches wins.
+ * Every match is replaced once, and the replacements are not scanned again, so the clauses apply
+ * simultaneously as COBOL requires, e.g. "A BY B, B BY A" swaps the words.
+ */
+@AllArgsConstructor
+class CompiledReplacingPattern {
+  private final Pattern pattern;
+  private final List<Clause> clauses;
+
+  /**
+   * Compile the given replacing clauses. The clauses with an empty regular expression are skipped.
+   *
+   * @param replacePatterns the pairs of the regular expression to replace and the replacement
+   * @return the compiled clauses
+   */
+  static CompiledReplacingPattern compile(@NonNull List<Pair<String, String>> replacePatterns) {
+    List<Clause> clauses = new ArrayList<>();
+    List<String> alternatives = new ArrayList<>();
+    int group = 1;
+    for (Pair<String, String> replacePattern : replacePatterns) {
+      if (replacePattern.getLeft().isEmpty()) continue;
+      int groupCount = Pattern.compile(replacePattern.getLeft()).matcher("").groupCount();
+      clauses.add(new Clause(group, groupCount, replacePattern.getRight()));
+      alternatives.add("(" + replacePattern.getLeft() + ")");
+      group += groupCount + 1;
+    }
+    return new CompiledReplacingPattern(
+        clauses.isEmpty() ? null : Pattern.compile(alternatives.stream().collect(joining("|"))),
+        clauses);
+  }
+
+  /**
+   * Replace all the matches of the clauses in the given text in one pass
+   *
+   * @param text the text to process
+   * @return the text with the replacements applied
+   */
+  String apply(@NonNull String text) {
+    if (pattern == null) return text;
+    Matcher matcher = pattern.matcher(text);
+    if (!matcher.find()) return text;
+    StringBuilder result = new StringBuilder(text.length());
+    int position = 0;
+    do {
+      result.append(text, position, matcher.start());
+      findClause(matcher).expand(matcher, result);
+      position = matcher.end();
+    } while (matcher.find());
+    return result.append(text, position, text.length()).toString();
+  }
+
+  private Clause findClause(Matcher matcher) {
+    for (Clause clause : clauses) {
+      if (matcher.start(clause.group) != -1) return clause;
+    }
+    throw new IllegalStateException("No clause matched: " + matcher.group());
+  }
+
+  /**
+   * A clause in the compiled pattern. The replacement refers to the groups of the clause's own
+   * regular expression, so the group numbers are shifted by the position of the clause.
+   */
+  @AllArgsConstructor
+  private static class Clause {
+    private final int group;
+    private final int groupCount;
+    private final String replacement;
+
+    /**
+     * Append the replacement to the result with the same rules {@link Matcher#appendReplacement}
+     * has, i.e. "$n" inserts the n-th group of the clause, and a backslash escapes the next
+     * character.
+     */
+    private void expand(Matcher matcher, StringBuilder result) {
+      int index = 0;
+      while (index < replacement.length()) {
+        char character = replacement.charAt(index++);
+        if (character == '\\') {
+          if (index == replacement.length())
+            throw new IllegalArgumentException("character to be escaped is missing");
+          result.append(replacement.charAt(index++));
+        } else if (character == '$') {
+          if (index == replacement.length() || !isDigit(replacement.charAt(index)))
+            throw new IllegalArgumentException("Illegal group reference");
+          int reference = replacement.charAt(index++) - '0';
+          while (index < replacement.length() && isDigit(replacement.charAt(index))) {
+            int next = reference * 10 + replacement.charAt(index) - '0';
+            if (next > groupCount) break;
+            reference = next;
+            index++;
+          }
+          if (reference > groupCount) throw new IndexOutOfBoundsException("No group " + reference);
+          String value = matcher.group(group + reference);
+          if (value != null) result.append(value);
+        } else {
+          result.append(character);
+        }
+      }
+    }
+
+    private static boolean isDigit(char character) {
+      return character >= '0' && character <= '9';
+    }
+  }
+}
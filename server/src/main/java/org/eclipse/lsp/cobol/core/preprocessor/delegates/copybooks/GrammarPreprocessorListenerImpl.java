@@ -21,13 +21,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.BufferedTokenStream;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.Token;
-import org.antlr.v4.runtime.misc.Interval;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.TerminalNode;
 import org.apache.commons.lang3.tuple.Pair;
 import org.eclipse.lsp.cobol.core.CobolParser;
 import org.eclipse.lsp.cobol.core.CobolPreprocessorBaseListener;
-import org.eclipse.lsp.cobol.core.CobolPreprocessorLexer;
 import org.eclipse.lsp.cobol.core.messages.MessageService;
 import org.eclipse.lsp.cobol.core.model.*;
 import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
@@ -58,15 +56,13 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
     implements GrammarPreprocessorListener<ExtendedDocument> {
   private static final String MAID_WRK_QUALIFIER = "WRK";
   private static final String FILLER_VARIABLE_NAME = "FILLER";
-  private static final int DEFAULT_TOKEN_SHIFT = 2;
-  private static final int TOKEN_SHIFT_WITH_LINEBREAK = 3;
   private static final int MAID_SUFFIX_LENGTH = 2;
 
   private final List<SyntaxError> errors = new ArrayList<>();
   private final Deque<StringBuilder> textAccumulator = new ArrayDeque<>();
   private final NamedSubContext copybooks = new NamedSubContext();
   private final Map<String, DocumentMapping> nestedMappings = new HashMap<>();
-  private final Map<Integer, Integer> shifts = new HashMap<>();
+  private final Deque<WrittenTokens> writtenTokens = new ArrayDeque<>();
 
   private final String documentUri;
   private final BufferedTokenStream tokens;
@@ -92,13 +88,36 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
     this.messageService = messageService;
     this.analysisFactory = analysisFactory;
     this.hierarchy = hierarchy;
-    textAccumulator.push(new StringBuilder());
+    push();
   }
 
   @Override
   public Deque<StringBuilder> getTextAccumulator() {
     return textAccumulator;
   }
+
+  @Override
+  public void push() {
+    GrammarPreprocessorListener.super.push();
+    writtenTokens.push(new WrittenTokens());
+  }
+
+  @Override
+  public String pop() {
+    writtenTokens.pop();
+    return GrammarPreprocessorListener.super.pop();
+  }
+
+  @Override
+  public String accumulate() {
+    while (needsCollapsing()) {
+      WrittenTokens nested = writtenTokens.pop();
+      String text = GrammarPreprocessorListener.super.pop();
+      writtenTokens.element().append(nested);
+      write(text);
+    }
+    return read();
+  }
   /**
    * Get the extended document of the COBOL file and the used copybooks.
    *
@@ -107,15 +126,10 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
   @NonNull
   @Override
   public ResultWithErrors<ExtendedDocument> getResult() {
-    nestedMappings.put(
-        documentUri,
-        new DocumentMapping(
-            tokens.getTokens().stream()
-                .map(LocalityUtils.toLocality(documentUri, hierarchy.getCurrentCopybookId()))
-                .collect(toList()),
-            shifts));
+    String text = accumulate();
+    nestedMappings.put(documentUri, writtenTokens.element().toMapping());
     return new ResultWithErrors<>(
-        new ExtendedDocument(documentUri, accumulate(), copybooks, nestedMappings), errors);
+        new ExtendedDocument(documentUri, text, copybooks, nestedMappings), errors);
   }
 
   @Override
@@ -126,7 +140,6 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
   @Override
   public void exitTitleDirective(TitleDirectiveContext ctx) {
     pop();
-    accumulateTokenShift(ctx);
   }
 
   @Override
@@ -150,8 +163,6 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
       LOG.debug("Syntax error by exitEnterDirective: {}", error);
       errors.add(error);
     }
-
-    accumulateTokenShift(ctx);
   }
 
   @Override
@@ -163,7 +174,6 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
   public void exitControlDirective(ControlDirectiveContext ctx) {
     pop();
     if (ctx.controlOptions().isEmpty()) reportInvalidArgument(ctx.controlCbl());
-    accumulateTokenShift(ctx);
   }
 
   @Override
@@ -237,7 +247,6 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
 
   private boolean requiresEarlyReturn(ParserRuleContext context) {
     if (!copybookConfig.getCopybookProcessingMode().analyze) {
-      accumulateTokenShift(context);
       pop();
       return true;
     }
@@ -336,7 +345,6 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
   @Override
   public void exitReplaceAreaStart(ReplaceAreaStartContext ctx) {
     pop();
-    accumulateTokenShift(ctx);
   }
 
   @Override
@@ -347,28 +355,17 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
   @Override
   public void exitReplaceOffStatement(ReplaceOffStatementContext ctx) {
     pop();
-    accumulateTokenShift(ctx);
   }
 
   @Override
   public void visitTerminal(@NonNull TerminalNode node) {
-    TokenUtils.writeHiddenTokens(tokens, this::write).accept(node);
+    TokenUtils.forEachTextToken(tokens, this::writeToken).accept(node);
   }
 
-  @Override
-  public void accumulateTokenShift(ParserRuleContext context) {
-    final Interval sourceInterval = context.getSourceInterval();
-    shifts.put(
-        sourceInterval.a - 1, sourceInterval.b - sourceInterval.a + calculateTokenShift(context));
-  }
-
-  private int calculateTokenShift(ParserRuleContext context) {
-    return tokens.getHiddenTokensToLeft(context.start.getTokenIndex()).stream()
-        .map(Token::getType)
-        .filter(it -> it == CobolPreprocessorLexer.NEWLINE)
-        .findAny()
-        .map(it -> TOKEN_SHIFT_WITH_LINEBREAK)
-        .orElse(DEFAULT_TOKEN_SHIFT);
+  private void writeToken(Token token) {
+    String text = token.getType() == Token.EOF ? "" : token.getText();
+    writtenTokens.element().add(token.getTokenIndex(), text);
+    write(text);
   }
 
   private void reportInvalidArgument(ControlCblContext ctx) {
@@ -399,4 +396,37 @@ public class GrammarPreprocessorListenerImpl extends CobolPreprocessorBaseListen
   private Locality retrieveLocality(ParserRuleContext ctx) {
     return LocalityUtils.buildLocality(ctx, documentUri, hierarchy.getCurrentCopybookId());
   }
+
+  /**
+   * The tokens written to one level of the text accumulator, with their offsets in the text of the
+   * level. The text written by the copybook analysis is not counted, so the offsets refer to the own
+   * text of the document.
+   */
+  private class WrittenTokens {
+    private final List<Integer> indexes = new ArrayList<>();
+    private final List<Integer> offsets = new ArrayList<>();
+    private int length;
+
+    void add(int index, String text) {
+      indexes.add(index);
+      offsets.add(length);
+      length += text.codePointCount(0, text.length());
+    }
+
+    void append(WrittenTokens nested) {
+      indexes.addAll(nested.indexes);
+      nested.offsets.forEach(it -> offsets.add(length + it));
+      length += nested.length;
+    }
+
+    DocumentMapping toMapping() {
+      return new DocumentMapping(
+          indexes.stream()
+              .map(tokens::get)
+              .map(LocalityUtils.toLocality(documentUri, hierarchy.getCurrentCopybookId()))
+              .collect(toList()),
+          offsets.stream().mapToInt(Integer::intValue).toArray(),
+          length);
+    }
+  }
 }
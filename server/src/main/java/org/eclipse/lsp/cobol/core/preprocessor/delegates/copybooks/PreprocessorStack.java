@@ -16,7 +16,6 @@
 package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks;
 
 import lombok.NonNull;
-import org.antlr.v4.runtime.ParserRuleContext;
 
 import java.util.Deque;
 import java.util.Objects;
@@ -80,12 +79,4 @@ public interface PreprocessorStack {
   default boolean needsCollapsing() {
     return getTextAccumulator().size() > 1;
   }
-
-
-  /**
-   * Accumulate the token shift for the given context to skip it while building the position mapping
-   *
-   * @param context the context to calculate the shift
-   */
-  default void accumulateTokenShift(ParserRuleContext context) {}
 }
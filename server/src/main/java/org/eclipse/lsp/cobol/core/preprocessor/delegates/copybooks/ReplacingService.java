@@ -29,7 +29,7 @@ public interface ReplacingService {
    *
    * @param text - String to replace
    * @param replacePatterns - list of patterns for replacement
-   * @return a String with all the patterns applied one by one
+   * @return a String with all the patterns applied simultaneously in one pass
    */
   @NonNull
   String applyReplacing(@NonNull String text, @NonNull List<Pair<String, String>> replacePatterns);
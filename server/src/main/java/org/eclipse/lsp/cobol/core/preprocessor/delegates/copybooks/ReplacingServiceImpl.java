@@ -15,6 +15,9 @@
 
 package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.AllArgsConstructor;
@@ -44,7 +47,9 @@ import static java.util.regex.Matcher.quoteReplacement;
 
 /**
  * This service applies replacing for given text by replace clauses and tokens. It may work with
- * REPLACING and REPLACE statements.
+ * REPLACING and REPLACE statements. The clauses of a statement are compiled together once, applied
+ * in one pass over the text, and reused for every text they apply to, e.g. all the levels of nested
+ * copybooks.
  */
 @Singleton
 @Slf4j
@@ -67,8 +72,11 @@ public class ReplacingServiceImpl implements ReplacingService {
 
   private static final String ERROR_REPLACING = "Error replacing on text: %s with the pattern: %s";
   private static final int INDIVIDUAL_WORD_VALID_LENGTH = 322;
+  private static final int COMPILED_PATTERNS_CACHE_SIZE = 1000;
 
   private final MessageService messageService;
+  private final Cache<List<Pair<String, String>>, CompiledReplacingPattern> compiledPatterns =
+      CacheBuilder.newBuilder().maximumSize(COMPILED_PATTERNS_CACHE_SIZE).build();
 
   @Inject
   public ReplacingServiceImpl(MessageService messageService) {
@@ -79,7 +87,14 @@ public class ReplacingServiceImpl implements ReplacingService {
   @Override
   public String applyReplacing(
       @NonNull String text, @NonNull List<Pair<String, String>> replacePatterns) {
-    return replacePatterns.stream().reduce(text, this::replace, (str1, str2) -> str2);
+    if (StringUtils.isBlank(text) || replacePatterns.isEmpty()) return text;
+    String result = text;
+    try {
+      result = compile(replacePatterns).apply(text);
+    } catch (IndexOutOfBoundsException e) {
+      LOG.error(format(ERROR_REPLACING, text, replacePatterns), e);
+    }
+    return result;
   }
 
   @NonNull
@@ -223,15 +238,14 @@ public class ReplacingServiceImpl implements ReplacingService {
   }
 
   @NonNull
-  private String replace(@NonNull String text, @NonNull Pair<String, String> pattern) {
-    if (StringUtils.isBlank(text)) return text;
-    String result = text;
-    try {
-      result = Pattern.compile(pattern.getLeft()).matcher(text).replaceAll(pattern.getRight());
-    } catch (IndexOutOfBoundsException e) {
-      LOG.error(format(ERROR_REPLACING, text, pattern), e);
+  private CompiledReplacingPattern compile(@NonNull List<Pair<String, String>> replacePatterns) {
+    CompiledReplacingPattern compiled = compiledPatterns.getIfPresent(replacePatterns);
+    if (compiled == null) {
+      compiled = CompiledReplacingPattern.compile(replacePatterns);
+      // the given list may change later, e.g. the text replacing clauses of the hierarchy
+      compiledPatterns.put(ImmutableList.copyOf(replacePatterns), compiled);
     }
-    return result;
+    return compiled;
   }
 
   private Function<String, Boolean> checkContainWord(String check) {
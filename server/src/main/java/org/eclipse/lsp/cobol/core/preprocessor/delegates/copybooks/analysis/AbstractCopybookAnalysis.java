@@ -16,7 +16,6 @@
 package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
 import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.eclipse.lsp.cobol.core.messages.MessageService;
@@ -40,9 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
-import java.util.function.Function;
 
-import static java.util.UUID.randomUUID;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.eclipse.lsp.cobol.core.model.ErrorCode.MISSING_COPYBOOK;
 import static org.eclipse.lsp.cobol.core.model.ErrorSeverity.ERROR;
@@ -64,16 +61,19 @@ abstract class AbstractCopybookAnalysis implements CopybookAnalysis {
   private final TextPreprocessor preprocessor;
   private final CopybookService copybookService;
   private final MessageService messageService;
+  private final PreprocessedCopybookCache cache;
   private final int maxCopybookNameLength;
 
   AbstractCopybookAnalysis(
       TextPreprocessor preprocessor,
       CopybookService copybookService,
       MessageService messageService,
+      PreprocessedCopybookCache cache,
       int maxCopybookNameLength) {
     this.preprocessor = preprocessor;
     this.copybookService = copybookService;
     this.messageService = messageService;
+    this.cache = cache;
     this.maxCopybookNameLength = maxCopybookNameLength;
   }
 
@@ -86,13 +86,12 @@ abstract class AbstractCopybookAnalysis implements CopybookAnalysis {
       DialectType dialectType) {
     return hierarchy -> {
       List<SyntaxError> errors = new ArrayList<>();
-      CopybookMetaData metaData =
+      CopybookMetaData usage =
           validateMetaData(
                   CopybookMetaData.builder()
                       .copybookName(retrieveCopybookName(copySource, dialectType.name(), hierarchy))
                       .context(context)
                       .documentUri(documentUri)
-                      .copybookId(randomUUID().toString())
                       .config(config)
                       .nameLocality(
                           LocalityUtils.buildLocality(
@@ -102,9 +101,18 @@ abstract class AbstractCopybookAnalysis implements CopybookAnalysis {
                               context, documentUri, hierarchy.getCurrentCopybookId()))
                       .build())
               .unwrap(errors::addAll);
+      int ordinal = hierarchy.nextCopyOrdinal();
 
+      CopybookModel model = getCopyBookContent(usage, hierarchy).unwrap(errors::addAll);
+      String text = prepareCopybookText(usage, hierarchy, model).unwrap(errors::addAll);
+      CopybookMetaData metaData =
+          usage.toBuilder()
+              .copybookId(
+                  CopybookIdUtils.create(
+                      hierarchy.getCurrentCopybookId(), ordinal, usage.getCopybookName(), text))
+              .build();
       ExtendedDocument copybookDocument =
-          buildExtendedDocumentForCopybook(metaData).apply(hierarchy).unwrap(errors::addAll);
+          processCopybook(metaData, hierarchy, model.getUri(), text).unwrap(errors::addAll);
       return stack -> {
         writeText(metaData, copybookDocument).accept(stack);
         return subContext -> {
@@ -118,6 +126,35 @@ abstract class AbstractCopybookAnalysis implements CopybookAnalysis {
     };
   }
 
+  @Override
+  public void preprocessInAdvance(
+      ParserRuleContext copySource,
+      CopybookConfig config,
+      String documentUri,
+      DialectType dialectType,
+      CopybookHierarchy hierarchy) {
+    CopybookMetaData usage =
+        CopybookMetaData.builder()
+            .copybookName(retrieveCopybookName(copySource, dialectType.name(), hierarchy))
+            .documentUri(documentUri)
+            .config(config)
+            .nameLocality(
+                LocalityUtils.buildLocality(
+                    copySource, documentUri, hierarchy.getCurrentCopybookId()))
+            .build();
+    int ordinal = hierarchy.nextCopyOrdinal();
+    CopybookModel model = getCopyBookContent(usage, hierarchy).getResult();
+    if (isEmpty(model.getUri())) return;
+    String text = prepareCopybookText(usage, hierarchy, model).getResult();
+    CopybookMetaData metaData =
+        usage.toBuilder()
+            .copybookId(
+                CopybookIdUtils.create(
+                    hierarchy.getCurrentCopybookId(), ordinal, usage.getCopybookName(), text))
+            .build();
+    processCopybook(metaData, hierarchy, model.getUri(), text);
+  }
+
   private ResultWithErrors<CopybookMetaData> validateMetaData(CopybookMetaData metaData) {
     List<SyntaxError> errors = new ArrayList<>();
     final String copybookName = metaData.getCopybookName().getDisplayName();
@@ -159,8 +196,7 @@ abstract class AbstractCopybookAnalysis implements CopybookAnalysis {
   private Consumer<PreprocessorStack> writeText(
       CopybookMetaData metaData, ExtendedDocument copybookDocument) {
     return beforeWriting()
-        .andThen(writeCopybook(metaData.getCopybookId(), copybookDocument.getText()))
-        .andThen(afterWriting(metaData.getContext()));
+        .andThen(writeCopybook(metaData.getCopybookId(), copybookDocument.getText()));
   }
 
   protected Consumer<NamedSubContext> storeCopyStatementSemantics(
@@ -171,24 +207,18 @@ abstract class AbstractCopybookAnalysis implements CopybookAnalysis {
         .andThen(addNestedCopybook(copybookDocument));
   }
 
-  private Function<CopybookHierarchy, ResultWithErrors<ExtendedDocument>>
-      buildExtendedDocumentForCopybook(CopybookMetaData metaData) {
+  private ResultWithErrors<String> prepareCopybookText(
+      CopybookMetaData metaData, CopybookHierarchy hierarchy, CopybookModel model) {
     List<SyntaxError> errors = new ArrayList<>();
-    return hierarchy -> {
-      CopybookModel model = getCopyBookContent(metaData, hierarchy).unwrap(errors::addAll);
-      return processCopybook(
-              metaData,
-              hierarchy,
-              model.getUri(),
-              handleReplacing(
-                      metaData,
-                      hierarchy,
-                      preprocessor
-                          .cleanUpCode(model.getUri(), model.getContent())
-                          .unwrap(errors::addAll))
-                  .unwrap(errors::addAll))
-          .accumulateErrors(errors);
-    };
+    String cleanText =
+        cache
+            .cleanUp(
+                model.getUri(),
+                model.getContent(),
+                () -> preprocessor.cleanUpCode(model.getUri(), model.getContent()))
+            .unwrap(errors::addAll);
+    String text = handleReplacing(metaData, hierarchy, cleanText).unwrap(errors::addAll);
+    return new ResultWithErrors<>(text, errors);
   }
 
   private Consumer<Map<String, DocumentMapping>> collectNestedSemanticData(
@@ -198,7 +228,7 @@ abstract class AbstractCopybookAnalysis implements CopybookAnalysis {
       nestedMapping.putIfAbsent(
           metaData.getCopybookId(),
           Optional.ofNullable(nestedMapping.get(copybookDocument.getUri()))
-              .orElseGet(() -> new DocumentMapping(ImmutableList.of(), ImmutableMap.of())));
+              .orElseGet(() -> new DocumentMapping(ImmutableList.of(), new int[0], 0)));
     };
   }
 
@@ -206,7 +236,12 @@ abstract class AbstractCopybookAnalysis implements CopybookAnalysis {
       CopybookMetaData metaData, CopybookHierarchy hierarchy, String uri, String content) {
     hierarchy.push(metaData.toCopybookUsage());
     final ResultWithErrors<ExtendedDocument> result =
-        preprocessor.processCleanCode(uri, content, metaData.getConfig(), hierarchy);
+        cache.process(
+            metaData,
+            hierarchy,
+            uri,
+            content,
+            () -> preprocessor.processCleanCode(uri, content, metaData.getConfig(), hierarchy));
     hierarchy.pop();
     return result;
   }
@@ -216,13 +251,19 @@ abstract class AbstractCopybookAnalysis implements CopybookAnalysis {
     if (metaData.getCopybookName().getDisplayName().isEmpty())
       return emptyModel(metaData.getCopybookName(), ImmutableList.of());
 
-    if (hierarchy.hasRecursion(metaData.getCopybookName()))
+    if (hierarchy.hasRecursion(metaData.getCopybookName())) {
+      hierarchy.registerDependency(
+          new CopybookDependency(metaData.getCopybookName(), metaData.getDocumentUri(), null));
       return emptyModel(
           metaData.getCopybookName(), hierarchy.mapCopybooks(this::reportRecursiveCopybook));
+    }
 
     CopybookModel copybook =
         copybookService.resolve(
             metaData.getCopybookName(), metaData.getDocumentUri(), metaData.getConfig());
+    hierarchy.registerDependency(
+        new CopybookDependency(
+            metaData.getCopybookName(), metaData.getDocumentUri(), copybook.getContent()));
 
     if (copybook.getContent() == null) {
       return emptyModel(
@@ -243,10 +284,6 @@ abstract class AbstractCopybookAnalysis implements CopybookAnalysis {
     return PreprocessorStack::pop;
   }
 
-  protected Consumer<PreprocessorStack> afterWriting(ParserRuleContext context) {
-    return it -> it.accumulateTokenShift(context);
-  }
-
   private Consumer<NamedSubContext> collectCopybookStatement(CopybookMetaData metaData) {
     return it -> it.addStatement(metaData.getCopybookId(), metaData.getContextLocality());
   }
@@ -41,8 +41,9 @@ class CobolAnalysis extends AbstractCopybookAnalysis {
       TextPreprocessor preprocessor,
       CopybookService copybookService,
       MessageService messageService,
+      PreprocessedCopybookCache cache,
       ReplacingService replacingService) {
-    super(preprocessor, copybookService, messageService, MAX_COPYBOOK_NAME_LENGTH_DATASET);
+    super(preprocessor, copybookService, messageService, cache, MAX_COPYBOOK_NAME_LENGTH_DATASET);
     this.replacingService = replacingService;
   }
 
@@ -16,6 +16,7 @@
 package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis;
 
 import org.antlr.v4.runtime.ParserRuleContext;
+import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.DialectType;
 import org.eclipse.lsp.cobol.service.CopybookConfig;
 
@@ -37,4 +38,22 @@ public interface CopybookAnalysis {
       CopybookConfig config,
       String documentUri,
       DialectType dialectType);
+
+  /**
+   * Resolve and preprocess the copybook of the statement without applying the result, so the
+   * subsequent handling of the statement with the same replacing state finds it in the cache. The
+   * hierarchy is owned by the caller and is not shared with the document analysis.
+   *
+   * @param copySource the context of the copybook name
+   * @param config the configuration required for the copybook analysis
+   * @param documentUri uri of the current document
+   * @param dialectType the type of dialect
+   * @param hierarchy the hierarchy containing the copybook stack of the statement
+   */
+  void preprocessInAdvance(
+      ParserRuleContext copySource,
+      CopybookConfig config,
+      String documentUri,
+      DialectType dialectType,
+      CopybookHierarchy hierarchy);
 }
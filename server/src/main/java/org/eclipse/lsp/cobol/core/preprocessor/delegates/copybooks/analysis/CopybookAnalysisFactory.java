@@ -39,22 +39,23 @@ public class CopybookAnalysisFactory {
       TextPreprocessor preprocessor,
       CopybookService copybookService,
       MessageService messageService,
-      ReplacingService replacingService) {
+      ReplacingService replacingService,
+      PreprocessedCopybookCache cache) {
     analysisInstances.put(
         AnalysisTypes.COBOL,
-        new CobolAnalysis(preprocessor, copybookService, messageService, replacingService));
+        new CobolAnalysis(preprocessor, copybookService, messageService, cache, replacingService));
     analysisInstances.put(
         AnalysisTypes.DIALECT,
-        new DialectCopybookAnalysis(preprocessor, copybookService, messageService));
+        new DialectCopybookAnalysis(preprocessor, copybookService, messageService, cache));
     analysisInstances.put(
         AnalysisTypes.SKIPPING,
-        new SkippingAnalysis(preprocessor, copybookService, messageService));
+        new SkippingAnalysis(preprocessor, copybookService, messageService, cache));
     analysisInstances.put(
         AnalysisTypes.PANVALET,
-        new PanvaletAnalysis(preprocessor, copybookService, messageService));
+        new PanvaletAnalysis(preprocessor, copybookService, messageService, cache));
     analysisInstances.put(
         AnalysisTypes.PREDEFINED,
-        new PredefinedCopybookAnalysis(preprocessor, copybookService, messageService));
+        new PredefinedCopybookAnalysis(preprocessor, copybookService, messageService, cache));
   }
 
   /**
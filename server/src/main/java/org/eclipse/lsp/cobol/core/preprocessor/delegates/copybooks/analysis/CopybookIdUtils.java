@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis;
+
+import com.google.common.hash.Hashing;
+import lombok.experimental.UtilityClass;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * This utility class builds the ids of copybook usages. An id consists of the id of the parent
+ * copybook usage, if any, the ordinal of the COPY statement in the parent, and the hash of the
+ * copybook name and processed text, e.g. "0-1f2e3d4c5b6a7980/2-0a1b2c3d4e5f6a7b". So the same text
+ * always produces the same ids, and the id changes if the copybook or any of its parents changes.
+ */
+@UtilityClass
+class CopybookIdUtils {
+  private static final char SEPARATOR = '/';
+  private static final int HASH_LENGTH = 16;
+
+  /**
+   * Build the id of a copybook usage
+   *
+   * @param parentId the id of the copybook that contains the COPY statement or null if it is in the
+   *     document
+   * @param ordinal the ordinal of the COPY statement in the parent
+   * @param name the name of the copybook
+   * @param text the copybook text to process
+   * @return the id of the copybook usage
+   */
+  String create(String parentId, int ordinal, CopybookName name, String text) {
+    String hash =
+        Hashing.sha256()
+            .newHasher()
+            .putString(name.getProcessingName(), UTF_8)
+            .putChar('\n')
+            .putString(text, UTF_8)
+            .hash()
+            .toString()
+            .substring(0, HASH_LENGTH);
+    String id = ordinal + "-" + hash;
+    return parentId == null ? id : parentId + SEPARATOR + id;
+  }
+
+  /**
+   * Replace the given root of the copybook id, so the ids of the copybooks nested in a reused
+   * copybook match the ones that the processing with the new root would produce
+   *
+   * @param id the copybook id to rebase
+   * @param oldRoot the id of the copybook usage the id was built for
+   * @param newRoot the id of the new copybook usage
+   * @return the rebased id or the given one if it doesn't belong to the old root
+   */
+  String rebase(String id, String oldRoot, String newRoot) {
+    if (id == null) return null;
+    if (id.equals(oldRoot)) return newRoot;
+    if (id.length() > oldRoot.length()
+        && id.startsWith(oldRoot)
+        && id.charAt(oldRoot.length()) == SEPARATOR)
+      return newRoot + id.substring(oldRoot.length());
+    return id;
+  }
+}
@@ -27,7 +27,7 @@ import org.eclipse.lsp.cobol.service.CopybookConfig;
  * context
  */
 @Value
-@Builder
+@Builder(toBuilder = true)
 class CopybookMetaData {
   CopybookName copybookName;
   String copybookId;
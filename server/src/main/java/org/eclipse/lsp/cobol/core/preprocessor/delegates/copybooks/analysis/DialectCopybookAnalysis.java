@@ -40,8 +40,9 @@ class DialectCopybookAnalysis extends AbstractCopybookAnalysis {
   DialectCopybookAnalysis(
       TextPreprocessor preprocessor,
       CopybookService copybookService,
-      MessageService messageService) {
-    super(preprocessor, copybookService, messageService, MAX_COPYBOOK_NAME_LENGTH_DEFAULT);
+      MessageService messageService,
+      PreprocessedCopybookCache cache) {
+    super(preprocessor, copybookService, messageService, cache, MAX_COPYBOOK_NAME_LENGTH_DEFAULT);
   }
 
   @Override
@@ -29,7 +29,8 @@ class PanvaletAnalysis extends AbstractCopybookAnalysis {
   PanvaletAnalysis(
       TextPreprocessor preprocessor,
       CopybookService copybookService,
-      MessageService messageService) {
-    super(preprocessor, copybookService, messageService, MAX_COPYBOOK_NAME_LENGTH_PANVALET);
+      MessageService messageService,
+      PreprocessedCopybookCache cache) {
+    super(preprocessor, copybookService, messageService, cache, MAX_COPYBOOK_NAME_LENGTH_PANVALET);
   }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
+import org.eclipse.lsp.cobol.core.preprocessor.PreprocessingTasks;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.DialectType;
+import org.eclipse.lsp.cobol.service.CopybookConfig;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.CopybookAnalysisFactory.AnalysisTypes.COBOL;
+
+/**
+ * This class resolves and preprocesses the sibling copybooks of a text concurrently on a bounded
+ * pool, before the document analysis reaches their COPY statements. The results are stored in the
+ * {@link PreprocessedCopybookCache}, so the analysis still handles the statements one by one in
+ * the source order, taking the ready results or waiting for the ones being computed.
+ *
+ * <p>Only the statements without REPLACING are preprocessed in advance, and only if the current
+ * hierarchy has no replacing state, since otherwise the cached result wouldn't match the one
+ * the analysis requires. Each copybook is processed with a fork of the current copybook stack, so
+ * the recursion checks see the same parents as the analysis.
+ */
+@Slf4j
+@Singleton
+public class ParallelCopybookPreprocessor {
+  private static final int KEEP_ALIVE_SECONDS = 10;
+
+  private final Provider<CopybookAnalysisFactory> analysisFactory;
+  private final ExecutorService executor;
+
+  @Inject
+  public ParallelCopybookPreprocessor(
+      Provider<CopybookAnalysisFactory> analysisFactory,
+      @Named("COPYBOOK-PREPROCESSING-POOL-SIZE") int poolSize) {
+    this.analysisFactory = analysisFactory;
+    ThreadPoolExecutor pool =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("copybook-preprocessing-%d")
+                .setDaemon(true)
+                .build());
+    pool.allowCoreThreadTimeOut(true);
+    executor = pool;
+  }
+
+  /**
+   * Submit the preprocessing of the copybooks used in the given COPY statements. Does nothing if
+   * there are no siblings to process concurrently, the hierarchy has a replacing state, or the
+   * tasks of the analysis are cancelled. The submitted tasks are registered in the {@link
+   * PreprocessingTasks} of the hierarchy, so they are cancelled with the analysis.
+   *
+   * @param copySources the contexts of the copybook names of the statements without REPLACING
+   * @param documentUri the URI of the document that contains the statements
+   * @param config the configuration required for the copybook analysis
+   * @param hierarchy the current copybook hierarchy, it is not shared with the submitted tasks
+   */
+  public void preprocess(
+      List<ParserRuleContext> copySources,
+      String documentUri,
+      CopybookConfig config,
+      CopybookHierarchy hierarchy) {
+    PreprocessingTasks tasks = hierarchy.getTasks();
+    if (copySources.size() < 2 || hierarchy.hasReplacingState() || tasks.isCancelled()) return;
+    CopybookAnalysis analysis = analysisFactory.get().getInstanceFor(COBOL);
+    for (ParserRuleContext copySource : copySources) {
+      CopybookHierarchy fork = hierarchy.forkStack();
+      tasks.add(
+          executor.submit(
+              () -> {
+                if (tasks.isCancelled()) return;
+                try {
+                  analysis.preprocessInAdvance(
+                      copySource, config, documentUri, DialectType.COBOL, fork);
+                } catch (RuntimeException e) {
+                  LOG.debug("Preprocessing of copybook in advance failed", e);
+                }
+              }));
+    }
+  }
+}
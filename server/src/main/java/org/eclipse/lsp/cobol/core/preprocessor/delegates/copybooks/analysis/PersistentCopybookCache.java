@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.inject.Singleton;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.core.model.CobolLine;
+import org.eclipse.lsp.cobol.core.model.CobolLineTypeEnum;
+import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessorImpl;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.cleaner.CobolLineCleanerImpl;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.reader.CobolLineReaderImpl;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.reader.CompilerDirectives;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * This class stores the cleaned-up text of the copybooks on disk, so it survives the restarts of
+ * the server. It is disabled until {@link #open(Path)} is called with the storage directory.
+ *
+ * <p>An entry is valid only for the same copybook URI, file modification time and content hash,
+ * and the whole storage is discarded if it was written by another version of the server or of the
+ * text clean-up. The version of the clean-up is the hash of the bytecode of its classes, so it
+ * changes with the code even in the development builds. The storage is a binary file that is
+ * memory-mapped on opening, and the text of an entry is decoded only when requested. The new
+ * entries are written on {@link #flush()} into a new generation of the file, so the mapped one is
+ * never overwritten.
+ */
+@Slf4j
+@Singleton
+public class PersistentCopybookCache {
+  private static final int MAGIC = 0x43425943;
+  private static final int FORMAT_VERSION = 3;
+  /** The classes that implement the text clean-up, see TextPreprocessor#cleanUpCode */
+  private static final List<Class<?>> CLEAN_UP_CLASSES =
+      Arrays.asList(
+          TextPreprocessorImpl.class,
+          CobolLineCleanerImpl.class,
+          CobolLineReaderImpl.class,
+          CompilerDirectives.class,
+          CobolLine.class,
+          CobolLineTypeEnum.class);
+  private static final String SERVER_VERSION =
+      Optional.ofNullable(PersistentCopybookCache.class.getPackage().getImplementationVersion())
+          .orElse("development");
+  private static final Pattern FILE_NAME = Pattern.compile("copybooks-(\\d+)\\.bin");
+
+  private final String cleanUpVersion;
+  private final String serverVersion;
+  private final Object lock = new Object();
+  private final Map<String, Entry> entries = new HashMap<>();
+  private Path directory;
+  private long generation;
+  private long mappedGeneration = -1;
+  private boolean modified;
+
+  public PersistentCopybookCache() {
+    this(fingerprint(CLEAN_UP_CLASSES), SERVER_VERSION);
+  }
+
+  @VisibleForTesting
+  PersistentCopybookCache(String cleanUpVersion, String serverVersion) {
+    this.cleanUpVersion = cleanUpVersion;
+    this.serverVersion = serverVersion;
+  }
+
+  /**
+   * Enable the cache with the given storage directory and load the entries of the latest stored
+   * generation. The previous generations are removed.
+   *
+   * @param storage the directory to keep the cache files
+   */
+  public void open(Path storage) {
+    synchronized (lock) {
+      directory = storage;
+      entries.clear();
+      modified = false;
+      generation = 0;
+      mappedGeneration = -1;
+      try {
+        Files.createDirectories(storage);
+        List<Path> files = listGenerations();
+        if (files.isEmpty()) return;
+        Path latest = files.get(files.size() - 1);
+        generation = parseGeneration(latest);
+        mappedGeneration = generation;
+        files.stream().filter(it -> !it.equals(latest)).forEach(this::delete);
+        load(latest);
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Cannot load the copybook cache from " + storage, e);
+        entries.clear();
+      }
+    }
+  }
+
+  /**
+   * Retrieve the cleaned-up text of the copybook if it was stored for the same content and the
+   * file wasn't modified since then.
+   *
+   * @param uri the URI of the copybook
+   * @param contentHash the hash of the raw copybook content
+   * @return the cleaned-up text or empty if there is no valid entry
+   */
+  public Optional<String> getCleanText(String uri, String contentHash) {
+    Entry entry;
+    synchronized (lock) {
+      entry = entries.get(uri);
+    }
+    if (entry == null
+        || !entry.getContentHash().equals(contentHash)
+        || entry.getModified() != lastModified(uri)) return Optional.empty();
+    return Optional.of(UTF_8.decode(entry.getText().duplicate()).toString());
+  }
+
+  /**
+   * Store the cleaned-up text of the copybook. Does nothing if the cache is disabled or the URI
+   * doesn't point to a local file.
+   *
+   * @param uri the URI of the copybook
+   * @param contentHash the hash of the raw copybook content
+   * @param cleanText the cleaned-up text of the copybook
+   */
+  public void putCleanText(String uri, String contentHash, String cleanText) {
+    if (!isEnabled() || contentHash == null) return;
+    long fileModified = lastModified(uri);
+    if (fileModified < 0) return;
+    Entry entry = new Entry(fileModified, contentHash, ByteBuffer.wrap(cleanText.getBytes(UTF_8)));
+    synchronized (lock) {
+      entries.put(uri, entry);
+      modified = true;
+    }
+  }
+
+  /**
+   * Write the entries of the files that are not modified since they were stored to a new
+   * generation of the cache file, if there are any new entries. The previous generation is removed
+   * unless its entries are mapped. It is called periodically during the session, so the entries
+   * are kept even if the server is not shut down properly.
+   */
+  public void flush() {
+    synchronized (lock) {
+      if (!isEnabled() || !modified) return;
+      entries.entrySet().removeIf(it -> it.getValue().getModified() != lastModified(it.getKey()));
+      Path target = getGenerationFile(generation + 1);
+      Path temporary = directory.resolve(target.getFileName() + ".tmp");
+      try {
+        write(temporary);
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        if (generation != mappedGeneration) delete(getGenerationFile(generation));
+        generation++;
+        modified = false;
+      } catch (IOException e) {
+        LOG.warn("Cannot store the copybook cache to " + directory, e);
+        delete(temporary);
+      }
+    }
+  }
+
+  /**
+   * Check if the cache has the storage directory
+   *
+   * @return true if the cache is enabled
+   */
+  public boolean isEnabled() {
+    synchronized (lock) {
+      return directory != null;
+    }
+  }
+
+  /**
+   * Hash the bytecode of the given classes and their nested classes. If any of them cannot be read,
+   * a random value is returned, so the stored entries are never reused.
+   *
+   * @param classes the classes to hash
+   * @return the hash of the classes
+   */
+  @VisibleForTesting
+  static String fingerprint(List<Class<?>> classes) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    Deque<Class<?>> queue = new ArrayDeque<>(classes);
+    while (!queue.isEmpty()) {
+      Class<?> type = queue.poll();
+      String name = type.getName();
+      try (InputStream stream =
+          type.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+        if (stream == null) throw new IOException("No bytecode found for " + name);
+        hasher.putString(name, UTF_8).putBytes(ByteStreams.toByteArray(stream));
+      } catch (IOException e) {
+        LOG.warn("Cannot compute the version of the copybook clean-up", e);
+        return UUID.randomUUID().toString();
+      }
+      queue.addAll(Arrays.asList(type.getDeclaredClasses()));
+    }
+    return hasher.hash().toString();
+  }
+
+  private Path getGenerationFile(long fileGeneration) {
+    return directory.resolve("copybooks-" + fileGeneration + ".bin");
+  }
+
+  private List<Path> listGenerations() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(it -> FILE_NAME.matcher(it.getFileName().toString()).matches())
+          .sorted(Comparator.comparingLong(PersistentCopybookCache::parseGeneration))
+          .collect(toList());
+    }
+  }
+
+  private static long parseGeneration(Path file) {
+    Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+    return matcher.matches() ? Long.parseLong(matcher.group(1)) : 0;
+  }
+
+  private void load(Path file) throws IOException {
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    try {
+      if (buffer.getInt() != MAGIC
+          || buffer.getInt() != FORMAT_VERSION
+          || !cleanUpVersion.equals(readString(buffer))
+          || !serverVersion.equals(readString(buffer))) {
+        LOG.debug("The copybook cache {} is outdated", file);
+        return;
+      }
+      int count = buffer.getInt();
+      for (int i = 0; i < count; i++) {
+        String uri = readString(buffer);
+        long fileModified = buffer.getLong();
+        String contentHash = readString(buffer);
+        entries.put(uri, new Entry(fileModified, contentHash, readBytes(buffer)));
+      }
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      LOG.warn("The copybook cache {} is corrupted", file);
+      entries.clear();
+    }
+  }
+
+  private void write(Path file) throws IOException {
+    try (OutputStream stream = Files.newOutputStream(file);
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream))) {
+      output.writeInt(MAGIC);
+      output.writeInt(FORMAT_VERSION);
+      writeBytes(output, ByteBuffer.wrap(cleanUpVersion.getBytes(UTF_8)));
+      writeBytes(output, ByteBuffer.wrap(serverVersion.getBytes(UTF_8)));
+      output.writeInt(entries.size());
+      for (Map.Entry<String, Entry> it : entries.entrySet()) {
+        writeBytes(output, ByteBuffer.wrap(it.getKey().getBytes(UTF_8)));
+        output.writeLong(it.getValue().getModified());
+        writeBytes(output, ByteBuffer.wrap(it.getValue().getContentHash().getBytes(UTF_8)));
+        writeBytes(output, it.getValue().getText());
+      }
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    return UTF_8.decode(readBytes(buffer)).toString();
+  }
+
+  private static ByteBuffer readBytes(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) throw new BufferUnderflowException();
+    ByteBuffer result = buffer.slice();
+    result.limit(length);
+    buffer.position(buffer.position() + length);
+    return result;
+  }
+
+  private static void writeBytes(DataOutputStream output, ByteBuffer bytes) throws IOException {
+    ByteBuffer source = bytes.duplicate();
+    output.writeInt(source.remaining());
+    byte[] chunk = new byte[source.remaining()];
+    source.get(chunk);
+    output.write(chunk);
+  }
+
+  private static long lastModified(String uri) {
+    try {
+      return Files.getLastModifiedTime(Paths.get(URI.create(uri))).toMillis();
+    } catch (IOException | RuntimeException e) {
+      return -1;
+    }
+  }
+
+  private void delete(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOG.debug("Cannot delete the copybook cache file " + file, e);
+    }
+  }
+
+  /** A stored copybook text, either mapped from the cache file or added in this session */
+  @Value
+  private static class Entry {
+    long modified;
+    String contentHash;
+    ByteBuffer text;
+  }
+}
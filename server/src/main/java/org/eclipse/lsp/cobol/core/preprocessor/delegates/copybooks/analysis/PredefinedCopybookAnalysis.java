@@ -36,8 +36,9 @@ class PredefinedCopybookAnalysis extends AbstractCopybookAnalysis {
   PredefinedCopybookAnalysis(
       TextPreprocessor preprocessor,
       CopybookService copybookService,
-      MessageService messageService) {
-    super(preprocessor, copybookService, messageService, MAX_COPYBOOK_NAME_LENGTH_DEFAULT);
+      MessageService messageService,
+      PreprocessedCopybookCache cache) {
+    super(preprocessor, copybookService, messageService, cache, MAX_COPYBOOK_NAME_LENGTH_DEFAULT);
   }
 
   @Override
@@ -55,9 +56,4 @@ class PredefinedCopybookAnalysis extends AbstractCopybookAnalysis {
   protected Consumer<PreprocessorStack> beforeWriting() {
     return it -> {};
   }
-
-  @Override
-  protected Consumer<PreprocessorStack> afterWriting(ParserRuleContext context) {
-    return it -> {};
-  }
 }
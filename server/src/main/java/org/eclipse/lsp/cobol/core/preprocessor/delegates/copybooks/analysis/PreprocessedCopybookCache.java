@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.core.engine.UserInterruptException;
+import org.eclipse.lsp.cobol.core.model.*;
+import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
+import org.eclipse.lsp.cobol.core.semantics.NamedSubContext;
+import org.eclipse.lsp.cobol.service.CopybookConfig;
+import org.eclipse.lsp.cobol.service.CopybookService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.lsp.cobol.core.preprocessor.ProcessingConstants.CPY_ENTER_TAG;
+import static org.eclipse.lsp.cobol.core.preprocessor.ProcessingConstants.CPY_URI_CLOSE;
+
+/**
+ * This class caches the cleaned-up text and the preprocessed {@link ExtendedDocument} of copybooks,
+ * so a copybook used in many COPY statements or in many documents is processed only once.
+ *
+ * <p>The preprocessing result is keyed by the copybook name and URI, the hash of its text after
+ * applying the REPLACING clauses, the copybook config with the processing mode and SQL backend, and
+ * the replacing state of the {@link CopybookHierarchy}. It is reused only if all the nested
+ * copybooks still resolve to the same content and none of them is on the current copybook stack, so
+ * the recursion checks are not skipped. The cached copybook ids are rebased onto the id of the
+ * current COPY statement on every usage, so they match the ones the processing would produce.
+ *
+ * <p>Concurrent analyses requesting the same copybook wait for the one that is already computing
+ * it, unless waiting would create a cycle between them.
+ */
+@Slf4j
+@Singleton
+public class PreprocessedCopybookCache {
+  private final CopybookService copybookService;
+  private final PersistentCopybookCache persistentCache;
+  private final Cache<CleanUpKey, ResultWithErrors<String>> cleanUpCache;
+  private final Cache<ProcessingKey, Entry> processingCache;
+  private final Cache<String, String> contentHashes =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  private final Object lock = new Object();
+  private final Map<ProcessingKey, InFlight> inFlight = new HashMap<>();
+  private final Map<Thread, InFlight> awaited = new HashMap<>();
+
+  @Inject
+  public PreprocessedCopybookCache(
+      CopybookService copybookService,
+      PersistentCopybookCache persistentCache,
+      @Named("CACHE-MAX-SIZE") int cacheSize,
+      @Named("CACHE-DURATION") int duration,
+      @Named("CACHE-TIME-UNIT") String timeUnitName) {
+    this.copybookService = copybookService;
+    this.persistentCache = persistentCache;
+    cleanUpCache =
+        CacheBuilder.newBuilder()
+            .expireAfterAccess(duration, TimeUnit.valueOf(timeUnitName))
+            .maximumSize(cacheSize)
+            .build();
+    processingCache =
+        CacheBuilder.newBuilder()
+            .expireAfterAccess(duration, TimeUnit.valueOf(timeUnitName))
+            .maximumSize(cacheSize)
+            .build();
+  }
+
+  /**
+   * Retrieve the cleaned-up text of the copybook or compute it if absent. The result depends only
+   * on the URI and the content of the copybook. If it is not in memory, it is looked up in the
+   * {@link PersistentCopybookCache}, and the computed results without errors are stored there.
+   *
+   * @param uri the URI of the copybook
+   * @param content the raw text of the copybook
+   * @param cleanUp the function to clean up the text if it is not cached
+   * @return the cleaned-up text with the errors
+   */
+  public ResultWithErrors<String> cleanUp(
+      String uri, String content, Supplier<ResultWithErrors<String>> cleanUp) {
+    String contentHash = hash(content);
+    CleanUpKey key = new CleanUpKey(uri, contentHash);
+    ResultWithErrors<String> result = cleanUpCache.getIfPresent(key);
+    if (result == null) {
+      result =
+          persistentCache
+              .getCleanText(uri, contentHash)
+              .map(it -> new ResultWithErrors<>(it, Collections.<SyntaxError>emptyList()))
+              .orElseGet(() -> cleanUpAndPersist(uri, contentHash, cleanUp));
+      cleanUpCache.put(key, result);
+    }
+    return result;
+  }
+
+  private ResultWithErrors<String> cleanUpAndPersist(
+      String uri, String contentHash, Supplier<ResultWithErrors<String>> cleanUp) {
+    ResultWithErrors<String> result = cleanUp.get();
+    if (result.getErrors().isEmpty())
+      persistentCache.putCleanText(uri, contentHash, result.getResult());
+    return result;
+  }
+
+  /**
+   * Retrieve the preprocessed copybook or compute it if absent. Should be called when the copybook
+   * usage is already pushed to the hierarchy.
+   *
+   * @param metaData the metadata of the processing copybook usage
+   * @param hierarchy the current copybook hierarchy
+   * @param uri the URI of the copybook
+   * @param content the cleaned-up copybook text with the replacing applied
+   * @param processing the function to preprocess the copybook if there is no valid cached result
+   * @return the extended document of the copybook with the errors
+   */
+  public ResultWithErrors<ExtendedDocument> process(
+      CopybookMetaData metaData,
+      CopybookHierarchy hierarchy,
+      String uri,
+      String content,
+      Supplier<ResultWithErrors<ExtendedDocument>> processing) {
+    ProcessingKey key =
+        new ProcessingKey(
+            uri,
+            metaData.getCopybookName().getProcessingName(),
+            hash(content),
+            metaData.getConfig(),
+            hierarchy.getReplacingState());
+    Entry entry = processingCache.getIfPresent(key);
+    List<CopybookDependency> dependencies = resolveDependencies(entry, metaData, hierarchy);
+    if (dependencies != null) return reuse(entry, dependencies, metaData, hierarchy);
+
+    InFlight flight = joinOrStart(key);
+    if (flight.isOwnedByCurrentThread()) {
+      return computeAndPublish(key, flight, metaData, hierarchy, processing);
+    }
+    entry = await(flight);
+    dependencies = resolveDependencies(entry, metaData, hierarchy);
+    if (dependencies != null) return reuse(entry, dependencies, metaData, hierarchy);
+    return compute(key, metaData, hierarchy, processing).getResult();
+  }
+
+  /**
+   * Register the nested copybooks of the reused entry in the hierarchy, as the processing would
+   * do, so the outer copybooks depend on them as well, and bind the result to the current usage.
+   */
+  private ResultWithErrors<ExtendedDocument> reuse(
+      Entry entry,
+      List<CopybookDependency> dependencies,
+      CopybookMetaData metaData,
+      CopybookHierarchy hierarchy) {
+    dependencies.forEach(hierarchy::registerDependency);
+    return entry.bindTo(metaData.getCopybookId());
+  }
+
+  private ResultWithErrors<ExtendedDocument> computeAndPublish(
+      ProcessingKey key,
+      InFlight flight,
+      CopybookMetaData metaData,
+      CopybookHierarchy hierarchy,
+      Supplier<ResultWithErrors<ExtendedDocument>> processing) {
+    Entry entry = null;
+    try {
+      Computation computation = compute(key, metaData, hierarchy, processing);
+      entry = computation.getEntry();
+      return computation.getResult();
+    } finally {
+      flight.getResult().complete(entry);
+      synchronized (lock) {
+        inFlight.remove(key, flight);
+      }
+    }
+  }
+
+  private Computation compute(
+      ProcessingKey key,
+      CopybookMetaData metaData,
+      CopybookHierarchy hierarchy,
+      Supplier<ResultWithErrors<ExtendedDocument>> processing) {
+    int dependencyCount = hierarchy.getDependencyCount();
+    ResultWithErrors<ExtendedDocument> result = processing.get();
+    List<CopybookDependency> dependencies = hierarchy.getDependenciesFrom(dependencyCount);
+    if (!key.getReplacingState().equals(hierarchy.getReplacingState())
+        || hasRecursion(dependencies, hierarchy)) return new Computation(result, null);
+    Entry entry =
+        new Entry(
+            result,
+            metaData.getCopybookId(),
+            dependencies.stream()
+                .map(
+                    it ->
+                        new CopybookDependency(
+                            it.getName(), it.getDocumentUri(), hash(it.getContent())))
+                .collect(toList()));
+    processingCache.put(key, entry);
+    return new Computation(result, entry);
+  }
+
+  /**
+   * Resolve the nested copybooks of the cached entry and check they are unchanged and not on the
+   * current copybook stack.
+   *
+   * @return the resolved dependencies with their current content, or null if the entry is absent
+   *     or is not applicable
+   */
+  private List<CopybookDependency> resolveDependencies(
+      Entry entry, CopybookMetaData metaData, CopybookHierarchy hierarchy) {
+    if (entry == null || hasRecursion(entry.getDependencies(), hierarchy)) return null;
+    List<CopybookDependency> result = new ArrayList<>(entry.getDependencies().size());
+    for (CopybookDependency dependency : entry.getDependencies()) {
+      String content =
+          copybookService
+              .resolve(dependency.getName(), dependency.getDocumentUri(), metaData.getConfig())
+              .getContent();
+      if (!Objects.equals(dependency.getContent(), hash(content))) return null;
+      result.add(new CopybookDependency(dependency.getName(), dependency.getDocumentUri(), content));
+    }
+    return result;
+  }
+
+  private static boolean hasRecursion(
+      List<CopybookDependency> dependencies, CopybookHierarchy hierarchy) {
+    return dependencies.stream().map(CopybookDependency::getName).anyMatch(hierarchy::hasRecursion);
+  }
+
+  /**
+   * Register the current thread as waiting for the computation of the given key, or start a new
+   * computation if there is none or waiting would close a cycle of threads waiting for each other.
+   */
+  private InFlight joinOrStart(ProcessingKey key) {
+    synchronized (lock) {
+      InFlight existing = inFlight.get(key);
+      if (existing == null) {
+        InFlight started = new InFlight();
+        inFlight.put(key, started);
+        return started;
+      }
+      if (leadsToDeadlock(existing)) return new InFlight();
+      awaited.put(Thread.currentThread(), existing);
+      return existing;
+    }
+  }
+
+  private boolean leadsToDeadlock(InFlight flight) {
+    Set<Thread> visited = new HashSet<>();
+    Thread owner = flight.getOwner();
+    while (owner != null && visited.add(owner)) {
+      if (owner == Thread.currentThread()) return true;
+      owner = Optional.ofNullable(awaited.get(owner)).map(InFlight::getOwner).orElse(null);
+    }
+    return owner != null;
+  }
+
+  private Entry await(InFlight flight) {
+    try {
+      return flight.getResult().get();
+    } catch (InterruptedException e) {
+      throw new UserInterruptException("Parsing interrupted by user.", e);
+    } catch (ExecutionException e) {
+      LOG.debug("Shared copybook processing failed", e);
+      return null;
+    } finally {
+      synchronized (lock) {
+        awaited.remove(Thread.currentThread());
+      }
+    }
+  }
+
+  private String hash(String content) {
+    if (content == null) return null;
+    String result = contentHashes.getIfPresent(content);
+    if (result == null) {
+      result = Hashing.sha256().hashString(content, StandardCharsets.UTF_8).toString();
+      contentHashes.put(content, result);
+    }
+    return result;
+  }
+
+  @Value
+  private static class CleanUpKey {
+    String uri;
+    String contentHash;
+  }
+
+  @Value
+  private static class ProcessingKey {
+    String uri;
+    String processingName;
+    String contentHash;
+    CopybookConfig config;
+    List<Object> replacingState;
+  }
+
+  @Value
+  private static class Computation {
+    ResultWithErrors<ExtendedDocument> result;
+    Entry entry;
+  }
+
+  /** A computation of the preprocessing result started by the owner thread */
+  @Getter
+  private static class InFlight {
+    private final Thread owner = Thread.currentThread();
+    private final CompletableFuture<Entry> result = new CompletableFuture<>();
+
+    boolean isOwnedByCurrentThread() {
+      return owner == Thread.currentThread();
+    }
+  }
+
+  /**
+   * A cached preprocessing result. Here, copybook id is the id of the copybook usage it was
+   * computed for, and the dependencies contain hashes of the nested copybook contents.
+   */
+  @Value
+  private static class Entry {
+    ResultWithErrors<ExtendedDocument> result;
+    String copybookId;
+    List<CopybookDependency> dependencies;
+
+    /**
+     * Build a copy of the result for the given copybook usage, replacing the id of the original
+     * usage in all the ids of the copybooks nested in it.
+     */
+    ResultWithErrors<ExtendedDocument> bindTo(String newCopybookId) {
+      if (copybookId.equals(newCopybookId)) return result;
+      ExtendedDocument document = result.getResult();
+      String text = replaceIds(document.getText(), newCopybookId);
+      NamedSubContext copybooks = new NamedSubContext();
+      copybooks.getDefinitions().putAll(document.getCopybooks().getDefinitions());
+      copybooks.getUsages().putAll(document.getCopybooks().getUsages());
+      document
+          .getCopybooks()
+          .getDefinitionStatements()
+          .forEach(
+              (id, locality) ->
+                  copybooks.addStatement(
+                      rebind(id, newCopybookId), rebind(locality, newCopybookId)));
+      Map<String, DocumentMapping> mappings = new HashMap<>();
+      document
+          .getDocumentMapping()
+          .forEach(
+              (id, mapping) ->
+                  mappings.put(rebind(id, newCopybookId), rebind(mapping, newCopybookId)));
+      return new ResultWithErrors<>(
+          new ExtendedDocument(document.getUri(), text, copybooks, mappings),
+          result.getErrors().stream()
+              .map(it -> it.toBuilder().locality(rebind(it.getLocality(), newCopybookId)).build())
+              .collect(toList()));
+    }
+
+    /** Replace the ids in the copybook entry markers of the text */
+    private String replaceIds(String text, String newCopybookId) {
+      StringBuilder builder = new StringBuilder(text.length());
+      int position = 0;
+      int entry = text.indexOf(CPY_ENTER_TAG);
+      while (entry >= 0) {
+        int idStart = entry + CPY_ENTER_TAG.length();
+        int idEnd = text.indexOf(CPY_URI_CLOSE, idStart);
+        if (idEnd < 0) break;
+        builder
+            .append(text, position, idStart)
+            .append(rebind(text.substring(idStart, idEnd), newCopybookId));
+        position = idEnd;
+        entry = text.indexOf(CPY_ENTER_TAG, idEnd);
+      }
+      return builder.append(text, position, text.length()).toString();
+    }
+
+    private String rebind(String id, String newCopybookId) {
+      return CopybookIdUtils.rebase(id, copybookId, newCopybookId);
+    }
+
+    private Locality rebind(Locality locality, String newCopybookId) {
+      if (locality == null) return null;
+      String id = rebind(locality.getCopybookId(), newCopybookId);
+      return Objects.equals(id, locality.getCopybookId())
+          ? locality
+          : locality.toBuilder().copybookId(id).build();
+    }
+
+    private DocumentMapping rebind(DocumentMapping mapping, String newCopybookId) {
+      return mapping.withLocalities(
+          mapping.getLocalities().stream().map(it -> rebind(it, newCopybookId)).collect(toList()));
+    }
+  }
+}
@@ -30,8 +30,9 @@ class SkippingAnalysis extends AbstractCopybookAnalysis {
   SkippingAnalysis(
       TextPreprocessor preprocessor,
       CopybookService copybookService,
-      MessageService messageService) {
-    super(preprocessor, copybookService, messageService, MAX_COPYBOOK_NAME_LENGTH_DEFAULT);
+      MessageService messageService,
+      PreprocessedCopybookCache cache) {
+    super(preprocessor, copybookService, messageService, cache, MAX_COPYBOOK_NAME_LENGTH_DEFAULT);
   }
 
   @Override
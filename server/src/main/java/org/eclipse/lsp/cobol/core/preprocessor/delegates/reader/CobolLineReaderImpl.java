@@ -14,6 +14,7 @@
  */
 package org.eclipse.lsp.cobol.core.preprocessor.delegates.reader;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -27,8 +28,6 @@ import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static java.util.Optional.ofNullable;
 import static org.eclipse.lsp.cobol.core.model.CobolLineTypeEnum.*;
@@ -39,27 +38,26 @@ import static org.eclipse.lsp.cobol.core.model.ErrorSeverity.ERROR;
  * processes line indicators. This implementation checks if the lines match the given format and
  * raises an error if not. It also puts the entire compiler directive text (excluding the sequence
  * area if present) to prevent possible cutting off the line beginning.
+ *
+ * <p>The text is scanned once without regular expressions. The areas of the lines are bound to the
+ * fixed columns of the text and extracted only when requested.
  */
 @Slf4j
 @Singleton
 public class CobolLineReaderImpl implements CobolLineReader {
   private static final int INDICATOR_AREA_INDEX = 6;
   private static final int MAX_LINE_LENGTH = 80;
-  private static final Pattern COBOL_LINE_PATTERN =
-      Pattern.compile(
-          "^(?<sequence>.{0,6})(?<indicator>.?)(?<contentA>.{0,4})(?<contentB>.{0,61})(?<comment>.{0,8})(?<extra>.*)$");
-  private static final Pattern COMPILER_DIRECTIVE_LINE =
-      Pattern.compile("(?i)(.{0,6} +|\\s*+)(?<directives>(CBL|PROCESS) .+)");
-  private static final Map<String, CobolLineTypeEnum> INDICATORS =
-      new ImmutableMap.Builder<String, CobolLineTypeEnum>()
-          .put("*", COMMENT)
-          .put("/", COMMENT)
-          .put("d", DEBUG)
-          .put("D", DEBUG)
-          .put("-", CONTINUATION)
-          .put("$", COMPILER_DIRECTIVE)
-          .put(" ", NORMAL)
-          .put("", NORMAL)
+  private static final int MAX_DIRECTIVES_LINE_LENGTH = 72;
+  private static final List<String> COMPILER_DIRECTIVES = ImmutableList.of("CBL", "PROCESS");
+  private static final Map<Character, CobolLineTypeEnum> INDICATORS =
+      new ImmutableMap.Builder<Character, CobolLineTypeEnum>()
+          .put('*', COMMENT)
+          .put('/', COMMENT)
+          .put('d', DEBUG)
+          .put('D', DEBUG)
+          .put('-', CONTINUATION)
+          .put('$', COMPILER_DIRECTIVE)
+          .put(' ', NORMAL)
           .build();
 
   private final MessageService messageService;
@@ -75,90 +73,148 @@ public class CobolLineReaderImpl implements CobolLineReader {
       @NonNull String documentURI, @NonNull String lines) {
     List<SyntaxError> accumulatedErrors = new ArrayList<>();
     List<CobolLine> result = new ArrayList<>();
-    try (Scanner scanner = new Scanner(lines)) {
-      String currentLine;
-      CobolLine lastCobolLine = null;
-      int lineNumber = 0;
-
-      while (scanner.hasNextLine()) {
-        currentLine = scanner.nextLine();
-        CobolLine currentCobolLine =
-            parseLine(currentLine, documentURI, lineNumber).unwrap(accumulatedErrors::addAll);
-
-        currentCobolLine.setPredecessor(lastCobolLine);
-        result.add(currentCobolLine);
-
-        lineNumber++;
-        lastCobolLine = currentCobolLine;
-      }
+    CobolLine lastCobolLine = null;
+    int lineNumber = 0;
+    int lineStart = 0;
+
+    while (lineStart < lines.length()) {
+      int lineEnd = findLineEnd(lines, lineStart);
+      CobolLine currentCobolLine =
+          parseLine(lines, lineStart, lineEnd, documentURI, lineNumber)
+              .unwrap(accumulatedErrors::addAll);
+
+      currentCobolLine.setPredecessor(lastCobolLine);
+      result.add(currentCobolLine);
+
+      lineNumber++;
+      lastCobolLine = currentCobolLine;
+      lineStart = skipLineSeparator(lines, lineEnd);
     }
     return new ResultWithErrors<>(result, accumulatedErrors);
   }
 
+  private int findLineEnd(String text, int start) {
+    int index = start;
+    while (index < text.length() && !isLineSeparator(text.charAt(index))) index++;
+    return index;
+  }
+
+  private int skipLineSeparator(String text, int lineEnd) {
+    if (lineEnd >= text.length()) return lineEnd;
+    boolean crlf =
+        text.charAt(lineEnd) == '\r'
+            && lineEnd + 1 < text.length()
+            && text.charAt(lineEnd + 1) == '\n';
+    return lineEnd + (crlf ? 2 : 1);
+  }
+
+  private boolean isLineSeparator(char character) {
+    // the same separators as the ones recognized by Scanner.nextLine()
+    return character == '\n'
+        || character == '\r'
+        || character == '\u0085'
+        || character == '\u2028'
+        || character == '\u2029';
+  }
+
   @NonNull
   private ResultWithErrors<CobolLine> parseLine(
-      @NonNull String line, @NonNull String uri, int lineNumber) {
+      @NonNull String text, int start, int end, @NonNull String uri, int lineNumber) {
     List<SyntaxError> errors = new ArrayList<>();
-    CobolLine cobolLine;
-
-    Matcher usualLine = COBOL_LINE_PATTERN.matcher(line);
-    Matcher directivesLine = COMPILER_DIRECTIVE_LINE.matcher(line);
-    if (directivesLine.matches()) {
-      cobolLine =
-          processCompilerDirectives(line, uri, lineNumber, directivesLine).unwrap(errors::addAll);
-    } else if (usualLine.matches()) {
-      cobolLine = processNormalLine(line, uri, lineNumber, usualLine).unwrap(errors::addAll);
-    } else {
-      // It is impossible. Pattern must match any line.
-      LOG.error("The line '{}' can't be parsed.", line);
-      cobolLine = new CobolLine();
-    }
+    int directivesStart = findCompilerDirectives(text, start, end);
+    CobolLine cobolLine =
+        directivesStart < 0
+            ? processNormalLine(text, start, end, uri, lineNumber).unwrap(errors::addAll)
+            : processCompilerDirectives(
+                    text.substring(start, end), uri, lineNumber, directivesStart - start)
+                .unwrap(errors::addAll);
 
     cobolLine.setNumber(lineNumber);
 
     return new ResultWithErrors<>(cobolLine, errors);
   }
 
+  /**
+   * Find the compiler directives on the line. They may follow the sequence area separated by
+   * spaces, or leading whitespaces.
+   *
+   * @param text the source text
+   * @param start the offset of the line start
+   * @param end the offset of the line end
+   * @return the offset of the directives in the text or -1 if it is not a compiler directive line
+   */
+  private int findCompilerDirectives(String text, int start, int end) {
+    for (int position = Math.min(start + INDICATOR_AREA_INDEX, end); position >= start; position--) {
+      if (position == end || text.charAt(position) != ' ') continue;
+      int keyword = position;
+      while (keyword < end && text.charAt(keyword) == ' ') keyword++;
+      if (startsWithCompilerDirective(text, keyword, end)) return keyword;
+    }
+    int keyword = start;
+    while (keyword < end && isWhitespace(text.charAt(keyword))) keyword++;
+    return startsWithCompilerDirective(text, keyword, end) ? keyword : -1;
+  }
+
+  private boolean startsWithCompilerDirective(String text, int position, int end) {
+    for (String directive : COMPILER_DIRECTIVES) {
+      int directiveEnd = position + directive.length();
+      // the directive should be followed by a space and some options
+      if (directiveEnd + 1 < end
+          && text.charAt(directiveEnd) == ' '
+          && matchesIgnoringCase(text, position, directive)) return true;
+    }
+    return false;
+  }
+
+  private boolean matchesIgnoringCase(String text, int position, String word) {
+    for (int i = 0; i < word.length(); i++) {
+      char character = text.charAt(position + i);
+      if (character != word.charAt(i) && character - 'a' + 'A' != word.charAt(i)) return false;
+    }
+    return true;
+  }
+
+  private boolean isWhitespace(char character) {
+    return character == ' ' || (character >= '\t' && character <= '\r');
+  }
+
   private ResultWithErrors<CobolLine> processCompilerDirectives(
-      @NonNull String line, @NonNull String uri, int lineNumber, @NonNull Matcher matcher) {
+      @NonNull String line, @NonNull String uri, int lineNumber, int contentStart) {
     List<SyntaxError> errors = new ArrayList<>();
-    int contentStart = matcher.start("directives");
-    String directives = matcher.group("directives");
     checkSequenceArea(line, uri, lineNumber, contentStart).ifPresent(errors::add);
-    checkLineLength(line, uri, lineNumber).ifPresent(errors::add);
+    checkLineLength(line.length(), uri, lineNumber).ifPresent(errors::add);
     CobolLine cobolLine = new CobolLine();
-    cobolLine.setContentAreaA(cleanupString(directives, contentStart));
+    cobolLine.setContentAreaA(cleanupString(line, contentStart));
     cobolLine.setType(PREPROCESSED);
     return new ResultWithErrors<>(cobolLine, errors);
   }
 
   private ResultWithErrors<CobolLine> processNormalLine(
-      @NonNull String line, @NonNull String uri, int lineNumber, Matcher matcher) {
+      @NonNull String text, int start, int end, @NonNull String uri, int lineNumber) {
     List<SyntaxError> errors = new ArrayList<>();
     CobolLine cobolLine = new CobolLine();
-    cobolLine.setSequenceArea(matcher.group("sequence"));
-    String indicatorArea = matcher.group("indicator");
-    cobolLine.setIndicatorArea(indicatorArea);
-    cobolLine.setType(determineType(indicatorArea, uri, lineNumber).unwrap(errors::addAll));
-    cobolLine.setContentAreaA(matcher.group("contentA"));
-    cobolLine.setContentAreaB(matcher.group("contentB"));
-    cobolLine.setCommentArea(matcher.group("comment"));
-    checkLineLength(line, uri, lineNumber).ifPresent(errors::add);
+    cobolLine.sliceAreas(text, start, end);
+    cobolLine.setType(
+        determineType(text, start + INDICATOR_AREA_INDEX, end, uri, lineNumber)
+            .unwrap(errors::addAll));
+    checkLineLength(end - start, uri, lineNumber).ifPresent(errors::add);
 
     return new ResultWithErrors<>(cobolLine, errors);
   }
 
   private String cleanupString(@NonNull String line, int contentStart) {
-    String lineWithoutSequence = StringUtils.repeat(' ', contentStart) + line;
-    return lineWithoutSequence.length() > 72
-        ? lineWithoutSequence.substring(0, 72)
+    String lineWithoutSequence =
+        StringUtils.repeat(' ', contentStart) + line.substring(contentStart);
+    return lineWithoutSequence.length() > MAX_DIRECTIVES_LINE_LENGTH
+        ? lineWithoutSequence.substring(0, MAX_DIRECTIVES_LINE_LENGTH)
         : lineWithoutSequence;
   }
 
   private ResultWithErrors<CobolLineTypeEnum> determineType(
-      String indicatorArea, String uri, int lineNumber) {
-    return ofNullable(INDICATORS.get(indicatorArea))
-        .map(it -> new ResultWithErrors<>(it, Collections.emptyList()))
+      String text, int indicator, int end, String uri, int lineNumber) {
+    if (indicator >= end) return new ResultWithErrors<>(NORMAL, Collections.emptyList());
+    return ofNullable(INDICATORS.get(text.charAt(indicator)))
+        .map(it -> new ResultWithErrors<>(it, Collections.<SyntaxError>emptyList()))
         .orElseGet(
             () ->
                 new ResultWithErrors<>(
@@ -173,9 +229,8 @@ public class CobolLineReaderImpl implements CobolLineReader {
   }
 
   @NonNull
-  private Optional<SyntaxError> checkLineLength(
-      @NonNull String line, @NonNull String uri, int lineNumber) {
-    if (line.length() <= 80) {
+  private Optional<SyntaxError> checkLineLength(int lineLength, @NonNull String uri, int lineNumber) {
+    if (lineLength <= MAX_LINE_LENGTH) {
       return Optional.empty();
     }
     return Optional.of(
@@ -184,7 +239,7 @@ public class CobolLineReaderImpl implements CobolLineReader {
             messageService.getMessage("CobolLineReaderImpl.longLineMsg"),
             lineNumber,
             MAX_LINE_LENGTH,
-            line.length()));
+            lineLength));
   }
 
   private Optional<SyntaxError> checkSequenceArea(
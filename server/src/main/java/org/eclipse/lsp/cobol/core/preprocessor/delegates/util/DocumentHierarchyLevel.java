@@ -18,81 +18,88 @@ package org.eclipse.lsp.cobol.core.preprocessor.delegates.util;
 import lombok.NonNull;
 import org.eclipse.lsp.cobol.core.model.DocumentMapping;
 import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 
 import javax.annotation.Nullable;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
 
 /**
  * This class represents a document hierarchy level (i.e. the COBOL document or (nested) copybook),
- * using to map the positions from the extended document to the original ones. Index here means the
- * pointer to the current position in the list of the original positions. Shifts is a map of values
- * to increase the index in order to skip some positions.
+ * using to map the positions from the extended document to the original ones. The offsets of the
+ * extended document are converted to the ones of the own text of the document by subtracting the
+ * start of the document and the length of the nested copybooks already passed.
  */
 class DocumentHierarchyLevel {
-  private int index;
-  private final List<Locality> localities;
-  private final Map<Integer, Integer> shifts;
-
-  DocumentHierarchyLevel(@NonNull DocumentMapping documentMapping) {
-    index = 0;
-    localities = documentMapping.getLocalities();
-    shifts = documentMapping.getShifts();
-    tryForward();
-  }
+  private final DocumentMapping mapping;
+  private final int start;
+  private final int entry;
+  private int skipped;
 
   /**
-   * Get the position by the current index or null if the index is more than the list size.
+   * Create a document level
    *
-   * @return the current position or null.
+   * @param mapping the segments of the document
+   * @param start the offset of the first character of the document in the extended text
+   * @param entry the offset of the copybook entry tag in the extended text
    */
-  @Nullable
-  public Locality getCurrent() {
-    return index < localities.size() ? localities.get(index) : null;
+  DocumentHierarchyLevel(@NonNull DocumentMapping mapping, int start, int entry) {
+    this.mapping = mapping;
+    this.start = start;
+    this.entry = entry;
   }
 
   /**
-   * Get the list of position from current to the end of the list inclusive.
+   * Get the offset of the copybook entry tag that started this document
    *
-   * @return sublist of positions to the end of the list or an empty list.
+   * @return the offset in the extended text
    */
-  @NonNull
-  List<Locality> lookahead() {
-    int tail = localities.size() - index;
-    if (tail < 1) return Collections.emptyList();
-    return localities.subList(index, index + tail);
-  }
-
-  /** Increase the index by one or by shift if specified */
-  void forward() {
-    index += shifts.getOrDefault(index, 1);
-    tryForward();
-  }
-
-  /** Increase the index by shift if specified */
-  void tryForward() {
-    while (shifts.containsKey(index)) {
-      index += shifts.get(index);
-    }
+  int getEntry() {
+    return entry;
   }
 
   /**
-   * Increase the index by the given value.
+   * Exclude the nested copybook from the own text of this document
    *
-   * @param length - value to increase the index
+   * @param from the offset of the copybook entry tag in the extended text
+   * @param to the offset after the copybook exit tag in the extended text
    */
-  void forceForward(int length) {
-    index += length;
+  void skip(int from, int to) {
+    skipped += to - from;
   }
 
   /**
-   * Check if this locality is the last in the list
+   * Find the original locality of the text in the given range. If the range matches exactly one
+   * original token, its locality is returned as it is. Otherwise, the range is computed from the
+   * localities of the first and the last overlapping tokens.
    *
-   * @param locality Locality to check
-   * @return true if this locality is the last one in the list of localities
+   * @param startIndex the offset of the first character in the extended text
+   * @param endIndex the offset after the last character in the extended text
+   * @param text the text in the given range
+   * @return the locality or null if the range is outside the document
    */
-  public boolean isLastLocality(Locality locality) {
-    return localities.indexOf(locality) == localities.size() - 1;
+  @Nullable
+  Locality map(int startIndex, int endIndex, String text) {
+    int from = startIndex - start - skipped;
+    int to = endIndex - start - skipped;
+    int first = mapping.findSegment(from);
+    if (first < 0) return null;
+    int last = to > from ? Math.max(first, mapping.findSegment(to - 1)) : first;
+    Locality locality = mapping.getLocalities().get(first);
+    if (first == last
+        && mapping.getSegmentStart(first) == from
+        && mapping.getSegmentEnd(first) == to) return locality;
+    Locality lastLocality = mapping.getLocalities().get(last);
+    if (locality.getRange() == null || lastLocality.getRange() == null) return locality;
+    return locality.toBuilder()
+        .range(
+            new Range(
+                shift(locality.getRange().getStart(), from - mapping.getSegmentStart(first)),
+                shift(lastLocality.getRange().getStart(), to - mapping.getSegmentStart(last))))
+        .token(text)
+        .build();
+  }
+
+  private Position shift(Position position, int characters) {
+    return new Position(position.getLine(), position.getCharacter() + characters);
   }
 }
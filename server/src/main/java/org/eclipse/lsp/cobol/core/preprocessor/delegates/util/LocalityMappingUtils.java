@@ -19,11 +19,10 @@ import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 import org.antlr.v4.runtime.Token;
 import org.eclipse.lsp.cobol.core.CobolLexer;
-import org.eclipse.lsp.cobol.core.CobolPreprocessorLexer;
 import org.eclipse.lsp.cobol.core.CobolPreprocessorListener;
 import org.eclipse.lsp.cobol.core.model.DocumentMapping;
 import org.eclipse.lsp.cobol.core.model.EmbeddedCode;
-import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp.cobol.core.model.LocalityTable;
 import org.eclipse.lsp.cobol.core.preprocessor.ProcessingConstants;
 
 import java.util.*;
@@ -37,8 +36,10 @@ import static org.eclipse.lsp.cobol.core.CobolLexer.COPYEXIT;
  *
  * <p>Preprocessor may internally change the content of the processing document, so the resulting
  * positions of syntax and semantic analysis won't match the user expectations. In order to avoid
- * it, the tokens provided by {@link CobolLexer} should be compared with ones provided by {@link
- * CobolPreprocessorLexer}. The comparison applied by string equity.
+ * it, the preprocessor records the segments of the extended text produced by each original token
+ * for every document. The tokens provided by {@link CobolLexer} are mapped by their offsets in the
+ * extended text: copybook entry and exit tokens switch the current document, and the offset of
+ * any other token is looked up in the segments of the current document.
  *
  * <p>Don't change this file unless you are sure what you are doing. Check the grammar first.
  */
@@ -56,17 +57,17 @@ public class LocalityMappingUtils {
    * @param documentPositions initial document and copybooks positions
    * @param documentUri URI of the current document
    * @param embeddedCodeParts map of embedded code part contexts
-   * @return map of tokens and original positions.
+   * @return table of tokens and original positions.
    */
-  public Map<Token, Locality> createPositionMapping(
+  public LocalityTable createPositionMapping(
       List<Token> tokens,
       Map<String, DocumentMapping> documentPositions,
       String documentUri,
       Map<Token, EmbeddedCode> embeddedCodeParts) {
-    Map<Token, Locality> result = new HashMap<>();
+    LocalityTable result = new LocalityTable();
     Deque<DocumentHierarchyLevel> documentHierarchyStack = new ArrayDeque<>();
-    enterDocument(documentUri, documentPositions, documentHierarchyStack);
-    mapTokens(tokens, embeddedCodeParts, documentPositions, documentHierarchyStack, result);
+    enterDocument(documentUri, 0, 0, documentPositions, documentHierarchyStack);
+    mapTokens(tokens, 0, embeddedCodeParts, documentPositions, documentHierarchyStack, result);
     return result;
   }
 
@@ -74,26 +75,30 @@ public class LocalityMappingUtils {
    * Map the tokens recursively for embedded languages
    *
    * @param tokens tokens of extended documents, provided by {@link CobolLexer}
-   * @param documentPositions initial document and copybooks positions
+   * @param offset the offset of the text of the given tokens in the extended document
    * @param embeddedCodeParts map of embedded code part contexts
+   * @param documentPositions initial document and copybooks positions
    * @param documentHierarchyStack stack of processing documents
-   * @param tokenAccumulator a map that stores all the currently mapped tokens
+   * @param tokenAccumulator a table that stores all the currently mapped tokens
    */
   @SuppressWarnings("java:S127")
   private void mapTokens(
       List<Token> tokens,
+      int offset,
       Map<Token, EmbeddedCode> embeddedCodeParts,
       Map<String, DocumentMapping> documentPositions,
       Deque<DocumentHierarchyLevel> documentHierarchyStack,
-      Map<Token, Locality> tokenAccumulator) {
+      LocalityTable tokenAccumulator) {
 
     for (int i = 0; i < tokens.size(); i++) {
       Token token = tokens.get(i);
       if (embeddedCodeParts.containsKey(token) && token.getType() != Token.EOF) {
         EmbeddedCode embeddedCode = embeddedCodeParts.get(token);
         List<Token> nestedTokens = embeddedCode.getTokens();
+        // embedded code is lexed separately starting from this token
         mapTokens(
             nestedTokens,
+            offset + token.getStartIndex(),
             embeddedCodeParts,
             documentPositions,
             documentHierarchyStack,
@@ -102,99 +107,64 @@ public class LocalityMappingUtils {
         // to be used
         i += embeddedCode.getShift();
       } else {
-        mapToken(token, documentPositions, tokenAccumulator, documentHierarchyStack);
+        mapToken(token, offset, documentPositions, tokenAccumulator, documentHierarchyStack);
       }
     }
   }
 
   private void mapToken(
       Token token,
+      int offset,
       Map<String, DocumentMapping> documentPositions,
-      Map<Token, Locality> result,
+      LocalityTable result,
       Deque<DocumentHierarchyLevel> documentHierarchyStack) {
     // Check that this token is copy entry as defined in CobolLexer
     if (token.getType() == COPYENTRY && token.getTokenSource() instanceof CobolLexer) {
       enterDocument(
-          extractCopybookName(token.getText()), documentPositions, documentHierarchyStack);
+          extractCopybookName(token.getText()),
+          token.getStopIndex() + 1,
+          token.getStartIndex(),
+          documentPositions,
+          documentHierarchyStack);
     } else if (token.getType() == COPYEXIT && token.getTokenSource() instanceof CobolLexer) {
-      exitDocument(documentHierarchyStack);
-    } else {
-      mapTokenToPosition(token, result, currentDocument(documentHierarchyStack));
-    }
-  }
-
-  private void mapTokenToPosition(
-      Token token, Map<Token, Locality> mappingAccumulator, DocumentHierarchyLevel document) {
-    Locality locality = document.getCurrent();
-    if (locality == null) return;
-    if (tokenMatches(token.getText(), locality, document)) {
-      mappingAccumulator.put(token, locality);
-      document.forward();
+      exitDocument(token.getStopIndex() + 1, documentHierarchyStack);
     } else {
-      applyLookAhead(token, mappingAccumulator, document);
+      int start = offset + token.getStartIndex();
+      int end = Math.max(start, offset + token.getStopIndex() + 1);
+      ofNullable(currentDocument(documentHierarchyStack).map(start, end, token.getText()))
+          .ifPresent(it -> result.put(token, it));
     }
   }
 
-  /**
-   * Try to find the next matching position. Take the tail of the current document positions and
-   * apply the matcher for all of them one by one, then scroll the current document to the found
-   * position. Doesn't guarantee that the position will be found.
-   *
-   * <p>WARNING: infinite lookahead may produce unexpected behavior in exception cases. In case of
-   * strange bugs with positions, start debugging here.
-   *
-   * @param token token to find a position
-   * @param mappingAccumulator map to add the found position
-   * @param document currently processing documents
-   */
-  private void applyLookAhead(
-      Token token, Map<Token, Locality> mappingAccumulator, DocumentHierarchyLevel document) {
-    if (tryMatchNext(token, mappingAccumulator, document)) return;
-
-    List<Locality> positionsInFront = document.lookahead();
-    for (int pos = 0; pos < positionsInFront.size(); pos++) {
-      Locality forwardedLocality = positionsInFront.get(pos);
-      if (tokenMatches(token.getText(), forwardedLocality, document)) {
-        mappingAccumulator.put(token, forwardedLocality);
-        document.forceForward(pos + 1);
-        break;
-      }
-    }
-  }
-
-  private boolean tryMatchNext(
-      Token token, Map<Token, Locality> mappingAccumulator, DocumentHierarchyLevel document) {
-    Locality locality = document.getCurrent();
-    if (locality == null) return false;
-    if (tokenMatches(token.getText(), locality, document)) {
-      mappingAccumulator.put(token, locality);
-      document.forward();
-      return true;
-    }
-    return false;
-  }
-
   /**
    * Change the current document to consume positions of the nested one.
    *
    * @param documentId URI of the current document or copybook id
+   * @param start the offset of the document text in the extended document
+   * @param entry the offset of the copybook entry tag in the extended document
    * @param documentPositions position mappings
    * @param documentHierarchyStack stack of processing documents
    */
   private void enterDocument(
       String documentId,
+      int start,
+      int entry,
       Map<String, DocumentMapping> documentPositions,
       Deque<DocumentHierarchyLevel> documentHierarchyStack) {
-    documentHierarchyStack.push(new DocumentHierarchyLevel(documentPositions.get(documentId)));
+    documentHierarchyStack.push(
+        new DocumentHierarchyLevel(documentPositions.get(documentId), start, entry));
   }
 
   /**
-   * Move to the previous document in the stack to consume its positions
+   * Move to the previous document in the stack to consume its positions, excluding the text of the
+   * nested one from it
    *
+   * @param end the offset after the copybook exit tag in the extended document
    * @param documentHierarchyStack stack of processing documents
    */
-  private void exitDocument(Deque<DocumentHierarchyLevel> documentHierarchyStack) {
-    documentHierarchyStack.pop();
+  private void exitDocument(int end, Deque<DocumentHierarchyLevel> documentHierarchyStack) {
+    DocumentHierarchyLevel copybook = documentHierarchyStack.pop();
+    currentDocument(documentHierarchyStack).skip(copybook.getEntry(), end);
   }
 
   /**
@@ -219,18 +189,4 @@ public class LocalityMappingUtils {
   private String extractCopybookName(String text) {
     return text.substring(URI_PREFIX_LENGTH, text.length() - URI_SUFFIX_LENGTH);
   }
-
-  /**
-   * Check the token matches the position. If the position is the last in the list, it will match in
-   * any case.
-   *
-   * @param token text of the token
-   * @param position text of the position
-   * @param localitySource the document that contains the given locality
-   * @return true if token and position match
-   */
-  private boolean tokenMatches(
-      String token, Locality position, @NonNull DocumentHierarchyLevel localitySource) {
-    return token.equals(position.getToken()) || localitySource.isLastLocality(position);
-  }
 }
@@ -20,14 +20,12 @@ import lombok.experimental.UtilityClass;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.Token;
 import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp.cobol.core.model.LocalityTable;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 
 import javax.annotation.Nullable;
-import java.util.Comparator;
-import java.util.Map;
 import java.util.function.Function;
-import java.util.function.Predicate;
 
 /** Utilities for Locality building and retrieving */
 @UtilityClass
@@ -80,21 +78,12 @@ public class LocalityUtils {
    * produce errors on the edge positions that don't belong to the mapping.
    *
    * @param token to find previous visible locality
-   * @param mapping A Map of Token to Locality for a document in analysis.
+   * @param mapping A table of token localities for a document in analysis.
    * @return Locality for a passed token or null
    */
-  public Locality findPreviousVisibleLocality(Token token, Map<Token, Locality> mapping) {
-    return mapping.computeIfAbsent(token, it -> lookBackLocality(it.getTokenIndex(), mapping));
-  }
-
-  private Locality lookBackLocality(int index, Map<Token, Locality> mapping) {
-    if (index < 0) return null;
-    return mapping.entrySet().stream()
-        .filter(previousIndexes(index))
-        .filter(isNotHidden())
-        .max(Comparator.comparingInt(it -> it.getKey().getTokenIndex()))
-        .map(Map.Entry::getValue)
-        .orElse(null);
+  @Nullable
+  public Locality findPreviousVisibleLocality(Token token, LocalityTable mapping) {
+    return mapping.findPreviousVisible(token, RANGE_LOOK_BACK_TOKENS);
   }
 
   private Range retrieveRange(Token start, Token stop) {
@@ -110,14 +99,4 @@ public class LocalityUtils {
         token.getLine() - 1,
         token.getCharPositionInLine() + token.getStopIndex() - token.getStartIndex() + 1);
   }
-
-  private Predicate<Map.Entry<Token, Locality>> isNotHidden() {
-    return it -> it.getKey().getChannel() != Token.HIDDEN_CHANNEL;
-  }
-
-  private Predicate<Map.Entry<Token, Locality>> previousIndexes(int index) {
-    return it ->
-        it.getKey().getTokenIndex() <= index
-            && it.getKey().getTokenIndex() >= index - RANGE_LOOK_BACK_TOKENS;
-  }
 }
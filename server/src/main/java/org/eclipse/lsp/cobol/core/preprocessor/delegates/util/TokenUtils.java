@@ -51,6 +51,27 @@ public class TokenUtils {
     };
   }
 
+  /**
+   * Pass the tokens that represent the given node in the text to the consumer one by one: the hidden
+   * tokens to the left of it, and the node token itself, or the hidden tokens to the right followed
+   * by the node token if it is the end of file.
+   *
+   * @param tokens the parent stream of tokens for the given node
+   * @param consumer the consumer that accepts the tokens in the text order
+   * @return a consumer that accepts a TerminalNode to be processed
+   */
+  public Consumer<TerminalNode> forEachTextToken(
+      BufferedTokenStream tokens, Consumer<Token> consumer) {
+    return node -> {
+      int tokPos = node.getSourceInterval().a;
+      ofNullable(tokens.getHiddenTokensToLeft(tokPos, HIDDEN)).ifPresent(it -> it.forEach(consumer));
+      if (node.getSymbol().getType() == EOF)
+        ofNullable(tokens.getHiddenTokensToRight(tokPos, HIDDEN))
+            .ifPresent(it -> it.forEach(consumer));
+      consumer.accept(node.getSymbol());
+    };
+  }
+
   /**
    * Retrieve and join all tokens placed in the hidden channel to the left from a specified
    * position.
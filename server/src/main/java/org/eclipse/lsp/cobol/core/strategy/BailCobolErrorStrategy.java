@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.strategy;
+
+import org.antlr.v4.runtime.InputMismatchException;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.eclipse.lsp.cobol.core.messages.MessageService;
+
+/**
+ * This error strategy stops the parsing on the first syntax error throwing a {@link
+ * ParseCancellationException}, like {@link org.antlr.v4.runtime.BailErrorStrategy}. It extends
+ * {@link CobolErrorStrategy}, so the grammar actions can still retrieve the message service.
+ */
+class BailCobolErrorStrategy extends CobolErrorStrategy {
+  BailCobolErrorStrategy(MessageService messageService) {
+    super(messageService);
+  }
+
+  @Override
+  public void reportError(Parser recognizer, RecognitionException e) {
+    // the errors are reported by the second stage of the parsing
+  }
+
+  @Override
+  public void recover(Parser recognizer, RecognitionException e) {
+    throw new ParseCancellationException(e);
+  }
+
+  @Override
+  public Token recoverInline(Parser recognizer) {
+    throw new ParseCancellationException(new InputMismatchException(recognizer));
+  }
+
+  @Override
+  public void sync(Parser recognizer) {
+    // no recovery, so no need to sync
+  }
+}
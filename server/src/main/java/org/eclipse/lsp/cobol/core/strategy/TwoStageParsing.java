@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.strategy;
+
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.eclipse.lsp.cobol.core.messages.MessageService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * This utility class runs the parsers using the two-stage strategy. The first stage uses the fast
+ * SLL prediction mode and stops on the first syntax error. Only if it fails, the input is parsed
+ * again using the full LL prediction mode and the {@link CobolErrorStrategy} that recovers from the
+ * errors and reports them. The first stage also fails if it doesn't consume the whole input, since
+ * the SLL mode may exit a loop of a start rule that is not terminated with EOF too early. So the
+ * second stage runs only for the inputs with syntax errors or the ones requiring the full context.
+ *
+ * <p>The mode can be forced using the "cobol.parsing.mode" system property with one of the values
+ * of {@link Mode}, or using {@link #setMode(Mode)}. The numbers of parsings and fallbacks to the
+ * second stage are available for tuning.
+ */
+@Slf4j
+@UtilityClass
+public class TwoStageParsing {
+  private static final String MODE_PROPERTY = "cobol.parsing.mode";
+
+  private final AtomicLong parsings = new AtomicLong();
+  private final AtomicLong fallbacks = new AtomicLong();
+  private volatile Mode mode = retrieveMode();
+
+  /**
+   * Parse the input of the given parser according to the current mode. The parser should have its
+   * error listeners already set up; the errors are reported to them only once.
+   *
+   * @param parser the parser with the input and the error listeners
+   * @param messageService the message service for the error strategy
+   * @param startRule the grammar rule to apply
+   * @param <P> the type of the parser
+   * @param <T> the type of the resulting context
+   * @return the parse tree of the start rule
+   */
+  public <P extends Parser, T extends ParserRuleContext> T parse(
+      P parser, MessageService messageService, Function<P, T> startRule) {
+    parsings.incrementAndGet();
+    switch (mode) {
+      case SLL:
+        return parseWithRecovery(parser, messageService, startRule, PredictionMode.SLL);
+      case LL:
+        return parseWithRecovery(parser, messageService, startRule, PredictionMode.LL);
+      default:
+        return parseInTwoStages(parser, messageService, startRule);
+    }
+  }
+
+  /**
+   * Force the prediction mode for all the following parsings
+   *
+   * @param newMode the mode to use
+   */
+  public void setMode(Mode newMode) {
+    mode = newMode;
+  }
+
+  /**
+   * Get the current prediction mode
+   *
+   * @return the current mode
+   */
+  public Mode getMode() {
+    return mode;
+  }
+
+  /**
+   * Get the statistics of the parsing since the server start
+   *
+   * @return the numbers of parsings and fallbacks to the LL mode
+   */
+  public Statistics getStatistics() {
+    return new Statistics(parsings.get(), fallbacks.get());
+  }
+
+  private <P extends Parser, T extends ParserRuleContext> T parseInTwoStages(
+      P parser, MessageService messageService, Function<P, T> startRule) {
+    List<ANTLRErrorListener> listeners = new ArrayList<>(parser.getErrorListeners());
+    ErrorRecorder recorder = new ErrorRecorder();
+    parser.removeErrorListeners();
+    parser.addErrorListener(recorder);
+    parser.setErrorHandler(new BailCobolErrorStrategy(messageService));
+    parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+    Token failedAt;
+    try {
+      T result = startRule.apply(parser);
+      failedAt = parser.getCurrentToken();
+      if (failedAt.getType() == Token.EOF) {
+        restoreListeners(parser, listeners);
+        recorder.replay(parser.getErrorListenerDispatch());
+        return result;
+      }
+    } catch (ParseCancellationException e) {
+      failedAt =
+          Optional.ofNullable(e.getCause())
+              .filter(RecognitionException.class::isInstance)
+              .map(it -> ((RecognitionException) it).getOffendingToken())
+              .orElseGet(parser::getCurrentToken);
+    }
+    restoreListeners(parser, listeners);
+    LOG.debug(
+        "SLL parsing failed at {}, falling back to LL. Fallbacks: {} of {}",
+        failedAt,
+        fallbacks.incrementAndGet(),
+        parsings.get());
+    parser.reset();
+    return parseWithRecovery(parser, messageService, startRule, PredictionMode.LL);
+  }
+
+  private <P extends Parser, T extends ParserRuleContext> T parseWithRecovery(
+      P parser,
+      MessageService messageService,
+      Function<P, T> startRule,
+      PredictionMode predictionMode) {
+    parser.setErrorHandler(new CobolErrorStrategy(messageService));
+    parser.getInterpreter().setPredictionMode(predictionMode);
+    return startRule.apply(parser);
+  }
+
+  private void restoreListeners(Parser parser, List<ANTLRErrorListener> listeners) {
+    parser.removeErrorListeners();
+    listeners.forEach(parser::addErrorListener);
+  }
+
+  private Mode retrieveMode() {
+    String value = System.getProperty(MODE_PROPERTY);
+    if (value == null) return Mode.TWO_STAGE;
+    try {
+      return Mode.valueOf(value.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Unknown parsing mode {}, {} is used", value, Mode.TWO_STAGE);
+      return Mode.TWO_STAGE;
+    }
+  }
+
+  /** The prediction mode of the parsers */
+  public enum Mode {
+    /** Try the SLL mode first and fall back to the LL mode on syntax errors */
+    TWO_STAGE,
+    /** Use the SLL mode only; the reported errors may differ from the LL mode ones */
+    SLL,
+    /** Use the LL mode only */
+    LL
+  }
+
+  /** The numbers of parsings and fallbacks to the LL mode since the server start */
+  @Value
+  public static class Statistics {
+    long parsings;
+    long fallbacks;
+  }
+
+  /**
+   * This listener stores the errors reported by the grammar actions during the first stage, so they
+   * are reported only if the first stage succeeds
+   */
+  private static class ErrorRecorder extends BaseErrorListener {
+    private final List<ReportedError> errors = new ArrayList<>();
+
+    @Override
+    public void syntaxError(
+        Recognizer<?, ?> recognizer,
+        Object offendingSymbol,
+        int line,
+        int charPositionInLine,
+        String msg,
+        RecognitionException e) {
+      errors.add(new ReportedError(recognizer, offendingSymbol, line, charPositionInLine, msg, e));
+    }
+
+    void replay(ANTLRErrorListener listener) {
+      errors.forEach(
+          it ->
+              listener.syntaxError(
+                  it.getRecognizer(),
+                  it.getOffendingSymbol(),
+                  it.getLine(),
+                  it.getCharPositionInLine(),
+                  it.getMsg(),
+                  it.getException()));
+    }
+  }
+
+  /** The arguments of a reported syntax error */
+  @Value
+  private static class ReportedError {
+    Recognizer<?, ?> recognizer;
+    Object offendingSymbol;
+    int line;
+    int charPositionInLine;
+    String msg;
+    RecognitionException exception;
+  }
+}
@@ -19,17 +19,16 @@ import com.google.common.collect.ImmutableList;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.ParserRuleContext;
-import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.tree.RuleNode;
 import org.eclipse.lsp.cobol.core.CICSParserBaseVisitor;
 import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp.cobol.core.model.LocalityTable;
 import org.eclipse.lsp.cobol.core.model.tree.CodeBlockUsageNode;
 import org.eclipse.lsp.cobol.core.model.tree.Node;
 import org.eclipse.lsp.cobol.core.model.tree.variables.QualifiedReferenceNode;
 import org.eclipse.lsp.cobol.core.model.tree.variables.VariableUsageNode;
 
 import java.util.List;
-import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -42,7 +41,7 @@ import static org.eclipse.lsp.cobol.core.CICSParser.*;
 @Slf4j
 @AllArgsConstructor
 public class CICSVisitor extends CICSParserBaseVisitor<List<Node>> {
-  private final Map<Token, Locality> positions;
+  private final LocalityTable positions;
 
   @Override
   public List<Node> visitQualifiedDataName(QualifiedDataNameContext ctx) {
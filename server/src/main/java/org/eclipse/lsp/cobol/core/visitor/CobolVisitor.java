@@ -36,6 +36,7 @@ import org.eclipse.lsp.cobol.core.messages.MessageService;
 import org.eclipse.lsp.cobol.core.model.EmbeddedCode;
 import org.eclipse.lsp.cobol.core.model.ErrorSeverity;
 import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp.cobol.core.model.LocalityTable;
 import org.eclipse.lsp.cobol.core.model.SyntaxError;
 import org.eclipse.lsp.cobol.core.model.tree.*;
 import org.eclipse.lsp.cobol.core.model.tree.statements.SetToBooleanStatement;
@@ -83,7 +84,7 @@ public class CobolVisitor extends CobolParserBaseVisitor<List<Node>> {
   private final Multimap<String, Location> subroutineUsages = HashMultimap.create();
   private final NamedSubContext copybooks;
   private final CommonTokenStream tokenStream;
-  private final Map<Token, Locality> positions;
+  private final LocalityTable positions;
   private final Map<Token, EmbeddedCode> embeddedCodeParts;
   private final MessageService messageService;
   private final SubroutineService subroutineService;
@@ -95,7 +96,7 @@ public class CobolVisitor extends CobolParserBaseVisitor<List<Node>> {
   public CobolVisitor(
       @NonNull NamedSubContext copybooks,
       @NonNull CommonTokenStream tokenStream,
-      @NonNull Map<Token, Locality> positions,
+      @NonNull LocalityTable positions,
       @NonNull AnalysisConfig analysisConfig,
       Map<Token, EmbeddedCode> embeddedCodeParts,
       MessageService messageService,
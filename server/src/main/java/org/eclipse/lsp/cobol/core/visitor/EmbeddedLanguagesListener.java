@@ -23,7 +23,7 @@ import org.antlr.v4.runtime.tree.ParseTreeListener;
 import org.eclipse.lsp.cobol.core.*;
 import org.eclipse.lsp.cobol.core.messages.MessageService;
 import org.eclipse.lsp.cobol.core.model.EmbeddedCode;
-import org.eclipse.lsp.cobol.core.strategy.CobolErrorStrategy;
+import org.eclipse.lsp.cobol.core.strategy.TwoStageParsing;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -77,7 +77,10 @@ public class EmbeddedLanguagesListener extends CobolParserBaseListener {
 
     embeddedCodeParts.put(
         context.getStart(),
-        new EmbeddedCode(parser.allCicsRules(), tokens, calculateShift(context)));
+        new EmbeddedCode(
+            TwoStageParsing.parse(parser, messageService, CICSParser::allCicsRules),
+            tokens,
+            calculateShift(context)));
   }
 
   private void parseSql(
@@ -89,7 +92,9 @@ public class EmbeddedLanguagesListener extends CobolParserBaseListener {
     embeddedCodeParts.put(
         sqlCode.getStart(),
         new EmbeddedCode(
-            grammarStartRule.apply(createDb2SqlParser(tokens)), tokens, calculateShift(sqlCode)));
+            TwoStageParsing.parse(createDb2SqlParser(tokens), messageService, grammarStartRule),
+            tokens,
+            calculateShift(sqlCode)));
   }
 
   private CommonTokenStream applyDb2Lexer(ParserRuleContext context) {
@@ -123,7 +128,6 @@ public class EmbeddedLanguagesListener extends CobolParserBaseListener {
     parser.removeErrorListeners();
     parser.addErrorListener(errorListener);
     parser.addParseListener(treeListener);
-    parser.setErrorHandler(new CobolErrorStrategy(messageService));
   }
 
   private int calculateShift(ParserRuleContext ctx) {
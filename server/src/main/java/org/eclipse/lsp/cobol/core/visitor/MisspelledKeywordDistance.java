@@ -16,34 +16,101 @@
 package org.eclipse.lsp.cobol.core.visitor;
 
 import lombok.experimental.UtilityClass;
-import org.apache.commons.text.similarity.LevenshteinDistance;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
-import static java.util.Comparator.comparingInt;
-
 /**
- * Calculates a distance between a processing token and keyword from the list of suggestions using a
- * Levenshtein algorithm.
+ * Finds a keyword from the list of suggestions that is at most one edit (insertion, deletion or
+ * substitution) away from a processing token, i.e. with the Levenshtein distance less than 2.
+ *
+ * <p>The keywords are bucketed by length once at class load, so only the keywords which length
+ * differs by at most one are checked, and each check stops at the second mismatch. The buckets keep
+ * the ordinals of the keywords in the suggestion set order, and the lookup walks the three buckets
+ * in that order, so the first keyword found is the same the full distance sort used to return.
  */
 @UtilityClass
 class MisspelledKeywordDistance {
 
   public static final KeywordSuggestions KEYWORDS = new KeywordSuggestions();
-  private static final LevenshteinDistance DISTANCE = LevenshteinDistance.getDefaultInstance();
+  private static final String[] WORDS;
+  private static final int[][] ORDINALS_BY_LENGTH;
+  private static final int[] NO_ORDINALS = new int[0];
+
+  static {
+    List<String> words = new ArrayList<>(KEYWORDS.getSuggestions());
+    int maxLength = words.stream().mapToInt(String::length).max().orElse(0);
+    List<List<Integer>> buckets = new ArrayList<>();
+    for (int length = 0; length <= maxLength; length++) buckets.add(new ArrayList<>());
+    for (int ordinal = 0; ordinal < words.size(); ordinal++)
+      buckets.get(words.get(ordinal).length()).add(ordinal);
+    WORDS = words.toArray(new String[0]);
+    ORDINALS_BY_LENGTH = new int[maxLength + 1][];
+    for (int length = 0; length <= maxLength; length++)
+      ORDINALS_BY_LENGTH[length] =
+          buckets.get(length).stream().mapToInt(Integer::intValue).toArray();
+  }
 
   /**
-   * Calculate a distance between the given token and all the keywords and find the closest one.
+   * Find the closest keyword for the given token if it is at most one edit away.
    *
    * @param wrongToken - potentially misspelled token to check
    * @return the closest keyword or null if nothing found
    */
   Optional<String> calculateDistance(String wrongToken) {
-    return KEYWORDS.getSuggestions().stream()
-        .map(item -> new Object[] {item, DISTANCE.apply(wrongToken, item)})
-        .sorted(comparingInt(o -> (int) o[1]))
-        .filter(item -> (int) item[1] < 2)
-        .map(item -> item[0].toString())
-        .findFirst();
+    if (KEYWORDS.getSuggestions().contains(wrongToken)) return Optional.of(wrongToken);
+    int length = wrongToken.length();
+    int[] shorter = getBucket(length - 1);
+    int[] same = getBucket(length);
+    int[] longer = getBucket(length + 1);
+    int shorterIndex = 0;
+    int sameIndex = 0;
+    int longerIndex = 0;
+    int total = shorter.length + same.length + longer.length;
+    for (int checked = 0; checked < total; checked++) {
+      int ordinal = Integer.MAX_VALUE;
+      if (shorterIndex < shorter.length) ordinal = shorter[shorterIndex];
+      if (sameIndex < same.length) ordinal = Math.min(ordinal, same[sameIndex]);
+      if (longerIndex < longer.length) ordinal = Math.min(ordinal, longer[longerIndex]);
+      if (shorterIndex < shorter.length && shorter[shorterIndex] == ordinal) shorterIndex++;
+      else if (sameIndex < same.length && same[sameIndex] == ordinal) sameIndex++;
+      else longerIndex++;
+      if (isOneEditAway(wrongToken, WORDS[ordinal])) return Optional.of(WORDS[ordinal]);
+    }
+    return Optional.empty();
+  }
+
+  private static int[] getBucket(int length) {
+    return length >= 0 && length < ORDINALS_BY_LENGTH.length
+        ? ORDINALS_BY_LENGTH[length]
+        : NO_ORDINALS;
+  }
+
+  /**
+   * Check that the strings, which lengths differ by at most one, are at most one edit away
+   *
+   * @param first - the first string
+   * @param second - the second string
+   * @return true if the Levenshtein distance between the strings is less than 2
+   */
+  private static boolean isOneEditAway(String first, String second) {
+    String shorter = first.length() <= second.length() ? first : second;
+    String longer = shorter == first ? second : first;
+    boolean sameLength = shorter.length() == longer.length();
+    boolean edited = false;
+    int shorterIndex = 0;
+    int longerIndex = 0;
+    while (shorterIndex < shorter.length() && longerIndex < longer.length()) {
+      if (shorter.charAt(shorterIndex) != longer.charAt(longerIndex)) {
+        if (edited) return false;
+        edited = true;
+        if (sameLength) shorterIndex++;
+      } else {
+        shorterIndex++;
+      }
+      longerIndex++;
+    }
+    return true;
   }
 }
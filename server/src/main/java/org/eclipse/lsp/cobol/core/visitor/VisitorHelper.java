@@ -24,9 +24,11 @@ import org.antlr.v4.runtime.misc.Interval;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.TerminalNode;
 import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp.cobol.core.model.LocalityTable;
 import org.eclipse.lsp.cobol.core.model.tree.Node;
 import org.eclipse.lsp.cobol.core.model.tree.variables.ValueInterval;
 import org.eclipse.lsp.cobol.core.model.tree.variables.UsageFormat;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.util.LocalityUtils;
 import org.eclipse.lsp4j.Range;
 
 import javax.annotation.Nonnull;
@@ -179,21 +181,25 @@ public class VisitorHelper {
   }
 
   /**
-   * Retrieve a locality from the given context with a range from the start to the end
+   * Retrieve a locality from the given context with a range from the start to the end. If the stop
+   * token has no position, e.g. it is the end of file, the range ends at the closest preceding
+   * visible token.
    *
    * @param context ParserRuleContext to extract locality
-   * @param positions map of exact positions
+   * @param positions table of exact positions
    * @return locality which has a range from the start to the end of the rule
    */
   Optional<Locality> retrieveRangeLocality(
-      ParserRuleContext context, Map<Token, Locality> positions) {
+      ParserRuleContext context, LocalityTable positions) {
     return ofNullable(context)
         .flatMap(
             ctx ->
                 ofNullable(positions.get(ctx.getStart()))
                     .flatMap(
                         start ->
-                            ofNullable(positions.get(ctx.getStop()))
+                            ofNullable(
+                                    LocalityUtils.findPreviousVisibleLocality(
+                                        ctx.getStop(), positions))
                                 .map(
                                     stop ->
                                         start.toBuilder()
@@ -234,14 +240,14 @@ public class VisitorHelper {
   /**
    * Create a tree node from the given context
    *
-   * @param positions map of localities
+   * @param positions table of localities
    * @param children children nodes
    * @param ctx to retrieve the locality range
    * @param nodeConstructor function to create the node
    * @return list of nodes
    */
   List<Node> createTreeNode(
-      Map<Token, Locality> positions,
+      LocalityTable positions,
       List<Node> children,
       ParserRuleContext ctx,
       Function<Locality, Node> nodeConstructor) {
@@ -252,11 +258,11 @@ public class VisitorHelper {
   /**
    * Retrieve a locality from the given mapping
    *
-   * @param positions map of localities
+   * @param positions table of localities
    * @param childToken token to retrieve
    * @return optional of locality
    */
-  Optional<Locality> getLocality(Map<Token, Locality> positions, Token childToken) {
+  Optional<Locality> getLocality(LocalityTable positions, Token childToken) {
     return ofNullable(positions.get(childToken));
   }
 }
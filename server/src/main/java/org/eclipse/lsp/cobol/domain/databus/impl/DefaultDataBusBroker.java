@@ -26,8 +26,6 @@ import org.eclipse.lsp.cobol.domain.databus.api.DeadEventSubscriber;
 import org.eclipse.lsp.cobol.domain.databus.model.DataEvent;
 import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
 
-import java.util.concurrent.ExecutorService;
-
 /**
  * This class is the default implementation for databus broker.
  */
@@ -38,8 +36,7 @@ public class DefaultDataBusBroker implements DataBusBroker {
 
   @Inject
   DefaultDataBusBroker(CustomThreadPoolExecutor customExecutor, DeadEventSubscriber deadEventSubscriber) {
-    ExecutorService executor = customExecutor.getThreadPoolExecutor();
-    eventBus = new AsyncEventBus(executor);
+    eventBus = new AsyncEventBus(customExecutor.getEventBusExecutor());
     eventBus.register(deadEventSubscriber);
   }
 
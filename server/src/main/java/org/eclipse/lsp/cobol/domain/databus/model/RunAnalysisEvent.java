@@ -17,19 +17,30 @@ package org.eclipse.lsp.cobol.domain.databus.model;
 
 import lombok.Value;
 
+import javax.annotation.Nullable;
+import java.util.List;
+
 /**
  * This class is a signal object to show that it is needed to run the syntax and semantic again for
- * all the registered documents.
+ * the registered documents. If the changed copybooks are specified, only the documents that depend
+ * on them are analyzed, otherwise all the documents are.
  */
 @Value
 public class RunAnalysisEvent implements DataEvent {
   private boolean verbose;
+  /** The URIs of the changed files or the names of the changed copybooks */
+  @Nullable private List<String> copybooks;
 
   public RunAnalysisEvent() {
-    this.verbose = false;
+    this(false);
   }
 
   public RunAnalysisEvent(boolean verbose) {
+    this(verbose, null);
+  }
+
+  public RunAnalysisEvent(boolean verbose, @Nullable List<String> copybooks) {
     this.verbose = verbose;
+    this.copybooks = copybooks;
   }
 }
@@ -20,6 +20,13 @@ import com.google.inject.name.Names;
 
 /** This module provides DI bindings with default values for databus parameters. */
 public class DatabusModule extends AbstractModule {
+  /**
+   * The system property that enables the concurrent semantic analysis of the sibling programs by
+   * setting the size of its pool. The analysis is sequential if the size is not greater than one.
+   */
+  public static final String SEMANTIC_ANALYSIS_POOL_SIZE_PROPERTY =
+      "lsp.cobol.semanticAnalysisPoolSize";
+
   @Override
   protected void configure() {
     bindConstant().annotatedWith(Names.named("CACHE-MAX-SIZE")).to(500);
@@ -29,5 +36,10 @@ public class DatabusModule extends AbstractModule {
     bindConstant().annotatedWith(Names.named("MAX-POOL-SIZE")).to(10);
     bindConstant().annotatedWith(Names.named("KEEP-ALIVE-TIME-IN-SECONDS")).to(60);
     bindConstant().annotatedWith(Names.named("CORE-POOL-SIZE-FOR-SCHEDULED-POOL")).to(5);
+    bindConstant().annotatedWith(Names.named("ANALYSIS-QUIET-PERIOD-IN-MILLISECONDS")).to(300L);
+    bindConstant().annotatedWith(Names.named("COPYBOOK-PREPROCESSING-POOL-SIZE")).to(4);
+    bindConstant()
+        .annotatedWith(Names.named("SEMANTIC-ANALYSIS-POOL-SIZE"))
+        .to(Integer.getInteger(SEMANTIC_ANALYSIS_POOL_SIZE_PROPERTY, 0));
   }
 }
@@ -32,14 +32,10 @@ import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.ReplacePrepro
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.ReplacingService;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.ReplacingServiceImpl;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.CopybookAnalysisFactory;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.cleaner.CobolLineCleaner;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.cleaner.CobolLineCleanerImpl;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.reader.CobolLineReader;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.reader.CobolLineReaderImpl;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.rewriter.CobolLineIndicatorProcessorImpl;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.rewriter.CobolLineReWriter;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.transformer.CobolLinesTransformation;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.transformer.ContinuationLineTransformation;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.writer.CobolLineWriter;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.writer.CobolLineWriterImpl;
 import org.eclipse.lsp.cobol.core.visitor.InterruptingTreeListener;
 import org.eclipse.lsp.cobol.service.ConfigurationService;
 import org.eclipse.lsp.cobol.service.CachingConfigurationService;
@@ -63,9 +59,7 @@ public class EngineModule extends AbstractModule {
     bind(CopybookAnalysisFactory.class);
     bind(ReplacingService.class).to(ReplacingServiceImpl.class);
     bind(CobolLineReader.class).to(CobolLineReaderImpl.class);
-    bind(CobolLineWriter.class).to(CobolLineWriterImpl.class);
-    bind(CobolLinesTransformation.class).to(ContinuationLineTransformation.class);
-    bind(CobolLineReWriter.class).to(CobolLineIndicatorProcessorImpl.class);
+    bind(CobolLineCleaner.class).to(CobolLineCleanerImpl.class);
     bind(MessageService.class).to(PropertiesMessageService.class);
     bind(LocaleStore.class).to(LocaleStoreImpl.class);
     bind(Communications.class).to(ServerCommunications.class);
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
+import org.eclipse.lsp.cobol.service.utils.TaskPriority;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.lsp.cobol.service.utils.TaskPriority.ACTIVE_DOCUMENT;
+
+/**
+ * This class schedules the analysis of the documents. The analysis of a changed document starts
+ * only after the quiet period since the last change, and there is at most one running analysis
+ * per document. The changes that come while the analysis is running are coalesced, so only the
+ * newest text is analyzed after the running analysis stops. The running analysis is interrupted
+ * only if the newer text is ready to be analyzed. If the text is the same as the one analyzed
+ * successfully, the previous result is kept. The analysis of the changes runs with {@link
+ * TaskPriority#ACTIVE_DOCUMENT} priority, since the user is typing in the changed document.
+ *
+ * <p>The full analysis requested on opening or by the server goes through the same queue, so it
+ * never runs at the same time as another analysis of the document. It starts without the quiet
+ * period and always runs, even if the text is already analyzed.
+ */
+@Slf4j
+class AnalysisScheduler {
+  private final CustomThreadPoolExecutor executors;
+  private final long quietPeriod;
+  private final Map<String, DocumentState> states = new ConcurrentHashMap<>();
+
+  /**
+   * Create a scheduler
+   *
+   * @param executors the executors to run the timers and the analysis
+   * @param quietPeriod the delay in milliseconds after the last change before the analysis starts
+   */
+  AnalysisScheduler(CustomThreadPoolExecutor executors, long quietPeriod) {
+    this.executors = executors;
+    this.quietPeriod = quietPeriod;
+  }
+
+  /**
+   * Schedule the analysis of the given text, replacing the text that is not analyzed yet
+   *
+   * @param uri the URI of the document
+   * @param text the new text of the document
+   * @param analysis the analysis to run with the newest text, returns true if it succeeded
+   * @param reuse the action to run instead of the analysis if the text is already analyzed
+   */
+  void schedule(String uri, String text, Predicate<String> analysis, Runnable reuse) {
+    DocumentState state = states.computeIfAbsent(uri, DocumentState::new);
+    synchronized (state) {
+      state.pendingText = text;
+      state.analysis = analysis;
+      state.reuse = reuse;
+      state.priority = ACTIVE_DOCUMENT;
+      if (state.timer != null) state.timer.cancel(false);
+      state.timer =
+          executors
+              .getScheduledThreadPoolExecutor()
+              .schedule(() -> start(state), quietPeriod, MILLISECONDS);
+    }
+  }
+
+  /**
+   * Start the analysis of the given text without the quiet period, replacing the text that is not
+   * analyzed yet. The running analysis of the document is interrupted, and the new one starts as
+   * soon as it stops. The analysis runs even if the text is already analyzed, and its result is
+   * not reused for the changes, since it may be done with other settings.
+   *
+   * @param uri the URI of the document
+   * @param text the text of the document
+   * @param analysis the analysis to run, returns true if it succeeded
+   * @param priority the priority of the analysis
+   */
+  void submit(String uri, String text, Predicate<String> analysis, TaskPriority priority) {
+    DocumentState state = states.computeIfAbsent(uri, DocumentState::new);
+    synchronized (state) {
+      state.pendingText = text;
+      state.analysis = analysis;
+      state.reuse = null;
+      state.priority = priority;
+      state.analyzedText = null;
+      state.outdated = true;
+      if (state.timer != null) state.timer.cancel(false);
+      start(state);
+    }
+  }
+
+  /**
+   * Cancel the scheduled and running analysis of the document and forget its state
+   *
+   * @param uri the URI of the document
+   */
+  void cancel(String uri) {
+    DocumentState state = states.remove(uri);
+    if (state == null) return;
+    synchronized (state) {
+      state.pendingText = null;
+      if (state.timer != null) state.timer.cancel(false);
+      if (state.running != null) state.running.cancel(true);
+    }
+  }
+
+  /**
+   * Get the futures of the last started analysis of every document
+   *
+   * @return a map of the document URIs to the analysis futures
+   */
+  Map<String, Future<?>> getStartedAnalyses() {
+    Map<String, Future<?>> result = new HashMap<>();
+    states.forEach(
+        (uri, state) -> {
+          synchronized (state) {
+            if (state.started != null) result.put(uri, state.started);
+          }
+        });
+    return result;
+  }
+
+  private void start(DocumentState state) {
+    synchronized (state) {
+      state.timer = null;
+      String text = state.pendingText;
+      if (text == null || states.get(state.uri) != state) return;
+      if (state.running != null) {
+        if (!state.outdated && text.equals(state.runningText)) {
+          state.pendingText = null;
+          return;
+        }
+        LOG.debug("Analysis for uri: {} is outdated and interrupted.", state.uri);
+        state.running.cancel(true);
+        if (state.runningStarted) return;
+        clearRunning(state);
+      }
+      state.pendingText = null;
+      if (state.reuse != null && text.equals(state.analyzedText)) {
+        executors.getThreadPoolExecutor(ACTIVE_DOCUMENT).execute(state.reuse);
+        return;
+      }
+      Predicate<String> analysis = state.analysis;
+      boolean reusable = state.reuse != null;
+      Object token = new Object();
+      state.runningToken = token;
+      state.runningText = text;
+      state.outdated = false;
+      Future<?> future =
+          executors
+              .getThreadPoolExecutor(state.priority)
+              .submit(
+                  () -> {
+                    synchronized (state) {
+                      if (state.runningToken != token) return;
+                      state.runningStarted = true;
+                    }
+                    boolean succeeded = false;
+                    try {
+                      succeeded = analysis.test(text);
+                    } finally {
+                      finish(state, text, succeeded && reusable);
+                    }
+                  });
+      state.started = future;
+      if (state.runningToken == token) state.running = future;
+    }
+  }
+
+  /**
+   * Finish the running analysis. The text is recorded as analyzed only if the analysis succeeded,
+   * was not interrupted, and its result may be reused for the changes.
+   */
+  private void finish(DocumentState state, String text, boolean succeeded) {
+    synchronized (state) {
+      boolean cancelled = state.running != null && state.running.isCancelled();
+      state.analyzedText = succeeded && !cancelled && !state.outdated ? text : null;
+      clearRunning(state);
+      if (state.pendingText != null && state.timer == null)
+        executors.getThreadPoolExecutor(ACTIVE_DOCUMENT).execute(() -> start(state));
+    }
+  }
+
+  private static void clearRunning(DocumentState state) {
+    state.running = null;
+    state.runningToken = null;
+    state.runningStarted = false;
+    state.runningText = null;
+  }
+
+  /** The scheduling state of a document */
+  private static class DocumentState {
+    private final String uri;
+    private String pendingText;
+    private Predicate<String> analysis;
+    private Runnable reuse;
+    private TaskPriority priority = ACTIVE_DOCUMENT;
+    private boolean outdated;
+    private Future<?> timer;
+    private Future<?> running;
+    private Object runningToken;
+    private boolean runningStarted;
+    private Future<?> started;
+    private String runningText;
+    private String analyzedText;
+
+    DocumentState(String uri) {
+      this.uri = Objects.requireNonNull(uri);
+    }
+  }
+}
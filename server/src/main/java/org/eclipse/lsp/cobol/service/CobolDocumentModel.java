@@ -15,42 +15,68 @@
 package org.eclipse.lsp.cobol.service;
 
 import org.eclipse.lsp.cobol.service.delegates.validations.AnalysisResult;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.Value;
-import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * This class stores a COBOL program text to be processed. Provides a list of lines and text tokens
- * by position.
+ * by position. The text is kept in a line-indexed {@link DocumentText}, so it may be updated with
+ * the incremental changes from the client without re-splitting the whole document.
  */
 @Data
-@Slf4j
 public class CobolDocumentModel {
   private static final String DELIMITER = "[ .\\[\\]()<>,*\"']+";
-  private final List<Line> lines = new ArrayList<>();
-  private final String text;
+  @Getter(AccessLevel.NONE)
+  private final DocumentText content;
   private AnalysisResult analysisResult;
 
   public CobolDocumentModel(String text, AnalysisResult analysisResult) {
-    this.text = text;
+    this.content = new DocumentText(text);
     this.analysisResult = analysisResult;
-    parse(text);
   }
 
   public CobolDocumentModel(String text) {
-    this.text = text;
-    parse(text);
+    this.content = new DocumentText(text);
+  }
+
+  public String getText() {
+    return content.getText();
+  }
+
+  /**
+   * Retrieve the lines of the document. The list is a snapshot of the current text.
+   *
+   * @return the list of the document lines
+   */
+  public List<Line> getLines() {
+    List<String> texts = content.getLines();
+    List<Line> result = new ArrayList<>(texts.size());
+    for (int i = 0; i < texts.size(); i++) {
+      result.add(new Line(i, texts.get(i)));
+    }
+    return result;
+  }
+
+  /**
+   * Apply the content changes received from the client to the document text. The analysis result
+   * stays unchanged until the new one is set.
+   *
+   * @param changes - the list of full or incremental content changes
+   */
+  public void applyChanges(List<TextDocumentContentChangeEvent> changes) {
+    content.applyChanges(changes);
   }
 
   Line getLine(int number) {
-    return lines.stream().filter(line -> line.getNumber() == number).findFirst().orElse(null);
+    String text = content.getLine(number);
+    return text == null ? null : new Line(number, text);
   }
 
   /**
@@ -75,20 +101,6 @@ public class CobolDocumentModel {
     return retrieveToken(position, route);
   }
 
-  private void parse(String text) {
-    try (BufferedReader reader = new BufferedReader(new StringReader(text))) {
-      String lineText;
-      int lineNumber = 0;
-
-      while ((lineText = reader.readLine()) != null) {
-        lines.add(new Line(lineNumber, lineText));
-        lineNumber++;
-      }
-    } catch (IOException e) {
-      LOG.error(e.getMessage());
-    }
-  }
-
   private String retrieveToken(Position position, Line route) {
 
     String beginning = retrieveTokenBeginning(position, route);
@@ -14,6 +14,8 @@
  */
 package org.eclipse.lsp.cobol.service;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.AllArgsConstructor;
@@ -22,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.eclipse.lsp.cobol.core.messages.LocaleStore;
 import org.eclipse.lsp.cobol.core.messages.LogLevelUtils;
 import org.eclipse.lsp.cobol.core.model.ErrorCode;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.PersistentCopybookCache;
 import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
 import org.eclipse.lsp4j.*;
 import org.eclipse.lsp4j.services.LanguageServer;
@@ -29,8 +32,12 @@ import org.eclipse.lsp4j.services.TextDocumentService;
 import org.eclipse.lsp4j.services.WorkspaceService;
 
 import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.Boolean.TRUE;
 import static java.util.Arrays.stream;
@@ -38,15 +45,20 @@ import static java.util.Collections.emptyList;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp.cobol.service.utils.SettingsParametersEnum.*;
-import static org.eclipse.lsp4j.TextDocumentSyncKind.Full;
+import static org.eclipse.lsp4j.TextDocumentSyncKind.Incremental;
 
 /**
  * This class sets up the initial state of the services and applies other initialization activities,
  * such as set server capabilities and register file system watchers.
+ *
+ * <p>If the client provides the "copybookCacheLocation" initialization option, the preprocessed
+ * copybooks are persisted there. The new entries are stored periodically and on shutdown.
  */
 @Slf4j
 @Singleton
 public class CobolLanguageServer implements LanguageServer {
+  private static final String COPYBOOK_CACHE_LOCATION = "copybookCacheLocation";
+  private static final long COPYBOOK_CACHE_FLUSH_PERIOD_IN_SECONDS = 60;
 
   private final DisposableLSPStateService disposableLSPStateService;
   private final TextDocumentService textService;
@@ -57,6 +69,7 @@ public class CobolLanguageServer implements LanguageServer {
   private final CustomThreadPoolExecutor customThreadPoolExecutor;
   private final ConfigurationService configurationService;
   private final CopybookNameService copybookNameService;
+  private final PersistentCopybookCache persistentCopybookCache;
 
   @Inject
   @SuppressWarnings("squid:S107")
@@ -69,7 +82,8 @@ public class CobolLanguageServer implements LanguageServer {
       CustomThreadPoolExecutor customThreadPoolExecutor,
       DisposableLSPStateService disposableLSPStateService,
       ConfigurationService configurationService,
-      CopybookNameService copybookNameService) {
+      CopybookNameService copybookNameService,
+      PersistentCopybookCache persistentCopybookCache) {
     this.textService = textService;
     this.workspaceService = workspaceService;
     this.watchingService = watchingService;
@@ -79,6 +93,7 @@ public class CobolLanguageServer implements LanguageServer {
     this.disposableLSPStateService = disposableLSPStateService;
     this.configurationService = configurationService;
     this.copybookNameService = copybookNameService;
+    this.persistentCopybookCache = persistentCopybookCache;
   }
 
   @Override
@@ -96,8 +111,8 @@ public class CobolLanguageServer implements LanguageServer {
   public CompletableFuture<InitializeResult> initialize(@NonNull InitializeParams params) {
     ServerCapabilities capabilities = new ServerCapabilities();
 
-    capabilities.setTextDocumentSync(Full);
-    capabilities.setCompletionProvider(new CompletionOptions(false, emptyList()));
+    capabilities.setTextDocumentSync(Incremental);
+    capabilities.setCompletionProvider(new CompletionOptions(true, emptyList()));
     capabilities.setDefinitionProvider(TRUE);
     capabilities.setReferencesProvider(TRUE);
     capabilities.setDocumentFormattingProvider(TRUE);
@@ -113,6 +128,7 @@ public class CobolLanguageServer implements LanguageServer {
         new WorkspaceServerCapabilities(workspaceFoldersOptions);
     capabilities.setWorkspace(workspaceServiceCapabilities);
 
+    openCopybookCache(params.getInitializationOptions());
     return supplyAsync(() -> new InitializeResult(capabilities));
   }
 
@@ -133,6 +149,27 @@ public class CobolLanguageServer implements LanguageServer {
     copybookNameService.collectLocalCopybookNames();
   }
 
+  private void openCopybookCache(@Nullable Object initializationOptions) {
+    Optional.ofNullable(initializationOptions)
+        .filter(JsonObject.class::isInstance)
+        .map(it -> ((JsonObject) it).get(COPYBOOK_CACHE_LOCATION))
+        .filter(JsonElement::isJsonPrimitive)
+        .map(JsonElement::getAsString)
+        .map(Paths::get)
+        .ifPresent(this::enableCopybookCache);
+  }
+
+  private void enableCopybookCache(Path location) {
+    persistentCopybookCache.open(location);
+    customThreadPoolExecutor
+        .getScheduledThreadPoolExecutor()
+        .scheduleWithFixedDelay(
+            persistentCopybookCache::flush,
+            COPYBOOK_CACHE_FLUSH_PERIOD_IN_SECONDS,
+            COPYBOOK_CACHE_FLUSH_PERIOD_IN_SECONDS,
+            TimeUnit.SECONDS);
+  }
+
   private void getLogLevelFromClient() {
     settingsService
         .getConfiguration(LOGGING_LEVEL.label)
@@ -148,6 +185,7 @@ public class CobolLanguageServer implements LanguageServer {
     LOG.info("COBOL LS received shutdown request");
     try {
       cancelAllProcessing();
+      persistentCopybookCache.flush();
       disposableLSPStateService.shutdown();
     } catch (Exception exception) {
       return CompletableFuture.completedFuture(new ShutdownResponse(null, exception.getMessage()));
@@ -179,6 +217,8 @@ public class CobolLanguageServer implements LanguageServer {
     // cancels all the running task on COBOL LS custom executor service.
     customThreadPoolExecutor.getThreadPoolExecutor().shutdownNow();
     customThreadPoolExecutor.getScheduledThreadPoolExecutor().shutdownNow();
+    customThreadPoolExecutor.getEventBusExecutor().shutdownNow();
+    customThreadPoolExecutor.getSemanticAnalysisPool().ifPresent(ForkJoinPool::shutdownNow);
     LOG.info("All processing abandoned as per shutdown call");
   }
 
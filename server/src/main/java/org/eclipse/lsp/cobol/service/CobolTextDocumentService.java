@@ -15,12 +15,14 @@
 package org.eclipse.lsp.cobol.service;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.eventbus.Subscribe;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -43,10 +45,13 @@ import org.eclipse.lsp.cobol.service.delegates.validations.LanguageEngineFacade;
 import org.eclipse.lsp.cobol.service.utils.BuildOutlineTreeFromSyntaxTree;
 import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
 import org.eclipse.lsp.cobol.service.utils.ShutdownCheckUtil;
+import org.eclipse.lsp.cobol.service.utils.TaskPriority;
 import org.eclipse.lsp4j.*;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.TextDocumentService;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -61,8 +66,8 @@ import java.util.function.Supplier;
 import static java.lang.String.format;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.core.model.tree.Node.hasType;
 import static org.eclipse.lsp.cobol.core.model.tree.NodeType.COPY;
+import static org.eclipse.lsp.cobol.service.utils.TaskPriority.*;
 
 /**
  * This class is a set of end-points to apply text operations for COBOL documents. All the requests
@@ -73,6 +78,10 @@ import static org.eclipse.lsp.cobol.core.model.tree.NodeType.COPY;
  * <p>For the maintainers: Please, add logging for exceptions if you run any asynchronous operation.
  * Also, you perform any communication with the client, do it a using {@link Communications}
  * instance.
+ *
+ * <p>The requests the user waits for run with {@link TaskPriority#INTERACTIVE} priority. The
+ * analysis of the last opened or changed document goes before the analysis of the other ones, so
+ * the re-analysis of all the open documents doesn't delay the feedback for the current one.
  */
 @Slf4j
 @Singleton
@@ -84,7 +93,6 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   private final Map<String, CompletableFuture<List<DocumentSymbol>>> outlineMap =
       new ConcurrentHashMap<>();
   private final Map<String, CompletableFuture<Node>> cfAstMap = new ConcurrentHashMap<>();
-  private final Map<String, Future<?>> futureMap = new ConcurrentHashMap<>();
   private final Communications communications;
   private final LanguageEngineFacade engine;
   private final Formations formations;
@@ -96,7 +104,10 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   private final HoverProvider hoverProvider;
   private final CFASTBuilder cfastBuilder;
   private final ConfigurationService configurationService;
+  private final AnalysisScheduler scheduler;
+  private final CopybookDependencyIndex dependencyIndex = new CopybookDependencyIndex();
   private DisposableLSPStateService disposableLSPStateService;
+  private volatile String activeDocument;
 
   @Inject
   @Builder
@@ -113,7 +124,8 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
       HoverProvider hoverProvider,
       CFASTBuilder cfastBuilder,
       DisposableLSPStateService disposableLSPStateService,
-      ConfigurationService configurationService) {
+      ConfigurationService configurationService,
+      @Named("ANALYSIS-QUIET-PERIOD-IN-MILLISECONDS") long analysisQuietPeriod) {
     this.communications = communications;
     this.engine = engine;
     this.formations = formations;
@@ -126,6 +138,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     this.cfastBuilder = cfastBuilder;
     this.disposableLSPStateService = disposableLSPStateService;
     this.configurationService = configurationService;
+    this.scheduler = new AnalysisScheduler(executors, analysisQuietPeriod);
 
     dataBus.subscribe(this);
   }
@@ -143,7 +156,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   @SuppressWarnings("squid:S1452")
   @VisibleForTesting
   Map<String, Future<?>> getFutureMap() {
-    return new HashMap<>(futureMap);
+    return scheduler.getStartedAnalyses();
   }
 
   @VisibleForTesting
@@ -165,6 +178,17 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
             reportExceptionIfThrown(createDescriptiveErrorMessage("completion lookup", uri)));
   }
 
+  @Override
+  public CompletableFuture<CompletionItem> resolveCompletionItem(CompletionItem unresolved) {
+    return ShutdownCheckUtil.supplyAsyncAndCheckShutdown(
+            disposableLSPStateService,
+            () -> completions.resolve(unresolved, docs::get),
+            executors.getThreadPoolExecutor())
+        .whenComplete(
+            reportExceptionIfThrown(
+                createDescriptiveErrorMessage("completion resolving", unresolved.getLabel())));
+  }
+
   @Override
   @SuppressWarnings("cast")
   public CompletableFuture<List<? extends Location>> definition(
@@ -242,8 +266,11 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     }
 
     String text = params.getTextDocument().getText();
+    getOrCreateDocument(uri, text)
+        .applyChanges(ImmutableList.of(new TextDocumentContentChangeEvent(text)));
     communications.notifyThatLoadingInProgress(uri);
-    analyzeDocumentFirstTime(uri, text, false);
+    activeDocument = uri;
+    analyzeDocumentFirstTime(uri, text, false, ACTIVE_DOCUMENT);
   }
 
   @Override
@@ -252,9 +279,20 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     String uri = params.getTextDocument().getUri();
     outlineMap.put(uri, new CompletableFuture<>());
     cfAstMap.put(uri, new CompletableFuture<>());
-    String text = params.getContentChanges().get(0).getText();
-    interruptAnalysis(uri);
-    analyzeChanges(uri, text);
+    String text = applyChanges(uri, params.getContentChanges());
+    activeDocument = uri;
+    scheduler.schedule(uri, text, it -> analyzeChanges(uri, it), () -> reuseAnalysisResult(uri));
+  }
+
+  private String applyChanges(String uri, List<TextDocumentContentChangeEvent> changes) {
+    CobolDocumentModel document = getOrCreateDocument(uri, "");
+    document.applyChanges(changes);
+    return document.getText();
+  }
+
+  private CobolDocumentModel getOrCreateDocument(String uri, String text) {
+    return docs.computeIfAbsent(
+        uri, ignore -> new CobolDocumentModel(text, AnalysisResult.builder().build()));
   }
 
   @Override
@@ -262,18 +300,12 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
     if (disposableLSPStateService.isServerShutdown()) return;
     String uri = params.getTextDocument().getUri();
     LOG.info(format("Document closing invoked on URI %s", uri));
-    interruptAnalysis(uri);
+    scheduler.cancel(uri);
     communications.publishDiagnostics(ImmutableMap.of(uri, Collections.emptyList()));
     communications.cancelProgressNotification(uri);
     docs.remove(uri);
-    clearAnalysedFutureObject(uri);
-  }
-
-  private void interruptAnalysis(String uri) {
-    if (futureMap.containsKey(uri)) {
-      LOG.debug("Analysis for uri: " + uri + " is interrupted.");
-      futureMap.get(uri).cancel(true);
-    }
+    dependencyIndex.remove(uri);
+    if (uri.equals(activeDocument)) activeDocument = null;
   }
 
   @Override
@@ -282,14 +314,29 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   }
 
   /**
-   * Handle RunAnalysisEvent from the DataBus.
+   * Handle RunAnalysisEvent from the DataBus. If the event specifies the changed copybooks, only
+   * the documents that use them are analyzed.
    *
    * @param event a RunAnalysisEvent
    */
   @Subscribe
   public void onRunAnalysisEventCallback(@NonNull RunAnalysisEvent event) {
     if (disposableLSPStateService.isServerShutdown()) return;
-    docs.forEach((key, value) -> analyzeDocumentFirstTime(key, value.getText(), event.isVerbose()));
+    Collection<String> uris =
+        ofNullable(event.getCopybooks())
+            .<Collection<String>>map(dependencyIndex::findDependentDocuments)
+            .orElseGet(() -> new ArrayList<>(docs.keySet()));
+    LOG.debug("Documents to analyze: {}", uris);
+    uris.forEach(
+        uri ->
+            ofNullable(docs.get(uri))
+                .ifPresent(
+                    doc ->
+                        analyzeDocumentFirstTime(
+                            uri,
+                            doc.getText(),
+                            event.isVerbose(),
+                            uri.equals(activeDocument) ? ACTIVE_DOCUMENT : BACKGROUND)));
   }
 
   @Override
@@ -305,7 +352,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
           return new CompletableFuture<>();
         });
     if (triggerAnalyze.get()) {
-      analyzeDocumentFirstTime(event.getUri(), event.getText(), false);
+      analyzeDocumentFirstTime(event.getUri(), event.getText(), false, OPEN_DOCUMENT);
     }
     CompletableFuture<Node> nodeCompletableFuture = cfAstMap.get(event.getUri());
     nodeCompletableFuture.thenApply(ignore -> cfAstMap.remove(event.getUri()));
@@ -316,80 +363,74 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
                 createDescriptiveErrorMessage("analysis retrieving", event.getUri())));
   }
 
-  private void clearAnalysedFutureObject(String uri) {
-    futureMap.remove(uri);
+  private void analyzeDocumentFirstTime(
+      String uri, String text, boolean userRequest, TaskPriority priority) {
+    getOrCreateDocument(uri, text);
+    scheduler.submit(uri, text, it -> analyzeDocument(uri, it, userRequest), priority);
   }
 
   @SuppressWarnings("java:S1181")
-  private void analyzeDocumentFirstTime(String uri, String text, boolean userRequest) {
-    registerDocument(uri, new CobolDocumentModel(text, AnalysisResult.builder().build()));
-    Future<?> docAnalysisFuture =
-        executors
-            .getThreadPoolExecutor()
-            .submit(
-                () -> {
-                  try {
-                    CopybookProcessingMode processingMode =
-                        CopybookProcessingMode.getCopybookProcessingMode(
-                            uri,
-                            userRequest
-                                ? CopybookProcessingMode.ENABLED_VERBOSE
-                                : CopybookProcessingMode.ENABLED);
-
-                    AnalysisConfig config = configurationService.getConfig(processingMode);
-                    AnalysisResult result = engine.analyze(uri, text, config);
-                    ofNullable(docs.get(uri)).ifPresent(doc -> doc.setAnalysisResult(result));
-                    publishResult(uri, result, processingMode);
-                    outlineMap.computeIfPresent(
-                        uri,
-                        (key, value) -> {
-                          value.complete(
-                              BuildOutlineTreeFromSyntaxTree.convert(result.getRootNode(), uri));
-                          return value;
-                        });
-                    cfAstMap.get(uri).complete(result.getRootNode());
-                  } catch (Throwable e) {
-                    cfAstMap.get(uri).completeExceptionally(e);
-                    LOG.error(createDescriptiveErrorMessage("analysis", uri), e);
-                  } finally {
-                    clearAnalysedFutureObject(uri);
-                  }
-                });
-    registerToFutureMap(uri, docAnalysisFuture);
+  private boolean analyzeDocument(String uri, String text, boolean userRequest) {
+    try {
+      CopybookProcessingMode processingMode =
+          CopybookProcessingMode.getCopybookProcessingMode(
+              uri,
+              userRequest ? CopybookProcessingMode.ENABLED_VERBOSE : CopybookProcessingMode.ENABLED);
+
+      AnalysisConfig config = configurationService.getConfig(processingMode);
+      AnalysisResult result = engine.analyze(uri, text, config);
+      ofNullable(docs.get(uri)).ifPresent(doc -> doc.setAnalysisResult(result));
+      dependencyIndex.update(uri, result.getRootNode());
+      publishResult(uri, result, processingMode);
+      outlineMap.computeIfPresent(
+          uri,
+          (key, value) -> {
+            value.complete(BuildOutlineTreeFromSyntaxTree.convert(result.getRootNode(), uri));
+            return value;
+          });
+      cfAstMap.get(uri).complete(result.getRootNode());
+      return true;
+    } catch (Throwable e) {
+      cfAstMap.get(uri).completeExceptionally(e);
+      LOG.error(createDescriptiveErrorMessage("analysis", uri), e);
+      return false;
+    }
   }
 
-  private void registerToFutureMap(String uri, Future<?> docAnalysisFuture) {
-    futureMap.put(uri, docAnalysisFuture);
+  @SuppressWarnings("java:S1181")
+  private boolean analyzeChanges(String uri, String text) {
+    try {
+      CopybookProcessingMode processingMode =
+          CopybookProcessingMode.getCopybookProcessingMode(uri, CopybookProcessingMode.SKIP);
+      AnalysisConfig config = configurationService.getConfig(processingMode);
+      AnalysisResult result = engine.analyze(uri, text, config);
+      ofNullable(docs.get(uri)).ifPresent(doc -> doc.setAnalysisResult(result));
+      dependencyIndex.update(uri, result.getRootNode());
+      communications.publishDiagnostics(result.getDiagnostics());
+      outlineMap
+          .get(uri)
+          .complete(BuildOutlineTreeFromSyntaxTree.convert(result.getRootNode(), uri));
+      cfAstMap.get(uri).complete(result.getRootNode());
+      return true;
+    } catch (Throwable ex) {
+      cfAstMap.get(uri).completeExceptionally(ex);
+      LOG.error(createDescriptiveErrorMessage("analysis", uri), ex);
+      return false;
+    }
   }
 
-  @SuppressWarnings("java:S1181")
-  void analyzeChanges(String uri, String text) {
-    Future<?> analyseSubmitFuture =
-        executors
-            .getThreadPoolExecutor()
-            .submit(
-                () -> {
-                  try {
-                    CopybookProcessingMode processingMode =
-                        CopybookProcessingMode.getCopybookProcessingMode(
-                            uri, CopybookProcessingMode.SKIP);
-                    AnalysisConfig config = configurationService.getConfig(processingMode);
-                    AnalysisResult result = engine.analyze(uri, text, config);
-                    registerDocument(uri, new CobolDocumentModel(text, result));
-                    communications.publishDiagnostics(result.getDiagnostics());
-                    outlineMap
-                        .get(uri)
-                        .complete(
-                            BuildOutlineTreeFromSyntaxTree.convert(result.getRootNode(), uri));
-                    cfAstMap.get(uri).complete(result.getRootNode());
-                  } catch (Throwable ex) {
-                    cfAstMap.get(uri).completeExceptionally(ex);
-                    LOG.error(createDescriptiveErrorMessage("analysis", uri), ex);
-                  } finally {
-                    clearAnalysedFutureObject(uri);
-                  }
-                });
-    registerToFutureMap(uri, analyseSubmitFuture);
+  private void reuseAnalysisResult(String uri) {
+    ofNullable(docs.get(uri))
+        .map(CobolDocumentModel::getAnalysisResult)
+        .ifPresent(
+            result -> {
+              ofNullable(outlineMap.get(uri))
+                  .ifPresent(
+                      it ->
+                          it.complete(
+                              BuildOutlineTreeFromSyntaxTree.convert(result.getRootNode(), uri)));
+              ofNullable(cfAstMap.get(uri)).ifPresent(it -> it.complete(result.getRootNode()));
+            });
   }
 
   private void publishResult(
@@ -413,8 +454,7 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
   private List<String> extractCopybookUsages(AnalysisResult result) {
     return result
         .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(COPY))
+        .getDepthFirstStream(COPY)
         .map(CopyNode.class::cast)
         .map(CopyNode::getUsages)
         .filter(usages -> !usages.isEmpty())
@@ -447,10 +487,6 @@ public class CobolTextDocumentService implements TextDocumentService, ExtendedAp
         .whenComplete(reportExceptionIfThrown(createDescriptiveErrorMessage("getting hover", uri)));
   }
 
-  private void registerDocument(String uri, CobolDocumentModel document) {
-    docs.put(uri, document);
-  }
-
   private String createDescriptiveErrorMessage(String action, String uri) {
     return format("An exception thrown while applying %s for %s:", action, uri);
   }
@@ -14,6 +14,7 @@
  */
 package org.eclipse.lsp.cobol.service;
 
+import com.google.gson.JsonPrimitive;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.NonNull;
@@ -28,8 +29,11 @@ import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
 import org.eclipse.lsp4j.ExecuteCommandParams;
+import org.eclipse.lsp4j.FileEvent;
 import org.eclipse.lsp4j.services.WorkspaceService;
 
+import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
@@ -100,11 +104,19 @@ public class CobolWorkspaceServiceImpl implements WorkspaceService {
   private Runnable executeCopybookFix(@NonNull ExecuteCommandParams params) {
     return () -> {
       if (MISSING_COPYBOOK.name().equals(params.getCommand())) {
-        rerunAnalysis(true);
+        rerunAnalysis(retrieveCopybookNames(params), true);
       }
     };
   }
 
+  private List<String> retrieveCopybookNames(@NonNull ExecuteCommandParams params) {
+    return ofNullable(params.getArguments())
+        .flatMap(it -> it.stream().findFirst())
+        .map(it -> it instanceof JsonPrimitive ? ((JsonPrimitive) it).getAsString() : it.toString())
+        .map(Collections::singletonList)
+        .orElse(null);
+  }
+
   /**
    * Process changed configuration on the client state. This notification triggered automatically
    * when the user modify configuration settings in the client. Invalidate all the caches to avoid
@@ -144,23 +156,33 @@ public class CobolWorkspaceServiceImpl implements WorkspaceService {
   }
 
   /**
-   * This method triggered when the user modifies the settings in the settings.json
+   * This method triggered when the watched files in the copybook folders change. Only the changed
+   * copybooks are removed from the cache, and only the documents that depend on them are analyzed
+   * again.
    *
-   * @param params the object that wrap the content changed by the user in the settings.json and
-   *     sent from the client to the server.
+   * @param params the object that wrap the changed files sent from the client to the server.
    */
   @Override
   public void didChangeWatchedFiles(@NonNull DidChangeWatchedFilesParams params) {
     if (disposableLSPStateService.isServerShutdown()) return;
     copybookNameService.collectLocalCopybookNames();
-    rerunAnalysis(false);
+    rerunAnalysis(params.getChanges().stream().map(FileEvent::getUri).collect(toList()), false);
   }
 
   private void rerunAnalysis(boolean verbose) {
-    copybookService.invalidateCache();
+    rerunAnalysis(null, verbose);
+  }
+
+  private void rerunAnalysis(@Nullable List<String> copybooks, boolean verbose) {
+    if (copybooks == null) {
+      copybookService.invalidateCache();
+      LOG.info("Cache invalidated");
+    } else {
+      copybookService.invalidateCache(copybooks);
+      LOG.info("Cache invalidated for {}", copybooks);
+    }
     subroutineService.invalidateCache();
-    LOG.info("Cache invalidated");
-    dataBus.postData(new RunAnalysisEvent(verbose));
+    dataBus.postData(new RunAnalysisEvent(verbose, copybooks));
   }
 
   @NonNull
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import org.eclipse.lsp.cobol.core.model.tree.CopyDefinition;
+import org.eclipse.lsp.cobol.core.model.tree.Node;
+import org.eclipse.lsp.cobol.core.model.tree.RootNode;
+import org.eclipse.lsp4j.Location;
+
+import java.util.*;
+
+import static org.eclipse.lsp.cobol.service.utils.CopybookChangeUtils.*;
+
+/**
+ * This class keeps the reverse index from the copybooks, including the nested ones, to the
+ * documents that use them. The index allows re-analyzing only the documents affected by the
+ * changed copybooks. The copybooks are indexed both by their URIs and by their names, so the
+ * documents that miss a copybook are also found when the copybook file appears.
+ */
+class CopybookDependencyIndex {
+  private final NavigableMap<String, Set<String>> documentsByUri = new TreeMap<>();
+  private final Map<String, Set<String>> documentsByName = new HashMap<>();
+  private final Map<String, Dependencies> dependenciesByDocument = new HashMap<>();
+
+  /**
+   * Replace the indexed copybooks of the document with the ones used in the given syntax tree
+   *
+   * @param documentUri the URI of the analyzed document
+   * @param rootNode the root of the syntax tree of the document
+   */
+  synchronized void update(String documentUri, Node rootNode) {
+    remove(documentUri);
+    Dependencies dependencies = collectDependencies(rootNode);
+    dependencies.uris.forEach(
+        uri -> documentsByUri.computeIfAbsent(uri, it -> new HashSet<>()).add(documentUri));
+    dependencies.names.forEach(
+        name -> documentsByName.computeIfAbsent(name, it -> new HashSet<>()).add(documentUri));
+    dependenciesByDocument.put(documentUri, dependencies);
+  }
+
+  /**
+   * Remove the document from the index
+   *
+   * @param documentUri the URI of the document
+   */
+  synchronized void remove(String documentUri) {
+    Dependencies dependencies = dependenciesByDocument.remove(documentUri);
+    if (dependencies == null) return;
+    dependencies.uris.forEach(uri -> removeDocument(documentsByUri, uri, documentUri));
+    dependencies.names.forEach(name -> removeDocument(documentsByName, name, documentUri));
+  }
+
+  /**
+   * Find the documents that use the changed copybooks directly or through the nested copybooks
+   *
+   * @param changes the URIs of the changed files and folders, or the names of the copybooks
+   * @return the URIs of the affected documents
+   */
+  synchronized Set<String> findDependentDocuments(Collection<String> changes) {
+    Set<String> result = new HashSet<>();
+    for (String change : changes) {
+      result.addAll(documentsByName.getOrDefault(toCopybookName(change), Collections.emptySet()));
+      documentsByUri.subMap(change, true, change + "/\uffff", true).entrySet().stream()
+          .filter(it -> affects(change, it.getKey()))
+          .forEach(it -> result.addAll(it.getValue()));
+    }
+    return result;
+  }
+
+  private static Dependencies collectDependencies(Node rootNode) {
+    Dependencies result = new Dependencies();
+    if (!(rootNode instanceof RootNode)) return result;
+    for (CopyDefinition definition : ((RootNode) rootNode).getCopyDefinitionMap().values()) {
+      result.names.add(normalizeName(definition.getCopyBookName()));
+      Optional.ofNullable(definition.getLocation())
+          .map(Location::getUri)
+          .ifPresent(result.uris::add);
+    }
+    return result;
+  }
+
+  private static void removeDocument(
+      Map<String, Set<String>> index, String copybook, String documentUri) {
+    Set<String> documents = index.get(copybook);
+    if (documents == null) return;
+    documents.remove(documentUri);
+    if (documents.isEmpty()) index.remove(copybook);
+  }
+
+  /** The copybook URIs and names used in a document */
+  private static class Dependencies {
+    private final Set<String> uris = new HashSet<>();
+    private final Set<String> names = new HashSet<>();
+  }
+}
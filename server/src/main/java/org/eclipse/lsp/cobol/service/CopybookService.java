@@ -19,6 +19,8 @@ import org.eclipse.lsp.cobol.core.model.CopybookModel;
 import lombok.NonNull;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.CopybookName;
 
+import java.util.Collection;
+
 /**
  * Provide API definition to search for copybooks files. The service also caches copybook to reduce
  * filesystem load.
@@ -27,6 +29,14 @@ public interface CopybookService {
   /** Remove all the stored copybook. */
   void invalidateCache();
 
+  /**
+   * Remove the stored copybooks affected by the changes, i.e. the ones located in the changed files
+   * or folders, or having the names of the changed files.
+   *
+   * @param changes - the URIs of the changed files or the names of the changed copybooks
+   */
+  void invalidateCache(@NonNull Collection<String> changes);
+
   /**
    * Retrieve and return the copybook by its name.
    *
@@ -40,6 +50,21 @@ public interface CopybookService {
       @NonNull String documentUri,
       @NonNull CopybookConfig copybookConfig);
 
+  /**
+   * Resolve the copybooks that are not cached yet with a single request to the client and cache
+   * them, so the following {@link #resolve(CopybookName, String, CopybookConfig)} calls don't wait
+   * for the client one by one. The copybooks that cannot be prefetched are resolved as usual.
+   *
+   * @param copybookNames - the names of the copybooks used in the document
+   * @param documentUri - the currently processing document that contains the copy statements
+   * @param copybookConfig - contains config info like: copybook processing mode, target backend sql
+   *     server
+   */
+  void prefetch(
+      @NonNull Collection<CopybookName> copybookNames,
+      @NonNull String documentUri,
+      @NonNull CopybookConfig copybookConfig);
+
   /**
    * Store the copybookModel in cache.
    *
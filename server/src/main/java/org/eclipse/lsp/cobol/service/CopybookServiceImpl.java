@@ -31,6 +31,7 @@ import org.eclipse.lsp.cobol.core.model.CopybookModel;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.CopybookName;
 import org.eclipse.lsp.cobol.domain.databus.api.DataBusBroker;
 import org.eclipse.lsp.cobol.domain.databus.model.AnalysisFinishedEvent;
+import org.eclipse.lsp.cobol.service.utils.CopybookChangeUtils;
 import org.eclipse.lsp.cobol.service.utils.FileSystemService;
 
 import java.io.IOException;
@@ -43,7 +44,9 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.join;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.lsp.cobol.service.PredefinedCopybooks.PREF_IMPLICIT;
 import static org.eclipse.lsp.cobol.service.utils.SettingsParametersEnum.*;
 
@@ -90,6 +93,26 @@ public class CopybookServiceImpl implements CopybookService {
     copybookCache.invalidateAll();
   }
 
+  @Override
+  public void invalidateCache(@NonNull Collection<String> changes) {
+    Set<String> names = changes.stream().map(CopybookChangeUtils::toCopybookName).collect(toSet());
+    copybookCache
+        .asMap()
+        .values()
+        .removeIf(
+            it ->
+                isAffected(names, it.getCopybookName())
+                    || changes.stream()
+                        .anyMatch(change -> CopybookChangeUtils.affects(change, it.getUri())));
+    copybooksForDownloading.values().forEach(it -> it.removeIf(name -> isAffected(names, name)));
+    LOG.debug("Cache invalidated for {}", changes);
+  }
+
+  private static boolean isAffected(Set<String> names, CopybookName copybookName) {
+    return names.contains(CopybookChangeUtils.normalizeName(copybookName.getDisplayName()))
+        || names.contains(CopybookChangeUtils.normalizeName(copybookName.getQualifiedName()));
+  }
+
   /**
    * Retrieve and return the copybook by its name. Copybook may be cached to limit interactions with
    * the file system.
@@ -117,6 +140,37 @@ public class CopybookServiceImpl implements CopybookService {
     }
   }
 
+  @Override
+  public void prefetch(
+      @NonNull Collection<CopybookName> copybookNames,
+      @NonNull String documentUri,
+      @NonNull CopybookConfig copybookConfig) {
+    List<CopybookName> names =
+        copybookNames.stream()
+            .distinct()
+            .filter(it -> copybookCache.getIfPresent(it.getProcessingName()) == null)
+            .collect(toList());
+    if (names.size() < 2) return;
+    String cobolFileName = files.getNameFromURI(documentUri);
+    List<Object> uris = resolveCopybooksFromWorkspace(names, cobolFileName);
+    if (uris.size() != names.size()) {
+      LOG.debug("Copybooks {} are not prefetched, got {}", names, uris);
+      return;
+    }
+    LOG.debug("Prefetched copybooks {} for {}: {}", names, cobolFileName, uris);
+    for (int i = 0; i < names.size(); i++) {
+      CopybookName copybookName = names.get(i);
+      Optional<String> uri = SettingsService.getValueAsString(singletonList(uris.get(i)));
+      try {
+        copybookCache.get(
+            copybookName.getProcessingName(),
+            () -> resolveSync(copybookName, cobolFileName, copybookConfig, uri));
+      } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+        LOG.warn("Can't prefetch copybook '{}'.", copybookName, e);
+      }
+    }
+  }
+
   @Override
   public void store(CopybookModel copybookModel) {
     copybookCache.put(copybookModel.getCopybookName().getProcessingName(), copybookModel);
@@ -133,7 +187,19 @@ public class CopybookServiceImpl implements CopybookService {
         copybookName,
         documentUri,
         copybookConfig);
-    return tryResolveCopybookFromWorkspace(copybookName, cobolFileName)
+    return resolveSync(
+        copybookName,
+        cobolFileName,
+        copybookConfig,
+        resolveCopybookFromWorkspace(copybookName, cobolFileName));
+  }
+
+  private CopybookModel resolveSync(
+      CopybookName copybookName,
+      String cobolFileName,
+      CopybookConfig copybookConfig,
+      Optional<String> workspaceUri) {
+    return tryResolveCopybookFromWorkspace(copybookName, cobolFileName, workspaceUri)
         .orElseGet(
             () ->
                 tryResolvePredefinedCopybook(copybookName, copybookConfig)
@@ -141,14 +207,13 @@ public class CopybookServiceImpl implements CopybookService {
   }
 
   private Optional<CopybookModel> tryResolveCopybookFromWorkspace(
-      CopybookName copybookName, String cobolFileName) {
+      CopybookName copybookName, String cobolFileName, Optional<String> workspaceUri) {
     LOG.debug(
         "Trying to resolve copybook copybook {} for {} from workspace",
         copybookName,
         cobolFileName);
     final Optional<CopybookModel> copybookModel =
-        resolveCopybookFromWorkspace(copybookName, cobolFileName)
-            .map(uri -> loadCopybook(uri, copybookName, cobolFileName));
+        workspaceUri.map(uri -> loadCopybook(uri, copybookName, cobolFileName));
     LOG.debug("Copybook from workspace: {}", copybookModel);
     return copybookModel;
   }
@@ -174,6 +239,33 @@ public class CopybookServiceImpl implements CopybookService {
     }
   }
 
+  private List<Object> resolveCopybooksFromWorkspace(
+      List<CopybookName> copybookNames, String cobolFileName) {
+    try {
+      return Optional.ofNullable(
+              settingsService
+                  .getConfigurations(
+                      copybookNames.stream()
+                          .map(
+                              it ->
+                                  join(
+                                      ".",
+                                      COPYBOOK_RESOLVE.label,
+                                      cobolFileName,
+                                      it.getQualifiedName(),
+                                      it.getDialectType()))
+                          .collect(toList()))
+                  .get())
+          .orElseGet(Collections::emptyList);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Collections.emptyList();
+    } catch (ExecutionException e) {
+      LOG.warn("An exception thrown while resolving copybooks from the workspace", e);
+      return Collections.emptyList();
+    }
+  }
+
   /**
    * Retrieve optional {@link CopybookModel} of the {@link PredefinedCopybooks} for the given name
    * if it is predefined.
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class stores the text of a document as an array-backed list of lines, each of them keeping
+ * its own line terminator. It provides the line by number in constant time and applies range edits
+ * of incremental text synchronization by replacing only the affected lines, so the document is not
+ * re-split on every change. The full text is assembled lazily and cached until the next edit.
+ */
+@EqualsAndHashCode(of = "lines")
+class DocumentText {
+  private final List<String> lines = new ArrayList<>();
+  private String text;
+
+  DocumentText(@NonNull String text) {
+    lines.addAll(split(text));
+    this.text = text;
+  }
+
+  /**
+   * Apply the given content changes in the order they were sent by the client. A change without a
+   * range replaces the whole text.
+   *
+   * @param changes - the list of content changes from the didChange notification
+   */
+  synchronized void applyChanges(@NonNull List<TextDocumentContentChangeEvent> changes) {
+    changes.forEach(this::applyChange);
+  }
+
+  /**
+   * Retrieve the text of the line with the given number without its line terminator.
+   *
+   * @param number - the zero-based line number
+   * @return the line content or null if there is no such line
+   */
+  synchronized String getLine(int number) {
+    if (number < 0 || number >= getLineCount()) return null;
+    return stripTerminator(lines.get(number));
+  }
+
+  /**
+   * Retrieve the content of all the lines without line terminators. The trailing empty line after
+   * the last line break is not counted, the same way as {@link java.io.BufferedReader} does.
+   *
+   * @return the list of the line contents
+   */
+  synchronized List<String> getLines() {
+    List<String> result = new ArrayList<>(getLineCount());
+    for (int i = 0; i < getLineCount(); i++) {
+      result.add(stripTerminator(lines.get(i)));
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  synchronized String getText() {
+    if (text == null) {
+      StringBuilder builder = new StringBuilder();
+      lines.forEach(builder::append);
+      text = builder.toString();
+    }
+    return text;
+  }
+
+  private int getLineCount() {
+    return lines.get(lines.size() - 1).isEmpty() ? lines.size() - 1 : lines.size();
+  }
+
+  private void applyChange(TextDocumentContentChangeEvent change) {
+    Range range = change.getRange();
+    if (range == null) {
+      lines.clear();
+      lines.addAll(split(change.getText()));
+      text = change.getText();
+      return;
+    }
+    int startLine = clampLine(range.getStart());
+    int endLine = clampLine(range.getEnd());
+    String head = lines.get(startLine);
+    String tail = lines.get(endLine);
+    String replacement =
+        head.substring(0, clampCharacter(range.getStart(), head))
+            + change.getText()
+            + tail.substring(clampCharacter(range.getEnd(), tail));
+    List<String> replaced = split(replacement);
+    // only the last line of the document has no terminator, others keep the split remainder empty
+    if (endLine < lines.size() - 1) replaced.remove(replaced.size() - 1);
+    List<String> affected = lines.subList(startLine, endLine + 1);
+    affected.clear();
+    affected.addAll(replaced);
+    text = null;
+  }
+
+  private int clampLine(Position position) {
+    return Math.max(0, Math.min(position.getLine(), lines.size() - 1));
+  }
+
+  private static int clampCharacter(Position position, String line) {
+    return Math.max(0, Math.min(position.getCharacter(), stripTerminator(line).length()));
+  }
+
+  /**
+   * Split the text into lines keeping their terminators. The last element is always the rest of the
+   * text after the last line terminator, so an empty text or a text ending with a line break produce
+   * an empty trailing element.
+   */
+  private static List<String> split(String text) {
+    List<String> result = new ArrayList<>();
+    int start = 0;
+    int length = text.length();
+    for (int i = 0; i < length; i++) {
+      char current = text.charAt(i);
+      if (current == '\n' || current == '\r') {
+        if (current == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') i++;
+        result.add(text.substring(start, i + 1));
+        start = i + 1;
+      }
+    }
+    result.add(text.substring(start));
+    return result;
+  }
+
+  private static String stripTerminator(String line) {
+    int end = line.length();
+    while (end > 0 && isTerminator(line.charAt(end - 1))) end--;
+    return line.substring(0, end);
+  }
+
+  private static boolean isTerminator(char character) {
+    return character == '\n' || character == '\r';
+  }
+}
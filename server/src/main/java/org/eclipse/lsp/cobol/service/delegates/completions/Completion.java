@@ -17,9 +17,12 @@ package org.eclipse.lsp.cobol.service.delegates.completions;
 import lombok.NonNull;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.MarkupContent;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Optional;
 
 /**
  * Completion provider that allows to resolve autocomplete requests with specific items based on
@@ -29,7 +32,8 @@ import java.util.Collection;
 public interface Completion {
 
   /**
-   * Provide a list of completion items of specific kind
+   * Provide a list of completion items of specific kind. The items are provided without
+   * documentation, and there should be no more than {@link Completions#MAX_ITEMS} of them.
    *
    * @param token - token to filter the suggestions
    * @param document - object that contains text and analysis output
@@ -38,4 +42,18 @@ public interface Completion {
   @NonNull
   Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document);
+
+  /**
+   * Provide the documentation for a completion item selected by the user if this provider
+   * suggested it. Providers without documentation may keep the default implementation.
+   *
+   * @param item - the completion item to resolve
+   * @param document - object that contains text and analysis output
+   * @return the documentation or empty if the item was not suggested by this provider
+   */
+  @NonNull
+  default Optional<Either<String, MarkupContent>> resolveDocumentation(
+      @NonNull CompletionItem item, @Nullable CobolDocumentModel document) {
+    return Optional.empty();
+  }
 }
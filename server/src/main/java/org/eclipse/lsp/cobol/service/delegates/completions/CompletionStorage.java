@@ -19,9 +19,10 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +32,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public abstract class CompletionStorage {
   private Map<String, String> storage = new HashMap<>();
+  private PrefixIndex<String> labels;
 
   CompletionStorage() {
     Properties props = new Properties();
@@ -40,16 +42,19 @@ public abstract class CompletionStorage {
       LOG.error(e.getMessage());
     }
     fillInStorage(props);
+    labels = PrefixIndex.of(storage.keySet(), Function.identity());
     LOG.info("The properties file has been loaded successfully");
   }
 
   /**
-   * Return a full set of the registered keywords
+   * Return the registered keywords that start with the given token ignoring case
    *
-   * @return A set of keywords
+   * @param token - the beginning of the keywords
+   * @param limit - the maximum number of the keywords to return
+   * @return A list of keywords sorted alphabetically
    */
-  Set<String> getLabels() {
-    return storage.keySet();
+  List<String> getLabels(String token, int limit) {
+    return labels.findByPrefix(token, limit);
   }
 
   /**
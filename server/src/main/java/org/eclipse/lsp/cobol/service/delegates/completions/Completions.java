@@ -14,6 +14,8 @@
  */
 package org.eclipse.lsp.cobol.service.delegates.completions;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import lombok.NonNull;
@@ -29,7 +31,11 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsLast;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -38,7 +44,11 @@ import static java.util.stream.Collectors.toList;
  *
  * <p>Due to the resolving of documentation for completion items may be time-consuming, by default
  * all the completions suggestions are sent without any documentation. To fulfill it, there is a
- * special "resolve" request.
+ * special "resolve" request. The items that need the document to be resolved keep its URI in their
+ * data.
+ *
+ * <p>The number of suggestions is limited by {@link #MAX_ITEMS}. If there may be more of them, the
+ * completion list is marked as incomplete, so the client requests it again while the user types.
  *
  * <p>For maintainers: If you add a new completion providers, please, specify a new dependency in
  * the DI configuration {@link ServiceModule}
@@ -46,6 +56,10 @@ import static java.util.stream.Collectors.toList;
 @Slf4j
 @Singleton
 public class Completions {
+  /** The maximum number of completion suggestions sent to the client */
+  public static final int MAX_ITEMS = 1000;
+
+  private static final String URI = "uri";
 
   private Set<Completion> providers;
 
@@ -68,17 +82,59 @@ public class Completions {
   @NonNull
   public CompletionList collectFor(
       @Nullable CobolDocumentModel document, @NonNull CompletionParams params) {
-    return new CompletionList(false, collectCompletions(document, params));
+    String token = retrieveToken(document, params);
+    List<Collection<CompletionItem>> results =
+        providers
+            .parallelStream()
+            .map(it -> it.getCompletionItems(token, document))
+            .collect(toList());
+    boolean incomplete = results.stream().anyMatch(it -> it.size() >= MAX_ITEMS);
+    List<CompletionItem> items = results.stream().flatMap(Collection::stream).collect(toList());
+    if (items.size() > MAX_ITEMS) {
+      incomplete = true;
+      items =
+          items.stream()
+              .sorted(comparing(CompletionItem::getSortText, nullsLast(naturalOrder())))
+              .limit(MAX_ITEMS)
+              .collect(toList());
+    }
+    String uri = params.getTextDocument().getUri();
+    items.forEach(it -> addDocumentUri(it, uri));
+    return new CompletionList(incomplete, items);
   }
 
+  /**
+   * Fill in the documentation of the completion item selected by the user. The document the item
+   * was suggested for is retrieved by the URI stored in the item data, if any.
+   *
+   * @param item - the completion item to resolve
+   * @param documents - the function that provides a document model by its URI
+   * @return the same item with the documentation if one of the providers resolved it
+   */
   @NonNull
-  private List<CompletionItem> collectCompletions(
-      @Nullable CobolDocumentModel document, @NonNull CompletionParams params) {
-    return providers
-        .parallelStream()
-        .map(it -> it.getCompletionItems(retrieveToken(document, params), document))
-        .flatMap(Collection::stream)
-        .collect(toList());
+  public CompletionItem resolve(
+      @NonNull CompletionItem item, @NonNull Function<String, CobolDocumentModel> documents) {
+    CobolDocumentModel document = retrieveDocumentUri(item).map(documents).orElse(null);
+    providers.stream()
+        .map(it -> it.resolveDocumentation(item, document))
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .findFirst()
+        .ifPresent(item::setDocumentation);
+    return item;
+  }
+
+  private static void addDocumentUri(CompletionItem item, String uri) {
+    if (item.getData() instanceof JsonObject) ((JsonObject) item.getData()).addProperty(URI, uri);
+  }
+
+  private static Optional<String> retrieveDocumentUri(CompletionItem item) {
+    return Optional.ofNullable(item.getData())
+        .filter(JsonObject.class::isInstance)
+        .map(JsonObject.class::cast)
+        .map(it -> it.get(URI))
+        .filter(JsonElement::isJsonPrimitive)
+        .map(JsonElement::getAsString);
   }
 
   @NonNull
@@ -18,38 +18,46 @@ import com.google.inject.Singleton;
 import lombok.NonNull;
 import org.eclipse.lsp.cobol.core.model.tree.CopyNode;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
+import org.eclipse.lsp.cobol.service.delegates.validations.AnalysisResult;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.core.model.tree.Node.hasType;
 import static org.eclipse.lsp.cobol.core.model.tree.NodeType.COPY;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.COPYBOOKS;
+import static org.eclipse.lsp.cobol.service.delegates.completions.Completions.MAX_ITEMS;
 
 /** This class provides completion suggestions for copybook usages in the document */
 @Singleton
 public class CopybookCompletion implements Completion {
+  private final PrefixIndexCache<AnalysisResult, String> indexes =
+      new PrefixIndexCache<>(CopybookCompletion::buildIndex);
 
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
     if (document == null) return emptyList();
-    return document
-        .getAnalysisResult()
-        .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(COPY))
-        .map(CopyNode.class::cast)
-        .map(CopyNode::getName)
-        .filter(DocumentationUtils.startsWithIgnoreCase(token))
+    return indexes.get(document.getAnalysisResult()).findByPrefix(token, MAX_ITEMS).stream()
         .map(this::toCopybookCompletion)
         .collect(toList());
   }
 
+  private static PrefixIndex<String> buildIndex(AnalysisResult result) {
+    return PrefixIndex.of(
+        result
+            .getRootNode()
+            .getDepthFirstStream(COPY)
+            .map(CopyNode.class::cast)
+            .map(CopyNode::getName)
+            .collect(toList()),
+        Function.identity());
+  }
+
   private CompletionItem toCopybookCompletion(String name) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
@@ -25,9 +25,12 @@ import org.eclipse.lsp4j.CompletionItemKind;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.COPYBOOKS;
+import static org.eclipse.lsp.cobol.service.delegates.completions.Completions.MAX_ITEMS;
 
 /**
  * This class provides completion suggestions for copybooks present in the local copy path in the
@@ -37,6 +40,9 @@ import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrde
 @Singleton
 public class CopybookNameCompletion implements Completion {
   private final CopybookNameService copybookNameService;
+  // The service replaces the list of names when the copybooks are collected again
+  private final PrefixIndexCache<List<String>, String> indexes =
+      new PrefixIndexCache<>(names -> PrefixIndex.of(names, Function.identity()));
 
   @Inject
   public CopybookNameCompletion(CopybookNameService copybookNameService) {
@@ -47,8 +53,7 @@ public class CopybookNameCompletion implements Completion {
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
 
-    return copybookNameService.getNames().stream()
-        .filter(DocumentationUtils.startsWithIgnoreCase(token))
+    return indexes.get(copybookNameService.getNames()).findByPrefix(token, MAX_ITEMS).stream()
         .map(this::toCopybookCompletion)
         .collect(toList());
   }
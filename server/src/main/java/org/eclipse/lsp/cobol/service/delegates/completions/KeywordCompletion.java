@@ -20,15 +20,22 @@ import com.google.inject.name.Named;
 import lombok.NonNull;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.MarkupContent;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Optional;
 
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.lsp.cobol.service.delegates.completions.Completions.MAX_ITEMS;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.KEYWORDS;
 import static org.eclipse.lsp4j.CompletionItemKind.Keyword;
 
-/** This completion provider resolves keywords and documentation for them as static content */
+/**
+ * This completion provider resolves keywords and documentation for them as static content. The
+ * documentation is provided on the resolve request.
+ */
 @Singleton
 public class KeywordCompletion implements Completion {
   private CompletionStorage keywords;
@@ -41,17 +48,24 @@ public class KeywordCompletion implements Completion {
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
-    return keywords.getLabels().stream()
-        .filter(DocumentationUtils.startsWithIgnoreCase(token))
+    return keywords.getLabels(token, MAX_ITEMS).stream()
         .map(this::toKeywordCompletion)
         .collect(toList());
   }
 
+  @Override
+  public @NonNull Optional<Either<String, MarkupContent>> resolveDocumentation(
+      @NonNull CompletionItem item, @Nullable CobolDocumentModel document) {
+    if (item.getKind() != Keyword) return Optional.empty();
+    return Optional.ofNullable(keywords.getInformationFor(item.getLabel()))
+        .map(DocumentationUtils::wrapWithMarkup)
+        .map(Either::forRight);
+  }
+
   private CompletionItem toKeywordCompletion(String name) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
     item.setInsertText(name);
-    item.setDocumentation(DocumentationUtils.wrapWithMarkup(keywords.getInformationFor(name)));
     item.setSortText(KEYWORDS.prefix + name);
     item.setKind(Keyword);
     return item;
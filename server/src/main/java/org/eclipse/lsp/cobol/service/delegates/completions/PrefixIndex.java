@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.delegates.completions;
+
+import lombok.NonNull;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * An immutable case-insensitive index of completion suggestions. The keys are upper-cased and kept
+ * in a sorted array, so the suggestions starting with a token are found with a binary search
+ * instead of filtering all the elements on every keystroke. The elements with equal keys keep their
+ * original order.
+ *
+ * @param <T> the type of the indexed elements
+ */
+final class PrefixIndex<T> {
+  private final String[] keys;
+  private final List<T> values;
+
+  private PrefixIndex(String[] keys, List<T> values) {
+    this.keys = keys;
+    this.values = values;
+  }
+
+  /**
+   * Build an index of the given elements
+   *
+   * @param elements - the elements to index
+   * @param keyExtractor - the function that provides a name of an element
+   * @param <T> the type of the indexed elements
+   * @return the index of the elements by their names
+   */
+  static <T> PrefixIndex<T> of(
+      @NonNull Collection<T> elements, @NonNull Function<T, String> keyExtractor) {
+    List<Map.Entry<String, T>> entries = new ArrayList<>(elements.size());
+    for (T element : elements) {
+      String key = normalize(keyExtractor.apply(element));
+      entries.add(new AbstractMap.SimpleImmutableEntry<>(key, element));
+    }
+    entries.sort(Map.Entry.comparingByKey());
+    String[] keys = new String[entries.size()];
+    List<T> values = new ArrayList<>(entries.size());
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = entries.get(i).getKey();
+      values.add(entries.get(i).getValue());
+    }
+    return new PrefixIndex<>(keys, values);
+  }
+
+  /**
+   * Find the elements which names start with the given token ignoring case, sorted by name
+   *
+   * @param token - the beginning of the names
+   * @param limit - the maximum number of the elements to return
+   * @return the list of the found elements
+   */
+  @NonNull
+  List<T> findByPrefix(@NonNull String token, int limit) {
+    String prefix = normalize(token);
+    int from = lowerBound(prefix);
+    int to = from;
+    while (to < keys.length && to - from < limit && keys[to].startsWith(prefix)) to++;
+    return values.subList(from, to);
+  }
+
+  /**
+   * Find the elements with the given name ignoring case, in their original order
+   *
+   * @param name - the name of the elements
+   * @return the list of the found elements
+   */
+  @NonNull
+  List<T> findByName(@NonNull String name) {
+    String key = normalize(name);
+    int from = lowerBound(key);
+    int to = from;
+    while (to < keys.length && keys[to].equals(key)) to++;
+    return values.subList(from, to);
+  }
+
+  private int lowerBound(String key) {
+    int low = 0;
+    int high = keys.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (keys[middle].compareTo(key) < 0) low = middle + 1;
+      else high = middle;
+    }
+    return low;
+  }
+
+  private static String normalize(String name) {
+    return name.toUpperCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.delegates.completions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.NonNull;
+
+import java.util.function.Function;
+
+/**
+ * This class keeps the completion indexes built for the given sources, e.g. an analysis result of
+ * a document, so the index is built once per source. The sources are compared by identity and
+ * weakly referenced, so the index is dropped together with an outdated analysis result.
+ *
+ * @param <S> the type of the source of the elements
+ * @param <T> the type of the indexed elements
+ */
+final class PrefixIndexCache<S, T> {
+  private final Cache<S, PrefixIndex<T>> indexes = CacheBuilder.newBuilder().weakKeys().build();
+  private final Function<S, PrefixIndex<T>> indexBuilder;
+
+  PrefixIndexCache(@NonNull Function<S, PrefixIndex<T>> indexBuilder) {
+    this.indexBuilder = indexBuilder;
+  }
+
+  /**
+   * Get the index for the source, building it if it is absent
+   *
+   * @param source - the source of the elements
+   * @return the index of the source elements
+   */
+  @NonNull
+  PrefixIndex<T> get(@NonNull S source) {
+    PrefixIndex<T> index = indexes.getIfPresent(source);
+    if (index == null) {
+      index = indexBuilder.apply(source);
+      indexes.put(source, index);
+    }
+    return index;
+  }
+}
@@ -18,41 +18,47 @@ import com.google.inject.Singleton;
 import lombok.NonNull;
 import org.eclipse.lsp.cobol.core.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
+import org.eclipse.lsp.cobol.service.delegates.validations.AnalysisResult;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
-import java.util.Map;
+import java.util.function.Function;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.core.model.tree.Node.hasType;
 import static org.eclipse.lsp.cobol.core.model.tree.NodeType.PROGRAM;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.SECTIONS;
+import static org.eclipse.lsp.cobol.service.delegates.completions.Completions.MAX_ITEMS;
 
 /** Provides completion functionality for sections */
 @Singleton
 public class SectionCompletion implements Completion {
+  private final PrefixIndexCache<AnalysisResult, String> indexes =
+      new PrefixIndexCache<>(SectionCompletion::buildIndex);
 
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
     if (document == null) return emptyList();
-    return document
-        .getAnalysisResult()
-        .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(PROGRAM))
-        .map(ProgramNode.class::cast)
-        .map(ProgramNode::getSectionMap)
-        .map(Map::keySet)
-        .flatMap(Collection::stream)
-        .filter(DocumentationUtils.startsWithIgnoreCase(token))
+    return indexes.get(document.getAnalysisResult()).findByPrefix(token, MAX_ITEMS).stream()
         .map(this::toSectionCompletion)
         .collect(toList());
   }
 
+  private static PrefixIndex<String> buildIndex(AnalysisResult result) {
+    return PrefixIndex.of(
+        result
+            .getRootNode()
+            .getDepthFirstStream(PROGRAM)
+            .map(ProgramNode.class::cast)
+            .map(ProgramNode::getSectionNames)
+            .flatMap(Collection::stream)
+            .collect(toList()),
+        Function.identity());
+  }
+
   private CompletionItem toSectionCompletion(String name) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
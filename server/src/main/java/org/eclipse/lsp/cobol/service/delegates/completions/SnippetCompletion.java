@@ -23,6 +23,7 @@ import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 import org.eclipse.lsp4j.InsertTextFormat;
 import org.eclipse.lsp4j.MarkupContent;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
@@ -30,10 +31,11 @@ import java.util.Optional;
 
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.SNIPPETS;
+import static org.eclipse.lsp.cobol.service.delegates.completions.Completions.MAX_ITEMS;
 
 /**
  * This completion provider resolves static server-side snippets, and their human-readable
- * representation as documentation
+ * representation as documentation on the resolve request
  */
 @Singleton
 public class SnippetCompletion implements Completion {
@@ -47,17 +49,23 @@ public class SnippetCompletion implements Completion {
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
-    return snippets.getLabels().stream()
-        .filter(DocumentationUtils.startsWithIgnoreCase(token))
+    return snippets.getLabels(token, MAX_ITEMS).stream()
         .map(this::toSnippetCompletions)
         .collect(toList());
   }
 
+  @Override
+  public @NonNull Optional<Either<String, MarkupContent>> resolveDocumentation(
+      @NonNull CompletionItem item, @Nullable CobolDocumentModel document) {
+    if (item.getKind() != CompletionItemKind.Snippet) return Optional.empty();
+    return Optional.ofNullable(snippets.getInformationFor(item.getLabel()))
+        .map(it -> Either.forRight(retrieveDocumentation(item.getLabel())));
+  }
+
   private CompletionItem toSnippetCompletions(String name) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
     item.setInsertText(snippets.getInformationFor(item.getLabel()));
-    item.setDocumentation(retrieveDocumentation(name));
     item.setInsertTextFormat(InsertTextFormat.Snippet);
     item.setSortText(SNIPPETS.prefix + name);
     item.setKind(CompletionItemKind.Snippet);
@@ -26,6 +26,7 @@ import java.util.Collection;
 
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.SUBROUTINES;
+import static org.eclipse.lsp.cobol.service.delegates.completions.Completions.MAX_ITEMS;
 import static org.eclipse.lsp4j.CompletionItemKind.File;
 
 /** Provide completion functionality for subroutines. */
@@ -43,6 +44,7 @@ public class SubroutineCompletion implements Completion {
       @NonNull String token, @Nullable CobolDocumentModel document) {
     return subroutineService.getNames().stream()
         .filter(DocumentationUtils.startsWithIgnoreCase(token))
+        .limit(MAX_ITEMS)
         .map(this::toSubroutineCompletionItem)
         .collect(toList());
   }
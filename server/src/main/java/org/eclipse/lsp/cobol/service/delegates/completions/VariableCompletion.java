@@ -15,62 +15,109 @@
 package org.eclipse.lsp.cobol.service.delegates.completions;
 
 import com.google.common.collect.Multimap;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.inject.Singleton;
 import lombok.NonNull;
 import org.eclipse.lsp.cobol.core.model.tree.ProgramNode;
 import org.eclipse.lsp.cobol.core.model.tree.variables.VariableNode;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
+import org.eclipse.lsp.cobol.service.delegates.validations.AnalysisResult;
 import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.MarkupContent;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.function.Predicate;
+import java.util.List;
+import java.util.Optional;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
-import static org.eclipse.lsp.cobol.core.model.tree.Node.hasType;
 import static org.eclipse.lsp.cobol.core.model.tree.NodeType.PROGRAM;
 import static org.eclipse.lsp.cobol.service.PredefinedCopybooks.PREF_IMPLICIT;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.CONSTANTS;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.VARIABLES;
+import static org.eclipse.lsp.cobol.service.delegates.completions.Completions.MAX_ITEMS;
 import static org.eclipse.lsp4j.CompletionItemKind.Constant;
 import static org.eclipse.lsp4j.CompletionItemKind.Variable;
 
 /**
  * This completion provider returns all the defined variables as completion suggestions and their
- * definition as documentation
+ * definition as documentation. The variables of each analysis result are indexed once, and the
+ * definition is built on the resolve request. Since the same name may be defined several times,
+ * the item data keeps the ordinal of the variable among the ones with the same name.
  */
 @Singleton
 public class VariableCompletion implements Completion {
+  private static final String ORDINAL = "ordinal";
+
+  private final PrefixIndexCache<AnalysisResult, VariableNode> indexes =
+      new PrefixIndexCache<>(VariableCompletion::buildIndex);
 
   @Override
   public @NonNull Collection<CompletionItem> getCompletionItems(
       @NonNull String token, @Nullable CobolDocumentModel document) {
     if (document == null) return emptyList();
-    return document
-        .getAnalysisResult()
-        .getRootNode()
-        .getDepthFirstStream()
-        .filter(hasType(PROGRAM))
-        .map(ProgramNode.class::cast)
-        .map(ProgramNode::getVariables)
-        .map(Multimap::values)
-        .flatMap(Collection::stream)
-        .filter(matchNames(token))
-        .map(this::toCompletionItem)
-        .collect(toList());
+    List<VariableNode> variables =
+        indexes.get(document.getAnalysisResult()).findByPrefix(token, MAX_ITEMS);
+    List<CompletionItem> items = new ArrayList<>(variables.size());
+    int ordinal = 0;
+    for (int i = 0; i < variables.size(); i++) {
+      VariableNode variable = variables.get(i);
+      ordinal = i > 0 && variables.get(i - 1).getName().equalsIgnoreCase(variable.getName())
+          ? ordinal + 1
+          : 0;
+      items.add(toCompletionItem(variable, ordinal));
+    }
+    return items;
+  }
+
+  @Override
+  public @NonNull Optional<Either<String, MarkupContent>> resolveDocumentation(
+      @NonNull CompletionItem item, @Nullable CobolDocumentModel document) {
+    if (document == null || (item.getKind() != Variable && item.getKind() != Constant))
+      return Optional.empty();
+    List<VariableNode> variables =
+        indexes.get(document.getAnalysisResult()).findByName(item.getLabel());
+    return retrieveOrdinal(item)
+        .filter(it -> it < variables.size())
+        .map(variables::get)
+        .map(VariableNode::getFullVariableDescription)
+        .map(Either::forLeft);
+  }
+
+  private static PrefixIndex<VariableNode> buildIndex(AnalysisResult result) {
+    return PrefixIndex.of(
+        result
+            .getRootNode()
+            .getDepthFirstStream(PROGRAM)
+            .map(ProgramNode.class::cast)
+            .map(ProgramNode::getVariables)
+            .map(Multimap::values)
+            .flatMap(Collection::stream)
+            .collect(toList()),
+        VariableNode::getName);
   }
 
-  private Predicate<VariableNode> matchNames(@NonNull String token) {
-    return it -> it.getName().regionMatches(true, 0, token, 0, token.length());
+  private static Optional<Integer> retrieveOrdinal(CompletionItem item) {
+    return Optional.ofNullable(item.getData())
+        .filter(JsonObject.class::isInstance)
+        .map(JsonObject.class::cast)
+        .map(it -> it.get(ORDINAL))
+        .filter(JsonElement::isJsonPrimitive)
+        .map(JsonElement::getAsInt);
   }
 
-  private CompletionItem toCompletionItem(VariableNode it) {
+  private CompletionItem toCompletionItem(VariableNode it, int ordinal) {
     String name = it.getName();
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
     item.setInsertText(name);
-    item.setDocumentation(it.getFullVariableDescription());
+    JsonObject data = new JsonObject();
+    data.addProperty(ORDINAL, ordinal);
+    item.setData(data);
     if (it.getLocality().getUri().startsWith(PREF_IMPLICIT)) {
       item.setSortText(CONSTANTS.prefix + name);
       item.setKind(Constant);
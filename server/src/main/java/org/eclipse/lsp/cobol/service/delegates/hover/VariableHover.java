@@ -18,7 +18,6 @@ import com.google.common.collect.ImmutableList;
 import com.google.inject.Singleton;
 import lombok.NonNull;
 import org.eclipse.lsp.cobol.core.model.tree.Describable;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.util.RangeUtils;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp.cobol.service.delegates.validations.AnalysisResult;
 import org.eclipse.lsp4j.Hover;
@@ -38,11 +37,12 @@ public class VariableHover implements HoverProvider {
       @Nullable CobolDocumentModel document, @NonNull TextDocumentPositionParams position) {
     return Optional.ofNullable(document)
         .map(CobolDocumentModel::getAnalysisResult)
-        .map(AnalysisResult::getRootNode)
+        .filter(result -> result.getRootNode() != null)
+        .map(AnalysisResult::getPositionIndex)
         .flatMap(
-            root ->
-                RangeUtils.findNodeByPosition(
-                    root, position.getTextDocument().getUri(), position.getPosition()))
+            index ->
+                index.findNodeByPosition(
+                    position.getTextDocument().getUri(), position.getPosition()))
         .filter(element -> element instanceof Describable)
         .map(Describable.class::cast)
         .map(VariableHover::createHoverInfo)
@@ -30,7 +30,6 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import static org.eclipse.lsp.cobol.core.preprocessor.delegates.util.RangeUtils.findNodeByPosition;
 import static org.eclipse.lsp.cobol.service.PredefinedCopybooks.PREF_IMPLICIT;
 
 /**
@@ -75,8 +74,10 @@ public class ElementOccurrences implements Occurrences {
     return Optional.ofNullable(result.getRootNode())
         .flatMap(
             rootNode ->
-                findNodeByPosition(
-                    rootNode, position.getTextDocument().getUri(), position.getPosition()))
+                result
+                    .getPositionIndex()
+                    .findNodeByPosition(
+                        position.getTextDocument().getUri(), position.getPosition()))
         .filter(node -> node instanceof Context)
         .map(Context.class::cast)
         .map(ElementOccurrences::convertToElement)
@@ -15,9 +15,13 @@
 package org.eclipse.lsp.cobol.service.delegates.validations;
 
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 import org.eclipse.lsp.cobol.core.model.Locality;
 import org.eclipse.lsp.cobol.core.model.tree.Node;
+import org.eclipse.lsp.cobol.core.model.tree.NodePositionIndex;
 import org.eclipse.lsp.cobol.core.model.tree.RootNode;
 import org.eclipse.lsp.cobol.core.semantics.NamedSubContext;
 import org.eclipse.lsp4j.Diagnostic;
@@ -35,4 +39,9 @@ import java.util.Map;
 public class AnalysisResult {
   @Builder.Default Map<String, List<Diagnostic>> diagnostics = new HashMap<>();
   @Builder.Default Node rootNode = new RootNode(Locality.builder().build(), new NamedSubContext());
+
+  @Getter(lazy = true)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  NodePositionIndex positionIndex = NodePositionIndex.of(rootNode);
 }
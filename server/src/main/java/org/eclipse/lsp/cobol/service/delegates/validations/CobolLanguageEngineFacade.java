@@ -37,7 +37,6 @@ import java.util.function.Function;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.*;
-import static org.eclipse.lsp.cobol.core.model.tree.Node.hasType;
 import static org.eclipse.lsp.cobol.core.model.tree.NodeType.COPY;
 import static org.eclipse.lsp.cobol.service.PredefinedCopybooks.PREF_IMPLICIT;
 
@@ -88,22 +87,25 @@ public class CobolLanguageEngineFacade implements LanguageEngineFacade {
 
   private AnalysisResult toAnalysisResult(ResultWithErrors<Node> result, String uri) {
     Node rootNode = result.getResult();
-    return AnalysisResult.builder()
-        .diagnostics(
-            collectDiagnosticsForAffectedDocuments(
-                convertErrors(result.getErrors()),
-                rootNode
-                    .getDepthFirstStream()
-                    .filter(hasType(COPY))
-                    .map(CopyNode.class::cast)
-                    .map(CopyNode::getDefinitions)
-                    .flatMap(Collection::stream)
-                    .map(Location::getUri)
-                    .filter(it -> !it.startsWith(PREF_IMPLICIT))
-                    .collect(toList()),
-                uri))
-        .rootNode(rootNode)
-        .build();
+    AnalysisResult analysisResult =
+        AnalysisResult.builder()
+            .diagnostics(
+                collectDiagnosticsForAffectedDocuments(
+                    convertErrors(result.getErrors()),
+                    rootNode
+                        .getDepthFirstStream(COPY)
+                        .map(CopyNode.class::cast)
+                        .map(CopyNode::getDefinitions)
+                        .flatMap(Collection::stream)
+                        .map(Location::getUri)
+                        .filter(it -> !it.startsWith(PREF_IMPLICIT))
+                        .collect(toList()),
+                    uri))
+            .rootNode(rootNode)
+            .build();
+    // build the position index here, so the hover and navigation requests don't pay for it
+    analysisResult.getPositionIndex();
+    return analysisResult;
   }
 
   /**
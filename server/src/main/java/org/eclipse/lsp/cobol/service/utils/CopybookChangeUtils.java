@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.utils;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+import javax.annotation.Nullable;
+import java.util.Locale;
+
+/**
+ * This utility class matches the changed files reported by the client with the copybooks. A change
+ * is either a URI of a changed file or folder, or a copybook name. It affects a copybook if the
+ * copybook URI is the changed URI or is located under it, or if the copybook has the same name as
+ * the changed file without extension.
+ */
+@UtilityClass
+public class CopybookChangeUtils {
+
+  /**
+   * Get the copybook name that the change affects, i.e. the upper-case file name without extension
+   *
+   * @param change - the URI of the changed file or the copybook name
+   * @return the affected copybook name
+   */
+  @NonNull
+  public String toCopybookName(@NonNull String change) {
+    String name = change.substring(change.lastIndexOf('/') + 1);
+    int extension = name.lastIndexOf('.');
+    return normalizeName(extension > 0 ? name.substring(0, extension) : name);
+  }
+
+  /**
+   * Normalize the copybook name for the comparison with the changes
+   *
+   * @param name - the copybook name
+   * @return the upper-case name
+   */
+  @NonNull
+  public String normalizeName(@NonNull String name) {
+    return name.toUpperCase(Locale.ROOT);
+  }
+
+  /**
+   * Check if the change affects the file with the given URI
+   *
+   * @param change - the URI of the changed file or folder
+   * @param uri - the URI of the file to check
+   * @return true if the URI is the changed one or is located under the changed folder
+   */
+  public boolean affects(@NonNull String change, @Nullable String uri) {
+    return uri != null
+        && uri.startsWith(change)
+        && (uri.length() == change.length() || uri.charAt(change.length()) == '/');
+  }
+}
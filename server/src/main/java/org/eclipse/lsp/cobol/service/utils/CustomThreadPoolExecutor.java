@@ -14,7 +14,9 @@
  */
 package org.eclipse.lsp.cobol.service.utils;
 
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
@@ -24,11 +26,30 @@ import java.util.concurrent.ScheduledExecutorService;
 public interface CustomThreadPoolExecutor {
 
   /**
-   * Provides configurable ThreadPoolExecutor.
+   * Provides the executor for the interactive requests.
    *
-   * @return ThreadPoolExecutor
+   * @return ExecutorService that runs tasks with {@link TaskPriority#INTERACTIVE} priority
    */
-  ExecutorService getThreadPoolExecutor();
+  default ExecutorService getThreadPoolExecutor() {
+    return getThreadPoolExecutor(TaskPriority.INTERACTIVE);
+  }
+
+  /**
+   * Provides the executor that runs tasks with the given priority. All the priorities share the
+   * same pool of workers, so the shutdown of any of the returned executors stops all of them.
+   *
+   * @param priority - the priority class of the submitted tasks
+   * @return ExecutorService for the given priority
+   */
+  ExecutorService getThreadPoolExecutor(TaskPriority priority);
+
+  /**
+   * Provides the executor that dispatches the DataBus events. It doesn't share threads with the
+   * analysis, so the events are delivered even if all the workers are busy.
+   *
+   * @return ExecutorService for the event dispatching
+   */
+  ExecutorService getEventBusExecutor();
 
   /**
    * Provides configurable ScheduledThreadPoolExecutor
@@ -36,4 +57,14 @@ public interface CustomThreadPoolExecutor {
    * @return ScheduledThreadPoolExecutor
    */
   ScheduledExecutorService getScheduledThreadPoolExecutor();
+
+  /**
+   * Provides the pool that processes the sibling programs of a document concurrently during the
+   * semantic analysis. This mode is disabled by default, so the pool is absent.
+   *
+   * @return the ForkJoinPool for the semantic analysis if the concurrent mode is enabled
+   */
+  default Optional<ForkJoinPool> getSemanticAnalysisPool() {
+    return Optional.empty();
+  }
 }
@@ -14,11 +14,13 @@
  */
 package org.eclipse.lsp.cobol.service.utils;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import lombok.NonNull;
 
+import java.util.Optional;
 import java.util.concurrent.*;
 
 /**
@@ -30,29 +32,55 @@ import java.util.concurrent.*;
  * <p>The main configuration parameters are: corePoolSize, maximumPoolSize, and keepAliveTime. The
  * pool consists of a fixed number of core threads that are kept inside all the time, and some
  * excessive threads that may be spawned and then terminated when they are not needed anymore.
+ *
+ * <p>The tasks are dispatched by {@link PriorityTaskExecutor}: the whole maximumPoolSize serves the
+ * interactive requests, while the document analysis is limited, so a bulk re-analysis never blocks
+ * the requests the user waits for. The DataBus events have a separate small pool.
+ *
+ * <p>The pool for the concurrent semantic analysis of the sibling programs is created only if
+ * the "SEMANTIC-ANALYSIS-POOL-SIZE" parameter is greater than one.
  */
 @Singleton
 public class CustomThreadPoolExecutorService implements CustomThreadPoolExecutor {
 
-  private ExecutorService executorService;
+  private static final long AGING_INTERVAL_IN_MILLISECONDS = 2000;
+  private static final int EVENT_BUS_POOL_SIZE = 2;
+
+  private PriorityTaskExecutor priorityTaskExecutor;
+  private ExecutorService eventBusExecutorService;
   private ScheduledExecutorService scheduledExecutorService;
+  private ForkJoinPool semanticAnalysisPool;
 
   @Inject
   public CustomThreadPoolExecutorService(
       @Named("CORE-POOL-SIZE") int corePoolSize,
       @Named("MAX-POOL-SIZE") int maximumPoolSize,
       @Named("KEEP-ALIVE-TIME-IN-SECONDS") int keepAliveTime,
-      @Named("CORE-POOL-SIZE-FOR-SCHEDULED-POOL") int corePoolSizeForScheduledThreadPool) {
+      @Named("CORE-POOL-SIZE-FOR-SCHEDULED-POOL") int corePoolSizeForScheduledThreadPool,
+      @Named("SEMANTIC-ANALYSIS-POOL-SIZE") int semanticAnalysisPoolSize) {
 
-    this.executorService =
-        new ThreadPoolExecutor(
-            corePoolSize,
-            maximumPoolSize,
-            keepAliveTime,
-            TimeUnit.SECONDS,
-            new LinkedBlockingQueue<Runnable>());
+    this.priorityTaskExecutor =
+        new PriorityTaskExecutor(
+            corePoolSize, maximumPoolSize, keepAliveTime, AGING_INTERVAL_IN_MILLISECONDS);
+    this.eventBusExecutorService =
+        Executors.newFixedThreadPool(
+            EVENT_BUS_POOL_SIZE,
+            new ThreadFactoryBuilder().setNameFormat("databus-%d").setDaemon(true).build());
     this.scheduledExecutorService =
         new ScheduledThreadPoolExecutor(corePoolSizeForScheduledThreadPool);
+    if (semanticAnalysisPoolSize > 1)
+      this.semanticAnalysisPool = new ForkJoinPool(semanticAnalysisPoolSize);
+  }
+
+  /**
+   * {@inheritdoc}
+   *
+   * @return
+   */
+  @Override
+  @NonNull
+  public ExecutorService getThreadPoolExecutor(@NonNull TaskPriority priority) {
+    return this.priorityTaskExecutor.forPriority(priority);
   }
 
   /**
@@ -62,8 +90,8 @@ public class CustomThreadPoolExecutorService implements CustomThreadPoolExecutor
    */
   @Override
   @NonNull
-  public ExecutorService getThreadPoolExecutor() {
-    return this.executorService;
+  public ExecutorService getEventBusExecutor() {
+    return this.eventBusExecutorService;
   }
 
   /**
@@ -76,4 +104,10 @@ public class CustomThreadPoolExecutorService implements CustomThreadPoolExecutor
   public ScheduledExecutorService getScheduledThreadPoolExecutor() {
     return this.scheduledExecutorService;
   }
+
+  @Override
+  @NonNull
+  public Optional<ForkJoinPool> getSemanticAnalysisPool() {
+    return Optional.ofNullable(this.semanticAnalysisPool);
+  }
 }
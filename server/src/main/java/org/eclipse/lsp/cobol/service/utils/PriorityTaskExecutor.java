@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.LongSupplier;
+
+/**
+ * This executor runs the tasks of different {@link TaskPriority priority classes} on a shared pool
+ * of worker threads. The number of the concurrently running tasks is bounded by the pool size in
+ * total and by the class limit for each class. When a worker becomes free, it takes the waiting
+ * task with the earliest deadline, where the deadline is the enqueue time shifted by the class rank
+ * multiplied by the aging interval. So, the tasks of higher classes run first, but the tasks of the
+ * lower classes cannot starve: after waiting long enough, they overtake the newer high priority
+ * ones.
+ *
+ * <p>Use {@link #forPriority(TaskPriority)} to obtain an {@link ExecutorService} that submits tasks
+ * of the given class. Shutting down any of them shuts down the whole executor.
+ */
+public class PriorityTaskExecutor {
+  private final ThreadPoolExecutor workers;
+  private final long agingNanos;
+  private final LongSupplier clock;
+  private final Map<TaskPriority, Integer> limits;
+  private final Map<TaskPriority, Deque<Task>> queues = new EnumMap<>(TaskPriority.class);
+  private final Map<TaskPriority, Integer> running = new EnumMap<>(TaskPriority.class);
+  private final Map<TaskPriority, ExecutorService> views = new EnumMap<>(TaskPriority.class);
+  private final Object lock = new Object();
+  private int totalRunning;
+  private boolean shutdown;
+
+  /**
+   * Create an executor with the class limits derived from the pool sizes: the interactive tasks may
+   * occupy all the workers, the active document analysis keeps one worker free for them, the other
+   * open documents use at most the core pool size, and the background tasks take half of it.
+   *
+   * @param corePoolSize the number of workers for the regular analysis
+   * @param maximumPoolSize the total number of the workers
+   * @param keepAliveTime the time in seconds to keep an idle worker
+   * @param agingInterval the waiting time in milliseconds that promotes a task by one class
+   */
+  public PriorityTaskExecutor(
+      int corePoolSize, int maximumPoolSize, int keepAliveTime, long agingInterval) {
+    this(maximumPoolSize, keepAliveTime, agingInterval, System::nanoTime,
+        defaultLimits(corePoolSize, maximumPoolSize));
+  }
+
+  PriorityTaskExecutor(
+      int poolSize,
+      int keepAliveTime,
+      long agingInterval,
+      @NonNull LongSupplier clock,
+      @NonNull Map<TaskPriority, Integer> limits) {
+    workers =
+        new ThreadPoolExecutor(
+            poolSize, poolSize, keepAliveTime, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    workers.allowCoreThreadTimeOut(true);
+    this.agingNanos = TimeUnit.MILLISECONDS.toNanos(agingInterval);
+    this.clock = clock;
+    this.limits = new EnumMap<>(limits);
+    for (TaskPriority priority : TaskPriority.values()) {
+      queues.put(priority, new ArrayDeque<>());
+      running.put(priority, 0);
+      views.put(priority, new PriorityView(priority));
+    }
+  }
+
+  /**
+   * Get the executor service that runs the tasks with the given priority
+   *
+   * @param priority - the class of the submitted tasks
+   * @return the executor service for this class
+   */
+  @NonNull
+  public ExecutorService forPriority(@NonNull TaskPriority priority) {
+    return views.get(priority);
+  }
+
+  /**
+   * Get the number of tasks of the given class that wait for a free worker
+   *
+   * @param priority - the class of the tasks
+   * @return the number of waiting tasks
+   */
+  public int getQueueSize(@NonNull TaskPriority priority) {
+    synchronized (lock) {
+      return queues.get(priority).size();
+    }
+  }
+
+  private static Map<TaskPriority, Integer> defaultLimits(int corePoolSize, int maximumPoolSize) {
+    int max = Math.max(1, Math.max(corePoolSize, maximumPoolSize));
+    int core = Math.max(1, Math.min(corePoolSize, max - 1));
+    Map<TaskPriority, Integer> result = new EnumMap<>(TaskPriority.class);
+    result.put(TaskPriority.INTERACTIVE, max);
+    result.put(TaskPriority.ACTIVE_DOCUMENT, Math.max(1, max - 1));
+    result.put(TaskPriority.OPEN_DOCUMENT, core);
+    result.put(TaskPriority.BACKGROUND, Math.max(1, core / 2));
+    return result;
+  }
+
+  private void enqueue(TaskPriority priority, Runnable command) {
+    synchronized (lock) {
+      if (shutdown) throw new RejectedExecutionException("The executor is shut down");
+      queues
+          .get(priority)
+          .add(new Task(priority, command, clock.getAsLong() + priority.ordinal() * agingNanos));
+      dispatch();
+    }
+  }
+
+  private void dispatch() {
+    Task next;
+    while (totalRunning < workers.getMaximumPoolSize() && (next = pollNext()) != null) {
+      totalRunning++;
+      running.merge(next.priority, 1, Integer::sum);
+      workers.execute(next);
+    }
+  }
+
+  private Task pollNext() {
+    Task best = null;
+    for (TaskPriority priority : TaskPriority.values()) {
+      Task head = queues.get(priority).peek();
+      if (head != null
+          && running.get(priority) < limits.get(priority)
+          && (best == null || head.deadline - best.deadline < 0)) best = head;
+    }
+    return best == null ? null : queues.get(best.priority).poll();
+  }
+
+  private void complete(TaskPriority priority) {
+    synchronized (lock) {
+      totalRunning--;
+      running.merge(priority, -1, Integer::sum);
+      if (!shutdown) dispatch();
+      else if (totalRunning == 0) workers.shutdown();
+      lock.notifyAll();
+    }
+  }
+
+  private void shutdown() {
+    synchronized (lock) {
+      shutdown = true;
+      if (totalRunning == 0) workers.shutdown();
+    }
+  }
+
+  private List<Runnable> shutdownNow() {
+    List<Runnable> result = new ArrayList<>();
+    synchronized (lock) {
+      shutdown = true;
+      queues.values().forEach(it -> it.forEach(task -> result.add(task.command)));
+      queues.values().forEach(Deque::clear);
+    }
+    workers.shutdownNow();
+    return result;
+  }
+
+  private boolean isTerminated() {
+    synchronized (lock) {
+      return shutdown && totalRunning == 0;
+    }
+  }
+
+  @AllArgsConstructor
+  private class Task implements Runnable {
+    private final TaskPriority priority;
+    private final Runnable command;
+    private final long deadline;
+
+    @Override
+    public void run() {
+      try {
+        command.run();
+      } finally {
+        complete(priority);
+      }
+    }
+  }
+
+  @AllArgsConstructor
+  private class PriorityView extends AbstractExecutorService {
+    private final TaskPriority priority;
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+      enqueue(priority, command);
+    }
+
+    @Override
+    public void shutdown() {
+      PriorityTaskExecutor.this.shutdown();
+    }
+
+    @Override
+    @NonNull
+    public List<Runnable> shutdownNow() {
+      return PriorityTaskExecutor.this.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      synchronized (lock) {
+        return shutdown;
+      }
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return PriorityTaskExecutor.this.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit)
+        throws InterruptedException {
+      long deadline = System.nanoTime() + unit.toNanos(timeout);
+      synchronized (lock) {
+        while (!(shutdown && totalRunning == 0)) {
+          long left = deadline - System.nanoTime();
+          if (left <= 0) return false;
+          TimeUnit.NANOSECONDS.timedWait(lock, left);
+        }
+      }
+      return true;
+    }
+  }
+}
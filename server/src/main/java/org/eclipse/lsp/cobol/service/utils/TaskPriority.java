@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.utils;
+
+/**
+ * The priority classes of the tasks run by {@link CustomThreadPoolExecutor}. The tasks of the
+ * classes declared first run earlier, unless the tasks of the later ones wait for too long.
+ */
+public enum TaskPriority {
+  /** The requests the user waits for, e.g. completion, hover or definition */
+  INTERACTIVE,
+  /** The analysis of the document the user is working with */
+  ACTIVE_DOCUMENT,
+  /** The analysis of the other open documents */
+  OPEN_DOCUMENT,
+  /** The bulk re-analysis and other background work */
+  BACKGROUND
+}
@@ -31,6 +31,7 @@ import org.eclipse.lsp.cobol.core.strategy.ErrorMessageHelper;
 import org.eclipse.lsp.cobol.service.AnalysisConfig;
 import org.eclipse.lsp.cobol.service.CopybookConfig;
 import org.eclipse.lsp.cobol.service.SubroutineService;
+import org.eclipse.lsp.cobol.service.utils.TestThreadPoolExecutor;
 import org.eclipse.lsp4j.DocumentSymbol;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
@@ -67,7 +68,11 @@ class CobolLanguageEngineTest {
     cobolErrorStrategy.setErrorMessageHelper(mockErrUtil);
     CobolLanguageEngine engine =
         new CobolLanguageEngine(
-            preprocessor, mockMessageService, treeListener, mock(SubroutineService.class));
+            preprocessor,
+            mockMessageService,
+            treeListener,
+            mock(SubroutineService.class),
+            new TestThreadPoolExecutor());
     when(mockMessageService.getMessage(anyString(), anyString(), anyString())).thenReturn("");
     Locality locality =
         Locality.builder()
@@ -130,7 +135,8 @@ class CobolLanguageEngineTest {
                             .range(new Range(new Position(0, 31), new Position(0, 31)))
                             .token("<EOF>")
                             .build()),
-                    ImmutableMap.of())));
+                    new int[] {0, 7, 21, 22, 30, 31},
+                    31)));
 
     CopybookConfig cpyConfig = new CopybookConfig(ENABLED, DB2_SERVER);
 
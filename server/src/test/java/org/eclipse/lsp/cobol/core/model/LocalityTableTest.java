@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model;
+
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenSource;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** This test checks that {@link LocalityTable} stores and restores the token localities */
+class LocalityTableTest {
+  private static final Locality LOCALITY =
+      Locality.builder()
+          .uri("document")
+          .copybookId("copybook")
+          .token("TOKEN")
+          .range(new Range(new Position(1, 2), new Position(3, 4)))
+          .recognizer(LocalityTableTest.class)
+          .build();
+
+  @Test
+  void testLocalityRestoredEqual() {
+    LocalityTable table = new LocalityTable();
+    Token token = mockToken(null, 100);
+    Locality withoutRange = Locality.builder().range(null).build();
+    Token other = mockToken(null, 3);
+
+    table.put(token, LOCALITY);
+    table.put(other, withoutRange);
+
+    assertEquals(LOCALITY, table.get(token));
+    assertEquals(withoutRange, table.get(other));
+    assertNull(table.get(mockToken(null, 4)));
+    assertEquals(2, table.size());
+  }
+
+  @Test
+  void testTokenSourcesSeparated() {
+    LocalityTable table = new LocalityTable();
+    TokenSource source = mock(TokenSource.class);
+    Token token = mockToken(source, 0);
+
+    table.put(token, LOCALITY);
+
+    assertEquals(LOCALITY, table.get(token));
+    assertNull(table.get(mockToken(null, 0)));
+    assertNull(table.findPreviousVisible(mockToken(null, 1), 5));
+    assertEquals(LOCALITY, table.findPreviousVisible(mockToken(source, 1), 5));
+  }
+
+  @Test
+  void testTokensWithoutIndexIgnored() {
+    LocalityTable table = new LocalityTable();
+    Token token = mockToken(null, -1);
+
+    table.put(token, LOCALITY);
+
+    assertTrue(table.isEmpty());
+    assertNull(table.get(token));
+  }
+
+  private Token mockToken(TokenSource source, int index) {
+    Token token = mock(Token.class);
+    when(token.getTokenSource()).thenReturn(source);
+    when(token.getTokenIndex()).thenReturn(index);
+    return token;
+  }
+}
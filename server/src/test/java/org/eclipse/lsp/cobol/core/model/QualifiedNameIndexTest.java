@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.core.model.tree.variables.MnemonicNameNode;
+import org.eclipse.lsp.cobol.core.model.tree.variables.VariableNode;
+import org.eclipse.lsp.cobol.core.model.tree.variables.VariableUsageNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Test {@link QualifiedNameIndex} */
+class QualifiedNameIndexTest {
+  private static final Locality LOCALITY = Locality.builder().build();
+
+  private final VariableNode topA = variable("A");
+  private final VariableNode groupB = variable("B");
+  private final VariableNode itemC = variable("C");
+  private final VariableNode topD = variable("D");
+  private final VariableNode otherC = variable("C");
+  private final QualifiedNameIndex index = buildIndex();
+
+  @Test
+  void testUnqualifiedName() {
+    assertEquals(ImmutableList.of(itemC, otherC), find("C"));
+    assertEquals(ImmutableList.of(groupB), find("B"));
+    assertEquals(ImmutableList.of(), find("E"));
+  }
+
+  @Test
+  void testQualifiedName() {
+    assertEquals(ImmutableList.of(itemC), find("C", "B", "A"));
+    assertEquals(ImmutableList.of(itemC), find("C", "A"));
+    assertEquals(ImmutableList.of(otherC), find("C", "D"));
+  }
+
+  @Test
+  void testQualifiersOutOfOrder() {
+    assertEquals(ImmutableList.of(), find("C", "A", "B"));
+    assertEquals(ImmutableList.of(), find("C", "B", "D"));
+    assertEquals(ImmutableList.of(), find("A", "A"));
+  }
+
+  private QualifiedNameIndex buildIndex() {
+    topA.addChild(groupB);
+    groupB.addChild(itemC);
+    topD.addChild(otherC);
+    return QualifiedNameIndex.of(ImmutableList.of(topA, groupB, itemC, topD, otherC));
+  }
+
+  private List<VariableNode> find(String... names) {
+    return index.findVariablesForUsage(
+        Stream.of(names)
+            .map(name -> new VariableUsageNode(name, LOCALITY))
+            .collect(Collectors.toList()));
+  }
+
+  private static VariableNode variable(String name) {
+    return new MnemonicNameNode(LOCALITY, "SYS", name);
+  }
+}
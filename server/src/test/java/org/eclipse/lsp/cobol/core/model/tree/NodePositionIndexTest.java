@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.model.tree;
+
+import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.util.RangeUtils;
+import org.eclipse.lsp.cobol.core.semantics.NamedSubContext;
+import org.eclipse.lsp.cobol.positive.CobolText;
+import org.eclipse.lsp.cobol.service.delegates.validations.AnalysisResult;
+import org.eclipse.lsp.cobol.usecases.engine.UseCase;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.eclipse.lsp.cobol.usecases.engine.UseCaseUtils.DOCUMENT_URI;
+import static org.eclipse.lsp.cobol.usecases.engine.UseCaseUtils.analyze;
+import static org.eclipse.lsp.cobol.usecases.engine.UseCaseUtils.toURI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/** Test {@link NodePositionIndex} finds the same nodes as {@link RangeUtils#findNodeByPosition} */
+class NodePositionIndexTest {
+  private static final String URI = "document";
+  private static final String TEXT =
+      "       Identification Division.\n"
+          + "       Program-Id. 'P1'.\n"
+          + "       Data Division.\n"
+          + "       Working-Storage Section.\n"
+          + "       01 FOO PIC 9.\n"
+          + "       COPY CPY.\n"
+          + "       Procedure Division.\n"
+          + "       Mainline Section.\n"
+          + "           MOVE 6 to FOO.\n"
+          + "           MOVE 7 to BAR.\n"
+          + "       Second-Section Section.\n"
+          + "           DISPLAY FOO BAR.";
+  private static final String CPY = "       01 BAR PIC 9.";
+
+  @Test
+  void testAnalyzedDocument() {
+    AnalysisResult result =
+        analyze(UseCase.builder().text(TEXT).copybook(new CobolText("CPY", CPY)).build());
+    Node root = result.getRootNode();
+    NodePositionIndex index = result.getPositionIndex();
+    for (String uri : new String[] {DOCUMENT_URI, toURI("CPY")}) {
+      for (int line = 0; line < 13; line++) {
+        for (int character = 0; character < 40; character++) {
+          Position position = new Position(line, character);
+          assertEquals(
+              RangeUtils.findNodeByPosition(root, uri, position),
+              index.findNodeByPosition(uri, position),
+              uri + " " + position);
+        }
+      }
+    }
+  }
+
+  @Test
+  void testFirstContainingChildIsChosen() {
+    Node root = new RootNode(locality(URI, 0, 10), new NamedSubContext());
+    Node first = new SectionNode(locality(URI, 2, 6), null);
+    Node nested = new SectionNode(locality(URI, 7, 8), null);
+    Node second = new SectionNode(locality(URI, 4, 6), null);
+    Node leaf = new SectionNode(locality(URI, 5, 5), null);
+    Node other = new SectionNode(locality("other", 0, 10), null);
+    root.addChild(first);
+    first.addChild(nested);
+    root.addChild(second);
+    second.addChild(leaf);
+    second.addChild(other);
+    NodePositionIndex index = NodePositionIndex.of(root);
+
+    assertEquals(Optional.of(root), index.findNodeByPosition(URI, new Position(1, 0)));
+    assertEquals(Optional.of(first), index.findNodeByPosition(URI, new Position(5, 0)));
+    assertEquals(Optional.of(root), index.findNodeByPosition(URI, new Position(7, 0)));
+    assertEquals(Optional.of(root), index.findNodeByPosition(URI, new Position(9, 0)));
+    assertFalse(index.findNodeByPosition(URI, new Position(11, 0)).isPresent());
+    assertFalse(index.findNodeByPosition("other", new Position(5, 0)).isPresent());
+  }
+
+  private static Locality locality(String uri, int startLine, int endLine) {
+    return Locality.builder()
+        .uri(uri)
+        .range(new Range(new Position(startLine, 0), new Position(endLine, 0)))
+        .build();
+  }
+}
@@ -20,6 +20,7 @@ import org.eclipse.lsp.cobol.core.model.SyntaxError;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -198,6 +199,107 @@ class NodeProcessingTest {
     assertTrue(node.isProcessed());
   }
 
+  @Test
+  void testProcessTree() {
+    /** Process children after all the other nodes of the tree finished the first step */
+    class WaitingNode extends Node {
+      WaitingNode() {
+        super(null, NodeType.ROOT);
+        addProcessStep(this::waitForTree);
+      }
+
+      private List<SyntaxError> waitForTree() {
+        addProcessStep(this::processStep2);
+        return ImmutableList.of();
+      }
+
+      private List<SyntaxError> processStep2() {
+        return ImmutableList.of(ERROR_2);
+      }
+    }
+
+    /** Attach a child while processing and return ERROR_1 */
+    class GrowingNode extends Node {
+      GrowingNode() {
+        super(null, NodeType.ROOT);
+        addProcessStep(this::processFirst);
+      }
+
+      private List<SyntaxError> processFirst() {
+        addChild(new WaitingNode());
+        return ImmutableList.of(ERROR_1);
+      }
+    }
+
+    Node root = new WaitingNode();
+    root.addChild(new GrowingNode());
+    assertEquals(
+        ImmutableList.of(ERROR_1, ERROR_2, ERROR_2), NodeProcessor.processTree(root, 2));
+    assertTrue(root.isProcessed());
+  }
+
+  @Test
+  void testProcessTreeLimit() {
+    /** Add a new step forever */
+    class EndlessNode extends Node {
+      EndlessNode() {
+        super(null, NodeType.ROOT);
+        addProcessStep(this::processTheNode);
+      }
+
+      private List<SyntaxError> processTheNode() {
+        addProcessStep(this::processTheNode);
+        return ImmutableList.of();
+      }
+    }
+
+    assertThrows(
+        IllegalStateException.class, () -> NodeProcessor.processTree(new EndlessNode(), 10));
+  }
+
+  @Test
+  void testProcessTreeConcurrently() {
+    /** Return the given error at the first step and ERROR_3 at the second one */
+    class ProgramStepsNode extends Node {
+      private final SyntaxError error;
+
+      ProgramStepsNode(SyntaxError error) {
+        super(null, NodeType.PROGRAM);
+        this.error = error;
+        addProcessStep(this::processFirst);
+      }
+
+      private List<SyntaxError> processFirst() {
+        addProcessStep(this::processSecond);
+        return ImmutableList.of(error);
+      }
+
+      private List<SyntaxError> processSecond() {
+        return ImmutableList.of(ERROR_3);
+      }
+    }
+
+    /** Do nothing */
+    class SimpleNode extends Node {
+      SimpleNode() {
+        super(null, NodeType.ROOT);
+      }
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      Node root = new SimpleNode();
+      root.addChild(new ProgramStepsNode(ERROR_1));
+      root.addChild(new ProgramStepsNode(ERROR_2));
+      assertEquals(
+          ImmutableList.of(ERROR_1, ERROR_2, ERROR_3, ERROR_3),
+          NodeProcessor.processTree(root, 2, pool));
+      assertTrue(root.isProcessed());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   private static SyntaxError getError(String message) {
     return SyntaxError.syntaxError()
         .messageTemplate(MessageTemplate.of(message))
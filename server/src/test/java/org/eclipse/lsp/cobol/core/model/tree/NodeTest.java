@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -62,6 +63,46 @@ class NodeTest {
     assertEquals(expectedResult, rootNode.getDepthFirstStream().collect(Collectors.toList()));
   }
 
+  @Test
+  void getDepthFirstStreamByTypeFollowsTreeChanges() {
+    RootNode rootNode = new RootNode(LOCALITY, COPYBOOK);
+    Node firstProg = new ProgramNode(LOCALITY);
+    Node nestedProg = new ProgramNode(LOCALITY);
+    Node secondProg = new ProgramNode(LOCALITY);
+    rootNode.addChild(firstProg);
+    rootNode.addChild(secondProg);
+
+    assertIdentical(
+        ImmutableList.of(firstProg, secondProg), rootNode.getDepthFirstStream(NodeType.PROGRAM));
+
+    firstProg.addChild(nestedProg);
+    assertIdentical(
+        ImmutableList.of(firstProg, nestedProg, secondProg),
+        rootNode.getDepthFirstStream(NodeType.PROGRAM));
+
+    rootNode.removeChild(firstProg);
+    assertIdentical(ImmutableList.of(secondProg), rootNode.getDepthFirstStream(NodeType.PROGRAM));
+    assertIdentical(ImmutableList.of(), rootNode.getDepthFirstStream(NodeType.COPY));
+  }
+
+  @Test
+  void getDepthFirstStreamOfDeepTree() {
+    int depth = 100_000;
+    Node top = new SectionNode(LOCALITY, SectionType.WORKING_STORAGE);
+    for (int i = 1; i < depth; i++) {
+      Node parent = new SectionNode(LOCALITY, SectionType.WORKING_STORAGE);
+      parent.addChild(top);
+      top = parent;
+    }
+    assertEquals(depth, top.getDepthFirstStream().count());
+  }
+
+  private static void assertIdentical(List<Node> expected, Stream<Node> actual) {
+    List<Node> nodes = actual.collect(Collectors.toList());
+    assertEquals(expected.size(), nodes.size());
+    for (int i = 0; i < expected.size(); i++) assertSame(expected.get(i), nodes.get(i));
+  }
+
   @Test
   void getParentByType() {
     Node rootNode = new RootNode(LOCALITY, COPYBOOK);
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.cleaner;
+
+import org.eclipse.lsp.cobol.core.AbstractCobolLinePreprocessorTest;
+import org.eclipse.lsp.cobol.core.messages.MessageService;
+import org.eclipse.lsp.cobol.core.model.ResultWithErrors;
+import org.eclipse.lsp.cobol.core.model.SyntaxError;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.reader.CobolLineReaderImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.eclipse.lsp.cobol.core.preprocessor.ProcessingConstants.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * This test checks that {@link CobolLineCleanerImpl} applies the continuation lines and the line
+ * indicators, and raises the errors of the continuation line format.
+ */
+class CobolLineCleanerImplTest extends AbstractCobolLinePreprocessorTest {
+  private static final String INDENT = "                       ";
+  private static final String CONTINUED_LINE =
+      BLANK_SEQUENCE_AREA + WS + "    " + "       \"RANDOM TEXT   " + "\r\n";
+  private static final String CONTINUATION_INDICATOR = BLANK_SEQUENCE_AREA + "-" + "    ";
+  private static final String SINGLE_LINE = "RANDOM TEXT SINGLE CONTINUATION LINE\"";
+
+  /** POSITIVE TEXT: No text allowed in the content area A */
+  @Test
+  void testNoContentAreaAInContinuationLine() {
+    List<SyntaxError> errors = cleanUp("000010-    NO CONTENT AREA ON THIS LINE").getErrors();
+    assertEquals(0, errors.size());
+  }
+
+  /**
+   * NEGATIVE TEXT: Text in the content area A when there is a continuation line. Should throw a
+   * syntax error
+   */
+  @Test
+  void testContentAreaAInContinuationLine() {
+    List<SyntaxError> errors = cleanUp("000010-THERE IS CONTENT AREA DEFINED HERE").getErrors();
+    assertEquals(1, errors.size());
+  }
+
+  /**
+   * [CASE1]: Content defined till the end of comment area with a continuation line - Expected
+   * result: 0 Syntax Error
+   */
+  @Test
+  void testContinuationLineCasePositive() {
+    List<String> lines = new ArrayList<>();
+    lines.add("000000 IDENTIFICATION DIVISION.                                         23323232");
+    lines.add("000010 PROGRAM-ID. test1.                                               23323232");
+    lines.add("000020 AUTHOR. TESTER                                                   23323232");
+    lines.add("000030 DATA DIVISION.                                                   22221112");
+    lines.add("000330 WORKING-STORAGE SECTION.                                         23323232");
+    lines.add("000500    01 WS-CONST-CREATE PIC X(134) VALUE 'DDDDDDDDDDDDDDDDDDDDDDDDDDDDDDDDD");
+    lines.add("000251-    'DDDDDDDDDDDDDDDDDDDDDDDDDDDDDDDDD'.");
+
+    List<SyntaxError> errors = cleanUp(reduceLines(lines)).getErrors();
+    assertEquals(0, errors.size());
+  }
+
+  /**
+   * [CASE1]: Content defined till the end of comment area without closing quotes and without a
+   * continuation line - Expected result: 1 Syntax Error
+   */
+  @Test
+  void testContinuationLineCaseNegative() {
+    List<String> lines = new ArrayList<>();
+    lines.add("000000 IDENTIFICATION DIVISION.                                         23323232");
+    lines.add("000010 PROGRAM-ID. test1.                                               23323232");
+    lines.add("000020 AUTHOR. TESTER                                                   23323232");
+    lines.add("000030 DATA DIVISION.                                                   22221112");
+    lines.add("000330 WORKING-STORAGE SECTION.                                         23323232");
+    lines.add("000500    01 WS-CONST-CREATE PIC X(134) VALUE 'DDDDDDDDDDDDDDDDDDDDDDDDDDDDDDDDD");
+    lines.add("000251     'DDDDDDDDDDDDDDDDDDDDDDDDDDDDDDDDD'.");
+
+    List<SyntaxError> errors = cleanUp(reduceLines(lines)).getErrors();
+    assertEquals(1, errors.size());
+  }
+
+  @Test
+  void testQuotesInsideStringNotCauseError() {
+    List<String> lines = new ArrayList<>();
+    lines.add("       VALUE 'DFHCOMMAREA xmlns=\"http://www.BKP92S1O.com/schem'.");
+    lines.add("       VALUE 'as/BKP92S1OInterface\"'.");
+    lines.add("       \"'\"");
+    lines.add("       '\"'");
+
+    List<SyntaxError> errors = cleanUp(reduceLines(lines)).getErrors();
+    assertEquals(0, errors.size());
+  }
+
+  /** Continued literals are joined, and the line breaks are moved after the last continuation */
+  @Test
+  void testContinuationLinesJoined() {
+    String text =
+        "CBL DATA(24)\r\n"
+            + "078087                 PERFORM BBAB-MOVE-TO-DETAIL-MAP\r\n"
+            + "078088                 MOVE -1 TO SNAMEDL\r\n"
+            + "078089                 MOVE 'PRESS \"CLEAR\" OR \"ENTER\" TO RETURN TO THE M\r\n"
+            + "078089-                     'ENU WHEN \r\n"
+            + "078089-                     'FINISHED'\r\n"
+            + "078089                 MOVE \"PRESS 'CLEAR' OR 'ENTER' TO RETURN TO THE M\r\n"
+            + "078089-                     \"ENU WHEN FINISHED\"\r\n"
+            + "078089                 MOVE 'asd' \r\n"
+            + "078089-                     NEXT LINE\r\n";
+    String expected =
+        "CBL DATA(24)\n"
+            + INDENT + "PERFORM BBAB-MOVE-TO-DETAIL-MAP\n"
+            + INDENT + "MOVE -1 TO SNAMEDL\n"
+            + INDENT + "MOVE 'PRESS \"CLEAR\" OR \"ENTER\" TO RETURN TO THE MENU WHEN FINISHED'\n"
+            + "\n"
+            + "\n"
+            + INDENT + "MOVE \"PRESS 'CLEAR' OR 'ENTER' TO RETURN TO THE MENU WHEN FINISHED\"\n"
+            + "\n"
+            + INDENT + "MOVE 'asd'NEXT LINE\n";
+
+    ResultWithErrors<String> result = cleanUp(text);
+    assertEquals(expected, result.getResult());
+    assertEquals(0, result.getErrors().size());
+  }
+
+  /** Blank and comment lines between the continued and the continuation lines are moved after */
+  @Test
+  void testBlankAndCommentLinesMovedAfterContinuation() {
+    String text = "       MOVE 'AB\r\n      *COMMENT\r\n\r\n      -    'CD'.";
+
+    assertEquals("       MOVE 'ABCD'.\n\n      *> COMMENT\n       ", cleanUp(text).getResult());
+  }
+
+  /** The line indicators are interpreted and the trailing whitespaces are removed */
+  @Test
+  void testIndicatorsRewritten() {
+    String text =
+        "000100* COMMENT   \r\n"
+            + "000200D    DISPLAY 'X'.  \r\n"
+            + "000300$ SET X\r\n"
+            + "000400     MOVE A TO B,   ";
+    String expected =
+        "      *>  COMMENT\n"
+            + "           DISPLAY 'X'.\n"
+            + "       \n"
+            + "           MOVE A TO B, ";
+
+    assertEquals(expected, cleanUp(text).getResult());
+  }
+
+  /** Debug lines are kept as normal ones, and the trailing whitespaces are removed */
+  @Test
+  void testDebugLine() {
+    String text = BLANK_SEQUENCE_AREA + "D" + "    " + "     DEBUG LINE HERE      ";
+
+    assertEquals(
+        BLANK_SEQUENCE_AREA + WS + "         DEBUG LINE HERE", cleanUp(text).getResult());
+  }
+
+  /** The whitespace after a trailing comma separator is kept */
+  @Test
+  void testNormalLine() {
+    String text = BLANK_SEQUENCE_AREA + WS + "    " + "         RANDOM TEXT ,  ";
+
+    assertEquals(
+        BLANK_SEQUENCE_AREA + WS + "             RANDOM TEXT , ", cleanUp(text).getResult());
+  }
+
+  /** The content of the compiler directive lines is removed */
+  @Test
+  void testCompilerDirectiveLine() {
+    String text = BLANK_SEQUENCE_AREA + "$" + "    " + "DEFINE";
+
+    assertEquals(BLANK_SEQUENCE_AREA + WS, cleanUp(text).getResult());
+  }
+
+  /** The comment indicator is replaced with the floating comment tag */
+  @Test
+  void testCommentLine() {
+    String text = BLANK_SEQUENCE_AREA + "*" + "    " + "THIS IS A COMMENT        ";
+
+    assertEquals(
+        BLANK_SEQUENCE_AREA + COMMENT_TAG + WS + "    THIS IS A COMMENT",
+        cleanUp(text).getResult());
+  }
+
+  /** A blank continuation line adds nothing to the open literal of the continued line */
+  @Test
+  void testEmptyContinuationLine() {
+    String text =
+        CONTINUED_LINE + CONTINUATION_INDICATOR + "           ";
+
+    assertEquals(
+        BLANK_SEQUENCE_AREA + WS + "           \"RANDOM TEXT   " + NEWLINE,
+        cleanUp(text).getResult());
+  }
+
+  /** The whitespace after a trailing comma of a continuation line is kept */
+  @Test
+  void testTrailingCommaContinuationLine() {
+    String text =
+        CONTINUED_LINE + CONTINUATION_INDICATOR + "         ,";
+
+    assertEquals(
+        BLANK_SEQUENCE_AREA + WS + "           \"RANDOM TEXT   " + "," + WS + NEWLINE,
+        cleanUp(text).getResult());
+  }
+
+  /** A continuation line of a literal closed with a quote may not start with a quote */
+  @Test
+  void testContinuationLineWithoutBeginningQuotes() {
+    String text =
+        CONTINUED_LINE
+            + CONTINUATION_INDICATOR + "          \"" + SINGLE_LINE + "\r\n"
+            + CONTINUATION_INDICATOR + "          " + SINGLE_LINE;
+
+    assertEquals(
+        BLANK_SEQUENCE_AREA + WS + "           \"RANDOM TEXT   "
+            + SINGLE_LINE
+            + SINGLE_LINE
+            + NEWLINE + NEWLINE,
+        cleanUp(text).getResult());
+  }
+
+  /** The opening quote of a continuation line of a literal closed with a quote is removed */
+  @Test
+  void testContinuationLineWithOuterQuotes() {
+    String text =
+        CONTINUED_LINE
+            + CONTINUATION_INDICATOR + "          \"" + SINGLE_LINE + "\r\n"
+            + CONTINUATION_INDICATOR + "          \"" + SINGLE_LINE;
+
+    assertEquals(
+        BLANK_SEQUENCE_AREA + WS + "           \"RANDOM TEXT   "
+            + SINGLE_LINE
+            + SINGLE_LINE
+            + NEWLINE + NEWLINE,
+        cleanUp(text).getResult());
+  }
+
+  /** A not formatted line with '-' in the indicator area doesn't cause exceptions */
+  @Test
+  void testNoExceptionOnNotFormattedLine() {
+    ResultWithErrors<String> result = cleanUp(" P-ADD" + "-" + "END.");
+
+    assertEquals(BLANK_SEQUENCE_AREA + WS + "END.", result.getResult());
+    assertEquals(1, result.getErrors().size());
+  }
+
+  private ResultWithErrors<String> cleanUp(String text) {
+    MessageService messageService = mock(MessageService.class);
+    return new CobolLineCleanerImpl(new CobolLineReaderImpl(messageService), messageService)
+        .cleanUp("", text);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** This test checks the logic of {@link CompiledReplacingPattern} */
+class CompiledReplacingPatternTest {
+  private static final String TOKEN = "(?<=[\\.\\s\\r\\n])%s(?=[\\.\\s\\r\\n])";
+
+  /** The clauses apply simultaneously, so the result of one clause is not replaced by another */
+  @Test
+  void testClausesApplySimultaneously() {
+    CompiledReplacingPattern pattern =
+        CompiledReplacingPattern.compile(
+            ImmutableList.of(
+                Pair.of(String.format(TOKEN, "A"), "B"), Pair.of(String.format(TOKEN, "B"), "A")));
+
+    assertEquals(" B A B.", pattern.apply(" A B A."));
+  }
+
+  /** At the same position, the first clause in the statement order wins */
+  @Test
+  void testFirstClauseWins() {
+    CompiledReplacingPattern pattern =
+        CompiledReplacingPattern.compile(
+            ImmutableList.of(Pair.of("AB", "1"), Pair.of("ABC", "2"), Pair.of("C", "3")));
+
+    assertEquals("13 3", pattern.apply("ABC C"));
+  }
+
+  /** The texts without matches and the empty clauses are returned as is */
+  @Test
+  void testNoMatches() {
+    String text = "   02 CHILD.";
+    CompiledReplacingPattern pattern =
+        CompiledReplacingPattern.compile(
+            ImmutableList.of(Pair.of(String.format(TOKEN, "01"), "05"), Pair.of("", "")));
+
+    assertSame(text, pattern.apply(text));
+    assertSame(text, CompiledReplacingPattern.compile(ImmutableList.of()).apply(text));
+  }
+
+  /** The group references of the replacement belong to the clause, not to the combined pattern */
+  @Test
+  void testGroupReferences() {
+    CompiledReplacingPattern pattern =
+        CompiledReplacingPattern.compile(
+            ImmutableList.of(Pair.of("(X)(Y)", "$2$1"), Pair.of("(A)(B)", "$2\\$$10")));
+
+    assertEquals("YX B$A0", pattern.apply("XY AB"));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> CompiledReplacingPattern.compile(ImmutableList.of(Pair.of("A", "$1"))).apply("A"));
+  }
+}
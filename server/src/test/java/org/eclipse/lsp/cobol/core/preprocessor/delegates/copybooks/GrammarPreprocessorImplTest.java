@@ -17,20 +17,27 @@ package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import org.antlr.v4.runtime.BufferedTokenStream;
+import org.antlr.v4.runtime.ParserRuleContext;
 import org.eclipse.lsp.cobol.core.model.*;
 import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.GrammarPreprocessor;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.GrammarPreprocessorImpl;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.CopybookName;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.ParallelCopybookPreprocessor;
 import org.eclipse.lsp.cobol.core.semantics.NamedSubContext;
 import org.eclipse.lsp.cobol.service.CopybookConfig;
+import org.eclipse.lsp.cobol.service.CopybookService;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.List;
 
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.lsp.cobol.service.CopybookProcessingMode.ENABLED;
 import static org.eclipse.lsp.cobol.service.SQLBackend.DB2_SERVER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -39,12 +46,15 @@ import static org.mockito.Mockito.*;
 
 /**
  * This test checks the logic of {@link GrammarPreprocessorImpl}, including building the extended
- * document, and merging the nested copybooks mappings.
+ * document, prefetching and preprocessing the used copybooks in advance, and merging the nested copybooks mappings.
  */
 class GrammarPreprocessorImplTest {
+  private final CopybookService copybookService = mock(CopybookService.class);
+  private final ParallelCopybookPreprocessor copybookPreprocessor =
+      mock(ParallelCopybookPreprocessor.class);
 
   private static final String DOCUMENT = "document";
-  private static final String TEXT = "COPY CPYNAME.";
+  private static final String TEXT = "REPLACE ==A== BY ==B==. COPY CPYNAME.";
   private static final String RESULT = "RESULT";
   private static final String CPYNAME = "CPYNAME";
 
@@ -77,9 +87,8 @@ class GrammarPreprocessorImplTest {
     NamedSubContext copybooks = new NamedSubContext();
     copybooks.addUsage(CPYNAME, CPYNAME_POS.toLocation());
     DocumentMapping mainMapping =
-        new DocumentMapping(ImmutableList.of(CPYNAME_POS, COPY_POS), ImmutableMap.of(0, 2));
-    DocumentMapping cpyMapping =
-        new DocumentMapping(ImmutableList.of(RESULT_POS), ImmutableMap.of());
+        new DocumentMapping(ImmutableList.of(CPYNAME_POS, COPY_POS), new int[] {0, 7}, 11);
+    DocumentMapping cpyMapping = new DocumentMapping(ImmutableList.of(RESULT_POS), new int[] {0}, 6);
 
     ExtendedDocument expectedDocument =
         new ExtendedDocument(
@@ -97,7 +106,8 @@ class GrammarPreprocessorImplTest {
     when(replaceListener.getResult()).thenReturn(new ResultWithErrors<>(RESULT, errors));
 
     GrammarPreprocessor preprocessor =
-        new GrammarPreprocessorImpl(listenerFactory, replacingFactory);
+        new GrammarPreprocessorImpl(
+            listenerFactory, replacingFactory, copybookService, copybookPreprocessor);
 
     ResultWithErrors<ExtendedDocument> extendedDocument =
         preprocessor.buildExtendedDocument(DOCUMENT, TEXT, cpyConfig, hierarchy);
@@ -111,4 +121,72 @@ class GrammarPreprocessorImplTest {
     assertEquals(cpyMapping, expectedDocument.getDocumentMapping().get(CPYNAME));
     assertEquals(errors, extendedDocument.getErrors());
   }
+
+  @Test
+  void testReplacingSkippedWithoutReplaceStatements() {
+    GrammarPreprocessorListenerImpl listener = mock(GrammarPreprocessorListenerImpl.class);
+    GrammarPreprocessorListenerFactory listenerFactory =
+        mock(GrammarPreprocessorListenerFactory.class);
+    ReplacePreprocessorFactory replacingFactory = mock(ReplacePreprocessorFactory.class);
+    CopybookConfig cpyConfig = new CopybookConfig(ENABLED, DB2_SERVER);
+    CopybookHierarchy hierarchy = new CopybookHierarchy();
+    String text = "COPY CPYNAME REPLACING ==A== BY ==B==.";
+    ExtendedDocument document =
+        new ExtendedDocument(DOCUMENT, text, new NamedSubContext(), ImmutableMap.of());
+
+    when(listenerFactory.create(any(), any(), any(), any())).thenReturn(listener);
+    when(listener.getResult()).thenReturn(new ResultWithErrors<>(document, emptyList()));
+
+    ResultWithErrors<ExtendedDocument> extendedDocument =
+        new GrammarPreprocessorImpl(
+                listenerFactory, replacingFactory, copybookService, copybookPreprocessor)
+            .buildExtendedDocument(DOCUMENT, text, cpyConfig, hierarchy);
+
+    verify(replacingFactory, never()).create(any(), any(), any());
+    assertEquals(document, extendedDocument.getResult());
+  }
+
+  @Test
+  void testCopybooksPrefetchedBeforeAnalysis() {
+    GrammarPreprocessorListenerFactory listenerFactory =
+        mock(GrammarPreprocessorListenerFactory.class);
+    ReplacePreprocessorFactory replacingFactory = mock(ReplacePreprocessorFactory.class);
+    GrammarPreprocessorListenerImpl listener = mock(GrammarPreprocessorListenerImpl.class);
+    ReplacePreProcessorListener replaceListener = mock(ReplacePreProcessorListener.class);
+    CopybookConfig cpyConfig = new CopybookConfig(ENABLED, DB2_SERVER);
+    CopybookHierarchy hierarchy = new CopybookHierarchy();
+    String text =
+        "COPY CPYNAME.\n       COPY 'OTHER'.\n       COPY REPL REPLACING ==A== BY ==B==.\n"
+            + "       COPY CPYNAME.";
+
+    when(listenerFactory.create(any(), any(), any(), any())).thenReturn(listener);
+    when(replacingFactory.create(any(), any(), any())).thenReturn(replaceListener);
+    when(replaceListener.getResult()).thenReturn(new ResultWithErrors<>(text, emptyList()));
+    when(listener.getResult())
+        .thenReturn(
+            new ResultWithErrors<>(
+                new ExtendedDocument(DOCUMENT, text, new NamedSubContext(), ImmutableMap.of()),
+                emptyList()));
+
+    new GrammarPreprocessorImpl(
+            listenerFactory, replacingFactory, copybookService, copybookPreprocessor)
+        .buildExtendedDocument(DOCUMENT, text, cpyConfig, hierarchy);
+
+    verify(copybookService)
+        .prefetch(
+            ImmutableSet.of(
+                new CopybookName(CPYNAME, DialectType.COBOL.name()),
+                new CopybookName("OTHER", DialectType.COBOL.name()),
+                new CopybookName("REPL", DialectType.COBOL.name())),
+            DOCUMENT,
+            cpyConfig);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<ParserRuleContext>> copySources = ArgumentCaptor.forClass(List.class);
+    verify(copybookPreprocessor)
+        .preprocess(copySources.capture(), eq(DOCUMENT), eq(cpyConfig), eq(hierarchy));
+    assertEquals(
+        ImmutableList.of(CPYNAME, "'OTHER'", CPYNAME),
+        copySources.getValue().stream().map(ParserRuleContext::getText).collect(toList()));
+  }
 }
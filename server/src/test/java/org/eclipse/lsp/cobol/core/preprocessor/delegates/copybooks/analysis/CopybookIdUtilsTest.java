@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** This test checks that {@link CopybookIdUtils} builds stable ids and rebases the nested ones. */
+class CopybookIdUtilsTest {
+  private static final CopybookName NAME = new CopybookName("CPY", "COBOL");
+
+  @Test
+  void testIdsAreStable() {
+    String id = CopybookIdUtils.create(null, 0, NAME, "text");
+    assertEquals(id, CopybookIdUtils.create(null, 0, NAME, "text"));
+    assertTrue(id.startsWith("0-"));
+    assertNotEquals(id, CopybookIdUtils.create(null, 1, NAME, "text"));
+    assertNotEquals(id, CopybookIdUtils.create(null, 0, NAME, "other text"));
+    assertNotEquals(id, CopybookIdUtils.create(null, 0, new CopybookName("CPY", "IDMS"), "text"));
+  }
+
+  @Test
+  void testNestedIdContainsParent() {
+    String parent = CopybookIdUtils.create(null, 2, NAME, "text");
+    String nested = CopybookIdUtils.create(parent, 0, NAME, "text");
+    assertTrue(nested.startsWith(parent + "/0-"));
+  }
+
+  @Test
+  void testRebase() {
+    assertEquals("new", CopybookIdUtils.rebase("old", "old", "new"));
+    assertEquals("new/1-a/0-b", CopybookIdUtils.rebase("old/1-a/0-b", "old", "new"));
+    assertEquals("older/1-a", CopybookIdUtils.rebase("older/1-a", "old", "new"));
+    assertEquals("other", CopybookIdUtils.rebase("other", "old", "new"));
+    assertNull(CopybookIdUtils.rebase(null, "old", "new"));
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.lsp.cobol.core.model.CopybookUsage;
+import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.DialectType;
+import org.eclipse.lsp.cobol.service.CopybookConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.CopybookAnalysisFactory.AnalysisTypes.COBOL;
+import static org.eclipse.lsp.cobol.service.CopybookProcessingMode.ENABLED;
+import static org.eclipse.lsp.cobol.service.SQLBackend.DB2_SERVER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * This test checks that {@link ParallelCopybookPreprocessor} submits the sibling copybooks for the
+ * preprocessing with forks of the current hierarchy, and skips it when the result may not be reused.
+ */
+class ParallelCopybookPreprocessorTest {
+  private static final String DOCUMENT = "file:///DOCUMENT.cbl";
+  private static final CopybookConfig CONFIG = new CopybookConfig(ENABLED, DB2_SERVER);
+  private static final long TIMEOUT = 5000;
+
+  private CopybookAnalysis analysis;
+  private ParallelCopybookPreprocessor preprocessor;
+  private CopybookHierarchy hierarchy;
+
+  @BeforeEach
+  void init() {
+    analysis = mock(CopybookAnalysis.class);
+    CopybookAnalysisFactory factory = mock(CopybookAnalysisFactory.class);
+    when(factory.getInstanceFor(COBOL)).thenReturn(analysis);
+    preprocessor = new ParallelCopybookPreprocessor(() -> factory, 2);
+    hierarchy = new CopybookHierarchy();
+    hierarchy.push(
+        new CopybookUsage(
+            new CopybookName("PARENT", DialectType.COBOL.name()),
+            "parent",
+            Locality.builder().uri(DOCUMENT).build()));
+  }
+
+  @Test
+  void testSiblingsPreprocessedWithForkedHierarchy() {
+    ParserRuleContext first = new ParserRuleContext();
+    ParserRuleContext second = new ParserRuleContext();
+
+    preprocessor.preprocess(Arrays.asList(first, second), DOCUMENT, CONFIG, hierarchy);
+
+    ArgumentCaptor<CopybookHierarchy> forks = ArgumentCaptor.forClass(CopybookHierarchy.class);
+    verify(analysis, timeout(TIMEOUT))
+        .preprocessInAdvance(
+            eq(first), eq(CONFIG), eq(DOCUMENT), eq(DialectType.COBOL), forks.capture());
+    verify(analysis, timeout(TIMEOUT))
+        .preprocessInAdvance(
+            eq(second), eq(CONFIG), eq(DOCUMENT), eq(DialectType.COBOL), forks.capture());
+
+    assertEquals(2, forks.getAllValues().size());
+    assertNotSame(forks.getAllValues().get(0), forks.getAllValues().get(1));
+    for (CopybookHierarchy fork : forks.getAllValues()) {
+      assertNotSame(hierarchy, fork);
+      assertEquals("parent", fork.getCurrentCopybookId());
+      assertTrue(fork.hasRecursion(new CopybookName("PARENT", DialectType.COBOL.name())));
+    }
+  }
+
+  @Test
+  void testCancelledTasksAreInterrupted() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(2);
+    CountDownLatch interrupted = new CountDownLatch(2);
+    doAnswer(
+            invocation -> {
+              started.countDown();
+              try {
+                Thread.sleep(TIMEOUT * 2);
+              } catch (InterruptedException e) {
+                interrupted.countDown();
+              }
+              return null;
+            })
+        .when(analysis)
+        .preprocessInAdvance(any(), any(), any(), any(), any());
+
+    preprocessor.preprocess(
+        Arrays.asList(new ParserRuleContext(), new ParserRuleContext()),
+        DOCUMENT,
+        CONFIG,
+        hierarchy);
+    assertTrue(started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+    hierarchy.getTasks().cancelAll();
+
+    assertTrue(interrupted.await(TIMEOUT, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void testNothingSubmittedAfterCancel() {
+    hierarchy.getTasks().cancelAll();
+
+    preprocessor.preprocess(
+        Arrays.asList(new ParserRuleContext(), new ParserRuleContext()),
+        DOCUMENT,
+        CONFIG,
+        hierarchy.forkStack());
+
+    verify(analysis, after(100).never()).preprocessInAdvance(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void testSingleCopybookNotPreprocessed() {
+    preprocessor.preprocess(
+        Collections.singletonList(new ParserRuleContext()), DOCUMENT, CONFIG, hierarchy);
+
+    verify(analysis, after(100).never()).preprocessInAdvance(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void testReplacingStatePreventsPreprocessing() {
+    hierarchy.addCopyReplacing(Pair.of("A", "B"));
+
+    preprocessor.preprocess(
+        Arrays.asList(new ParserRuleContext(), new ParserRuleContext()),
+        DOCUMENT,
+        CONFIG,
+        hierarchy);
+
+    verify(analysis, after(100).never()).preprocessInAdvance(any(), any(), any(), any(), any());
+  }
+}
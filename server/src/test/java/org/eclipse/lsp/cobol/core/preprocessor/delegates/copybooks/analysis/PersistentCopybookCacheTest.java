@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test checks that {@link PersistentCopybookCache} keeps the cleaned-up copybooks between the
+ * server sessions, and discards the entries of the modified copybooks.
+ */
+class PersistentCopybookCacheTest {
+  private static final String HASH = "hash";
+  private static final String CLEAN_TEXT = "       01 PARENT PIC X.";
+
+  @TempDir Path temp;
+  private Path storage;
+  private String uri;
+
+  @BeforeEach
+  void init() throws IOException {
+    storage = temp.resolve("storage");
+    Path copybook = Files.write(temp.resolve("PARENT.cpy"), "01 PARENT PIC X.".getBytes());
+    uri = copybook.toUri().toString();
+  }
+
+  @Test
+  void testEntriesAvailableAfterRestart() {
+    PersistentCopybookCache cache = new PersistentCopybookCache();
+    cache.open(storage);
+    cache.putCleanText(uri, HASH, CLEAN_TEXT);
+    cache.flush();
+
+    PersistentCopybookCache restarted = new PersistentCopybookCache();
+    restarted.open(storage);
+
+    assertEquals(Optional.of(CLEAN_TEXT), restarted.getCleanText(uri, HASH));
+    assertEquals(Optional.empty(), restarted.getCleanText(uri, "other"));
+  }
+
+  @Test
+  void testModifiedCopybookInvalidatesEntry() throws IOException {
+    PersistentCopybookCache cache = new PersistentCopybookCache();
+    cache.open(storage);
+    cache.putCleanText(uri, HASH, CLEAN_TEXT);
+    cache.flush();
+    Path copybook = temp.resolve("PARENT.cpy");
+    Files.setLastModifiedTime(
+        copybook,
+        FileTime.fromMillis(Files.getLastModifiedTime(copybook).toMillis() + 10_000));
+
+    PersistentCopybookCache restarted = new PersistentCopybookCache();
+    restarted.open(storage);
+
+    assertEquals(Optional.empty(), restarted.getCleanText(uri, HASH));
+  }
+
+  @Test
+  void testOtherCleanUpVersionDiscardsEntries() {
+    PersistentCopybookCache cache = new PersistentCopybookCache("1", "1.0.0");
+    cache.open(storage);
+    cache.putCleanText(uri, HASH, CLEAN_TEXT);
+    cache.flush();
+
+    PersistentCopybookCache sameVersions = new PersistentCopybookCache("1", "1.0.0");
+    sameVersions.open(storage);
+    PersistentCopybookCache newCleanUp = new PersistentCopybookCache("2", "1.0.0");
+    newCleanUp.open(storage);
+
+    assertEquals(Optional.of(CLEAN_TEXT), sameVersions.getCleanText(uri, HASH));
+    assertEquals(Optional.empty(), newCleanUp.getCleanText(uri, HASH));
+  }
+
+  @Test
+  void testOtherServerVersionDiscardsEntries() {
+    PersistentCopybookCache cache = new PersistentCopybookCache("1", "1.0.0");
+    cache.open(storage);
+    cache.putCleanText(uri, HASH, CLEAN_TEXT);
+    cache.flush();
+
+    PersistentCopybookCache newServer = new PersistentCopybookCache("1", "1.0.1");
+    newServer.open(storage);
+
+    assertEquals(Optional.empty(), newServer.getCleanText(uri, HASH));
+  }
+
+  @Test
+  void testCleanUpVersionDerivedFromBytecode() {
+    String cleanUp = PersistentCopybookCache.fingerprint(Arrays.asList(String.class, List.class));
+
+    assertEquals(
+        cleanUp, PersistentCopybookCache.fingerprint(Arrays.asList(String.class, List.class)));
+    assertNotEquals(cleanUp, PersistentCopybookCache.fingerprint(Arrays.asList(String.class)));
+  }
+
+  @Test
+  void testPeriodicFlushKeepsOnlyLatestGeneration() throws IOException {
+    PersistentCopybookCache cache = new PersistentCopybookCache();
+    cache.open(storage);
+    cache.putCleanText(uri, HASH, CLEAN_TEXT);
+    cache.flush();
+    cache.putCleanText(uri, HASH, CLEAN_TEXT);
+    cache.flush();
+
+    try (Stream<Path> files = Files.list(storage)) {
+      assertEquals(
+          Arrays.asList("copybooks-2.bin"),
+          files.map(it -> it.getFileName().toString()).collect(toList()));
+    }
+    PersistentCopybookCache restarted = new PersistentCopybookCache();
+    restarted.open(storage);
+    assertEquals(Optional.of(CLEAN_TEXT), restarted.getCleanText(uri, HASH));
+  }
+
+  @Test
+  void testDisabledCacheStoresNothing() {
+    PersistentCopybookCache cache = new PersistentCopybookCache();
+    cache.putCleanText(uri, HASH, CLEAN_TEXT);
+    cache.flush();
+
+    assertFalse(cache.isEnabled());
+    assertEquals(Optional.empty(), cache.getCleanText(uri, HASH));
+    assertFalse(Files.exists(storage));
+  }
+
+  @Test
+  void testCorruptedFileIgnored() throws IOException {
+    Files.createDirectories(storage);
+    Files.write(storage.resolve("copybooks-1.bin"), new byte[] {1, 2, 3});
+
+    PersistentCopybookCache cache = new PersistentCopybookCache();
+    cache.open(storage);
+    assertEquals(Optional.empty(), cache.getCleanText(uri, HASH));
+
+    cache.putCleanText(uri, HASH, CLEAN_TEXT);
+    cache.flush();
+    PersistentCopybookCache restarted = new PersistentCopybookCache();
+    restarted.open(storage);
+
+    assertEquals(Optional.of(CLEAN_TEXT), restarted.getCleanText(uri, HASH));
+    assertFalse(Files.exists(storage.resolve("copybooks-1.bin")));
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.eclipse.lsp.cobol.core.model.*;
+import org.eclipse.lsp.cobol.core.preprocessor.CopybookHierarchy;
+import org.eclipse.lsp.cobol.core.semantics.NamedSubContext;
+import org.eclipse.lsp.cobol.service.CopybookConfig;
+import org.eclipse.lsp.cobol.service.CopybookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.eclipse.lsp.cobol.core.preprocessor.ProcessingConstants.*;
+import static org.eclipse.lsp.cobol.service.CopybookProcessingMode.ENABLED;
+import static org.eclipse.lsp.cobol.service.SQLBackend.DB2_SERVER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * This test checks that {@link PreprocessedCopybookCache} reuses the preprocessed copybooks only
+ * when their nested copybooks are unchanged, and binds the result to the requesting COPY statement.
+ */
+class PreprocessedCopybookCacheTest {
+  private static final String URI = "file:///PARENT.cpy";
+  private static final String CONTENT = "COPY NESTED.";
+  private static final String NESTED_CONTENT = "01 A PIC X.";
+  private static final CopybookConfig CONFIG = new CopybookConfig(ENABLED, DB2_SERVER);
+  private static final CopybookName PARENT = new CopybookName("PARENT", "COBOL");
+  private static final CopybookName NESTED = new CopybookName("NESTED", "COBOL");
+  private static final CopybookName OUTER = new CopybookName("OUTER", "COBOL");
+  private static final String OUTER_URI = "file:///OUTER.cpy";
+  private static final String OUTER_CONTENT = "COPY PARENT.";
+
+  private CopybookService copybookService;
+  private PreprocessedCopybookCache cache;
+  private AtomicInteger computations;
+
+  @BeforeEach
+  void init() {
+    copybookService = mock(CopybookService.class);
+    when(copybookService.resolve(eq(NESTED), any(), any()))
+        .thenReturn(new CopybookModel(NESTED, "file:///NESTED.cpy", NESTED_CONTENT));
+    when(copybookService.resolve(eq(PARENT), any(), any()))
+        .thenReturn(new CopybookModel(PARENT, URI, CONTENT));
+    cache =
+        new PreprocessedCopybookCache(
+            copybookService, new PersistentCopybookCache(), 10, 1, "HOURS");
+    computations = new AtomicInteger();
+  }
+
+  @Test
+  void testSecondUsageReusesResultWithRebasedIds() {
+    ResultWithErrors<ExtendedDocument> first = process("first", new CopybookHierarchy());
+    ResultWithErrors<ExtendedDocument> second = process("second", new CopybookHierarchy());
+
+    assertEquals(1, computations.get());
+    assertEquals(first.getResult().getText(), buildText("first/0-nested"));
+
+    String nestedId = extractId(second.getResult().getText());
+    assertEquals("second/0-nested", nestedId);
+    assertTrue(second.getResult().getDocumentMapping().containsKey(nestedId));
+    assertEquals(
+        "second",
+        second.getResult().getCopybooks().getDefinitionStatements().get(nestedId).getCopybookId());
+    assertEquals("second", second.getErrors().get(0).getLocality().getCopybookId());
+    assertEquals(
+        nestedId,
+        second.getResult().getDocumentMapping().get(URI).getLocalities().get(0).getCopybookId());
+  }
+
+  @Test
+  void testChangedNestedCopybookInvalidatesResult() {
+    process("first", new CopybookHierarchy());
+    when(copybookService.resolve(eq(NESTED), any(), any()))
+        .thenReturn(new CopybookModel(NESTED, "file:///NESTED.cpy", "01 B PIC X."));
+    process("second", new CopybookHierarchy());
+
+    assertEquals(2, computations.get());
+  }
+
+  @Test
+  void testChangedCopybookTwoLevelsDownInvalidatesOuterResult() {
+    process("first", new CopybookHierarchy());
+    AtomicInteger outerComputations = new AtomicInteger();
+    processOuter("outer1", outerComputations);
+    processOuter("outer2", outerComputations);
+    assertEquals(1, outerComputations.get());
+
+    when(copybookService.resolve(eq(NESTED), any(), any()))
+        .thenReturn(new CopybookModel(NESTED, "file:///NESTED.cpy", "01 B PIC X."));
+    processOuter("outer3", outerComputations);
+
+    assertEquals(2, outerComputations.get());
+  }
+
+  @Test
+  void testResultNotReusedIfNestedCopybookIsOnStack() {
+    process("first", new CopybookHierarchy());
+    CopybookHierarchy hierarchy = new CopybookHierarchy();
+    hierarchy.push(new CopybookUsage(NESTED, "outer", Locality.builder().build()));
+    process("second", hierarchy);
+
+    assertEquals(2, computations.get());
+  }
+
+  @Test
+  void testCleanUpComputedOnceForSameContent() {
+    Supplier<ResultWithErrors<String>> cleanUp =
+        () -> {
+          computations.incrementAndGet();
+          return ResultWithErrors.of("clean");
+        };
+    cache.cleanUp(URI, CONTENT, cleanUp);
+    String sameContent = new String(CONTENT.toCharArray());
+    assertEquals("clean", cache.cleanUp(URI, sameContent, cleanUp).getResult());
+    cache.cleanUp(URI, CONTENT + " ", cleanUp);
+
+    assertEquals(2, computations.get());
+  }
+
+  private ResultWithErrors<ExtendedDocument> process(String id, CopybookHierarchy hierarchy) {
+    CopybookMetaData metaData =
+        CopybookMetaData.builder()
+            .copybookName(PARENT)
+            .copybookId(id)
+            .documentUri("file:///DOCUMENT.cbl")
+            .config(CONFIG)
+            .build();
+    hierarchy.push(metaData.toCopybookUsage());
+    ResultWithErrors<ExtendedDocument> result =
+        cache.process(metaData, hierarchy, URI, CONTENT, () -> compute(id, hierarchy));
+    hierarchy.pop();
+    return result;
+  }
+
+  private void processOuter(String id, AtomicInteger outerComputations) {
+    CopybookHierarchy hierarchy = new CopybookHierarchy();
+    CopybookMetaData metaData =
+        CopybookMetaData.builder()
+            .copybookName(OUTER)
+            .copybookId(id)
+            .documentUri("file:///DOCUMENT.cbl")
+            .config(CONFIG)
+            .build();
+    hierarchy.push(metaData.toCopybookUsage());
+    cache.process(
+        metaData,
+        hierarchy,
+        OUTER_URI,
+        OUTER_CONTENT,
+        () -> {
+          outerComputations.incrementAndGet();
+          hierarchy.registerDependency(new CopybookDependency(PARENT, OUTER_URI, CONTENT));
+          return process(id + "/0-parent", hierarchy);
+        });
+    hierarchy.pop();
+  }
+
+  private ResultWithErrors<ExtendedDocument> compute(String id, CopybookHierarchy hierarchy) {
+    computations.incrementAndGet();
+    String nestedId = id + "/0-nested";
+    hierarchy.registerDependency(new CopybookDependency(NESTED, URI, NESTED_CONTENT));
+    NamedSubContext copybooks = new NamedSubContext();
+    copybooks.addStatement(nestedId, Locality.builder().uri(URI).copybookId(id).build());
+    DocumentMapping mapping =
+        new DocumentMapping(
+            ImmutableList.of(Locality.builder().uri(URI).copybookId(nestedId).build()),
+            new int[] {0},
+            0);
+    return new ResultWithErrors<>(
+        new ExtendedDocument(
+            URI, buildText(nestedId), copybooks, ImmutableMap.of(URI, mapping, nestedId, mapping)),
+        ImmutableList.of(
+            SyntaxError.syntaxError()
+                .locality(Locality.builder().uri(URI).copybookId(id).build())
+                .build()));
+  }
+
+  private static String buildText(String nestedId) {
+    return CPY_ENTER_TAG + nestedId + CPY_URI_CLOSE + NESTED_CONTENT + CPY_EXIT_TAG;
+  }
+
+  private static String extractId(String text) {
+    return text.substring(CPY_ENTER_TAG.length(), text.indexOf(CPY_URI_CLOSE));
+  }
+}
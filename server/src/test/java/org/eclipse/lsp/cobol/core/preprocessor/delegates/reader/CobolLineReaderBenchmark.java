@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.preprocessor.delegates.reader;
+
+import org.eclipse.lsp.cobol.core.messages.MessageService;
+import org.eclipse.lsp.cobol.core.messages.MessageTemplate;
+import org.eclipse.lsp.cobol.core.model.CobolLine;
+import org.eclipse.lsp.cobol.core.model.ResultWithErrors;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This JMH benchmark compares {@link CobolLineReaderImpl} with the previous implementation based
+ * on regular expressions, {@link RegexCobolLineReader}. Each reader is given the same document of
+ * fixed-format lines with sequence numbers, comments, continuations, compiler directives and too
+ * long lines, and all the areas of the read lines are requested, as the clean-up does.
+ *
+ * <p>The benchmark is not a part of the test suite. Run the {@link #main(String[])} method from the
+ * test classpath after "mvn test-compile".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CobolLineReaderBenchmark {
+  private static final String URI = "document";
+  private static final String[] LINES = {
+    "000100 IDENTIFICATION DIVISION.                                         PROGID01",
+    "000200 PROGRAM-ID. TEST1.",
+    "000300* THIS IS A COMMENT LINE",
+    "000400     MOVE 'A VERY LONG LITERAL THAT IS CONTINUED ON THE NEXT LINE WITH",
+    "000500-    'OUT ANY CLOSING QUOTES' TO WS-VARIABLE.",
+    "      D    DISPLAY 'DEBUG'.",
+    "       CBL DATA(24)",
+    "",
+    "000600     PERFORM PARAGRAPH-NAME THRU PARAGRAPH-END VARYING I FROM 1 BY 1 UNTIL I > 100",
+    "000700 PARAGRAPH-NAME."
+  };
+
+  @Param({"1000", "20000"})
+  private int lineCount;
+
+  private String text;
+  private CobolLineReader slicer;
+  private CobolLineReader regex;
+
+  /** Build the document and check that both readers read it the same way */
+  @Setup
+  public void setUp() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < lineCount; i++) builder.append(LINES[i % LINES.length]).append("\r\n");
+    text = builder.toString();
+    MessageService messageService = new KeyMessageService();
+    slicer = new CobolLineReaderImpl(messageService);
+    regex = new RegexCobolLineReader(messageService);
+    if (!serialize(slicer.processLines(URI, text)).equals(serialize(regex.processLines(URI, text))))
+      throw new IllegalStateException("The readers return different lines");
+  }
+
+  /**
+   * Read the document with the fixed-column slicer
+   *
+   * @param blackhole - the consumer of the read areas
+   */
+  @Benchmark
+  public void slicer(Blackhole blackhole) {
+    consume(slicer.processLines(URI, text), blackhole);
+  }
+
+  /**
+   * Read the document with the previous implementation based on regular expressions
+   *
+   * @param blackhole - the consumer of the read areas
+   */
+  @Benchmark
+  public void regex(Blackhole blackhole) {
+    consume(regex.processLines(URI, text), blackhole);
+  }
+
+  /**
+   * Run the benchmark
+   *
+   * @param args - not used
+   * @throws RunnerException if the benchmark fails
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(CobolLineReaderBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  private static void consume(ResultWithErrors<List<CobolLine>> result, Blackhole blackhole) {
+    for (CobolLine line : result.getResult()) {
+      blackhole.consume(line.getType());
+      blackhole.consume(line.getSequenceArea());
+      blackhole.consume(line.getIndicatorArea());
+      blackhole.consume(line.getContentArea());
+      blackhole.consume(line.getCommentArea());
+    }
+    blackhole.consume(result.getErrors());
+  }
+
+  private static String serialize(ResultWithErrors<List<CobolLine>> result) {
+    StringBuilder builder = new StringBuilder();
+    for (CobolLine line : result.getResult())
+      builder
+          .append(line.getType())
+          .append('|')
+          .append(line.getSequenceArea())
+          .append('|')
+          .append(line.getIndicatorArea())
+          .append('|')
+          .append(line.getContentArea())
+          .append('|')
+          .append(line.getCommentArea())
+          .append('\n');
+    return builder.append(result.getErrors().size()).toString();
+  }
+
+  /** The message service that returns the message keys, so no resources are loaded */
+  private static class KeyMessageService implements MessageService {
+    @Override
+    public String getMessage(String key, Object... parameters) {
+      return key;
+    }
+
+    @Override
+    public String localizeTemplate(MessageTemplate template) {
+      return template.getTemplate();
+    }
+  }
+}
@@ -18,6 +18,7 @@ import org.eclipse.lsp.cobol.core.AbstractCobolLinePreprocessorTest;
 import org.eclipse.lsp.cobol.core.model.ResultWithErrors;
 import org.eclipse.lsp.cobol.core.model.SyntaxError;
 import org.eclipse.lsp.cobol.core.model.CobolLine;
+import org.eclipse.lsp.cobol.core.model.CobolLineTypeEnum;
 import com.google.common.collect.Lists;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
@@ -130,6 +131,23 @@ class CobolLineReaderImplTest extends AbstractCobolLinePreprocessorTest {
     assertThat(error.getLocality().getRange().getStart().getCharacter(), is(80));
   }
 
+  @Test
+  void testCompilerDirectivesAfterSequenceArea() {
+    ResultWithErrors<List<CobolLine>> processed = processText("000100 cbl XOPTS(APOST)");
+    CobolLine line = processed.getResult().get(0);
+    assertThat(line.getType(), is(CobolLineTypeEnum.PREPROCESSED));
+    assertThat(line.getContentAreaA(), is("       cbl XOPTS(APOST)"));
+    assertThat(processed.getErrors(), hasSize(0));
+  }
+
+  @Test
+  void testCarriageReturnLineSeparators() {
+    ResultWithErrors<List<CobolLine>> processed = processText("000000*abc\r\n000010 def\r\n");
+    assertThat(processed.getResult(), hasSize(2));
+    assertThat(processed.getResult().get(0).getType(), is(CobolLineTypeEnum.COMMENT));
+    assertThat(processed.getResult().get(1), hasToString("000010 def"));
+  }
+
   // END @Test methods
 
   private List<String> createTextToTest() {
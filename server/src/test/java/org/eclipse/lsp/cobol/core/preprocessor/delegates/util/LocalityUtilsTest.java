@@ -17,12 +17,10 @@ package org.eclipse.lsp.cobol.core.preprocessor.delegates.util;
 
 import org.antlr.v4.runtime.Token;
 import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp.cobol.core.model.LocalityTable;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.when;
@@ -40,7 +38,7 @@ class LocalityUtilsTest {
     when(placeholderToken.getTokenIndex()).thenReturn(0);
     when(correctToken.getTokenIndex()).thenReturn(1);
 
-    Map<Token, Locality> positions = new HashMap<>();
+    LocalityTable positions = new LocalityTable();
     positions.put(placeholderToken, notExpected);
     positions.put(correctToken, expected);
 
@@ -68,7 +66,7 @@ class LocalityUtilsTest {
     when(hiddenToken1.getChannel()).thenReturn(1);
     when(hiddenToken2.getChannel()).thenReturn(1);
 
-    Map<Token, Locality> positions = new HashMap<>();
+    LocalityTable positions = new LocalityTable();
     positions.put(correctToken, expected);
     positions.put(hiddenToken1, notExpected);
     positions.put(hiddenToken2, notExpected);
@@ -106,7 +104,7 @@ class LocalityUtilsTest {
     when(hiddenToken4.getChannel()).thenReturn(1);
     when(hiddenToken5.getChannel()).thenReturn(1);
 
-    Map<Token, Locality> positions = new HashMap<>();
+    LocalityTable positions = new LocalityTable();
     positions.put(correctToken, expected);
     positions.put(hiddenToken1, notExpected);
     positions.put(hiddenToken2, notExpected);
@@ -136,7 +134,7 @@ class LocalityUtilsTest {
     // HIDDEN channel number
     when(hiddenToken.getChannel()).thenReturn(1);
 
-    Map<Token, Locality> positions = new HashMap<>();
+    LocalityTable positions = new LocalityTable();
     positions.put(correctToken, expected);
     positions.put(hiddenToken, notExpected);
 
@@ -17,11 +17,12 @@ package org.eclipse.lsp.cobol.core.preprocessor.delegates.util.impl;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
+import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.Token;
 import org.eclipse.lsp.cobol.core.CobolLexer;
 import org.eclipse.lsp.cobol.core.model.DocumentMapping;
 import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp.cobol.core.model.LocalityTable;
 import org.eclipse.lsp.cobol.core.preprocessor.ProcessingConstants;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.util.LocalityMappingUtils;
 import org.eclipse.lsp4j.Position;
@@ -33,105 +34,126 @@ import java.util.Map;
 
 import static org.eclipse.lsp.cobol.core.CobolLexer.COPYENTRY;
 import static org.eclipse.lsp.cobol.core.CobolLexer.COPYEXIT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 /**
  * This test checks the logic of {@link LocalityMappingUtils}, including different document levels
- * and position shifts
+ * and tokens that don't match the original ones
  */
 class LocalityMappingUtilsTest {
+  private static final String URI = "doc.cbl";
+  private static final String COPYBOOK = "copybook.cpy";
+  private static final String ENTER_TAG =
+      ProcessingConstants.CPY_ENTER_TAG + COPYBOOK + ProcessingConstants.CPY_URI_CLOSE;
+  private static final String EXIT_TAG = "*>CPYEXIT\n";
+
+  private int tokenIndex;
 
   @Test
   void testEmptyMapping() {
-    String uri = "doc.cbl";
     List<Token> tokens = ImmutableList.of();
-    List<Locality> localities = ImmutableList.of();
-    Map<Integer, Integer> shifts = ImmutableMap.of();
     Map<String, DocumentMapping> mappings =
-        ImmutableMap.of(uri, new DocumentMapping(localities, shifts));
+        ImmutableMap.of(URI, new DocumentMapping(ImmutableList.of(), new int[0], 0));
 
-    Map<Token, Locality> positionMapping =
-        LocalityMappingUtils.createPositionMapping(tokens, mappings, uri, ImmutableMap.of());
+    LocalityTable positionMapping =
+        LocalityMappingUtils.createPositionMapping(tokens, mappings, URI, ImmutableMap.of());
 
     assertTrue(positionMapping.isEmpty());
   }
 
   @Test
   void testMappingWithCopybook() {
-    String uri = "doc.cbl";
-    String copybook = "copybook.cpy";
-
-    Token enter = mock(Token.class);
-    Token token0 = mock(Token.class);
-    Token token1 = mock(Token.class);
-    Token token2 = mock(Token.class);
-    Token tokenEOF = mock(Token.class);
-    Token exit = mock(Token.class);
-
-    // Compiler directives should be skipped by predefined shift
-    Range range = new Range(new Position(0, 0), new Position(0, 0));
-    Locality localityToShift =
-        Locality.builder().uri(copybook).range(range).token("PROCESS").build();
-    Locality locality0 = Locality.builder().uri(copybook).range(range).token("token0").build();
-    // dot should match trimmed tokens with dots
-    Locality locality1 = Locality.builder().uri(copybook).range(range).token(".").build();
-    // two non-matching tokens to test lookahead works for more than one position
-    Locality localityNoMatch1 =
-        Locality.builder().uri(copybook).range(range).token("nomatch1").build();
-    Locality localityNoMatch2 =
-        Locality.builder().uri(copybook).range(range).token("nomatch2").build();
-    Locality locality2 = Locality.builder().uri(copybook).range(range).token("token1").build();
-    // EOF should match a blank token
-    Locality localityEOF = Locality.builder().uri(copybook).range(range).token("<EOF>").build();
-
-    // COPYENTRY should move the processing to the next document level
-    when(enter.getType()).thenReturn(COPYENTRY);
-    when(enter.getText())
-        .thenReturn(
-            ProcessingConstants.CPY_ENTER_TAG
-                + copybook
-                + ProcessingConstants.CPY_URI_CLOSE);
-    when(enter.getTokenSource()).thenReturn(new CobolLexer(null));
-    // COPYEXIT should move the previous to the previous document level
-    when(exit.getType()).thenReturn(COPYEXIT);
-
-    when(token0.getType()).thenReturn(0);
-    when(token0.getText()).thenReturn("token0");
-    when(token1.getType()).thenReturn(1);
-    when(token1.getText()).thenReturn(".");
-    when(token2.getType()).thenReturn(2);
-    when(token2.getText()).thenReturn("token1");
-    when(tokenEOF.getType()).thenReturn(3);
-    when(tokenEOF.getText()).thenReturn("\r\n");
-
-    List<Token> tokens = ImmutableList.of(enter, token0, token1, token2, tokenEOF, exit);
-    List<Locality> localities = ImmutableList.of();
-    List<Locality> cpyLocalities =
-        ImmutableList.of(
-            localityToShift,
-            locality0,
-            locality1,
-            localityNoMatch1,
-            localityNoMatch2,
-            locality2,
-            localityEOF);
-    // Shift to skip compiler directive
-    Map<Integer, Integer> shifts = ImmutableMap.of(0, 1);
+    // The extended text is "MOVE " + ENTER_TAG + "token0.token1ABC" + "\n" + EXIT_TAG + "."
+    Locality move = locality(URI, 0, 0, "MOVE");
+    Locality space = locality(URI, 0, 4, " ");
+    Locality dot = locality(URI, 0, 20, ".");
+    Locality eof = locality(URI, 0, 21, "<EOF>");
+
+    Locality cpyToken0 = locality(COPYBOOK, 1, 7, "token0");
+    Locality cpyDot = locality(COPYBOOK, 1, 13, ".");
+    Locality cpyToken1 = locality(COPYBOOK, 2, 7, "token1ABC");
+    Locality cpyEof = locality(COPYBOOK, 2, 16, "<EOF>");
+
     Map<String, DocumentMapping> mappings =
         ImmutableMap.of(
-            uri,
-            new DocumentMapping(localities, shifts),
-            copybook,
-            new DocumentMapping(cpyLocalities, shifts));
+            URI,
+            new DocumentMapping(
+                ImmutableList.of(move, space, dot, eof), new int[] {0, 4, 5, 6}, 6),
+            COPYBOOK,
+            new DocumentMapping(
+                ImmutableList.of(cpyToken0, cpyDot, cpyToken1, cpyEof),
+                new int[] {0, 6, 7, 16},
+                16));
+
+    int cpyStart = 5 + ENTER_TAG.length();
+    int exitStart = cpyStart + 17;
+    int dotStart = exitStart + EXIT_TAG.length();
+
+    Token moveToken = token(0, "MOVE", 0);
+    Token spaceToken = token(0, " ", 4);
+    Token enter = token(COPYENTRY, ENTER_TAG, 5);
+    Token token0 = token(0, "token0", cpyStart);
+    Token token1 = token(0, ".", cpyStart + 6);
+    // the lexer splits the original token into two
+    Token token2 = token(0, "token1", cpyStart + 7);
+    Token token3 = token(0, "ABC", cpyStart + 13);
+    Token exit = token(COPYEXIT, EXIT_TAG, exitStart);
+    Token dotToken = token(0, ".", dotStart);
+    Token eofToken = token(Token.EOF, "<EOF>", dotStart + 1);
+    when(eofToken.getStopIndex()).thenReturn(dotStart);
+
+    List<Token> tokens =
+        ImmutableList.of(
+            moveToken,
+            spaceToken,
+            enter,
+            token0,
+            token1,
+            token2,
+            token3,
+            exit,
+            dotToken,
+            eofToken);
+
+    LocalityTable actual =
+        LocalityMappingUtils.createPositionMapping(tokens, mappings, URI, ImmutableMap.of());
+
+    assertEquals(8, actual.size());
+    assertEquals(move, actual.get(moveToken));
+    assertEquals(space, actual.get(spaceToken));
+    assertEquals(cpyToken0, actual.get(token0));
+    assertEquals(cpyDot, actual.get(token1));
+    assertEquals(locality(COPYBOOK, 2, 7, "token1"), actual.get(token2));
+    assertEquals(locality(COPYBOOK, 2, 13, "ABC"), actual.get(token3));
+    assertEquals(dot, actual.get(dotToken));
+    assertEquals(eof, actual.get(eofToken));
+    assertNull(actual.get(enter));
+    assertNull(actual.get(exit));
+  }
 
-    Map<Token, Locality> expected =
-        ImmutableMap.of(
-            token0, locality0, token1, locality1, token2, locality2, tokenEOF, localityEOF);
-    Map<Token, Locality> actual =
-        LocalityMappingUtils.createPositionMapping(tokens, mappings, uri, ImmutableMap.of());
+  private Token token(int type, String text, int start) {
+    Token token = mock(Token.class);
+    when(token.getType()).thenReturn(type);
+    when(token.getText()).thenReturn(text);
+    when(token.getTokenIndex()).thenReturn(tokenIndex++);
+    when(token.getStartIndex()).thenReturn(start);
+    when(token.getStopIndex()).thenReturn(start + text.length() - 1);
+    if (type == COPYENTRY || type == COPYEXIT)
+      when(token.getTokenSource()).thenReturn(new CobolLexer(CharStreams.fromString("")));
+    return token;
+  }
 
-    assertTrue(Maps.difference(expected, actual).areEqual());
+  private static Locality locality(String uri, int line, int character, String token) {
+    return Locality.builder()
+        .uri(uri)
+        .range(
+            new Range(
+                new Position(line, character), new Position(line, character + token.length())))
+        .token(token)
+        .build();
   }
 }
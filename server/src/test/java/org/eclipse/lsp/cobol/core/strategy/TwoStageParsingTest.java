@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.core.strategy;
+
+import org.antlr.v4.runtime.*;
+import org.eclipse.lsp.cobol.core.Db2SqlLexer;
+import org.eclipse.lsp.cobol.core.Db2SqlParser;
+import org.eclipse.lsp.cobol.core.messages.MessageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * This test checks that {@link TwoStageParsing} falls back to the LL mode only if the SLL one
+ * fails, and the errors are reported once.
+ */
+class TwoStageParsingTest {
+  private static final String VALID = "CONNECT TO SITE2; COMMIT;";
+  private static final String EARLY_EXIT = "CONNECT TO SITE2; CALL SITE2.MYSCHEMA.P1;";
+  private static final String INVALID = "CONNECT TO ; COMMIT;";
+
+  private final MessageService messageService = mock(MessageService.class);
+  private final List<String> errors = new ArrayList<>();
+
+  @AfterEach
+  void resetMode() {
+    TwoStageParsing.setMode(TwoStageParsing.Mode.TWO_STAGE);
+  }
+
+  @Test
+  void testValidInputDoesNotFallBack() {
+    long fallbacks = TwoStageParsing.getStatistics().getFallbacks();
+    parse(VALID);
+    assertEquals(fallbacks, TwoStageParsing.getStatistics().getFallbacks());
+    assertTrue(errors.isEmpty());
+  }
+
+  @Test
+  void testIncompleteInputFallsBack() {
+    long fallbacks = TwoStageParsing.getStatistics().getFallbacks();
+    String tree = parse(EARLY_EXIT);
+    assertEquals(fallbacks + 1, TwoStageParsing.getStatistics().getFallbacks());
+    assertTrue(tree.contains("SITE2.MYSCHEMA . P1"));
+    assertTrue(errors.isEmpty());
+  }
+
+  @Test
+  void testInvalidInputFallsBackAndReportsErrorsOnce() {
+    TwoStageParsing.setMode(TwoStageParsing.Mode.LL);
+    String expectedTree = parse(INVALID);
+    List<String> expectedErrors = new ArrayList<>(errors);
+    errors.clear();
+
+    TwoStageParsing.setMode(TwoStageParsing.Mode.TWO_STAGE);
+    long fallbacks = TwoStageParsing.getStatistics().getFallbacks();
+    assertEquals(expectedTree, parse(INVALID));
+    assertEquals(fallbacks + 1, TwoStageParsing.getStatistics().getFallbacks());
+    assertFalse(errors.isEmpty());
+    assertEquals(expectedErrors, errors);
+  }
+
+  private String parse(String text) {
+    Db2SqlParser parser =
+        new Db2SqlParser(new CommonTokenStream(new Db2SqlLexer(CharStreams.fromString(text))));
+    parser.removeErrorListeners();
+    parser.addErrorListener(
+        new BaseErrorListener() {
+          @Override
+          public void syntaxError(
+              Recognizer<?, ?> recognizer,
+              Object offendingSymbol,
+              int line,
+              int charPositionInLine,
+              String msg,
+              RecognitionException e) {
+            errors.add(line + ":" + charPositionInLine);
+          }
+        });
+    return TwoStageParsing.parse(parser, messageService, Db2SqlParser::procedureDivisionRules)
+        .toStringTree(parser);
+  }
+}
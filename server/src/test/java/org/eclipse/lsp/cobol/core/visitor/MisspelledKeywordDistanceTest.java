@@ -32,6 +32,14 @@ class MisspelledKeywordDistanceTest {
     assertEquals("MOVE", moves.orElse(""));
   }
 
+  /** Test the keywords with a missing or a replaced character are suggested. */
+  @Test
+  void testSuggestionWithDeletionAndSubstitution() {
+    assertEquals("PERFORM", MisspelledKeywordDistance.calculateDistance("PERFRM").orElse(""));
+    assertEquals("PERFORM", MisspelledKeywordDistance.calculateDistance("PARFORM").orElse(""));
+    assertFalse(MisspelledKeywordDistance.calculateDistance("PRFRM").isPresent());
+  }
+
   /** Test no suggestions returned if the distance to the closest keyword is too long. */
   @Test
   void testTooLongDistanceNotPresent() {
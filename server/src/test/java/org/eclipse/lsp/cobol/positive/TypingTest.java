@@ -22,10 +22,8 @@ import org.eclipse.lsp.cobol.core.model.ResultWithErrors;
 import org.eclipse.lsp.cobol.core.model.SyntaxError;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessor;
 import org.eclipse.lsp.cobol.core.preprocessor.TextPreprocessorImpl;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.cleaner.CobolLineCleanerImpl;
 import org.eclipse.lsp.cobol.core.preprocessor.delegates.reader.CobolLineReaderImpl;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.rewriter.CobolLineIndicatorProcessorImpl;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.transformer.ContinuationLineTransformation;
-import org.eclipse.lsp.cobol.core.preprocessor.delegates.writer.CobolLineWriterImpl;
 import org.eclipse.lsp.cobol.usecases.engine.UseCase;
 import org.eclipse.lsp.cobol.usecases.engine.UseCaseUtils;
 import org.junit.jupiter.api.Test;
@@ -69,10 +67,7 @@ class TypingTest extends FileBasedTest {
   private String getCleanText(CobolText cobolText) {
     TextPreprocessor preprocessor = new TextPreprocessorImpl(
         null,
-        new CobolLineReaderImpl(null),
-        new CobolLineWriterImpl(),
-        new ContinuationLineTransformation(null),
-        new CobolLineIndicatorProcessorImpl()
+        new CobolLineCleanerImpl(new CobolLineReaderImpl(null), null)
     );
     ResultWithErrors<String> cleanTextResult = preprocessor.cleanUpCode(cobolText.getFileName(), cobolText.getFullText());
     for (SyntaxError error: cleanTextResult.getErrors())
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutorService;
+import org.eclipse.lsp.cobol.service.utils.TaskPriority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test checks that {@link AnalysisScheduler} debounces the changes, analyzes only the newest
+ * text and runs at most one analysis per document.
+ */
+class AnalysisSchedulerTest {
+  private static final String URI = "file:///document.cbl";
+
+  private final CustomThreadPoolExecutorService executors =
+      new CustomThreadPoolExecutorService(2, 2, 60, 1, 0);
+  private final AnalysisScheduler scheduler = new AnalysisScheduler(executors, 100);
+  private final List<String> analyzed = new CopyOnWriteArrayList<>();
+  private final AtomicInteger reused = new AtomicInteger();
+
+  @AfterEach
+  void shutdown() {
+    executors.getThreadPoolExecutor().shutdownNow();
+    executors.getScheduledThreadPoolExecutor().shutdownNow();
+  }
+
+  @Test
+  void testChangesAreCoalesced() {
+    asList("A", "AB", "ABC").forEach(it -> scheduler.schedule(URI, it, analyzed::add, this::reuse));
+
+    await().until(() -> !analyzed.isEmpty());
+    assertEquals(singletonList("ABC"), analyzed);
+  }
+
+  @Test
+  void testSameTextIsNotAnalyzedTwice() {
+    scheduler.schedule(URI, "A", analyzed::add, this::reuse);
+    await().until(() -> !analyzed.isEmpty());
+    scheduler.schedule(URI, "AB", analyzed::add, this::reuse);
+    scheduler.schedule(URI, "A", analyzed::add, this::reuse);
+
+    await().until(() -> reused.get() == 1);
+    assertEquals(singletonList("A"), analyzed);
+  }
+
+  @Test
+  void testOnlyOneAnalysisRunsPerDocument() throws InterruptedException {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    scheduler.schedule(
+        URI,
+        "A",
+        text -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          started.countDown();
+          try {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            running.decrementAndGet();
+          }
+          return true;
+        },
+        this::reuse);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    scheduler.schedule(
+        URI,
+        "AB",
+        text -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          analyzed.add(text);
+          running.decrementAndGet();
+          return true;
+        },
+        this::reuse);
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> !analyzed.isEmpty());
+    assertEquals(singletonList("AB"), analyzed);
+    assertEquals(1, maxRunning.get());
+  }
+
+  @Test
+  void testFailedAnalysisIsNotReused() {
+    scheduler.schedule(URI, "A", text -> !analyzed.add(text), this::reuse);
+    await().until(() -> analyzed.size() == 1);
+    scheduler.schedule(URI, "AB", analyzed::add, this::reuse);
+    scheduler.schedule(URI, "A", analyzed::add, this::reuse);
+
+    await().until(() -> analyzed.size() == 2);
+    assertEquals(asList("A", "A"), analyzed);
+    assertEquals(0, reused.get());
+  }
+
+  @Test
+  void testSubmittedAnalysisRunsAfterRunningOne() throws InterruptedException {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    scheduler.schedule(
+        URI,
+        "A",
+        text -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          started.countDown();
+          try {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            running.decrementAndGet();
+          }
+          return true;
+        },
+        this::reuse);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    scheduler.submit(
+        URI,
+        "A",
+        text -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          analyzed.add(text);
+          running.decrementAndGet();
+          return true;
+        },
+        TaskPriority.BACKGROUND);
+
+    await().atMost(5, TimeUnit.SECONDS).until(() -> !analyzed.isEmpty());
+    assertEquals(singletonList("A"), analyzed);
+    assertEquals(1, maxRunning.get());
+    assertEquals(0, reused.get());
+  }
+
+  @Test
+  void testCancelledAnalysisDoesNotRun() throws InterruptedException {
+    scheduler.schedule(URI, "A", analyzed::add, this::reuse);
+    scheduler.cancel(URI);
+
+    Thread.sleep(300);
+    assertTrue(analyzed.isEmpty());
+  }
+
+  private void reuse() {
+    reused.incrementAndGet();
+  }
+}
@@ -17,19 +17,27 @@ package org.eclipse.lsp.cobol.service;
 
 import com.google.common.collect.ImmutableList;
 import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import org.eclipse.lsp.cobol.core.messages.LocaleStore;
 import org.eclipse.lsp.cobol.core.model.ErrorCode;
+import org.eclipse.lsp.cobol.core.preprocessor.delegates.copybooks.analysis.PersistentCopybookCache;
 import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
 import org.eclipse.lsp4j.*;
 import org.eclipse.lsp4j.services.TextDocumentService;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.stream;
 import static java.util.Collections.singletonList;
@@ -44,6 +52,7 @@ import static org.mockito.Mockito.*;
 class CobolLanguageServerTest {
 
   private static CustomThreadPoolExecutor customExecutor;
+  private static ForkJoinPool semanticAnalysisPool;
   private DisposableLSPStateService stateService;
 
   @BeforeAll
@@ -52,6 +61,9 @@ class CobolLanguageServerTest {
     when(customExecutor.getThreadPoolExecutor()).thenReturn(Executors.newFixedThreadPool(3));
     when(customExecutor.getScheduledThreadPoolExecutor())
         .thenReturn(Executors.newSingleThreadScheduledExecutor());
+    when(customExecutor.getEventBusExecutor()).thenReturn(Executors.newSingleThreadExecutor());
+    semanticAnalysisPool = new ForkJoinPool(2);
+    when(customExecutor.getSemanticAnalysisPool()).thenReturn(Optional.of(semanticAnalysisPool));
   }
 
   @BeforeEach
@@ -95,7 +107,8 @@ class CobolLanguageServerTest {
             customExecutor,
             stateService,
             configurationService,
-            copybookNameService);
+            copybookNameService,
+            null);
 
     server.initialized(new InitializedParams());
 
@@ -117,7 +130,7 @@ class CobolLanguageServerTest {
   void initialize() {
     CobolLanguageServer server =
         new CobolLanguageServer(
-            null, null, null, null, null, customExecutor, stateService, null, null);
+            null, null, null, null, null, customExecutor, stateService, null, null, null);
     InitializeParams initializeParams = new InitializeParams();
 
     List<WorkspaceFolder> workspaceFolders = singletonList(new WorkspaceFolder("uri", "name"));
@@ -135,16 +148,65 @@ class CobolLanguageServerTest {
   @Test
   void shutdown() {
     TextDocumentService textDocumentService = mock(CobolTextDocumentService.class);
+    PersistentCopybookCache persistentCopybookCache = mock(PersistentCopybookCache.class);
     CobolLanguageServer server =
         new CobolLanguageServer(
-            textDocumentService, null, null, null, null, customExecutor, stateService, null, null);
+            textDocumentService,
+            null,
+            null,
+            null,
+            null,
+            customExecutor,
+            stateService,
+            null,
+            null,
+            persistentCopybookCache);
     assertEquals(1, stateService.getExitCode());
     server.shutdown();
     assertEquals(0, stateService.getExitCode());
+    assertTrue(semanticAnalysisPool.isShutdown());
+    verify(persistentCopybookCache).flush();
+  }
+
+  /**
+   * This test checks that the persistent copybook cache is opened in the location provided by the
+   * client in the initialization options, and its new entries are stored periodically.
+   */
+  @Test
+  void initializeWithCopybookCacheLocation() {
+    PersistentCopybookCache persistentCopybookCache = mock(PersistentCopybookCache.class);
+    CustomThreadPoolExecutor executors = mock(CustomThreadPoolExecutor.class);
+    ScheduledExecutorService scheduledExecutor = mock(ScheduledExecutorService.class);
+    when(executors.getScheduledThreadPoolExecutor()).thenReturn(scheduledExecutor);
+    CobolLanguageServer server =
+        new CobolLanguageServer(
+            null,
+            null,
+            null,
+            null,
+            null,
+            executors,
+            stateService,
+            null,
+            null,
+            persistentCopybookCache);
+    InitializeParams initializeParams = new InitializeParams();
+    JsonObject options = new JsonObject();
+    options.addProperty("copybookCacheLocation", "storage");
+    initializeParams.setInitializationOptions(options);
+
+    server.initialize(initializeParams);
+
+    verify(persistentCopybookCache).open(Paths.get("storage"));
+    ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduledExecutor)
+        .scheduleWithFixedDelay(flush.capture(), anyLong(), anyLong(), eq(TimeUnit.SECONDS));
+    flush.getValue().run();
+    verify(persistentCopybookCache).flush();
   }
 
   private void checkOnlySupportedCapabilitiesAreSet(ServerCapabilities capabilities) {
-    assertEquals(TextDocumentSyncKind.Full, capabilities.getTextDocumentSync().getLeft());
+    assertEquals(TextDocumentSyncKind.Incremental, capabilities.getTextDocumentSync().getLeft());
     assertTrue(capabilities.getWorkspace().getWorkspaceFolders().getSupported());
     assertTrue(capabilities.getDefinitionProvider());
     assertTrue(capabilities.getReferencesProvider());
@@ -156,7 +218,7 @@ class CobolLanguageServerTest {
         stream(values()).map(ErrorCode::name).collect(toList()),
         capabilities.getExecuteCommandProvider().getCommands());
 
-    assertFalse(capabilities.getCompletionProvider().getResolveProvider());
+    assertTrue(capabilities.getCompletionProvider().getResolveProvider());
     assertNull(capabilities.getWorkspace().getWorkspaceFolders().getChangeNotifications());
     assertNull(capabilities.getDocumentRangeFormattingProvider());
     assertTrue(capabilities.getHoverProvider());
@@ -443,6 +443,33 @@ class CobolTextDocumentServiceTest extends MockTextDocumentService {
     verify(communications, timeout(2000).atLeastOnce()).cancelProgressNotification(DOCUMENT_URI);
   }
 
+  /**
+   * Test the analysis triggered by {@link RunAnalysisEvent} keeps the document model, so the
+   * incremental changes applied to it by didChange are not lost.
+   */
+  @Test
+  void testRunAnalysisEventKeepsDocumentModel() {
+    service = getMockedTextDocumentServiceUsingSeparateThread();
+    lenient()
+        .when(engine.analyze(eq(DOCUMENT_URI), eq(TEXT_EXAMPLE), any(AnalysisConfig.class)))
+        .thenReturn(AnalysisResult.builder().build());
+    lenient()
+        .when(configurationService.getConfig(any()))
+        .thenReturn(AnalysisConfig.defaultConfig(ENABLED));
+
+    service.didOpen(
+        new DidOpenTextDocumentParams(
+            new TextDocumentItem(DOCUMENT_URI, LANGUAGE, 0, TEXT_EXAMPLE)));
+    CobolDocumentModel document = service.getDocs().get(DOCUMENT_URI);
+
+    service.onRunAnalysisEventCallback(new RunAnalysisEvent());
+
+    assertSame(document, service.getDocs().get(DOCUMENT_URI));
+    assertEquals(TEXT_EXAMPLE, document.getText());
+    verify(engine, timeout(2000).atLeastOnce())
+        .analyze(DOCUMENT_URI, TEXT_EXAMPLE, AnalysisConfig.defaultConfig(ENABLED));
+  }
+
   @Test
   void testHover() {
     service = getMockedTextDocumentServiceUsingSeparateThread();
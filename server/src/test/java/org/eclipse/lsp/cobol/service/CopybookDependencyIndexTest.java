@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp.cobol.core.model.Locality;
+import org.eclipse.lsp.cobol.core.model.tree.RootNode;
+import org.eclipse.lsp.cobol.core.semantics.NamedSubContext;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This test checks that {@link CopybookDependencyIndex} finds the documents that depend on the
+ * changed copybooks by their URIs, folders and names.
+ */
+class CopybookDependencyIndexTest {
+  private static final String DOCUMENT = "file:///c%3A/workspace/DOCUMENT.cbl";
+  private static final String OTHER_DOCUMENT = "file:///c%3A/workspace/OTHER.cbl";
+  private static final String FOLDER = "file:///c%3A/workspace/copybooks";
+  private static final String STRUCT_URI = FOLDER + "/STRUCT.cpy";
+  private static final String NESTED_URI = FOLDER + "/nested/NESTED.cpy";
+
+  private final CopybookDependencyIndex index = new CopybookDependencyIndex();
+
+  @Test
+  void testFindByCopybookUri() {
+    index.update(DOCUMENT, createTree("STRUCT", STRUCT_URI, "NESTED", NESTED_URI));
+    index.update(OTHER_DOCUMENT, createTree("STRUCT", STRUCT_URI));
+
+    assertEquals(
+        ImmutableList.of(DOCUMENT),
+        ImmutableList.copyOf(index.findDependentDocuments(singletonList(NESTED_URI))));
+    assertEquals(2, index.findDependentDocuments(singletonList(STRUCT_URI)).size());
+  }
+
+  @Test
+  void testFindByFolder() {
+    index.update(DOCUMENT, createTree("NESTED", NESTED_URI));
+
+    assertEquals(
+        ImmutableList.of(DOCUMENT),
+        ImmutableList.copyOf(index.findDependentDocuments(singletonList(FOLDER))));
+    assertEquals(emptySet(), index.findDependentDocuments(singletonList(FOLDER + "/nest")));
+  }
+
+  @Test
+  void testFindMissingCopybookByName() {
+    index.update(DOCUMENT, createTree("MISSING", "implicit:///implicitCopybooks/MISSING"));
+
+    assertEquals(
+        ImmutableList.of(DOCUMENT),
+        ImmutableList.copyOf(
+            index.findDependentDocuments(singletonList(FOLDER + "/missing.cpy"))));
+    assertEquals(
+        ImmutableList.of(DOCUMENT),
+        ImmutableList.copyOf(index.findDependentDocuments(singletonList("MISSING"))));
+  }
+
+  @Test
+  void testUpdateAndRemoveReplaceDependencies() {
+    index.update(DOCUMENT, createTree("STRUCT", STRUCT_URI));
+    index.update(DOCUMENT, createTree("NESTED", NESTED_URI));
+
+    assertEquals(emptySet(), index.findDependentDocuments(singletonList(STRUCT_URI)));
+    assertEquals(1, index.findDependentDocuments(singletonList(NESTED_URI)).size());
+
+    index.remove(DOCUMENT);
+    assertEquals(emptySet(), index.findDependentDocuments(singletonList(NESTED_URI)));
+  }
+
+  private static RootNode createTree(String... namesAndUris) {
+    NamedSubContext copybooks = new NamedSubContext();
+    for (int i = 0; i < namesAndUris.length; i += 2) {
+      copybooks.define(namesAndUris[i], new Location(namesAndUris[i + 1], new Range()));
+    }
+    return new RootNode(Locality.builder().build(), copybooks);
+  }
+}
@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Test;
 
 import java.net.URI;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static java.util.Arrays.asList;
@@ -182,6 +183,91 @@ class CopybookServiceTest {
     verify(files, times(2)).getPathFromURI(VALID_CPY_URI);
   }
 
+  /**
+   * Test that the prefetch resolves all the not cached copybooks with a single request to the
+   * client, and the following resolution doesn't call the client
+   */
+  @Test
+  void testPrefetchResolvesCopybooksInBatch() {
+    CopybookName copybookName = new CopybookName(VALID_CPY_NAME, DialectType.COBOL.name());
+    CopybookName missingName = new CopybookName(INVALID_CPY_NAME, DialectType.COBOL.name());
+    List<String> sections =
+        asList(
+            "copybook-resolve.document." + VALID_CPY_NAME + ".COBOL",
+            "copybook-resolve.document." + INVALID_CPY_NAME + ".COBOL");
+    when(settingsService.getConfigurations(sections))
+        .thenReturn(
+            completedFuture(asList(new JsonPrimitive(VALID_CPY_URI), new JsonPrimitive(""))));
+    CopybookService copybookService = createCopybookService();
+
+    copybookService.prefetch(
+        asList(copybookName, missingName, copybookName), DOCUMENT_URI, cpyConfig);
+
+    assertEquals(
+        new CopybookModel(copybookName, VALID_CPY_URI, CONTENT),
+        copybookService.resolve(copybookName, DOCUMENT_URI, cpyConfig));
+    assertEquals(
+        new CopybookModel(missingName, null, null),
+        copybookService.resolve(missingName, DOCUMENT_URI, cpyConfig));
+    verify(settingsService).getConfigurations(sections);
+    verify(settingsService, never())
+        .getConfiguration("copybook-resolve", "document", VALID_CPY_NAME, DialectType.COBOL.name());
+    verify(settingsService, never())
+        .getConfiguration(
+            "copybook-resolve", "document", INVALID_CPY_NAME, DialectType.COBOL.name());
+  }
+
+  /**
+   * Test that the prefetch leaves the copybooks for the regular resolution if the client doesn't
+   * respond to all of them
+   */
+  @Test
+  void testPrefetchFallsBackOnIncompleteResponse() {
+    CopybookName copybookName = new CopybookName(VALID_CPY_NAME, DialectType.COBOL.name());
+    CopybookName missingName = new CopybookName(INVALID_CPY_NAME, DialectType.COBOL.name());
+    when(settingsService.getConfigurations(any()))
+        .thenReturn(completedFuture(singletonList(new JsonPrimitive(VALID_CPY_URI))));
+    CopybookService copybookService = createCopybookService();
+
+    copybookService.prefetch(asList(copybookName, missingName), DOCUMENT_URI, cpyConfig);
+
+    assertEquals(
+        new CopybookModel(copybookName, VALID_CPY_URI, CONTENT),
+        copybookService.resolve(copybookName, DOCUMENT_URI, cpyConfig));
+    verify(settingsService)
+        .getConfiguration("copybook-resolve", "document", VALID_CPY_NAME, DialectType.COBOL.name());
+  }
+
+  /**
+   * Test that the selective cache invalidation removes only the copybooks affected by the changed
+   * files, either by their URIs or by their names
+   */
+  @Test
+  void testSelectiveCacheInvalidation() {
+    CopybookName copybookName = new CopybookName(VALID_CPY_NAME, DialectType.COBOL.name());
+    CopybookName missingName = new CopybookName(INVALID_CPY_NAME, DialectType.COBOL.name());
+    CopybookService copybookService = createCopybookService();
+    copybookService.resolve(copybookName, DOCUMENT_URI, cpyConfig);
+    copybookService.resolve(missingName, DOCUMENT_URI, cpyConfig);
+
+    copybookService.invalidateCache(
+        singletonList("file:///c%3A/workspace/.c4z/.copybooks/OTHER.cpy"));
+    copybookService.resolve(copybookName, DOCUMENT_URI, cpyConfig);
+    verify(files, times(1)).getPathFromURI(VALID_CPY_URI);
+
+    copybookService.invalidateCache(singletonList("file:///c%3A/workspace/.c4z"));
+    copybookService.resolve(copybookName, DOCUMENT_URI, cpyConfig);
+    verify(files, times(2)).getPathFromURI(VALID_CPY_URI);
+
+    copybookService.invalidateCache(singletonList("file:///c%3A/workspace/invalid.cpy"));
+    copybookService.resolve(copybookName, DOCUMENT_URI, cpyConfig);
+    copybookService.resolve(missingName, DOCUMENT_URI, cpyConfig);
+    verify(files, times(2)).getPathFromURI(VALID_CPY_URI);
+    verify(settingsService, times(2))
+        .getConfiguration(
+            "copybook-resolve", "document", INVALID_CPY_NAME, DialectType.COBOL.name());
+  }
+
   /**
    * Test {@link CopybookService} responds even if the {@link SettingsService} return invalid result
    */
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/** This test checks that {@link DocumentText} applies incremental changes correctly. */
+class DocumentTextTest {
+  private static final String TEXT = "       PROGRAM-ID. TEST1.\r\n       DATA DIVISION.\n       END.";
+
+  @Test
+  void testLinesAreSplitWithAllTerminators() {
+    DocumentText document = new DocumentText(TEXT);
+    assertEquals(
+        ImmutableList.of("       PROGRAM-ID. TEST1.", "       DATA DIVISION.", "       END."),
+        document.getLines());
+    assertEquals("       DATA DIVISION.", document.getLine(1));
+    assertNull(document.getLine(3));
+    assertEquals(TEXT, document.getText());
+  }
+
+  @Test
+  void testInsertionInsideLine() {
+    DocumentText document = new DocumentText(TEXT);
+    document.applyChanges(ImmutableList.of(change(0, 24, 0, 24, "2")));
+    assertEquals("       PROGRAM-ID. TEST12.", document.getLine(0));
+    assertEquals(TEXT.replace("TEST1.", "TEST12."), document.getText());
+  }
+
+  @Test
+  void testMultilineReplacement() {
+    DocumentText document = new DocumentText(TEXT);
+    document.applyChanges(ImmutableList.of(change(0, 19, 1, 11, "A.\n       B\n       DATA")));
+    assertEquals(
+        "       PROGRAM-ID. A.\n       B\n       DATA DIVISION.\n       END.",
+        document.getText());
+    assertEquals("       DATA DIVISION.", document.getLine(2));
+  }
+
+  @Test
+  void testLineDeletion() {
+    DocumentText document = new DocumentText(TEXT);
+    document.applyChanges(ImmutableList.of(change(1, 0, 2, 0, "")));
+    assertEquals("       PROGRAM-ID. TEST1.\r\n       END.", document.getText());
+    assertEquals("       END.", document.getLine(1));
+  }
+
+  @Test
+  void testNewLineAtTheEnd() {
+    DocumentText document = new DocumentText(TEXT);
+    document.applyChanges(
+        ImmutableList.of(change(2, 11, 2, 11, "\n"), change(3, 0, 3, 0, "       STOP RUN.")));
+    assertEquals(TEXT + "\n       STOP RUN.", document.getText());
+    assertEquals("       STOP RUN.", document.getLine(3));
+  }
+
+  @Test
+  void testFullTextChange() {
+    DocumentText document = new DocumentText(TEXT);
+    document.applyChanges(ImmutableList.of(new TextDocumentContentChangeEvent("new\ntext\n")));
+    assertEquals(ImmutableList.of("new", "text"), document.getLines());
+    assertEquals("new\ntext\n", document.getText());
+  }
+
+  private static TextDocumentContentChangeEvent change(
+      int startLine, int startChar, int endLine, int endChar, String text) {
+    TextDocumentContentChangeEvent event = new TextDocumentContentChangeEvent(text);
+    event.setRange(
+        new Range(new Position(startLine, startChar), new Position(endLine, endChar)));
+    return event;
+  }
+}
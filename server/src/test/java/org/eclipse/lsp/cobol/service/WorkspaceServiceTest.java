@@ -95,7 +95,9 @@ class WorkspaceServiceTest {
     } catch (InterruptedException | ExecutionException e) {
       fail(e.getMessage());
     }
-    verify(broker, timeout(10000)).postData(any(RunAnalysisEvent.class));
+    verify(broker, timeout(10000))
+        .postData(new RunAnalysisEvent(true, singletonList(copybookName)));
+    verify(copybookService).invalidateCache(singletonList(copybookName));
   }
 
   /**
@@ -378,6 +380,8 @@ class WorkspaceServiceTest {
     DidChangeWatchedFilesParams params = new DidChangeWatchedFilesParams(singletonList(event));
     service.didChangeWatchedFiles(params);
 
-    verify(broker).postData(any(RunAnalysisEvent.class));
+    verify(copybookService).invalidateCache(singletonList(event.getUri()));
+    verify(copybookService, never()).invalidateCache();
+    verify(broker).postData(new RunAnalysisEvent(false, singletonList(event.getUri())));
   }
 }
@@ -16,41 +16,95 @@
 package org.eclipse.lsp.cobol.service.delegates.completions;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.gson.JsonObject;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp4j.*;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collection;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.COPYBOOKS;
 import static org.eclipse.lsp.cobol.service.delegates.completions.CompletionOrder.VARIABLES;
 import static org.eclipse.lsp.cobol.service.delegates.completions.MockCompletionModel.RESULT;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * This test checks the logic of completion support. It retrieves the token by the given position
  * and calls all the providers in attempt to resolve it.
  */
 class CompletionsTest {
+  private static final String URI = "document";
+  private static final CobolDocumentModel DOCUMENT =
+      new CobolDocumentModel("Lorem ipsum dolor c amet", RESULT);
+
+  private final Completions completions =
+      new Completions(
+          ImmutableSet.of(
+              new CopybookCompletion(), new VariableCompletion(), new ParagraphCompletion()));
+
   @Test
   void testCollecting() {
-    Completions completions =
-        new Completions(
-            ImmutableSet.of(
-                new CopybookCompletion(), new VariableCompletion(), new ParagraphCompletion()));
     CompletionList actual =
         completions.collectFor(
-            new CobolDocumentModel("Lorem ipsum dolor c amet", RESULT),
+            DOCUMENT,
             new CompletionParams(
-                new TextDocumentIdentifier(""), new Position(0, 19))); // The position of 'c;
+                new TextDocumentIdentifier(URI), new Position(0, 19))); // The position of 'c;
+    assertFalse(actual.isIncomplete());
     assertThat(actual.getItems(), Matchers.containsInAnyOrder(createExpected()));
   }
 
+  @Test
+  void testResolving() {
+    CompletionItem item = createItem("constD1", CompletionItemKind.Variable, VARIABLES, URI);
+    assertEquals(
+        Either.forLeft("sys IS constD1."),
+        completions.resolve(item, uri -> URI.equals(uri) ? DOCUMENT : null).getDocumentation());
+  }
+
+  @Test
+  void testResolvingUnknownDocument() {
+    CompletionItem item = createItem("constD1", CompletionItemKind.Variable, VARIABLES, "other");
+    assertNull(
+        completions.resolve(item, uri -> URI.equals(uri) ? DOCUMENT : null).getDocumentation());
+  }
+
+  @Test
+  void testCappingResults() {
+    Completion manyItems =
+        new Completion() {
+          @Override
+          public Collection<CompletionItem> getCompletionItems(
+              String token, CobolDocumentModel document) {
+            return IntStream.range(0, Completions.MAX_ITEMS)
+                .mapToObj(it -> createItem("ITEM" + it, CompletionItemKind.Text, COPYBOOKS))
+                .collect(Collectors.toList());
+          }
+        };
+    CompletionList actual =
+        new Completions(ImmutableSet.of(manyItems, new VariableCompletion()))
+            .collectFor(
+                DOCUMENT,
+                new CompletionParams(new TextDocumentIdentifier(URI), new Position(0, 19)));
+    assertTrue(actual.isIncomplete());
+    assertEquals(Completions.MAX_ITEMS, actual.getItems().size());
+    assertEquals("ConstD2", actual.getItems().get(0).getLabel());
+    assertEquals("constD1", actual.getItems().get(1).getLabel());
+  }
+
   private CompletionItem[] createExpected() {
     return new CompletionItem[] {
       createItem("cpyU1", CompletionItemKind.Class, COPYBOOKS),
       createItem("CpyU2", CompletionItemKind.Class, COPYBOOKS),
-      createItem("constD1", CompletionItemKind.Variable, VARIABLES, "sys IS constD1."),
-      createItem("ConstD2", CompletionItemKind.Variable, VARIABLES, "sys IS ConstD2.")
+      createItem("constD1", CompletionItemKind.Variable, VARIABLES, URI),
+      createItem("ConstD2", CompletionItemKind.Variable, VARIABLES, URI)
     };
   }
 
@@ -58,14 +112,19 @@ class CompletionsTest {
     return createItem(name, kind, order, null);
   }
 
-  private CompletionItem createItem(String name, CompletionItemKind kind, CompletionOrder order, String documentation) {
+  private CompletionItem createItem(
+      String name, CompletionItemKind kind, CompletionOrder order, String uri) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
     item.setInsertText(name);
     item.setKind(kind);
     item.setSortText(order.prefix + name);
-    if (documentation != null)
-      item.setDocumentation(documentation);
+    if (uri != null) {
+      JsonObject data = new JsonObject();
+      data.addProperty("ordinal", 0);
+      data.addProperty("uri", uri);
+      item.setData(data);
+    }
     return item;
   }
 }
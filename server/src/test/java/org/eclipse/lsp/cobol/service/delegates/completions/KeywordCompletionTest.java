@@ -21,9 +21,11 @@ import org.eclipse.lsp.cobol.service.delegates.validations.AnalysisResult;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 import org.eclipse.lsp4j.MarkupContent;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -67,18 +69,30 @@ class KeywordCompletionTest {
         createExpected(), completion.getCompletionItems("ACCEP", MockCompletionModel.MODEL));
   }
 
+  @Test
+  void testResolveDocumentation() {
+    MarkupContent doc = new MarkupContent();
+    doc.setValue(DOCUMENTATION_TEXT);
+    doc.setKind("markdown");
+    assertEquals(
+        Optional.of(Either.forRight(doc)), completion.resolveDocumentation(createItem(), null));
+  }
+
+  @Test
+  void testResolveDocumentationOfOtherItem() {
+    CompletionItem item = createItem();
+    item.setKind(CompletionItemKind.Snippet);
+    assertEquals(Optional.empty(), completion.resolveDocumentation(item, null));
+  }
+
   private List<CompletionItem> createExpected() {
     return ImmutableList.of(createItem());
   }
 
   private CompletionItem createItem() {
-    MarkupContent doc = new MarkupContent();
-    doc.setValue(DOCUMENTATION_TEXT);
-    doc.setKind("markdown");
     CompletionItem item = new CompletionItem(LABEL);
     item.setLabel(LABEL);
     item.setInsertText(LABEL);
-    item.setDocumentation(doc);
     item.setKind(CompletionItemKind.Keyword);
     item.setSortText("7" + LABEL);
     return item;
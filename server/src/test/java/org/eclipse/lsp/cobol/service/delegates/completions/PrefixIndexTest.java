@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.delegates.completions;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Test {@link PrefixIndex} finds the names by prefix and by name ignoring case */
+class PrefixIndexTest {
+  private final PrefixIndex<String> index =
+      PrefixIndex.of(
+          ImmutableList.of("MOVE", "add", "Accept", "ADD", "ALTER", "MULTIPLY"),
+          Function.identity());
+
+  @Test
+  void testFindByPrefix() {
+    assertEquals(ImmutableList.of("Accept", "add", "ADD"), index.findByPrefix("a", 3));
+    assertEquals(ImmutableList.of("add", "ADD"), index.findByPrefix("Ad", 10));
+    assertEquals(ImmutableList.of("MOVE", "MULTIPLY"), index.findByPrefix("m", 10));
+    assertEquals(ImmutableList.of(), index.findByPrefix("n", 10));
+    assertEquals(6, index.findByPrefix("", 10).size());
+  }
+
+  @Test
+  void testFindByName() {
+    assertEquals(ImmutableList.of("add", "ADD"), index.findByName("Add"));
+    assertEquals(ImmutableList.of(), index.findByName("AL"));
+  }
+}
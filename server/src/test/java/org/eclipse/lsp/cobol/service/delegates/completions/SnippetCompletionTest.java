@@ -21,9 +21,11 @@ import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 import org.eclipse.lsp4j.InsertTextFormat;
 import org.eclipse.lsp4j.MarkupContent;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -55,19 +57,24 @@ class SnippetCompletionTest {
     assertEquals(createExpected(), completion.getCompletionItems("wr", MockCompletionModel.MODEL));
   }
 
+  @Test
+  void testResolveDocumentation() {
+    MarkupContent doc = new MarkupContent();
+    doc.setValue(DOCUMENTATION_TEXT);
+    doc.setKind("markdown");
+    assertEquals(
+        Optional.of(Either.forRight(doc)), completion.resolveDocumentation(createItem(), null));
+  }
+
   private List<CompletionItem> createExpected() {
     return ImmutableList.of(createItem());
   }
 
   private CompletionItem createItem() {
-    MarkupContent doc = new MarkupContent();
-    doc.setValue(DOCUMENTATION_TEXT);
-    doc.setKind("markdown");
     CompletionItem item = new CompletionItem(LABEL);
     item.setLabel(DOCUMENTATION_TEXT);
     item.setInsertText(INSERT_TEXT);
     item.setInsertTextFormat(InsertTextFormat.Snippet);
-    item.setDocumentation(doc);
     item.setKind(CompletionItemKind.Snippet);
     item.setSortText("6" + DOCUMENTATION_TEXT);
     return item;
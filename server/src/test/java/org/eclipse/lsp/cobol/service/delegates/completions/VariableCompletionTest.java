@@ -16,13 +16,16 @@ package org.eclipse.lsp.cobol.service.delegates.completions;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonObject;
 import org.eclipse.lsp.cobol.service.CobolDocumentModel;
 import org.eclipse.lsp.cobol.usecases.engine.UseCaseEngine;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
@@ -47,6 +50,12 @@ class VariableCompletionTest {
       + "       01 {$*VAR2} PIC 9.\n"
       + "       01 {$*ANOTHER} PIC 9.\n";
 
+  private static final String DUPLICATED_TEXT = HEADER
+      + "       01 {$*GROUP1}.\n"
+      + "          05 {$*ITEM} PIC 9.\n"
+      + "       01 {$*GROUP2}.\n"
+      + "          05 {$*ITEM} PIC X.\n";
+
   @Test
   void testCompletionEmptyResult() {
     assertThat(
@@ -66,15 +75,39 @@ class VariableCompletionTest {
     assertEquals(createExpected(), completion.getCompletionItems("va", getModel(FULL_TEXT)));
   }
 
+  @Test
+  void testResolveDocumentation() {
+    CobolDocumentModel model = getModel(FULL_TEXT);
+    assertEquals(
+        Optional.of(Either.forLeft("01 VAR2 PIC 9.")),
+        completion.resolveDocumentation(createItem("VAR2", 0), model));
+  }
+
+  @Test
+  void testResolveDocumentationOfDuplicatedNames() {
+    CobolDocumentModel model = getModel(DUPLICATED_TEXT);
+    assertEquals(
+        ImmutableList.of(createItem("ITEM", 0), createItem("ITEM", 1)),
+        completion.getCompletionItems("it", model));
+    assertEquals(
+        Optional.of(Either.forLeft("01 GROUP1.\n  05 ITEM PIC 9.")),
+        completion.resolveDocumentation(createItem("ITEM", 0), model));
+    assertEquals(
+        Optional.of(Either.forLeft("01 GROUP2.\n  05 ITEM PIC X.")),
+        completion.resolveDocumentation(createItem("ITEM", 1), model));
+  }
+
   private List<CompletionItem> createExpected() {
-    return ImmutableList.of(createItem("VAR1", "01 VAR1 PIC 9."), createItem("VAR2", "01 VAR2 PIC 9."));
+    return ImmutableList.of(createItem("VAR1", 0), createItem("VAR2", 0));
   }
 
-  private CompletionItem createItem(String name, String desc) {
+  private CompletionItem createItem(String name, int ordinal) {
     CompletionItem item = new CompletionItem(name);
     item.setLabel(name);
     item.setInsertText(name);
-    item.setDocumentation(desc);
+    JsonObject data = new JsonObject();
+    data.addProperty("ordinal", ordinal);
+    item.setData(data);
     item.setKind(CompletionItemKind.Variable);
     item.setSortText("0" + name);
     return item;
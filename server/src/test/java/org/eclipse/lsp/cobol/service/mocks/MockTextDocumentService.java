@@ -82,7 +82,7 @@ public class MockTextDocumentService {
         .occurrences(occurrences)
         .formations(formations)
         .disposableLSPStateService(new CobolLSPServerStateService())
-        .executors(new CustomThreadPoolExecutorService(1, 1, 60, 1))
+        .executors(new CustomThreadPoolExecutorService(1, 1, 60, 1, 0))
         .hoverProvider(hoverProvider)
         .configurationService(configurationService)
         .build();
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.service.utils;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.lsp.cobol.service.utils.TaskPriority.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test checks that {@link PriorityTaskExecutor} runs the tasks of higher priority classes
+ * first, respects the class limits, and promotes the tasks that wait for too long.
+ */
+class PriorityTaskExecutorTest {
+  private static final long AGING_INTERVAL = 1000;
+  private static final Map<TaskPriority, Integer> LIMITS =
+      ImmutableMap.of(INTERACTIVE, 2, ACTIVE_DOCUMENT, 2, OPEN_DOCUMENT, 1, BACKGROUND, 1);
+
+  private final AtomicLong clock = new AtomicLong();
+  private final List<TaskPriority> order = new CopyOnWriteArrayList<>();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private PriorityTaskExecutor executor;
+
+  @AfterEach
+  void shutdown() {
+    release.countDown();
+    executor.forPriority(INTERACTIVE).shutdownNow();
+  }
+
+  @Test
+  void testHigherPriorityRunsFirst() throws Exception {
+    executor = create(1);
+    Future<?> blocker = executor.forPriority(INTERACTIVE).submit(this::await);
+    Future<?> background = submit(BACKGROUND);
+    Future<?> openDocument = submit(OPEN_DOCUMENT);
+    Future<?> interactive = submit(INTERACTIVE);
+    release.countDown();
+    waitFor(blocker, background, openDocument, interactive);
+
+    assertEquals(asList(INTERACTIVE, OPEN_DOCUMENT, BACKGROUND), order);
+  }
+
+  @Test
+  void testClassLimitBoundsConcurrency() throws Exception {
+    executor = create(2);
+    Future<?> first = executor.forPriority(BACKGROUND).submit(this::await);
+    Future<?> second = executor.forPriority(BACKGROUND).submit(this::await);
+
+    assertEquals(1, executor.getQueueSize(BACKGROUND));
+    Future<?> interactive = submit(INTERACTIVE);
+    interactive.get(5, TimeUnit.SECONDS);
+    assertEquals(asList(INTERACTIVE), order);
+
+    release.countDown();
+    waitFor(first, second);
+    assertEquals(0, executor.getQueueSize(BACKGROUND));
+  }
+
+  @Test
+  void testWaitingTaskIsPromoted() throws Exception {
+    executor = create(1);
+    Future<?> blocker = executor.forPriority(INTERACTIVE).submit(this::await);
+    Future<?> background = submit(BACKGROUND);
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(4 * AGING_INTERVAL));
+    Future<?> interactive = submit(INTERACTIVE);
+    release.countDown();
+    waitFor(blocker, background, interactive);
+
+    assertEquals(asList(BACKGROUND, INTERACTIVE), order);
+  }
+
+  @Test
+  void testShutdownRejectsNewTasks() {
+    executor = create(1);
+    executor.forPriority(BACKGROUND).shutdown();
+
+    assertTrue(executor.forPriority(INTERACTIVE).isShutdown());
+    assertThrows(RejectedExecutionException.class, () -> submit(INTERACTIVE));
+  }
+
+  private PriorityTaskExecutor create(int poolSize) {
+    return new PriorityTaskExecutor(poolSize, 60, AGING_INTERVAL, clock::get, LIMITS);
+  }
+
+  private Future<?> submit(TaskPriority priority) {
+    return executor.forPriority(priority).submit(() -> order.add(priority));
+  }
+
+  private void await() {
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void waitFor(Future<?>... futures) throws Exception {
+    for (Future<?> future : futures) future.get(5, TimeUnit.SECONDS);
+  }
+}
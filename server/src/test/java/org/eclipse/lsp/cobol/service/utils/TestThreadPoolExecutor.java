@@ -29,6 +29,16 @@ public class TestThreadPoolExecutor implements CustomThreadPoolExecutor {
     return EXECUTOR_SERVICE;
   }
 
+  @Override
+  public ExecutorService getThreadPoolExecutor(TaskPriority priority) {
+    return EXECUTOR_SERVICE;
+  }
+
+  @Override
+  public ExecutorService getEventBusExecutor() {
+    return EXECUTOR_SERVICE;
+  }
+
   @Override
   public ScheduledExecutorService getScheduledThreadPoolExecutor() {
     return EXECUTOR_SERVICE;
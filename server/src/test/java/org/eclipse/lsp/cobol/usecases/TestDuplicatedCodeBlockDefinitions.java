@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2021 Broadcom.
+ * The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Broadcom, Inc. - initial API and implementation
+ *
+ */
+package org.eclipse.lsp.cobol.usecases;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.eclipse.lsp.cobol.service.delegates.validations.SourceInfoLevels;
+import org.eclipse.lsp.cobol.usecases.engine.UseCaseEngine;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This test checks that a section defined twice in the program or a paragraph defined twice in the
+ * same section causes a diagnostic error, while the same paragraph name in different sections is
+ * allowed.
+ */
+class TestDuplicatedCodeBlockDefinitions {
+  private static final String TEXT =
+      "       IDENTIFICATION DIVISION.\n"
+          + "       PROGRAM-ID. TEST1.\n"
+          + "       PROCEDURE DIVISION.\n"
+          + "       {@*SEC1} SECTION.\n"
+          + "       {#*PAR1}.\n"
+          + "           DISPLAY 'A'.\n"
+          + "       {#*PAR2}.\n"
+          + "           DISPLAY 'B'.\n"
+          + "       {#*PAR2|1}.\n"
+          + "           DISPLAY 'C'.\n"
+          + "       {@*SEC2} SECTION.\n"
+          + "       {#*par1}.\n"
+          + "           DISPLAY 'D'.\n"
+          + "       {@*SEC1|2} SECTION.\n"
+          + "           DISPLAY 'E'.";
+
+  @Test
+  void test() {
+    UseCaseEngine.runTest(
+        TEXT,
+        ImmutableList.of(),
+        ImmutableMap.of(
+            "1",
+            new Diagnostic(
+                null,
+                "Duplicated definition for PAR2",
+                DiagnosticSeverity.Error,
+                SourceInfoLevels.ERROR.getText()),
+            "2",
+            new Diagnostic(
+                null,
+                "Duplicated definition for SEC1",
+                DiagnosticSeverity.Error,
+                SourceInfoLevels.ERROR.getText())));
+  }
+}
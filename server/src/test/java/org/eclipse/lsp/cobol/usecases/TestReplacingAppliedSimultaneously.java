@@ -22,11 +22,12 @@ import com.google.common.collect.ImmutableMap;
 import org.junit.jupiter.api.Test;
 
 /**
- * This test checks that the REPLACING statement applied one by one will be collapsed to show only
- * the resulting replacement. Here, 'ABC' replaced by 'DEF', 'DEF' by 'GHI', and 'GHI' by 'JKL' in a
- * row, so the variable ABC-ID should turn into JKL-ID.
+ * This test checks that the clauses of the REPLACING statement apply simultaneously, i.e. the
+ * result of one clause is not replaced by the following ones. Here, ':ABC:' replaced by 'DEF', and
+ * 'DEF' by 'GHI', so the variable :ABC: should turn into DEF, not GHI, and the variable DEF into
+ * GHI.
  */
-class TestReplacingAppliedOneByOne {
+class TestReplacingAppliedSimultaneously {
 
   private static final String TEXT =
       "       IDENTIFICATION DIVISION.\r\n"
@@ -34,17 +35,18 @@ class TestReplacingAppliedOneByOne {
           + "       DATA DIVISION.\r\n"
           + "       WORKING-STORAGE SECTION.\r\n"
           + "       01 {$*PARENT}.\r\n"
-          + "       COPY {~CUSTCOPY} REPLACING ==:ABC:== BY ==:DEF:==\r\n"
-          + "                               ==:DEF:== BY ==:GHI:==\r\n"
-          + "                               ==:GHI:== BY ==JKL==.\r\n"
+          + "       COPY {~CUSTCOPY} REPLACING ==:ABC:== BY ==DEF==\r\n"
+          + "                               ==DEF== BY ==GHI==.\r\n"
           + "       PROCEDURE DIVISION.\r\n"
           + "       {#*MAINLINE}.\r\n"
-          + "           MOVE 1 TO {$JKL-ID} OF {$JKL-KEY}.\r\n"
+          + "           MOVE 1 TO {$DEF} OF {$DEF-KEY}.\r\n"
+          + "           MOVE 1 TO {$GHI} OF {$DEF-KEY}.\r\n"
           + "           GOBACK.";
 
   private static final String CUSTCOPY =
-      "           05  {$*:ABC:-KEY^JKL-KEY}.\r\n"
-          + "               10  {$*:ABC:-ID^JKL-ID}             PIC 9.\r\n";
+      "           05  {$*:ABC:-KEY^DEF-KEY}.\r\n"
+          + "               10  {$*:ABC:^DEF}             PIC 9.\r\n"
+          + "               10  {$*DEF^GHI}             PIC 9.\r\n";
   private static final String CUSTCOPY_NAME = "CUSTCOPY";
 
   @Test
@@ -18,6 +18,8 @@ import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutor;
 import org.eclipse.lsp.cobol.service.utils.CustomThreadPoolExecutorService;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 /**
@@ -28,8 +30,17 @@ class CustomThreadPoolExecutorTest {
 
   @Test
   void customExecutorCreatioinTest() {
-    CustomThreadPoolExecutor customExecutor = new CustomThreadPoolExecutorService(4, 5, 60, 3);
+    CustomThreadPoolExecutor customExecutor = new CustomThreadPoolExecutorService(4, 5, 60, 3, 0);
     assertNotNull(customExecutor.getThreadPoolExecutor());
     assertNotNull(customExecutor.getScheduledThreadPoolExecutor());
+    assertNotNull(customExecutor.getEventBusExecutor());
+    assertFalse(customExecutor.getSemanticAnalysisPool().isPresent());
+  }
+
+  @Test
+  void semanticAnalysisPoolCreatedIfEnabled() {
+    CustomThreadPoolExecutor customExecutor = new CustomThreadPoolExecutorService(4, 5, 60, 3, 2);
+    assertEquals(2, customExecutor.getSemanticAnalysisPool().get().getParallelism());
+    customExecutor.getSemanticAnalysisPool().get().shutdownNow();
   }
 }